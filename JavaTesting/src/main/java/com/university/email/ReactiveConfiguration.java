@@ -0,0 +1,42 @@
+package com.university.email;
+
+import com.university.email.validation.EmailRequestValidator;
+import com.university.email.validation.RequestValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Perfil reactive: la aplicación se sirve con WebFlux sobre Netty.
+ *
+ * Tomcat sigue en el classpath para el modo servlet y Spring Boot lo
+ * preferiría también como servidor reactivo, así que se declara Netty.
+ * Las solicitudes de correo se validan con {@link RequestValidator}, como en
+ * el modo servlet.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfiguration implements WebFluxConfigurer {
+
+    private final javax.validation.Validator validator;
+
+    @Autowired
+    public ReactiveConfiguration(javax.validation.Validator validator) {
+        this.validator = validator;
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Override
+    public Validator getValidator() {
+        return new RequestValidator(new EmailRequestValidator(), new SpringValidatorAdapter(validator));
+    }
+}
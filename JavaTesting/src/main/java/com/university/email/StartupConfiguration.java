@@ -0,0 +1,24 @@
+package com.university.email;
+
+import com.university.email.delivery.AsyncEmailDispatcher;
+import com.university.email.job.MailMergeRunner;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans que se crean al arrancar aunque la inicialización perezosa esté activa
+ * (perfil fast-startup).
+ *
+ * El envío asíncrono recupera el outbox y arranca sus hilos al crearse, y los
+ * trabajos de envío masivo reanudan los que quedaron a medias; si se crearan
+ * con la primera petición, esos correos esperarían a que llegara una.
+ */
+@Configuration
+public class StartupConfiguration {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(AsyncEmailDispatcher.class, MailMergeRunner.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.university.email.attachment;
+
+import com.university.email.model.Attachment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Archivos temporales de los adjuntos recibidos en /send.
+ *
+ * Cada parte del multipart se mueve a su propio archivo temporal sin pasar por
+ * memoria (con file-size-threshold=0 el contenedor ya la escribió en disco) y
+ * se borra al terminar el envío.
+ */
+@Component
+public class AttachmentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentStore.class);
+
+    private final Path directory;
+    private final int maxCount;
+
+    /**
+     * @param directory Directorio de los archivos temporales; vacío para el del sistema
+     * @param maxCount Máximo de adjuntos por correo
+     */
+    @Autowired
+    public AttachmentStore(@Value("${email.attachments.directory:}") String directory,
+                           @Value("${email.attachments.max-count:10}") int maxCount) {
+        this.directory = directory.isEmpty() ? Paths.get(System.getProperty("java.io.tmpdir")) : Paths.get(directory);
+        this.maxCount = maxCount;
+    }
+
+    /**
+     * Almacén con el directorio temporal del sistema y los límites por defecto
+     */
+    public static AttachmentStore defaults() {
+        return new AttachmentStore("", 10);
+    }
+
+    /**
+     * Guarda los archivos recibidos
+     *
+     * @param files Partes del multipart; puede ser null
+     * @return Adjuntos guardados, en el mismo orden
+     * @throws IllegalArgumentException Si hay más adjuntos de los permitidos
+     * @throws IOException Si no se pudo escribir algún archivo; los ya guardados se borran
+     */
+    public List<Attachment> store(List<MultipartFile> files) throws IOException {
+        if (files == null || files.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (files.size() > maxCount) {
+            throw new IllegalArgumentException("Se permiten como máximo " + maxCount + " adjuntos");
+        }
+
+        Files.createDirectories(directory);
+        List<Attachment> attachments = new ArrayList<>(files.size());
+        try {
+            for (MultipartFile file : files) {
+                Path path = Files.createTempFile(directory, "attachment-", ".tmp");
+                try {
+                    // Con File, el contenedor mueve la parte ya escrita en disco en lugar de copiarla
+                    file.transferTo(path.toFile());
+                } catch (IOException | RuntimeException e) {
+                    Files.deleteIfExists(path);
+                    throw e;
+                }
+                attachments.add(new Attachment(file.getOriginalFilename(), file.getContentType(), path,
+                        Files.size(path)));
+            }
+        } catch (IOException | RuntimeException e) {
+            delete(attachments);
+            throw e;
+        }
+        return attachments;
+    }
+
+    /**
+     * Borra los archivos temporales de los adjuntos
+     *
+     * @param attachments Adjuntos devueltos por {@link #store(List)}
+     */
+    public void delete(List<Attachment> attachments) {
+        for (Attachment attachment : attachments) {
+            try {
+                Files.deleteIfExists(attachment.getPath());
+            } catch (IOException e) {
+                logger.warn("No se pudo borrar el adjunto temporal {}", attachment.getPath(), e);
+            }
+        }
+    }
+}
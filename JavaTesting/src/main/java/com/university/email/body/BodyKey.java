@@ -0,0 +1,80 @@
+package com.university.email.body;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Identificador de un cuerpo por su contenido: los primeros 128 bits del
+ * SHA-256 de su representación UTF-8.
+ *
+ * Dos cuerpos con la misma clave se consideran iguales; con 128 bits la
+ * probabilidad de colisión es despreciable para cualquier volumen de correos.
+ */
+public final class BodyKey {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    });
+
+    private final long high;
+    private final long low;
+
+    private BodyKey(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Clave de un cuerpo
+     *
+     * @param body Cuerpo del correo, no nulo
+     * @return Clave de su contenido
+     */
+    public static BodyKey of(String body) {
+        byte[] digest = SHA_256.get().digest(body.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        return new BodyKey(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Lee una clave escrita con {@link #writeTo(DataOutput)}
+     */
+    public static BodyKey readFrom(ByteBuffer buffer) {
+        return new BodyKey(buffer.getLong(), buffer.getLong());
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(high);
+        out.writeLong(low);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BodyKey)) {
+            return false;
+        }
+        BodyKey other = (BodyKey) o;
+        return high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
@@ -0,0 +1,385 @@
+package com.university.email.body;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cuerpos de los correos pendientes, guardados una sola vez por contenido.
+ *
+ * En una campaña miles de correos encolados llevan el mismo cuerpo; cada uno
+ * guarda una referencia al {@link StoredBody} de su contenido en lugar de su
+ * propia copia. Cada cuerpo lleva la cuenta de los correos que lo usan y se
+ * libera al terminar el último.
+ *
+ * Los cuerpos en memoria se ordenan por uso reciente. Si hay directorio y se
+ * supera el máximo de memoria, los menos usados se escriben en segmentos de
+ * disco y se leen de nuevo al enviarlos. Los segmentos son una extensión de la
+ * memoria, no un registro duradero (de eso se ocupa el outbox): se borran al
+ * arrancar y en cuanto no queda ningún cuerpo vivo en ellos. Sin directorio,
+ * todos los cuerpos quedan en memoria.
+ *
+ * El estado se protege con un ReentrantLock, como en el outbox, para no
+ * bloquear el hilo portador de los hilos virtuales que escriben en disco.
+ */
+@Component
+public class BodyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(BodyStore.class);
+
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    private static final String SEGMENT_PREFIX = "bodies-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final boolean enabled;
+    private final long maxMemoryBytes;
+    private final Path directory;
+    private final long segmentSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<BodyKey, StoredBody> bodies = new HashMap<>();
+    /** Cuerpos con el contenido en memoria, del menos al más usado recientemente */
+    private final LinkedHashMap<BodyKey, StoredBody> resident = new LinkedHashMap<>(16, 0.75f, true);
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private Segment current;
+    private long residentBytes;
+    private long references;
+    private boolean spillFailed;
+
+    /**
+     * @param enabled Si es false, los correos encolados guardan su propio cuerpo
+     * @param maxMemoryBytes Memoria aproximada para cuerpos antes de pasar los menos usados a disco
+     * @param directory Directorio de los segmentos; vacío para mantener todo en memoria
+     * @param segmentSize Tamaño a partir del cual se empieza un segmento nuevo
+     */
+    @Autowired
+    public BodyStore(@Value("${email.body-store.enabled:true}") boolean enabled,
+                     @Value("${email.body-store.max-memory-bytes:67108864}") long maxMemoryBytes,
+                     @Value("${email.body-store.directory:}") String directory,
+                     @Value("${email.body-store.segment-size:67108864}") long segmentSize) {
+        this.enabled = enabled;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.directory = enabled && !directory.isEmpty() ? Paths.get(directory) : null;
+        this.segmentSize = segmentSize;
+        if (this.directory != null) {
+            deleteSegments();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Guarda un cuerpo o suma una referencia al ya guardado con el mismo contenido
+     *
+     * @param body Cuerpo del correo, no nulo
+     * @return El cuerpo compartido; el llamante debe soltarlo con {@link StoredBody#release()}
+     */
+    public StoredBody acquire(String body) {
+        return acquire(BodyKey.of(body), body);
+    }
+
+    /**
+     * Como {@link #acquire(String)}, con la clave ya calculada
+     */
+    public StoredBody acquire(BodyKey key, String body) {
+        lock.lock();
+        try {
+            references++;
+            StoredBody stored = bodies.get(key);
+            if (stored != null) {
+                stored.references++;
+                if (stored.body != null) {
+                    resident.get(key);
+                }
+                return stored;
+            }
+            stored = new StoredBody(this, key, body, ENTRY_OVERHEAD_BYTES + 2L * body.length());
+            bodies.put(key, stored);
+            resident.put(key, stored);
+            residentBytes += stored.weight;
+            spill();
+            return stored;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cuerpos distintos guardados
+     */
+    public int getBodyCount() {
+        lock.lock();
+        try {
+            return bodies.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Correos que usan alguno de los cuerpos guardados
+     */
+    public long getReferenceCount() {
+        lock.lock();
+        try {
+            return references;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Memoria aproximada de los cuerpos que están en memoria
+     */
+    public long getResidentBytes() {
+        lock.lock();
+        try {
+            return residentBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Número de segmentos presentes en disco
+     */
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    String touch(StoredBody stored, String value) {
+        if (directory == null) {
+            return value;
+        }
+        lock.lock();
+        try {
+            if (stored.body != null) {
+                resident.get(stored.key);
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    String load(StoredBody stored) {
+        FileChannel channel;
+        lock.lock();
+        try {
+            String value = stored.body;
+            if (value != null) {
+                resident.get(stored.key);
+                return value;
+            }
+            if (stored.released) {
+                throw new IllegalStateException("El cuerpo " + stored.key + " ya fue liberado");
+            }
+            channel = segments.get(stored.segment).channel;
+        } finally {
+            lock.unlock();
+        }
+
+        // El segmento no se borra mientras el cuerpo tenga referencias, así que se lee sin el lock
+        String value;
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(stored.length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, stored.offset + buffer.position()) < 0) {
+                    throw new EOFException("Segmento de cuerpos incompleto");
+                }
+            }
+            value = new String(buffer.array(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el cuerpo " + stored.key, e);
+        }
+
+        lock.lock();
+        try {
+            if (stored.body == null && !stored.released) {
+                stored.body = value;
+                resident.put(stored.key, stored);
+                residentBytes += stored.weight;
+                spill();
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(StoredBody stored) {
+        lock.lock();
+        try {
+            if (stored.released) {
+                return;
+            }
+            references--;
+            if (--stored.references > 0) {
+                return;
+            }
+            stored.released = true;
+            bodies.remove(stored.key);
+            if (stored.body != null) {
+                resident.remove(stored.key);
+                residentBytes -= stored.weight;
+                stored.body = null;
+            }
+            if (stored.segment != 0) {
+                segments.get(stored.segment).live--;
+                compact();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Pasa a disco los cuerpos menos usados hasta volver al máximo de memoria.
+     * Un cuerpo que ya se escribió antes solo se descarta de memoria.
+     */
+    private void spill() {
+        if (directory == null || spillFailed) {
+            return;
+        }
+        Iterator<StoredBody> eldest = resident.values().iterator();
+        while (residentBytes > maxMemoryBytes && resident.size() > 1) {
+            StoredBody stored = eldest.next();
+            if (stored.segment == 0) {
+                try {
+                    write(stored);
+                } catch (IOException e) {
+                    logger.warn("No se pudo escribir un cuerpo en disco; se mantienen en memoria", e);
+                    spillFailed = true;
+                    return;
+                }
+            }
+            eldest.remove();
+            residentBytes -= stored.weight;
+            stored.body = null;
+        }
+    }
+
+    private void write(StoredBody stored) throws IOException {
+        byte[] bytes = stored.body.getBytes(StandardCharsets.UTF_8);
+        if (current == null || (current.size > 0 && current.size + bytes.length > segmentSize)) {
+            openSegment(current == null ? 1 : current.number + 1);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            current.channel.write(buffer, current.size + buffer.position());
+        }
+        stored.segment = current.number;
+        stored.offset = current.size;
+        stored.length = bytes.length;
+        current.size += bytes.length;
+        current.live++;
+    }
+
+    private void openSegment(long number) throws IOException {
+        Files.createDirectories(directory);
+        current = new Segment(number, FileChannel.open(segmentPath(number), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        segments.put(number, current);
+        compact();
+    }
+
+    /**
+     * Borra los segmentos sin cuerpos vivos, salvo el actual
+     */
+    private void compact() {
+        Iterator<Segment> it = segments.values().iterator();
+        while (it.hasNext()) {
+            Segment segment = it.next();
+            if (segment == current || segment.live > 0) {
+                continue;
+            }
+            try {
+                segment.channel.close();
+                Files.deleteIfExists(segmentPath(segment.number));
+            } catch (IOException e) {
+                logger.warn("No se pudo eliminar el segmento de cuerpos {}", segment.number, e);
+            }
+            it.remove();
+        }
+    }
+
+    private void deleteSegments() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : stream) {
+                Files.deleteIfExists(segment);
+            }
+        } catch (IOException e) {
+            logger.warn("No se pudieron borrar los segmentos de cuerpos de {}", directory, e);
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (directory == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                try {
+                    segment.channel.close();
+                } catch (IOException e) {
+                    logger.warn("Error al cerrar el segmento de cuerpos {}", segment.number, e);
+                }
+            }
+            segments.clear();
+            current = null;
+            // Los segmentos no se reutilizan al reiniciar
+            deleteSegments();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Segment {
+        private final long number;
+        private final FileChannel channel;
+        private long size;
+        private int live;
+
+        private Segment(long number, FileChannel channel) {
+            this.number = number;
+            this.channel = channel;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.university.email.body;
+
+/**
+ * Cuerpo guardado en un {@link BodyStore}, compartido por todos los correos
+ * con el mismo contenido.
+ *
+ * Cada {@link BodyStore#acquire(String)} devuelve la misma instancia para el
+ * mismo contenido y suma una referencia; cada correo debe llamar a
+ * {@link #release()} una sola vez al terminar.
+ */
+public final class StoredBody {
+
+    final BodyStore store;
+    final BodyKey key;
+    final long weight;
+    /** Contenido en memoria, o null si solo está en disco */
+    volatile String body;
+    int references = 1;
+    boolean released;
+    /** Posición en disco; segment es 0 mientras no se haya escrito */
+    long segment;
+    long offset;
+    int length;
+
+    StoredBody(BodyStore store, BodyKey key, String body, long weight) {
+        this.store = store;
+        this.key = key;
+        this.body = body;
+        this.weight = weight;
+    }
+
+    public BodyKey getKey() {
+        return key;
+    }
+
+    /**
+     * Contenido del cuerpo; si estaba en disco se lee y vuelve a memoria
+     */
+    public String get() {
+        String value = body;
+        return value != null ? store.touch(this, value) : store.load(this);
+    }
+
+    /**
+     * Suelta la referencia de un correo; al soltar la última se libera la
+     * memoria y el espacio en disco del cuerpo
+     */
+    public void release() {
+        store.release(this);
+    }
+}
@@ -0,0 +1,136 @@
+package com.university.email.concurrency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hilos y límite de concurrencia del trabajo de envío.
+ *
+ * En modo virtual (email.threads.virtual=true, Java 21 o superior) las peticiones
+ * HTTP y las entregas asíncronas se ejecutan cada una en su propio hilo virtual,
+ * así que el número de envíos simultáneos ya no lo limita el tamaño de un pool
+ * sino un semáforo (email.threads.max-concurrent-sends). Si la JVM no soporta
+ * hilos virtuales se avisa y se usan hilos de plataforma.
+ *
+ * El semáforo se aplica en ambos modos; con hilos de plataforma el pool de
+ * Tomcat suele ser menor que el límite y no llega a intervenir.
+ */
+@Component
+public class SendConcurrency {
+
+    private static final Logger logger = LoggerFactory.getLogger(SendConcurrency.class);
+
+    private static final SendConcurrency UNBOUNDED = new SendConcurrency(false, 0, 0);
+
+    private final boolean virtual;
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    /**
+     * @param virtual Usar hilos virtuales si la JVM los soporta
+     * @param maxConcurrentSends Envíos simultáneos permitidos; 0 o menos para no limitar
+     * @param acquireTimeoutMs Espera máxima de una petición por un permiso de envío
+     */
+    @Autowired
+    public SendConcurrency(@Value("${email.threads.virtual:false}") boolean virtual,
+                           @Value("${email.threads.max-concurrent-sends:10000}") int maxConcurrentSends,
+                           @Value("${email.threads.acquire-timeout-ms:5000}") long acquireTimeoutMs) {
+        if (virtual && !VirtualThreads.isSupported()) {
+            logger.warn("Los hilos virtuales requieren Java 21 o superior (JVM actual: {}); se usan hilos de plataforma",
+                    System.getProperty("java.version"));
+        }
+        this.virtual = virtual && VirtualThreads.isSupported();
+        this.permits = maxConcurrentSends > 0 ? new Semaphore(maxConcurrentSends) : null;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    /**
+     * Sin límite de concurrencia y con hilos de plataforma, para los componentes creados sin configuración
+     */
+    public static SendConcurrency unbounded() {
+        return UNBOUNDED;
+    }
+
+    /**
+     * Indica si el trabajo de envío se ejecuta en hilos virtuales
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Fábrica de hilos para el trabajo de envío: virtuales en modo virtual y de
+     * plataforma (daemon) en otro caso
+     *
+     * @param prefix Prefijo del nombre de los hilos
+     */
+    public ThreadFactory threadFactory(String prefix) {
+        if (virtual) {
+            return VirtualThreads.factory(prefix);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Ejecutor que lanza cada tarea en un hilo nuevo de {@link #threadFactory(String)}
+     */
+    public Executor threadPerTaskExecutor(String prefix) {
+        ThreadFactory factory = threadFactory(prefix);
+        return task -> factory.newThread(task).start();
+    }
+
+    /**
+     * Obtiene un permiso de envío esperando como mucho email.threads.acquire-timeout-ms
+     *
+     * @return true si se obtuvo; en ese caso se debe llamar a {@link #release()}
+     */
+    public boolean tryAcquire() {
+        if (permits == null) {
+            return true;
+        }
+        try {
+            return permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Obtiene un permiso de envío esperando lo necesario
+     *
+     * @throws InterruptedException si el hilo se interrumpe mientras espera
+     */
+    public void acquire() throws InterruptedException {
+        if (permits != null) {
+            permits.acquire();
+        }
+    }
+
+    public void release() {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    /**
+     * Permisos de envío libres, o -1 si no hay límite
+     */
+    public int getAvailablePermits() {
+        return permits == null ? -1 : permits.availablePermits();
+    }
+}
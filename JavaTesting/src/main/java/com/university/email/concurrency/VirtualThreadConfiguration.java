@@ -0,0 +1,23 @@
+package com.university.email.concurrency;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * En modo virtual, Tomcat atiende cada petición en un hilo virtual en lugar de
+ * usar su pool de hilos
+ */
+@Configuration
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandler(SendConcurrency concurrency) {
+        return protocolHandler -> {
+            if (concurrency.isVirtual()) {
+                protocolHandler.setExecutor(concurrency.threadPerTaskExecutor("http-virtual-"));
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.university.email.concurrency;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Acceso a los hilos virtuales de Java 21.
+ *
+ * El proyecto compila para Java 11, así que Thread.ofVirtual() se invoca por
+ * reflexión. En JVM anteriores (o en Java 19 y 20 sin --enable-preview) los
+ * hilos virtuales no están disponibles y {@link #factory(String)} devuelve null.
+ */
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = lookup();
+
+    private VirtualThreads() {
+    }
+
+    private static Method lookup() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            // En Java 19 y 20 el método existe pero falla si no se activó la preview
+            ofVirtual.invoke(null);
+            return ofVirtual;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Indica si la JVM actual permite crear hilos virtuales
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Fábrica de hilos virtuales con nombre prefijo0, prefijo1...
+     *
+     * @param prefix Prefijo del nombre de los hilos
+     * @return La fábrica, o null si la JVM no soporta hilos virtuales
+     */
+    public static ThreadFactory factory(String prefix) {
+        if (OF_VIRTUAL == null) {
+            return null;
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> builderType = OF_VIRTUAL.getReturnType();
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se pudo crear la fábrica de hilos virtuales", e);
+        }
+    }
+}
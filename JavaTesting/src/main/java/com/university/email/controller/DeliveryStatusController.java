@@ -0,0 +1,55 @@
+package com.university.email.controller;
+
+import com.university.email.delivery.AsyncEmailDispatcher;
+import com.university.email.delivery.DeliveryJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Controlador REST para consultar el estado de los correos enviados de forma asíncrona
+ */
+@RestController
+@RequestMapping("/api/email")
+public class DeliveryStatusController {
+
+    private final AsyncEmailDispatcher dispatcher;
+
+    @Autowired
+    public DeliveryStatusController(AsyncEmailDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Endpoint para consultar el estado de un correo aceptado
+     *
+     * @param id Identificador devuelto al aceptar el correo
+     * @return Estado del correo: queued, sending, sent o failed
+     */
+    @GetMapping("/status/{id}")
+    public ResponseEntity<Map<String, Object>> status(@PathVariable String id) {
+        Map<String, Object> response = new HashMap<>();
+        Optional<DeliveryJob> job = dispatcher.find(id);
+        if (!job.isPresent()) {
+            response.put("success", false);
+            response.put("message", "No existe un envío con ese identificador");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+
+        response.put("id", id);
+        response.put("to", job.get().getTo());
+        response.put("status", job.get().getStatus());
+        if (job.get().getMessage() != null) {
+            response.put("message", job.get().getMessage());
+        }
+        return ResponseEntity.ok(response);
+    }
+}
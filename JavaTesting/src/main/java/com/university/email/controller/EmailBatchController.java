@@ -0,0 +1,77 @@
+package com.university.email.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.university.email.model.SendResult;
+import com.university.email.service.BatchEmailSender;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Controlador REST para el envío de correos por lotes
+ */
+@RestController
+@RequestMapping("/api/email")
+@Profile("!reactive")
+public class EmailBatchController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final BatchEmailSender batchSender;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter resultWriter;
+
+    @Autowired
+    public EmailBatchController(BatchEmailSender batchSender, ObjectMapper objectMapper) {
+        this.batchSender = batchSender;
+        this.objectMapper = objectMapper;
+        this.resultWriter = objectMapper.writerFor(SendResult.class);
+    }
+
+    /**
+     * Endpoint para enviar un lote de correos.
+     *
+     * Recibe un arreglo JSON de solicitudes y devuelve un resultado por línea
+     * (NDJSON) a medida que cada envío termina. El campo "index" indica la
+     * posición del elemento en el arreglo original.
+     *
+     * @param request Petición HTTP con el arreglo JSON en el cuerpo
+     * @param response Respuesta HTTP en la que se escriben los resultados
+     */
+    @PostMapping(value = "/send-batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void sendBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        ServletOutputStream out = response.getOutputStream();
+
+        try (JsonParser parser = objectMapper.createParser(request.getInputStream())) {
+            batchSender.send(parser, result -> {
+                out.write(resultWriter.writeValueAsBytes(result));
+                out.write('\n');
+            });
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            String message = e instanceof IllegalArgumentException
+                    ? e.getMessage()
+                    : "El cuerpo no es un JSON válido";
+            if (!response.isCommitted()) {
+                response.resetBuffer();
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+            }
+            out.write(resultWriter.writeValueAsBytes(SendResult.failed(-1, null, message)));
+            out.write('\n');
+        }
+        out.flush();
+    }
+}
@@ -1,87 +1,306 @@
 package com.university.email.controller;
 
+import com.university.email.attachment.AttachmentStore;
+import com.university.email.concurrency.SendConcurrency;
+import com.university.email.delivery.AsyncEmailDispatcher;
+import com.university.email.delivery.DeliveryJob;
+import com.university.email.delivery.DeliveryStatus;
+import com.university.email.idempotency.IdempotencyCache;
+import com.university.email.metrics.EmailMetrics;
+import com.university.email.metrics.EmailMetrics.Stage;
+import com.university.email.model.Attachment;
 import com.university.email.model.EmailRequest;
+import com.university.email.model.EmailResponse;
+import com.university.email.model.HealthResponse;
 import com.university.email.service.IEmailService;
+import com.university.email.template.TemplateService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
-import java.util.HashMap;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 
 /**
  * Controlador REST para el envío de correos electrónicos
  */
 @RestController
 @RequestMapping("/api/email")
-@Validated
+@Profile("!reactive")
 public class EmailController {
     
     private final IEmailService emailService;
+    private final AsyncEmailDispatcher dispatcher;
+    private final TemplateService templateService;
+    private final EmailMetrics metrics;
+    private final SendConcurrency concurrency;
+    private final IdempotencyCache idempotency;
+    private final AttachmentStore attachmentStore;
     
     @Autowired
-    public EmailController(IEmailService emailService) {
+    public EmailController(IEmailService emailService, AsyncEmailDispatcher dispatcher,
+                           TemplateService templateService, EmailMetrics metrics,
+                           SendConcurrency concurrency, IdempotencyCache idempotency,
+                           AttachmentStore attachmentStore) {
         this.emailService = emailService;
+        this.dispatcher = dispatcher;
+        this.templateService = templateService;
+        this.metrics = metrics != null ? metrics : EmailMetrics.disabled();
+        this.concurrency = concurrency != null ? concurrency : SendConcurrency.unbounded();
+        this.idempotency = idempotency != null && idempotency.isEnabled() ? idempotency : null;
+        this.attachmentStore = attachmentStore != null ? attachmentStore : AttachmentStore.defaults();
     }
     
     /**
      * Endpoint para enviar un correo electrónico
      * 
+     * En modo asíncrono el correo se encola y se responde 202 con el identificador
+     * del trabajo, o 429 si la cola de envío está llena. Si la solicitud indica una
+     * plantilla, el asunto y el cuerpo se renderizan antes de enviar o encolar.
+     * En modo síncrono se responde 503 si se alcanzó el máximo de envíos
+     * simultáneos y no se liberó ningún permiso a tiempo.
+     * 
+     * Con sendAt futuro el correo se acepta con estado "scheduled" y se encola al
+     * llegar la fecha; requiere el modo asíncrono.
+     * 
+     * Con la cabecera Idempotency-Key, las repeticiones de una petición reciben
+     * la respuesta de la primera sin volver a enviar el correo.
+     * 
      * @param request Datos del correo a enviar
+     * @param idempotencyKey Clave de idempotencia, opcional
      * @return Respuesta con el resultado del envío
      */
     @PostMapping("/send")
-    public ResponseEntity<Map<String, Object>> sendEmail(@Valid @RequestBody EmailRequest request) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<EmailResponse> sendEmail(@Valid @RequestBody EmailRequest request,
+                                                   @RequestHeader(value = "Idempotency-Key", required = false)
+                                                   String idempotencyKey) {
+        if (idempotency == null || idempotencyKey == null || idempotencyKey.isEmpty()) {
+            return sendEmail(request);
+        }
+        return idempotency.execute(idempotencyKey, fingerprint(request), () -> sendEmail(request));
+    }
+    
+    /**
+     * Envía un correo sin clave de idempotencia
+     * 
+     * @param request Datos del correo a enviar, ya validados
+     * @return Respuesta con el resultado del envío
+     */
+    public ResponseEntity<EmailResponse> sendEmail(EmailRequest request) {
+        return process(request, true);
+    }
+    
+    /**
+     * Endpoint para enviar un correo con adjuntos (multipart/form-data)
+     * 
+     * La parte "request" lleva el JSON de la solicitud y cada parte "attachments"
+     * un archivo. Los adjuntos se guardan en archivos temporales y se codifican
+     * por bloques al escribir el mensaje, de modo que la memoria usada no depende
+     * de su tamaño. El envío es siempre síncrono: los archivos temporales se
+     * borran al terminar y no podrían esperar en la cola de envío.
+     * 
+     * @param request Datos del correo a enviar
+     * @param files Archivos adjuntos, opcionales
+     * @return Respuesta con el resultado del envío
+     */
+    @PostMapping(value = "/send", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<EmailResponse> sendEmailWithAttachments(
+            @Valid @RequestPart("request") EmailRequest request,
+            @RequestPart(value = "attachments", required = false) List<MultipartFile> files) {
+        List<Attachment> attachments;
+        try {
+            attachments = attachmentStore.store(files);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(EmailResponse.failure(e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(EmailResponse.failure("No se pudieron guardar los adjuntos: " + e.getMessage()));
+        }
         
         try {
+            request.setAttachments(attachments);
+            return process(request, attachments.isEmpty());
+        } finally {
+            attachmentStore.delete(attachments);
+        }
+    }
+    
+    private ResponseEntity<EmailResponse> process(EmailRequest request, boolean allowQueue) {
+        try {
+            request = render(request);
+            
             // Verificar si se puede enviar al destinatario
-            if (!emailService.canSendTo(request.getTo())) {
-                response.put("success", false);
-                response.put("message", "No se puede enviar correo a este destinatario");
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            if (!allowed(request.getTo())) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(EmailResponse.BLOCKED);
+            }
+            
+            if (allowQueue && dispatcher != null && dispatcher.isEnabled()) {
+                return enqueue(request);
+            }
+            if (isScheduled(request)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(EmailResponse.SCHEDULE_UNAVAILABLE);
+            }
+            
+            if (!concurrency.tryAcquire()) {
+                metrics.record(Stage.TRANSPORT, "saturated", request.getTo(), 0);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(EmailResponse.SATURATED);
             }
             
             // Intentar enviar el correo
-            boolean sent = emailService.sendEmail(request);
+            boolean sent;
+            try {
+                sent = send(request);
+            } finally {
+                concurrency.release();
+            }
             
             if (sent) {
-                response.put("success", true);
-                response.put("message", "Correo enviado exitosamente");
-                response.put("to", request.getTo());
-                response.put("subject", request.getSubject());
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok(EmailResponse.sent(request.getTo(), request.getSubject()));
             } else {
-                response.put("success", false);
-                response.put("message", "Error al enviar el correo");
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(EmailResponse.SEND_FAILED);
             }
             
         } catch (IllegalArgumentException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(EmailResponse.failure(e.getMessage()));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error inesperado: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(EmailResponse.failure("Error inesperado: " + e.getMessage()));
         }
     }
     
+    /**
+     * Huella SHA-256 de todos los campos de la petición que cambian el envío,
+     * incluidos la hora programada y el carril de prioridad. Cada campo va
+     * precedido de su longitud (-1 si es nulo) para que ninguna combinación de
+     * valores distintos produzca la misma secuencia de bytes; las variables se
+     * recorren ordenadas por nombre.
+     */
+    private static byte[] fingerprint(EmailRequest request) {
+        MessageDigest digest = sha256();
+        update(digest, request.getTo());
+        update(digest, request.getSubject());
+        update(digest, request.getBody());
+        update(digest, request.getFrom());
+        update(digest, request.getTemplateId());
+        Map<String, String> variables = request.getVariables();
+        if (variables == null) {
+            updateLength(digest, -1);
+        } else {
+            updateLength(digest, variables.size());
+            for (Map.Entry<String, String> variable : new TreeMap<>(variables).entrySet()) {
+                update(digest, variable.getKey());
+                update(digest, variable.getValue());
+            }
+        }
+        update(digest, request.getSendAt() != null ? request.getSendAt().toString() : null);
+        update(digest, request.getPriority() != null ? request.getPriority().name() : null);
+        return digest.digest();
+    }
+    
+    private static void update(MessageDigest digest, String field) {
+        if (field == null) {
+            updateLength(digest, -1);
+            return;
+        }
+        byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+        updateLength(digest, bytes.length);
+        digest.update(bytes);
+    }
+    
+    private static void updateLength(MessageDigest digest, int length) {
+        digest.update((byte) (length >>> 24));
+        digest.update((byte) (length >>> 16));
+        digest.update((byte) (length >>> 8));
+        digest.update((byte) length);
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Todas las JVM están obligadas a incluir SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    static boolean isScheduled(EmailRequest request) {
+        return request.getSendAt() != null && request.getSendAt().isAfter(OffsetDateTime.now());
+    }
+    
+    private EmailRequest render(EmailRequest request) {
+        if (templateService == null || request.getTemplateId() == null) {
+            return request;
+        }
+        long start = System.nanoTime();
+        String outcome = "invalid";
+        try {
+            EmailRequest rendered = templateService.render(request);
+            outcome = "rendered";
+            return rendered;
+        } finally {
+            metrics.record(Stage.RENDER, outcome, request.getTo(), System.nanoTime() - start);
+        }
+    }
+    
+    private boolean allowed(String to) {
+        long start = System.nanoTime();
+        boolean allowed = emailService.canSendTo(to);
+        metrics.record(Stage.POLICY, allowed ? "allowed" : "rejected", to, System.nanoTime() - start);
+        return allowed;
+    }
+    
+    private boolean send(EmailRequest request) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            boolean sent = emailService.sendEmail(request);
+            outcome = sent ? "sent" : "failed";
+            return sent;
+        } catch (IllegalArgumentException e) {
+            outcome = "invalid";
+            throw e;
+        } finally {
+            metrics.record(Stage.TRANSPORT, outcome, request.getTo(), System.nanoTime() - start);
+        }
+    }
+    
+    private ResponseEntity<EmailResponse> enqueue(EmailRequest request) {
+        long start = System.nanoTime();
+        DeliveryStatus status = isScheduled(request) ? DeliveryStatus.SCHEDULED : DeliveryStatus.QUEUED;
+        Optional<DeliveryJob> job = dispatcher.submit(request);
+        metrics.record(Stage.TRANSPORT, job.isPresent() ? "queued" : "queue_full", request.getTo(),
+                System.nanoTime() - start);
+        if (!job.isPresent()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(EmailResponse.QUEUE_FULL);
+        }
+        
+        String id = job.get().getId();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/email/status/" + id))
+                .body(EmailResponse.accepted(id, status));
+    }
+    
     /**
      * Endpoint de salud para verificar que la API está funcionando
      * 
      * @return Respuesta de estado
      */
     @GetMapping("/health")
-    public ResponseEntity<Map<String, String>> health() {
-        Map<String, String> response = new HashMap<>();
-        response.put("status", "OK");
-        response.put("service", "Email API");
-        return ResponseEntity.ok(response);
+    public ResponseEntity<HealthResponse> health() {
+        return ResponseEntity.ok(HealthResponse.OK);
     }
 }
 
@@ -0,0 +1,119 @@
+package com.university.email.controller;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.university.email.model.EmailResponse;
+import com.university.email.model.HealthResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Escribe {@link EmailResponse} y {@link HealthResponse} como JSON sin pasar por
+ * la serialización reflexiva de Jackson.
+ *
+ * Las respuestas constantes se serializan una vez al crear el conversor y se
+ * escriben como bytes; el resto se escribe campo a campo con un JsonGenerator.
+ * El JSON es el mismo que produce Jackson con las anotaciones de los modelos.
+ */
+public class EmailResponseConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    /** Solo se modifica en el constructor */
+    private final Map<Object, byte[]> constants = new IdentityHashMap<>();
+
+    public EmailResponseConverter() {
+        super(MediaType.APPLICATION_JSON);
+        for (EmailResponse response : EmailResponse.constants()) {
+            constants.put(response, serialize(response));
+        }
+        constants.put(HealthResponse.OK, serialize(HealthResponse.OK));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == EmailResponse.class || clazz == HealthResponse.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new UnsupportedOperationException("Solo se escriben respuestas");
+    }
+
+    @Override
+    protected Long getContentLength(Object response, MediaType contentType) {
+        byte[] constant = constants.get(response);
+        return constant != null ? Long.valueOf(constant.length) : null;
+    }
+
+    @Override
+    protected void writeInternal(Object response, HttpOutputMessage outputMessage) throws IOException {
+        byte[] constant = constants.get(response);
+        if (constant != null) {
+            outputMessage.getBody().write(constant);
+            return;
+        }
+        write(response, outputMessage.getBody());
+    }
+
+    private byte[] serialize(Object response) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try {
+            write(response, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void write(Object response, OutputStream out) throws IOException {
+        try (JsonGenerator json = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (response instanceof EmailResponse) {
+                write((EmailResponse) response, json);
+            } else {
+                write((HealthResponse) response, json);
+            }
+        }
+    }
+
+    private static void write(EmailResponse response, JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        json.writeBooleanField("success", response.isSuccess());
+        writeIfPresent(json, "message", response.getMessage());
+        writeIfPresent(json, "to", response.getTo());
+        writeIfPresent(json, "subject", response.getSubject());
+        writeIfPresent(json, "id", response.getId());
+        if (response.getStatus() != null) {
+            json.writeStringField("status", response.getStatus().getCode());
+        }
+        json.writeEndObject();
+    }
+
+    private static void write(HealthResponse response, JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("status", response.getStatus());
+        json.writeStringField("service", response.getService());
+        json.writeEndObject();
+    }
+
+    private static void writeIfPresent(JsonGenerator json, String name, String value) throws IOException {
+        if (value != null) {
+            json.writeStringField(name, value);
+        }
+    }
+}
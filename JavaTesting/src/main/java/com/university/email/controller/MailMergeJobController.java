@@ -0,0 +1,76 @@
+package com.university.email.controller;
+
+import com.university.email.job.MailMergeJob;
+import com.university.email.job.MailMergeRunner;
+import com.university.email.model.EmailResponse;
+import com.university.email.model.MailMergeRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Controlador REST para los trabajos de envío masivo desde archivos locales
+ */
+@RestController
+@RequestMapping("/api/email/jobs")
+@Validated
+public class MailMergeJobController {
+
+    private final MailMergeRunner runner;
+
+    @Autowired
+    public MailMergeJobController(MailMergeRunner runner) {
+        this.runner = runner;
+    }
+
+    /**
+     * Endpoint para crear un trabajo de envío masivo
+     *
+     * El archivo se indica relativo a email.jobs.input-directory. Se responde 202
+     * con el estado inicial y la cabecera Location para consultar el progreso.
+     *
+     * @param request Archivo, formato y contenido del correo
+     * @return Estado del trabajo; 400 si la solicitud no es válida o 503 si los trabajos están desactivados
+     */
+    @PostMapping
+    public ResponseEntity<?> create(@Valid @RequestBody MailMergeRequest request) {
+        MailMergeJob job;
+        try {
+            job = runner.submit(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(EmailResponse.failure(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(EmailResponse.failure(e.getMessage()));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/email/jobs/" + job.getId()))
+                .body(job.progress());
+    }
+
+    /**
+     * Endpoint para consultar el progreso de un trabajo
+     *
+     * @param id Identificador devuelto al crear el trabajo
+     * @return Progreso, filas por segundo y archivo de errores
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> status(@PathVariable String id) {
+        Optional<MailMergeJob> job = runner.find(id);
+        if (!job.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(EmailResponse.failure("No existe un trabajo con ese identificador"));
+        }
+        return ResponseEntity.ok(job.get().progress());
+    }
+}
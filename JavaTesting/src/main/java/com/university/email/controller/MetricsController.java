@@ -0,0 +1,95 @@
+package com.university.email.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.university.email.delivery.PriorityLanes;
+import com.university.email.metrics.EmailMetrics;
+import com.university.email.model.Priority;
+import com.university.email.service.CachingEmailService;
+import com.university.email.service.IEmailService;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * Controlador REST que expone las métricas de envío en formato Prometheus
+ */
+@RestController
+@RequestMapping("/api/email")
+public class MetricsController {
+
+    static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain;version=0.0.4;charset=utf-8");
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final EmailMetrics metrics;
+    private final CachingEmailService recipientCache;
+    private final PriorityLanes lanes;
+
+    @Autowired
+    public MetricsController(EmailMetrics metrics, IEmailService emailService, PriorityLanes lanes) {
+        this.metrics = metrics;
+        this.recipientCache = emailService instanceof CachingEmailService ? (CachingEmailService) emailService : null;
+        this.lanes = lanes;
+    }
+
+    /**
+     * Endpoint de métricas para Prometheus
+     *
+     * @return Histogramas de duración y contadores por etapa, resultado y dominio,
+     *         la profundidad y latencia de cada carril del envío asíncrono y las
+     *         estadísticas de la caché de destinatarios si está activa
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<String> metrics() throws IOException {
+        StringWriter out = new StringWriter(4096);
+        metrics.writePrometheus(out);
+        if (lanes != null) {
+            writeLanes(out);
+        }
+        if (recipientCache != null) {
+            writeRecipientCache(out);
+        }
+        return ResponseEntity.ok().contentType(PROMETHEUS_TEXT).body(out.toString());
+    }
+
+    private void writeLanes(Writer out) throws IOException {
+        out.write("# HELP email_lane_queue_depth Correos esperando en la cola de cada carril\n");
+        out.write("# TYPE email_lane_queue_depth gauge\n");
+        for (Priority priority : Priority.values()) {
+            out.write("email_lane_queue_depth{lane=\"" + priority.getCode() + "\"} " + lanes.getDepth(priority) + "\n");
+        }
+        out.write("# HELP email_lane_latency_seconds Desde la entrada en la cola hasta el final del envío, por carril\n");
+        out.write("# TYPE email_lane_latency_seconds summary\n");
+        for (Priority priority : Priority.values()) {
+            String label = "lane=\"" + priority.getCode() + "\"";
+            Histogram latency = lanes.getLatency(priority);
+            for (double quantile : QUANTILES) {
+                out.write("email_lane_latency_seconds{" + label + ",quantile=\"" + quantile + "\"} "
+                        + latency.getValueAtPercentile(quantile * 100) / 1e9 + "\n");
+            }
+            out.write("email_lane_latency_seconds_count{" + label + "} " + latency.getTotalCount() + "\n");
+        }
+    }
+
+    private void writeRecipientCache(Writer out) throws IOException {
+        CacheStats stats = recipientCache.stats();
+        out.write("# HELP email_recipient_cache_requests_total Consultas de canSendTo a la caché por resultado\n");
+        out.write("# TYPE email_recipient_cache_requests_total counter\n");
+        out.write("email_recipient_cache_requests_total{result=\"hit\"} " + stats.hitCount() + "\n");
+        out.write("email_recipient_cache_requests_total{result=\"miss\"} " + stats.missCount() + "\n");
+        out.write("# HELP email_recipient_cache_evictions_total Direcciones desalojadas por tamaño o caducidad\n");
+        out.write("# TYPE email_recipient_cache_evictions_total counter\n");
+        out.write("email_recipient_cache_evictions_total " + stats.evictionCount() + "\n");
+        out.write("# HELP email_recipient_cache_size Direcciones en la caché\n");
+        out.write("# TYPE email_recipient_cache_size gauge\n");
+        out.write("email_recipient_cache_size " + recipientCache.size() + "\n");
+    }
+}
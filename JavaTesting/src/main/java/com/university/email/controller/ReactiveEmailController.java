@@ -0,0 +1,116 @@
+package com.university.email.controller;
+
+import com.university.email.model.EmailRequest;
+import com.university.email.model.EmailResponse;
+import com.university.email.model.HealthResponse;
+import com.university.email.model.SendResult;
+import com.university.email.service.ReactiveEmailService;
+import com.university.email.template.TemplateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Controlador REST reactivo para el envío de correos (perfil reactive).
+ *
+ * Expone los mismos endpoints y respuestas que {@link EmailController} y
+ * {@link EmailBatchController} sobre WebFlux. El modo asíncrono con cola no se
+ * aplica en este perfil: los envíos se limitan con el scheduler acotado de
+ * {@link ReactiveEmailService}, y los correos con sendAt futuro se rechazan.
+ */
+@RestController
+@RequestMapping("/api/email")
+@Profile("reactive")
+public class ReactiveEmailController {
+
+    private final ReactiveEmailService emailService;
+    private final TemplateService templateService;
+
+    @Autowired
+    public ReactiveEmailController(ReactiveEmailService emailService, TemplateService templateService) {
+        this.emailService = emailService;
+        this.templateService = templateService;
+    }
+
+    /**
+     * Endpoint para enviar un correo electrónico
+     *
+     * @param request Datos del correo a enviar
+     * @return Respuesta con el resultado del envío; 503 si no se admiten más envíos
+     */
+    @PostMapping("/send")
+    public Mono<ResponseEntity<EmailResponse>> sendEmail(@Valid @RequestBody EmailRequest request) {
+        EmailRequest rendered;
+        try {
+            rendered = templateService != null ? templateService.render(request) : request;
+        } catch (IllegalArgumentException e) {
+            return Mono.just(failure(e));
+        }
+        if (EmailController.isScheduled(rendered)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(EmailResponse.SCHEDULE_UNAVAILABLE));
+        }
+        return emailService.send(rendered)
+                .map(result -> {
+                    if (!result.isSuccess()) {
+                        return failure(HttpStatus.INTERNAL_SERVER_ERROR, result.getMessage());
+                    }
+                    return ResponseEntity.ok(EmailResponse.sent(rendered.getTo(), rendered.getSubject()));
+                })
+                .onErrorResume(e -> Mono.just(failure(e)));
+    }
+
+    /**
+     * Endpoint para enviar un lote de correos.
+     *
+     * El arreglo JSON se decodifica elemento a elemento a medida que se piden
+     * nuevos envíos, y cada resultado se escribe como una línea NDJSON al terminar.
+     *
+     * @param requests Elementos del arreglo JSON del cuerpo
+     * @return Un resultado por elemento
+     */
+    @PostMapping(value = "/send-batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = EmailBatchController.NDJSON)
+    public Flux<SendResult> sendBatch(@RequestBody Flux<EmailRequest> requests) {
+        return emailService.sendAll(requests)
+                .onErrorResume(e -> e instanceof DecodingException || e instanceof ServerWebInputException,
+                        e -> Flux.just(SendResult.failed(-1, null, "El cuerpo no es un JSON válido")));
+    }
+
+    /**
+     * Endpoint de salud para verificar que la API está funcionando
+     *
+     * @return Respuesta de estado
+     */
+    @GetMapping("/health")
+    public Mono<HealthResponse> health() {
+        return Mono.just(HealthResponse.OK);
+    }
+
+    private static ResponseEntity<EmailResponse> failure(Throwable error) {
+        if (error instanceof IllegalArgumentException) {
+            return failure(HttpStatus.BAD_REQUEST, error.getMessage());
+        }
+        if (error instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(EmailResponse.SATURATED);
+        }
+        return failure(HttpStatus.INTERNAL_SERVER_ERROR, "Error inesperado: " + error.getMessage());
+    }
+
+    private static ResponseEntity<EmailResponse> failure(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(EmailResponse.failure(message));
+    }
+}
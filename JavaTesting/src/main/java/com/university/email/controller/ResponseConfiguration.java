@@ -0,0 +1,19 @@
+package com.university.email.controller;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registra {@link EmailResponseConverter} antes que el conversor JSON de Jackson
+ */
+@Configuration
+public class ResponseConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new EmailResponseConverter());
+    }
+}
@@ -0,0 +1,76 @@
+package com.university.email.controller;
+
+import com.university.email.model.TemplateRequest;
+import com.university.email.template.TemplateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controlador REST para registrar las plantillas de correo
+ */
+@RestController
+@RequestMapping("/api/email")
+@Validated
+public class TemplateController {
+
+    private final TemplateService templateService;
+
+    @Autowired
+    public TemplateController(TemplateService templateService) {
+        this.templateService = templateService;
+    }
+
+    /**
+     * Endpoint para registrar o reemplazar una plantilla
+     *
+     * @param request Identificador, asunto y cuerpo con variables {{nombre}}
+     * @return 201 si se registró, 400 si la plantilla no es válida
+     */
+    @PostMapping("/templates")
+    public ResponseEntity<Map<String, Object>> register(@Valid @RequestBody TemplateRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            templateService.register(request);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        response.put("success", true);
+        response.put("message", "Plantilla registrada");
+        response.put("id", request.getId());
+        return ResponseEntity.created(URI.create("/api/email/templates/" + request.getId())).body(response);
+    }
+
+    /**
+     * Endpoint para eliminar una plantilla
+     *
+     * @param id Identificador de la plantilla
+     * @return 200 si se eliminó, 404 si no existía
+     */
+    @DeleteMapping("/templates/{id}")
+    public ResponseEntity<Map<String, Object>> remove(@PathVariable String id) {
+        Map<String, Object> response = new HashMap<>();
+        if (!templateService.remove(id)) {
+            response.put("success", false);
+            response.put("message", "No existe la plantilla: " + id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("message", "Plantilla eliminada");
+        return ResponseEntity.ok(response);
+    }
+}
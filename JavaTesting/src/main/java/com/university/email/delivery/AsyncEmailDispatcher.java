@@ -0,0 +1,477 @@
+package com.university.email.delivery;
+
+import com.university.email.body.BodyStore;
+import com.university.email.body.StoredBody;
+import com.university.email.concurrency.SendConcurrency;
+import com.university.email.model.EmailRequest;
+import com.university.email.model.Priority;
+import com.university.email.model.SendResult;
+import com.university.email.outbox.OutboxEntry;
+import com.university.email.outbox.OutboxJournal;
+import com.university.email.schedule.RetryPolicy;
+import com.university.email.schedule.WheelTimer;
+import com.university.email.service.IEmailService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envío asíncrono de correos.
+ *
+ * Los correos aceptados se encolan en la cola acotada de su carril
+ * ({@link PriorityLanes}), que consume un pool fijo de hilos repartiendo los
+ * envíos entre carriles por pesos. Si la cola del carril está llena el correo se
+ * rechaza en lugar de bloquear al hilo que atiende la petición. Se conserva el estado de los últimos trabajos
+ * terminados para poder consultarlo.
+ *
+ * Si el outbox está activo, cada correo se registra en disco antes de
+ * confirmarlo y los correos pendientes de una ejecución anterior se vuelven a
+ * encolar al arrancar.
+ *
+ * Si el limitador por dominio no concede el envío, el correo se aplaza el tiempo
+ * indicado y vuelve a la cola, sin ocupar a un hilo de envío mientras espera.
+ * Los correos con sendAt futuro esperan del mismo modo hasta su fecha, y los
+ * envíos fallidos se reintentan según la {@link RetryPolicy}. Todas las esperas
+ * usan un único {@link WheelTimer}.
+ *
+ * Si la agrupación de destinatarios está activa, los correos con el mismo
+ * contenido para el mismo dominio viajan por la cola como un solo grupo y se
+ * envían con una única transferencia, conservando el estado de cada destinatario.
+ *
+ * Si el almacén de cuerpos está activo, los correos encolados con el mismo
+ * cuerpo comparten una sola copia, que se libera al terminar el último.
+ *
+ * En modo de hilos virtuales no hay pool de envío: un único hilo reparte la cola
+ * y cada grupo se entrega en su propio hilo virtual, con la concurrencia limitada
+ * por los permisos de {@link SendConcurrency}.
+ */
+@Component
+public class AsyncEmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncEmailDispatcher.class);
+
+    private final IEmailService emailService;
+    private final OutboxJournal journal;
+    private final DomainRateLimiter rateLimiter;
+    private final RecipientCoalescer coalescer;
+    private final SendConcurrency concurrency;
+    private final BodyStore bodies;
+    private final WheelTimer timer;
+    private final RetryPolicy retryPolicy;
+    private final PriorityLanes lanes;
+    private final boolean enabled;
+    private final int queueCapacity;
+    private final int retainedJobs;
+    /** Correos aceptados y aún no enviados por carril, para limitar la capacidad */
+    private final AtomicInteger[] queued = new AtomicInteger[Priority.values().length];
+    private final Map<String, DeliveryJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> finishedJobs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger finishedCount = new AtomicInteger();
+    private final List<Thread> workers = new ArrayList<>();
+
+    @Autowired
+    public AsyncEmailDispatcher(IEmailService emailService,
+                                OutboxJournal journal,
+                                DomainRateLimiter rateLimiter,
+                                RecipientCoalescer coalescer,
+                                SendConcurrency concurrency,
+                                BodyStore bodies,
+                                WheelTimer timer,
+                                RetryPolicy retryPolicy,
+                                PriorityLanes lanes,
+                                @Value("${email.async.enabled:false}") boolean enabled,
+                                @Value("${email.async.queue-capacity:1000}") int queueCapacity,
+                                @Value("${email.async.workers:4}") int workerCount,
+                                @Value("${email.async.retained-jobs:10000}") int retainedJobs) {
+        this.emailService = emailService;
+        this.journal = journal != null && journal.isEnabled() ? journal : null;
+        this.rateLimiter = rateLimiter != null && rateLimiter.isEnabled() ? rateLimiter : null;
+        this.coalescer = coalescer != null && coalescer.isEnabled() ? coalescer : null;
+        this.concurrency = concurrency != null ? concurrency : SendConcurrency.unbounded();
+        this.bodies = bodies != null && bodies.isEnabled() ? bodies : null;
+        this.timer = timer != null ? timer : WheelTimer.defaults();
+        this.retryPolicy = retryPolicy != null ? retryPolicy : RetryPolicy.none();
+        this.lanes = lanes != null ? lanes : PriorityLanes.defaults();
+        for (int i = 0; i < queued.length; i++) {
+            queued[i] = new AtomicInteger();
+        }
+        this.enabled = enabled;
+        this.queueCapacity = queueCapacity;
+        this.retainedJobs = retainedJobs;
+        if (enabled && this.concurrency.isVirtual()) {
+            Thread dispatcherThread = this.concurrency.threadFactory("email-async-dispatch-").newThread(this::dispatch);
+            dispatcherThread.start();
+            workers.add(dispatcherThread);
+            requeueRecovered();
+        } else if (enabled) {
+            this.lanes.reserveWorkers(workerCount);
+            for (int i = 1; i <= workerCount; i++) {
+                Thread worker = new Thread(this::drain, "email-async-" + i);
+                worker.setDaemon(true);
+                worker.start();
+                workers.add(worker);
+            }
+            requeueRecovered();
+        }
+    }
+
+    private void requeueRecovered() {
+        if (journal == null) {
+            return;
+        }
+        List<OutboxEntry> pending = journal.recover();
+        if (!pending.isEmpty()) {
+            logger.info("Reencolando {} correos pendientes del outbox", pending.size());
+        }
+        for (OutboxEntry entry : pending) {
+            DeliveryJob job = newJob(entry.getId(), entry.getRequest());
+            jobs.put(job.getId(), job);
+            long delayNanos = delayUntil(entry.getRequest().getSendAt());
+            if (delayNanos > 0) {
+                job.update(DeliveryStatus.SCHEDULED, null);
+                timer.schedule(delayNanos, () -> route(job));
+            } else {
+                queued(job).incrementAndGet();
+                lanes.add(Collections.singletonList(job));
+            }
+        }
+    }
+
+    /**
+     * Indica si el modo asíncrono está activo
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Encola un correo para su envío
+     *
+     * @param request Datos del correo, ya validados
+     * @return El trabajo creado, o vacío si la cola o los envíos programados están llenos
+     * @throws IllegalArgumentException Si la fecha de envío supera el plazo máximo
+     */
+    public Optional<DeliveryJob> submit(EmailRequest request) {
+        long delayNanos = delayUntil(request.getSendAt());
+        if (delayNanos > 0) {
+            return schedule(request, delayNanos);
+        }
+        AtomicInteger lane = queued[DeliveryJob.priorityOf(request).ordinal()];
+        if (lane.incrementAndGet() > queueCapacity) {
+            lane.decrementAndGet();
+            return Optional.empty();
+        }
+        DeliveryJob job = newJob(UUID.randomUUID().toString(), request);
+        jobs.put(job.getId(), job);
+        if (journal != null) {
+            StoredBody body = job.getBody();
+            try {
+                journal.accepted(job.getId(), request, body != null ? body.getKey() : null);
+            } catch (RuntimeException e) {
+                jobs.remove(job.getId());
+                job.releaseBody();
+                lane.decrementAndGet();
+                throw e;
+            }
+        }
+        if (coalescer != null) {
+            coalescer.add(job, lanes::add);
+        } else {
+            lanes.add(Collections.singletonList(job));
+        }
+        return Optional.of(job);
+    }
+
+    /**
+     * Acepta un correo con fecha de envío futura; entra en la cola al llegar la fecha
+     */
+    private Optional<DeliveryJob> schedule(EmailRequest request, long delayNanos) {
+        if (!timer.reserve(delayNanos)) {
+            return Optional.empty();
+        }
+        DeliveryJob job = newJob(UUID.randomUUID().toString(), request);
+        job.update(DeliveryStatus.SCHEDULED, null);
+        jobs.put(job.getId(), job);
+        if (journal != null) {
+            StoredBody body = job.getBody();
+            try {
+                journal.accepted(job.getId(), request, body != null ? body.getKey() : null);
+            } catch (RuntimeException e) {
+                jobs.remove(job.getId());
+                job.releaseBody();
+                timer.cancelReservation();
+                throw e;
+            }
+        }
+        timer.scheduleReserved(delayNanos, () -> route(job));
+        return Optional.of(job);
+    }
+
+    /**
+     * Pone en la cola un correo cuya fecha de envío ha llegado
+     */
+    private void route(DeliveryJob job) {
+        queued(job).incrementAndGet();
+        job.update(DeliveryStatus.QUEUED, null);
+        if (coalescer != null) {
+            coalescer.add(job, lanes::add);
+        } else {
+            lanes.add(Collections.singletonList(job));
+        }
+    }
+
+    private AtomicInteger queued(DeliveryJob job) {
+        return queued[job.getPriority().ordinal()];
+    }
+
+    /**
+     * Nanosegundos hasta la fecha de envío, o 0 si no hay fecha o ya pasó
+     */
+    private static long delayUntil(OffsetDateTime sendAt) {
+        if (sendAt == null) {
+            return 0;
+        }
+        try {
+            long millis = sendAt.toInstant().toEpochMilli() - System.currentTimeMillis();
+            return millis > 0 ? TimeUnit.MILLISECONDS.toNanos(millis) : 0;
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private DeliveryJob newJob(String id, EmailRequest request) {
+        if (bodies == null || request.getBody() == null) {
+            return new DeliveryJob(id, request);
+        }
+        return new DeliveryJob(id, request, bodies.acquire(request.getBody()));
+    }
+
+    /**
+     * Busca un trabajo por su identificador
+     *
+     * @param id Identificador devuelto al aceptar el correo
+     * @return El trabajo, o vacío si no existe o ya fue descartado
+     */
+    public Optional<DeliveryJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Número de correos pendientes en la cola, sumando todos los carriles
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (AtomicInteger lane : queued) {
+            depth += lane.get();
+        }
+        return depth;
+    }
+
+    /**
+     * Número de correos pendientes en la cola de un carril
+     */
+    public int getQueueDepth(Priority priority) {
+        return queued[priority.ordinal()].get();
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            PriorityLanes.Entry entry;
+            try {
+                entry = lanes.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            process(entry);
+        }
+    }
+
+    /**
+     * Reparte la cola en modo virtual: cada grupo se entrega en un hilo virtual
+     * nuevo tras obtener un permiso de envío
+     */
+    private void dispatch() {
+        ThreadFactory senders = concurrency.threadFactory("email-async-");
+        while (!Thread.currentThread().isInterrupted()) {
+            PriorityLanes.Entry entry;
+            try {
+                entry = lanes.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                concurrency.acquire();
+            } catch (InterruptedException e) {
+                lanes.done(entry, false);
+                Thread.currentThread().interrupt();
+                return;
+            }
+            senders.newThread(() -> {
+                try {
+                    process(entry);
+                } finally {
+                    concurrency.release();
+                }
+            }).start();
+        }
+    }
+
+    private void process(PriorityLanes.Entry entry) {
+        List<DeliveryJob> group = entry.group;
+        queued[entry.priority.ordinal()].addAndGet(-group.size());
+        boolean sent = false;
+        try {
+            if (!defer(group)) {
+                sent = true;
+                deliver(group);
+            }
+        } finally {
+            lanes.done(entry, sent);
+        }
+    }
+
+    /**
+     * Aplaza el grupo si su dominio superó el límite de envíos. Un grupo es una
+     * sola transacción, así que consume un único permiso.
+     *
+     * @return true si el grupo se aplazó
+     */
+    private boolean defer(List<DeliveryJob> group) {
+        if (rateLimiter == null) {
+            return false;
+        }
+        long waitNanos = rateLimiter.tryAcquire(group.get(0).getTo());
+        if (waitNanos <= 0) {
+            return false;
+        }
+        timer.schedule(waitNanos, () -> requeue(group));
+        return true;
+    }
+
+    /**
+     * Devuelve a la cola un grupo aplazado o un correo que se reintenta; ya fue
+     * aceptado, así que no se comprueba la capacidad
+     */
+    private void requeue(List<DeliveryJob> group) {
+        queued(group.get(0)).addAndGet(group.size());
+        lanes.add(group);
+    }
+
+    /**
+     * Envía un grupo de correos con el mismo contenido en una sola transferencia
+     */
+    void deliver(List<DeliveryJob> group) {
+        if (group.size() == 1) {
+            deliver(group.get(0));
+            return;
+        }
+        List<String> recipients = new ArrayList<>(group.size());
+        for (DeliveryJob job : group) {
+            job.recordAttempt();
+            job.update(DeliveryStatus.SENDING, null);
+            recipients.add(job.getTo());
+        }
+        List<SendResult> results = null;
+        String error = null;
+        try {
+            results = emailService.sendToRecipients(group.get(0).getRequest(), recipients);
+        } catch (Exception e) {
+            logger.warn("Error inesperado en el envío asíncrono", e);
+            error = "Error inesperado: " + e.getMessage();
+        }
+        for (int i = 0; i < group.size(); i++) {
+            DeliveryJob job = group.get(i);
+            if (results == null) {
+                retryOrFail(job, error);
+            } else if (results.get(i).isSuccess()) {
+                finish(job, DeliveryStatus.SENT, "Correo enviado exitosamente");
+            } else {
+                retryOrFail(job, results.get(i).getMessage());
+            }
+        }
+    }
+
+    void deliver(DeliveryJob job) {
+        job.recordAttempt();
+        job.update(DeliveryStatus.SENDING, null);
+        try {
+            if (emailService.sendEmail(job.getRequest())) {
+                finish(job, DeliveryStatus.SENT, "Correo enviado exitosamente");
+            } else {
+                retryOrFail(job, "Error al enviar el correo");
+            }
+        } catch (IllegalArgumentException e) {
+            // Una solicitud inválida fallaría igual al reintentarla
+            finish(job, DeliveryStatus.FAILED, e.getMessage());
+        } catch (Exception e) {
+            logger.warn("Error inesperado en el envío asíncrono", e);
+            retryOrFail(job, "Error inesperado: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Programa un reintento si quedan, o marca el correo como fallido
+     */
+    private void retryOrFail(DeliveryJob job, String message) {
+        if (!retryPolicy.shouldRetry(job.getAttempts())) {
+            finish(job, DeliveryStatus.FAILED, message);
+            return;
+        }
+        job.update(DeliveryStatus.RETRYING, message);
+        timer.schedule(retryPolicy.delayNanos(job.getAttempts()), () -> requeue(Collections.singletonList(job)));
+    }
+
+    /**
+     * Publica el estado final del correo. Con outbox, el registro de completado
+     * llega antes a disco: un correo que la API da por enviado no se reenvía
+     * al arrancar.
+     */
+    private void finish(DeliveryJob job, DeliveryStatus status, String message) {
+        if (journal != null) {
+            try {
+                journal.completed(job.getId());
+            } catch (RuntimeException e) {
+                logger.error("No se pudo registrar en el outbox el correo {} como completado", job.getId(), e);
+            }
+        }
+        job.update(status, message);
+        job.releaseBody();
+        retire(job.getId());
+    }
+
+    private void retire(String id) {
+        finishedJobs.add(id);
+        if (finishedCount.incrementAndGet() > retainedJobs) {
+            String oldest = finishedJobs.poll();
+            if (oldest != null) {
+                jobs.remove(oldest);
+                finishedCount.decrementAndGet();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.forEach(Thread::interrupt);
+        timer.shutdown();
+    }
+}
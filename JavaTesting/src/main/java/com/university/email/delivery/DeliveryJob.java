@@ -0,0 +1,129 @@
+package com.university.email.delivery;
+
+import com.university.email.body.StoredBody;
+import com.university.email.model.EmailRequest;
+import com.university.email.model.Priority;
+import com.university.email.validation.ValidatedFields;
+
+/**
+ * Correo aceptado para envío asíncrono y su estado actual
+ *
+ * Si el cuerpo está en un {@link com.university.email.body.BodyStore}, el
+ * trabajo guarda solo la referencia compartida y la suelta al terminar; desde
+ * entonces la solicitud que devuelve ya no lleva cuerpo.
+ */
+public class DeliveryJob {
+
+    private final String id;
+    private final EmailRequest request;
+    private final Priority priority;
+    private volatile StoredBody body;
+    /** Constancia de validación de la solicitud original, o null */
+    private final ValidatedFields validatedFields;
+    private volatile DeliveryStatus status = DeliveryStatus.QUEUED;
+    private volatile String message;
+    /** Intentos de envío; solo lo modifica el hilo que entrega el trabajo */
+    private int attempts;
+
+    public DeliveryJob(String id, EmailRequest request) {
+        this.id = id;
+        this.request = request;
+        this.priority = priorityOf(request);
+        this.validatedFields = request.getValidatedFields();
+    }
+
+    /**
+     * @param request Datos del correo; su cuerpo se descarta en favor de body
+     * @param body Cuerpo compartido, con una referencia ya sumada para este trabajo
+     */
+    public DeliveryJob(String id, EmailRequest request, StoredBody body) {
+        this.id = id;
+        this.request = copy(request, null);
+        this.priority = priorityOf(request);
+        this.validatedFields = request.getValidatedFields();
+        this.body = body;
+    }
+
+    static Priority priorityOf(EmailRequest request) {
+        return request.getPriority() != null ? request.getPriority() : Priority.TRANSACTIONAL;
+    }
+
+    private static EmailRequest copy(EmailRequest request, String body) {
+        EmailRequest copy = new EmailRequest(request.getTo(), request.getSubject(), body, request.getFrom());
+        copy.setSendAt(request.getSendAt());
+        copy.setPriority(request.getPriority());
+        return copy;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Datos del correo, con el cuerpo leído del almacén si es compartido
+     */
+    public EmailRequest getRequest() {
+        StoredBody stored = body;
+        if (stored == null) {
+            return request;
+        }
+        EmailRequest copy = copy(request, stored.get());
+        // Solo cubre la copia si conserva las mismas cadenas que se validaron
+        copy.setValidatedFields(validatedFields);
+        return copy;
+    }
+
+    public String getTo() {
+        return request.getTo();
+    }
+
+    /**
+     * Carril del correo; transaccional si la solicitud no indica ninguno
+     */
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Cuerpo compartido, o null si el trabajo guarda el suyo o ya terminó
+     */
+    public StoredBody getBody() {
+        return body;
+    }
+
+    public DeliveryStatus getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Intentos de envío realizados
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    int recordAttempt() {
+        return ++attempts;
+    }
+
+    void update(DeliveryStatus status, String message) {
+        this.message = message;
+        this.status = status;
+    }
+
+    /**
+     * Suelta la referencia al cuerpo compartido; el trabajo terminado se
+     * conserva para consultar su estado, pero ya no retiene el cuerpo
+     */
+    void releaseBody() {
+        StoredBody stored = body;
+        if (stored != null) {
+            body = null;
+            stored.release();
+        }
+    }
+}
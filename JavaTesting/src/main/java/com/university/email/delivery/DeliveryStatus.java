@@ -0,0 +1,30 @@
+package com.university.email.delivery;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Estados de un correo aceptado para envío asíncrono
+ */
+public enum DeliveryStatus {
+    QUEUED("queued"),
+    SCHEDULED("scheduled"),
+    SENDING("sending"),
+    RETRYING("retrying"),
+    SENT("sent"),
+    FAILED("failed");
+
+    private final String code;
+
+    DeliveryStatus(String code) {
+        this.code = code;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public boolean isFinal() {
+        return this == SENT || this == FAILED;
+    }
+}
@@ -0,0 +1,182 @@
+package com.university.email.delivery;
+
+import com.university.email.validation.EmailAddress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de envíos por dominio de destino.
+ *
+ * Cada dominio tiene un token bucket implementado con el algoritmo GCRA: el
+ * estado es un único instante teórico de llegada en un AtomicLong que se
+ * actualiza con CAS, sin bloqueos. Los buckets se guardan en un mapa concurrente
+ * cuyos segmentos reparten la contención entre dominios. Los dominios pueden
+ * tener límites propios con email.rate-limit.overrides=dominio:porSegundo[:ráfaga],...
+ *
+ * Por encima de {@value #MAX_IDLE_BUCKETS} dominios, cada dominio nuevo revisa
+ * unos pocos buckets más del mapa y descarta los llenos. El barrido continúa
+ * donde lo dejó el anterior, así que recorre todo el mapa sin que ningún envío
+ * lo recorra entero, y si otro hilo ya está barriendo no se espera.
+ */
+@Component
+public class DomainRateLimiter {
+
+    static final int MAX_IDLE_BUCKETS = 10_000;
+    /** Buckets revisados por cada dominio nuevo por encima del máximo */
+    static final int EVICTION_BATCH = 16;
+
+    private final boolean enabled;
+    private final Limit defaultLimit;
+    private final Map<String, Limit> overrides;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    /** Posición del barrido de buckets llenos; solo se usa con sweepLock tomado */
+    private Iterator<Bucket> sweep;
+
+    @Autowired
+    public DomainRateLimiter(@Value("${email.rate-limit.enabled:false}") boolean enabled,
+                             @Value("${email.rate-limit.default-per-second:50}") double defaultPerSecond,
+                             @Value("${email.rate-limit.default-burst:100}") int defaultBurst,
+                             @Value("${email.rate-limit.overrides:}") String overrides) {
+        this(enabled, defaultPerSecond, defaultBurst, overrides, System::nanoTime);
+    }
+
+    DomainRateLimiter(boolean enabled, double defaultPerSecond, int defaultBurst, String overrides, LongSupplier clock) {
+        this.enabled = enabled;
+        this.defaultLimit = new Limit(defaultPerSecond, defaultBurst);
+        this.overrides = parseOverrides(overrides, defaultBurst);
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Intenta consumir un token del dominio del destinatario
+     *
+     * @param recipient Dirección del destinatario
+     * @return 0 si el envío puede hacerse ya, o los nanosegundos que hay que esperar
+     */
+    public long tryAcquire(String recipient) {
+        if (!enabled) {
+            return 0;
+        }
+        String domain = EmailAddress.domainOf(recipient);
+        if (domain == null) {
+            return 0;
+        }
+        domain = domain.toLowerCase(Locale.ROOT);
+        Bucket bucket = buckets.get(domain);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(domain, key -> new Bucket(overrides.getOrDefault(key, defaultLimit)));
+            if (buckets.size() > MAX_IDLE_BUCKETS) {
+                evictSomeFullBuckets();
+            }
+        }
+        return bucket.tryAcquire(clock.getAsLong());
+    }
+
+    /**
+     * Número de dominios con bucket activo
+     */
+    public int getTrackedDomains() {
+        return buckets.size();
+    }
+
+    /**
+     * Revisa los siguientes {@link #EVICTION_BATCH} buckets del barrido y
+     * descarta los llenos. Un bucket lleno equivale a uno nuevo, así que se
+     * puede descartar sin cambiar el comportamiento.
+     */
+    private void evictSomeFullBuckets() {
+        if (!sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = clock.getAsLong();
+            for (int i = 0; i < EVICTION_BATCH; i++) {
+                if (sweep == null || !sweep.hasNext()) {
+                    sweep = buckets.values().iterator();
+                    if (!sweep.hasNext()) {
+                        return;
+                    }
+                }
+                if (sweep.next().isFull(now)) {
+                    sweep.remove();
+                }
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    static Map<String, Limit> parseOverrides(String overrides, int defaultBurst) {
+        Map<String, Limit> limits = new HashMap<>();
+        if (overrides == null || overrides.trim().isEmpty()) {
+            return limits;
+        }
+        for (String entry : overrides.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length < 2 || parts.length > 3) {
+                throw new IllegalArgumentException("Límite por dominio mal formado: " + entry);
+            }
+            double perSecond = Double.parseDouble(parts[1]);
+            int burst = parts.length == 3 ? Integer.parseInt(parts[2]) : defaultBurst;
+            limits.put(parts[0].trim().toLowerCase(Locale.ROOT), new Limit(perSecond, burst));
+        }
+        return limits;
+    }
+
+    static final class Limit {
+        final long intervalNanos;
+        final long toleranceNanos;
+
+        Limit(double perSecond, int burst) {
+            if (perSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("El límite debe ser positivo");
+            }
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond));
+            this.toleranceNanos = intervalNanos * burst;
+        }
+    }
+
+    static final class Bucket {
+        private final Limit limit;
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        Bucket(Limit limit) {
+            this.limit = limit;
+        }
+
+        long tryAcquire(long now) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long next = Math.max(tat, now) + limit.intervalNanos;
+                long excess = next - now - limit.toleranceNanos;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (theoreticalArrival.compareAndSet(tat, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return theoreticalArrival.get() <= now;
+        }
+    }
+}
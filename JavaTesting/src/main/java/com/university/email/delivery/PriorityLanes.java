@@ -0,0 +1,243 @@
+package com.university.email.delivery;
+
+import com.university.email.model.Priority;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Colas del envío asíncrono, una por carril ({@link Priority}).
+ *
+ * Los hilos de envío eligen carril por turno ponderado suave: con pesos 10 y 1,
+ * de cada 11 grupos 10 salen del carril transaccional mientras haya correos en
+ * él, intercalados con los masivos en lugar de en ráfagas. Dentro de un carril
+ * el orden es de llegada.
+ *
+ * Dos reglas evitan que el tráfico masivo retrase a los transaccionales más
+ * allá de su presupuesto de latencia:
+ * - si el transaccional más antiguo ya esperó el presupuesto, se sirve el
+ *   carril transaccional sin turnos hasta ponerse al día;
+ * - con hilos de plataforma, los envíos masivos en curso no pueden ocupar los
+ *   hilos reservados, que quedan libres para los transaccionales. Un envío en
+ *   curso no se interrumpe.
+ *
+ * Cada carril registra su profundidad y la latencia de sus envíos, desde que el
+ * grupo entra en la cola hasta que termina su envío.
+ */
+@Component
+public class PriorityLanes {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    private final Lane[] lanes = new Lane[Priority.values().length];
+    private final long transactionalBudgetNanos;
+    private final int reservedWorkers;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition ready = lock.newCondition();
+    private int bulkLimit = Integer.MAX_VALUE;
+    private int bulkInFlight;
+
+    /**
+     * @param transactionalWeight Peso del carril transaccional
+     * @param bulkWeight Peso del carril masivo
+     * @param transactionalBudgetMs Espera en cola a partir de la cual los transaccionales no ceden turno
+     * @param reservedWorkers Hilos de envío que los correos masivos no pueden ocupar
+     */
+    @Autowired
+    public PriorityLanes(@Value("${email.lanes.transactional-weight:10}") int transactionalWeight,
+                         @Value("${email.lanes.bulk-weight:1}") int bulkWeight,
+                         @Value("${email.lanes.transactional-budget-ms:1000}") long transactionalBudgetMs,
+                         @Value("${email.lanes.reserved-workers:1}") int reservedWorkers) {
+        lanes[Priority.TRANSACTIONAL.ordinal()] = new Lane(Priority.TRANSACTIONAL, Math.max(1, transactionalWeight));
+        lanes[Priority.BULK.ordinal()] = new Lane(Priority.BULK, Math.max(1, bulkWeight));
+        this.transactionalBudgetNanos = TimeUnit.MILLISECONDS.toNanos(transactionalBudgetMs);
+        this.reservedWorkers = Math.max(0, reservedWorkers);
+    }
+
+    /**
+     * Carriles con los valores por defecto
+     */
+    public static PriorityLanes defaults() {
+        return new PriorityLanes(10, 1, 1000, 1);
+    }
+
+    /**
+     * Limita los envíos masivos simultáneos para dejar libres los hilos
+     * reservados; al menos uno puede enviar correos masivos
+     *
+     * @param workers Hilos de envío del pool
+     */
+    void reserveWorkers(int workers) {
+        lock.lock();
+        try {
+            bulkLimit = Math.max(1, workers - reservedWorkers);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Añade un grupo al final de la cola de su carril
+     */
+    void add(List<DeliveryJob> group) {
+        Lane lane = lanes[group.get(0).getPriority().ordinal()];
+        lock.lock();
+        try {
+            lane.entries.addLast(new Entry(group, lane.priority, System.nanoTime()));
+            lane.jobs += group.size();
+            ready.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Espera y devuelve el siguiente grupo a enviar; quien lo recibe debe
+     * llamar a {@link #done(Entry, boolean)} al terminar con él
+     */
+    Entry take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            Lane lane;
+            while ((lane = select(System.nanoTime())) == null) {
+                ready.await();
+            }
+            Entry entry = lane.entries.pollFirst();
+            lane.jobs -= entry.group.size();
+            if (entry.priority == Priority.BULK) {
+                bulkInFlight++;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marca como terminado un grupo recibido de {@link #take()}
+     *
+     * @param entry Grupo recibido
+     * @param sent Si se intentó enviar; los aplazados no cuentan para la latencia
+     */
+    void done(Entry entry, boolean sent) {
+        if (entry.priority == Priority.BULK) {
+            lock.lock();
+            try {
+                bulkInFlight--;
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (sent) {
+            lanes[entry.priority.ordinal()].record(System.nanoTime() - entry.enqueuedNanos);
+        }
+    }
+
+    /**
+     * Elige carril entre los que tienen grupos que pueden enviarse ya
+     */
+    private Lane select(long now) {
+        Lane transactional = lanes[Priority.TRANSACTIONAL.ordinal()];
+        Entry oldest = transactional.entries.peekFirst();
+        if (oldest != null && now - oldest.enqueuedNanos >= transactionalBudgetNanos) {
+            return transactional;
+        }
+        Lane selected = null;
+        int weights = 0;
+        for (Lane lane : lanes) {
+            if (lane.entries.isEmpty() || (lane.priority == Priority.BULK && bulkInFlight >= bulkLimit)) {
+                continue;
+            }
+            lane.current += lane.weight;
+            weights += lane.weight;
+            if (selected == null || lane.current > selected.current) {
+                selected = lane;
+            }
+        }
+        if (selected != null) {
+            selected.current -= weights;
+        }
+        return selected;
+    }
+
+    /**
+     * Correos esperando en la cola de un carril
+     */
+    public int getDepth(Priority priority) {
+        lock.lock();
+        try {
+            return lanes[priority.ordinal()].jobs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grupos de un carril cuyo envío terminó
+     */
+    public long getSent(Priority priority) {
+        return lanes[priority.ordinal()].latency.getTotalCount();
+    }
+
+    /**
+     * Latencia de un carril en un percentil, desde la entrada en la cola hasta el final del envío
+     *
+     * @param priority Carril
+     * @param percentile Percentil entre 0 y 100
+     * @return Nanosegundos, o 0 si aún no hay envíos
+     */
+    public long getLatencyNanos(Priority priority, double percentile) {
+        return lanes[priority.ordinal()].latency.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * Copia de la distribución de latencias de un carril
+     */
+    public Histogram getLatency(Priority priority) {
+        return lanes[priority.ordinal()].latency.copy();
+    }
+
+    /**
+     * Grupo sacado de un carril
+     */
+    static final class Entry {
+        final List<DeliveryJob> group;
+        final Priority priority;
+        final long enqueuedNanos;
+
+        private Entry(List<DeliveryJob> group, Priority priority, long enqueuedNanos) {
+            this.group = group;
+            this.priority = priority;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    private static final class Lane {
+        private final Priority priority;
+        private final int weight;
+        private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+        private final Histogram latency = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_NANOS, 2);
+        /** Crédito del turno ponderado suave */
+        private int current;
+        private int jobs;
+
+        private Lane(Priority priority, int weight) {
+            this.priority = priority;
+            this.weight = weight;
+        }
+
+        private void record(long nanos) {
+            latency.recordValue(Math.min(Math.max(nanos, 1), HIGHEST_TRACKABLE_NANOS));
+        }
+    }
+}
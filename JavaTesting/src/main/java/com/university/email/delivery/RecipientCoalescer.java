@@ -0,0 +1,204 @@
+package com.university.email.delivery;
+
+import com.university.email.model.Attachment;
+import com.university.email.model.EmailRequest;
+import com.university.email.model.Priority;
+import com.university.email.validation.EmailAddress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Agrupa los correos con el mismo contenido dirigidos al mismo dominio.
+ *
+ * Los correos con igual carril, remitente, asunto, cuerpo y adjuntos que llegan dentro de una
+ * ventana corta se entregan juntos para enviarlos en una sola transacción con
+ * varios destinatarios. Un grupo se cierra al alcanzar el máximo de
+ * destinatarios o al cumplirse la ventana desde su primer correo.
+ */
+@Component
+public class RecipientCoalescer {
+
+    private final boolean enabled;
+    private final long windowMs;
+    private final int maxRecipients;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentHashMap<ContentKey, Group> groups = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RecipientCoalescer(@Value("${email.coalesce.enabled:false}") boolean enabled,
+                              @Value("${email.coalesce.window-ms:50}") long windowMs,
+                              @Value("${email.coalesce.max-recipients:50}") int maxRecipients) {
+        this.enabled = enabled && maxRecipients > 1;
+        this.windowMs = windowMs;
+        this.maxRecipients = maxRecipients;
+        this.scheduler = !this.enabled ? null : Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-coalesce");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Añade un correo a su grupo
+     *
+     * @param job Correo aceptado
+     * @param flush Recibe cada grupo cerrado; si la agrupación está desactivada
+     *              recibe el correo solo de inmediato
+     */
+    public void add(DeliveryJob job, Consumer<List<DeliveryJob>> flush) {
+        EmailRequest request = job.getRequest();
+        String domain = EmailAddress.domainOf(request.getTo());
+        if (!enabled || domain == null) {
+            flush.accept(Collections.singletonList(job));
+            return;
+        }
+        ContentKey key = new ContentKey(domain.toLowerCase(Locale.ROOT), job.getPriority(), request);
+        String recipient = request.getTo().toLowerCase(Locale.ROOT);
+        Group[] closed = new Group[1];
+        groups.compute(key, (k, group) -> {
+            if (group != null && group.recipients.contains(recipient)) {
+                // El mismo destinatario dos veces recibiría un solo mensaje: va en otro grupo
+                closed[0] = group;
+                group = null;
+            }
+            if (group == null) {
+                group = new Group(flush);
+                Group created = group;
+                scheduler.schedule(() -> expire(k, created), windowMs, TimeUnit.MILLISECONDS);
+            }
+            group.jobs.add(job);
+            group.recipients.add(recipient);
+            if (group.jobs.size() >= maxRecipients) {
+                // Un grupo recién creado tiene un solo correo, así que no puede haber dos grupos cerrados
+                closed[0] = group;
+                return null;
+            }
+            return group;
+        });
+        if (closed[0] != null) {
+            closed[0].flush.accept(closed[0].jobs);
+        }
+    }
+
+    /**
+     * Número de grupos abiertos
+     */
+    public int getOpenGroups() {
+        return groups.size();
+    }
+
+    private void expire(ContentKey key, Group group) {
+        if (groups.remove(key, group)) {
+            group.flush.accept(group.jobs);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static final class Group {
+        private final Consumer<List<DeliveryJob>> flush;
+        private final List<DeliveryJob> jobs = new ArrayList<>();
+        private final Set<String> recipients = new HashSet<>();
+
+        private Group(Consumer<List<DeliveryJob>> flush) {
+            this.flush = flush;
+        }
+    }
+
+    private static final class ContentKey {
+        private final String domain;
+        private final Priority priority;
+        private final String from;
+        private final String subject;
+        private final String body;
+        private final List<Attachment> attachments;
+        private final int hash;
+
+        private ContentKey(String domain, Priority priority, EmailRequest request) {
+            this.domain = domain;
+            this.priority = priority;
+            this.from = request.getFrom();
+            this.subject = request.getSubject();
+            this.body = request.getBody();
+            this.attachments = request.getAttachments();
+            this.hash = Objects.hash(domain, priority, from, subject, body) * 31 + attachmentsHash(attachments);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ContentKey)) {
+                return false;
+            }
+            ContentKey other = (ContentKey) o;
+            return hash == other.hash
+                    && domain.equals(other.domain)
+                    && priority == other.priority
+                    && Objects.equals(from, other.from)
+                    && Objects.equals(subject, other.subject)
+                    && Objects.equals(body, other.body)
+                    && sameAttachments(attachments, other.attachments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        private static int attachmentsHash(List<Attachment> attachments) {
+            int hash = attachments.size();
+            for (Attachment attachment : attachments) {
+                hash = hash * 31 + Objects.hash(attachment.getFileName(), attachment.getContentType(),
+                        attachment.getPath(), attachment.getSize());
+            }
+            return hash;
+        }
+
+        /**
+         * Los adjuntos viajan con el mensaje del grupo: solo comparten grupo
+         * los correos que adjuntan los mismos archivos en el mismo orden
+         */
+        private static boolean sameAttachments(List<Attachment> a, List<Attachment> b) {
+            if (a.size() != b.size()) {
+                return false;
+            }
+            for (int i = 0; i < a.size(); i++) {
+                Attachment x = a.get(i);
+                Attachment y = b.get(i);
+                if (!Objects.equals(x.getFileName(), y.getFileName())
+                        || !Objects.equals(x.getContentType(), y.getContentType())
+                        || !Objects.equals(x.getPath(), y.getPath())
+                        || x.getSize() != y.getSize()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.university.email.idempotency;
+
+import com.university.email.model.EmailResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Respuestas de /send guardadas por Idempotency-Key.
+ *
+ * La primera petición con una clave ejecuta el envío y guarda su respuesta; las
+ * repeticiones reciben esa misma respuesta sin volver a enviar. Si la original
+ * sigue en curso, la repetición espera su resultado. Las respuestas 5xx no se
+ * guardan: el correo no salió y un reintento posterior debe poder enviarlo.
+ *
+ * Todas las entradas tienen el mismo TTL, así que el orden de inserción es
+ * también el de caducidad: una cola FIFO basta para descartar las caducadas y,
+ * al superar el máximo de entradas o de bytes, las más antiguas. La búsqueda
+ * usa un mapa concurrente; la cola y el total de bytes se protegen con un lock
+ * que solo se toma para operaciones O(1).
+ */
+@Component
+public class IdempotencyCache {
+
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    /** Array de una huella SHA-256: cabecera y 32 bytes */
+    private static final int FINGERPRINT_BYTES = 48;
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long waitMs;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Entradas en orden de creación; puede contener entradas ya descartadas */
+    private final ArrayDeque<Entry> order = new ArrayDeque<>();
+    private long bytes;
+
+    /**
+     * @param ttlMs Tiempo durante el que se conserva una respuesta
+     * @param maxEntries Máximo de claves guardadas
+     * @param maxBytes Máximo aproximado de memoria de las respuestas guardadas
+     * @param waitMs Espera máxima de una repetición por la petición original en curso
+     */
+    @Autowired
+    public IdempotencyCache(@Value("${email.idempotency.enabled:true}") boolean enabled,
+                            @Value("${email.idempotency.ttl-ms:86400000}") long ttlMs,
+                            @Value("${email.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${email.idempotency.max-bytes:33554432}") long maxBytes,
+                            @Value("${email.idempotency.wait-ms:30000}") long waitMs) {
+        this.enabled = enabled;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.waitMs = waitMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Ejecuta la petición una sola vez por clave
+     *
+     * @param key Valor de la cabecera Idempotency-Key
+     * @param fingerprint Resumen criptográfico del contenido de la petición; si
+     *                    la clave ya se usó con otro contenido se responde 422
+     * @param action Ejecuta la petición y construye su respuesta
+     * @return La respuesta de la primera petición con la clave; las repeticiones
+     *         llevan la cabecera Idempotent-Replayed
+     */
+    public ResponseEntity<EmailResponse> execute(String key, byte[] fingerprint,
+                                                 Supplier<ResponseEntity<EmailResponse>> action) {
+        Entry entry = new Entry(key, fingerprint, System.nanoTime());
+        Entry existing = begin(entry);
+        if (existing != null) {
+            return replay(existing, fingerprint);
+        }
+
+        ResponseEntity<EmailResponse> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            finish(entry, null);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+        finish(entry, response);
+        entry.response.complete(response);
+        return response;
+    }
+
+    /**
+     * Registra la entrada si la clave no tiene otra vigente
+     *
+     * @return La entrada vigente de la clave, o null si se registró la nueva
+     */
+    private Entry begin(Entry entry) {
+        lock.lock();
+        try {
+            expire(entry.createdAt);
+            Entry existing = entries.get(entry.key);
+            if (existing != null && !existing.isExpired(entry.createdAt, ttlNanos)) {
+                return existing;
+            }
+            if (existing != null) {
+                discard(existing);
+            }
+            entries.put(entry.key, entry);
+            order.addLast(entry);
+            // Se limita la cola, que incluye las entradas ya descartadas, para que tampoco crezca sin límite
+            while (order.size() > maxEntries) {
+                discard(order.pollFirst());
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Guarda la respuesta o, si no debe guardarse, libera la clave
+     */
+    private void finish(Entry entry, ResponseEntity<EmailResponse> response) {
+        lock.lock();
+        try {
+            if (response == null || response.getStatusCode().is5xxServerError()) {
+                discard(entry);
+                return;
+            }
+            if (entries.get(entry.key) != entry) {
+                // Ya se descartó por caducidad o por los límites mientras estaba en curso
+                return;
+            }
+            entry.weight = weigh(entry.key, response);
+            bytes += entry.weight;
+            while (bytes > maxBytes && !order.isEmpty()) {
+                discard(order.pollFirst());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ResponseEntity<EmailResponse> replay(Entry entry, byte[] fingerprint) {
+        if (!MessageDigest.isEqual(entry.fingerprint, fingerprint)) {
+            return failure(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "La Idempotency-Key ya se usó con una solicitud distinta");
+        }
+        ResponseEntity<EmailResponse> original;
+        try {
+            original = entry.response.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return failure(HttpStatus.CONFLICT,
+                    "Hay una solicitud en curso con la misma Idempotency-Key, intente más tarde");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failure(HttpStatus.SERVICE_UNAVAILABLE, "Interrumpido esperando la solicitud original");
+        } catch (ExecutionException e) {
+            return failure(HttpStatus.INTERNAL_SERVER_ERROR, "Error inesperado: " + e.getCause().getMessage());
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(original.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    /**
+     * Descarta las entradas caducadas, que están al principio de la cola
+     */
+    private void expire(long now) {
+        Entry head;
+        while ((head = order.peekFirst()) != null && head.isExpired(now, ttlNanos)) {
+            discard(order.pollFirst());
+        }
+    }
+
+    private void discard(Entry entry) {
+        if (entries.remove(entry.key, entry)) {
+            bytes -= entry.weight;
+        }
+    }
+
+    /**
+     * Tamaño aproximado en memoria de una respuesta guardada
+     */
+    private static long weigh(String key, ResponseEntity<EmailResponse> response) {
+        long weight = ENTRY_OVERHEAD_BYTES + 2L * key.length() + FINGERPRINT_BYTES;
+        EmailResponse body = response.getBody();
+        if (body != null) {
+            weight += 64 + weigh(body.getMessage()) + weigh(body.getTo()) + weigh(body.getSubject())
+                    + weigh(body.getId());
+        }
+        for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+            weight += 32 + 2L * header.getKey().length() + 2L * String.valueOf(header.getValue()).length();
+        }
+        return weight;
+    }
+
+    private static long weigh(String field) {
+        return field != null ? 40 + 2L * field.length() : 0;
+    }
+
+    private static ResponseEntity<EmailResponse> failure(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(EmailResponse.failure(message));
+    }
+
+    /**
+     * Número de claves guardadas o en curso
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Memoria aproximada de las respuestas guardadas
+     */
+    public long getBytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final byte[] fingerprint;
+        private final long createdAt;
+        private final CompletableFuture<ResponseEntity<EmailResponse>> response = new CompletableFuture<>();
+        /** Solo se asigna al guardar la respuesta, con el lock tomado */
+        private long weight;
+
+        private Entry(String key, byte[] fingerprint, long createdAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return now - createdAt > ttlNanos;
+        }
+    }
+}
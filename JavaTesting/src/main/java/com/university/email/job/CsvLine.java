@@ -0,0 +1,59 @@
+package com.university.email.job;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Separa una línea CSV (RFC 4180) en sus valores.
+ *
+ * Los valores entre comillas pueden contener comas y comillas dobladas (""),
+ * pero no saltos de línea: cada fila ocupa una línea.
+ */
+final class CsvLine {
+
+    private CsvLine() {
+    }
+
+    /**
+     * @throws IllegalArgumentException si hay comillas sin cerrar o texto tras un valor entre comillas
+     */
+    static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        int i = 0;
+        int length = line.length();
+        while (true) {
+            value.setLength(0);
+            if (i < length && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        throw new IllegalArgumentException("La fila tiene comillas sin cerrar");
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        value.append(c);
+                    } else if (i < length && line.charAt(i) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < length && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("La fila tiene texto después de un valor entre comillas");
+                }
+            } else {
+                int comma = line.indexOf(',', i);
+                int end = comma >= 0 ? comma : length;
+                value.append(line, i, end);
+                i = end;
+            }
+            values.add(value.toString());
+            if (i >= length) {
+                return values;
+            }
+            i++;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.university.email.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Archivo NDJSON con las filas fallidas de un trabajo, en el orden del archivo
+ * de entrada: {"row":n,"to":"...","message":"..."}
+ *
+ * Al abrirlo se recorta al tamaño del último checkpoint, de modo que al
+ * reanudar no se duplican los errores de las filas que se vuelven a procesar.
+ */
+final class ErrorLog implements Closeable {
+
+    private final FileChannel channel;
+    private final OutputStream out;
+    private final ObjectMapper objectMapper;
+
+    ErrorLog(Path file, long size, ObjectMapper objectMapper) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (channel.size() > size) {
+            channel.truncate(size);
+        }
+        channel.position(channel.size());
+        this.out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+        this.objectMapper = objectMapper;
+    }
+
+    void write(long row, String to, String message) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("row", row);
+        line.put("to", to);
+        line.put("message", message);
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+    }
+
+    /**
+     * Escribe en disco los errores pendientes
+     *
+     * @return Tamaño del archivo
+     */
+    long sync() throws IOException {
+        out.flush();
+        channel.force(false);
+        return channel.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            out.flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
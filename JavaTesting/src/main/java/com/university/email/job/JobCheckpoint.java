@@ -0,0 +1,96 @@
+package com.university.email.job;
+
+import com.university.email.model.MailMergeRequest;
+
+/**
+ * Estado persistido de un trabajo de envío masivo.
+ *
+ * Los contadores y la posición corresponden solo a las filas anteriores a
+ * offset, que están todas terminadas; al reanudar se continúa desde ahí.
+ */
+public class JobCheckpoint {
+
+    private String id;
+    private MailMergeRequest request;
+    private JobStatus status;
+    private String message;
+    /** Posición en bytes del archivo hasta la que todas las filas están terminadas */
+    private long offset;
+    private long rows;
+    private long sent;
+    private long failed;
+    /** Tamaño del archivo de errores correspondiente a esas filas */
+    private long errorBytes;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public MailMergeRequest getRequest() {
+        return request;
+    }
+
+    public void setRequest(MailMergeRequest request) {
+        this.request = request;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    public void setSent(long sent) {
+        this.sent = sent;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getErrorBytes() {
+        return errorBytes;
+    }
+
+    public void setErrorBytes(long errorBytes) {
+        this.errorBytes = errorBytes;
+    }
+}
@@ -0,0 +1,40 @@
+package com.university.email.job;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Formatos de archivo de destinatarios
+ */
+public enum JobFormat {
+    /** Primera línea con los nombres de las columnas; una fila por línea */
+    CSV,
+    /** Un objeto JSON por línea */
+    NDJSON;
+
+    /**
+     * Formato indicado o, si no se indica, el de la extensión del archivo
+     *
+     * @throws IllegalArgumentException si no se reconoce el formato
+     */
+    static JobFormat resolve(String format, Path file) {
+        String name = format != null && !format.trim().isEmpty()
+                ? format.trim()
+                : extension(file.getFileName().toString());
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "csv":
+                return CSV;
+            case "ndjson":
+            case "jsonl":
+                return NDJSON;
+            default:
+                throw new IllegalArgumentException("Formato de archivo no soportado: " + name
+                        + " (use csv o ndjson)");
+        }
+    }
+
+    private static String extension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 ? fileName.substring(dot + 1) : "";
+    }
+}
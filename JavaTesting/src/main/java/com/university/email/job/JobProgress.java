@@ -0,0 +1,107 @@
+package com.university.email.job;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Estado de un trabajo de envío masivo en un instante, tal como lo devuelve
+ * /api/email/jobs/{id}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"id", "status", "file", "totalBytes", "processedBytes", "percent", "rows", "sent", "failed",
+        "rowsPerSecond", "errorFile", "message"})
+public final class JobProgress {
+
+    private final String id;
+    private final JobStatus status;
+    private final String file;
+    private final long totalBytes;
+    private final long processedBytes;
+    private final long rows;
+    private final long sent;
+    private final long failed;
+    private final double rowsPerSecond;
+    private final String errorFile;
+    private final String message;
+
+    JobProgress(String id, JobStatus status, String file, long totalBytes, long processedBytes, long rows,
+                long sent, long failed, double rowsPerSecond, String errorFile, String message) {
+        this.id = id;
+        this.status = status;
+        this.file = file;
+        this.totalBytes = totalBytes;
+        this.processedBytes = processedBytes;
+        this.rows = rows;
+        this.sent = sent;
+        this.failed = failed;
+        this.rowsPerSecond = rowsPerSecond;
+        this.errorFile = errorFile;
+        this.message = message;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Bytes del archivo cuyas filas están terminadas
+     */
+    public long getProcessedBytes() {
+        return processedBytes;
+    }
+
+    /**
+     * Porcentaje del archivo procesado, con un decimal
+     */
+    public double getPercent() {
+        if (totalBytes == 0) {
+            return status == JobStatus.COMPLETED ? 100.0 : 0.0;
+        }
+        return Math.round(processedBytes * 1000.0 / totalBytes) / 10.0;
+    }
+
+    /**
+     * Filas terminadas, enviadas o fallidas
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Filas terminadas por segundo desde que empezó (o se reanudó) la ejecución
+     */
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    /**
+     * Archivo NDJSON con una línea por fila fallida
+     */
+    public String getErrorFile() {
+        return errorFile;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
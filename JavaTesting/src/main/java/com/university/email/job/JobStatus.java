@@ -0,0 +1,28 @@
+package com.university.email.job;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Estados de un trabajo de envío masivo
+ */
+public enum JobStatus {
+    QUEUED("queued"),
+    RUNNING("running"),
+    COMPLETED("completed"),
+    FAILED("failed");
+
+    private final String code;
+
+    JobStatus(String code) {
+        this.code = code;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+
+    public boolean isFinal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,172 @@
+package com.university.email.job;
+
+import com.university.email.model.MailMergeRequest;
+
+import java.nio.file.Path;
+
+/**
+ * Trabajo de envío masivo desde un archivo.
+ *
+ * Solo lo modifica el hilo que lo ejecuta; los campos son volátiles para que
+ * las consultas de estado lean valores recientes sin sincronizar.
+ */
+public class MailMergeJob {
+
+    private final String id;
+    private final MailMergeRequest request;
+    private final Path file;
+    private final JobFormat format;
+    private final Path errorFile;
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile String message;
+    private volatile long totalBytes;
+    private volatile long offset;
+    private volatile long rows;
+    private volatile long sent;
+    private volatile long failed;
+    private volatile long errorBytes;
+    private volatile long runStartedNanos;
+    private volatile long runFinishedNanos;
+    private volatile long runStartRows;
+
+    MailMergeJob(String id, MailMergeRequest request, Path file, JobFormat format, Path errorFile) {
+        this.id = id;
+        this.request = request;
+        this.file = file;
+        this.format = format;
+        this.errorFile = errorFile;
+    }
+
+    /**
+     * Reconstruye un trabajo desde su último checkpoint
+     */
+    static MailMergeJob restore(JobCheckpoint checkpoint, Path file, JobFormat format, Path errorFile) {
+        MailMergeJob job = new MailMergeJob(checkpoint.getId(), checkpoint.getRequest(), file, format, errorFile);
+        job.status = checkpoint.getStatus();
+        job.message = checkpoint.getMessage();
+        job.offset = checkpoint.getOffset();
+        job.rows = checkpoint.getRows();
+        job.sent = checkpoint.getSent();
+        job.failed = checkpoint.getFailed();
+        job.errorBytes = checkpoint.getErrorBytes();
+        return job;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public MailMergeRequest getRequest() {
+        return request;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    JobFormat getFormat() {
+        return format;
+    }
+
+    Path getErrorFile() {
+        return errorFile;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    long getOffset() {
+        return offset;
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    long getErrorBytes() {
+        return errorBytes;
+    }
+
+    void setErrorBytes(long errorBytes) {
+        this.errorBytes = errorBytes;
+    }
+
+    /**
+     * Comienza o reanuda la ejecución
+     */
+    void start(long totalBytes, long offset) {
+        this.totalBytes = totalBytes;
+        this.offset = offset;
+        this.runStartRows = rows;
+        this.runStartedNanos = System.nanoTime();
+        this.runFinishedNanos = 0;
+        this.message = null;
+        this.status = JobStatus.RUNNING;
+    }
+
+    /**
+     * Registra una fila terminada; se llama en el orden del archivo
+     *
+     * @param offset Posición del final de la fila
+     */
+    void confirm(long offset, boolean success) {
+        if (success) {
+            sent++;
+        } else {
+            failed++;
+        }
+        rows++;
+        this.offset = offset;
+    }
+
+    /**
+     * Avanza sobre una línea vacía
+     */
+    void skip(long offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * Detiene la ejecución; con un estado no final el trabajo se reanudará
+     */
+    void stop(JobStatus status, String message) {
+        this.runFinishedNanos = System.nanoTime();
+        this.message = message;
+        this.status = status;
+    }
+
+    /**
+     * Estado actual para la API
+     */
+    public JobProgress progress() {
+        double rowsPerSecond = 0;
+        long started = runStartedNanos;
+        if (started != 0) {
+            long finished = runFinishedNanos;
+            double seconds = ((finished != 0 ? finished : System.nanoTime()) - started) / 1e9;
+            if (seconds > 0) {
+                rowsPerSecond = Math.round((rows - runStartRows) * 10 / seconds) / 10.0;
+            }
+        }
+        return new JobProgress(id, status, request.getFile(), totalBytes, offset, rows, sent, failed, rowsPerSecond,
+                errorFile.toString(), message);
+    }
+
+    /**
+     * Estado que se persiste
+     */
+    JobCheckpoint checkpoint() {
+        JobCheckpoint checkpoint = new JobCheckpoint();
+        checkpoint.setId(id);
+        checkpoint.setRequest(request);
+        checkpoint.setStatus(status);
+        checkpoint.setMessage(message);
+        checkpoint.setOffset(offset);
+        checkpoint.setRows(rows);
+        checkpoint.setSent(sent);
+        checkpoint.setFailed(failed);
+        checkpoint.setErrorBytes(errorBytes);
+        return checkpoint;
+    }
+}
@@ -0,0 +1,557 @@
+package com.university.email.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.model.EmailRequest;
+import com.university.email.model.MailMergeRequest;
+import com.university.email.model.SendResult;
+import com.university.email.service.BatchEmailSender;
+import com.university.email.template.Template;
+import com.university.email.validation.EmailAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecuta trabajos de envío masivo a partir de archivos CSV o NDJSON locales.
+ *
+ * Un único hilo lee el archivo mapeado en memoria por ventanas y reparte las
+ * líneas a un pool de hilos, que las convierten en filas, las validan, generan
+ * el correo y lo envían con {@link BatchEmailSender}. Nunca hay más de
+ * email.jobs.max-in-flight filas en curso, así que la memoria usada no depende
+ * del tamaño del archivo.
+ *
+ * Las filas terminan en cualquier orden, pero se confirman en el del archivo:
+ * el checkpoint guarda la posición hasta la que todas las filas están
+ * terminadas, junto con sus contadores y el tamaño del archivo de errores. Al
+ * reiniciar la aplicación los trabajos no terminados se reanudan desde esa
+ * posición; las filas en curso durante una caída se vuelven a enviar.
+ *
+ * Los trabajos se ejecutan de uno en uno, en el orden en que se crean.
+ */
+@Component
+public class MailMergeRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailMergeRunner.class);
+
+    private static final String CHECKPOINT_SUFFIX = ".json";
+    private static final String ERRORS_SUFFIX = ".errors.ndjson";
+    /** Marca de una línea vacía dentro de la ventana */
+    private static final SendResult SKIPPED = SendResult.sent(-1, null);
+
+    private final BatchEmailSender sender;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path directory;
+    private final Path inputDirectory;
+    private final int maxInFlight;
+    private final int chunkSize;
+    private final long checkpointIntervalNanos;
+    private final Map<String, MailMergeJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService runner;
+    private final ExecutorService workers;
+    private volatile boolean stopping;
+
+    /**
+     * @param directory Directorio de los checkpoints y de los archivos de errores
+     * @param inputDirectory Directorio del que se pueden leer archivos de destinatarios
+     * @param concurrency Hilos que procesan filas
+     * @param maxInFlight Máximo de filas leídas y aún no confirmadas
+     * @param chunkSize Bytes del archivo mapeados a la vez; limita la longitud de una línea
+     * @param checkpointIntervalMs Tiempo entre checkpoints de un trabajo en ejecución
+     */
+    @Autowired
+    public MailMergeRunner(BatchEmailSender sender,
+                           ObjectMapper objectMapper,
+                           @Value("${email.jobs.enabled:false}") boolean enabled,
+                           @Value("${email.jobs.directory:jobs}") String directory,
+                           @Value("${email.jobs.input-directory:jobs/input}") String inputDirectory,
+                           @Value("${email.jobs.concurrency:8}") int concurrency,
+                           @Value("${email.jobs.max-in-flight:64}") int maxInFlight,
+                           @Value("${email.jobs.chunk-size:8388608}") int chunkSize,
+                           @Value("${email.jobs.checkpoint-interval-ms:1000}") long checkpointIntervalMs) {
+        this.sender = sender;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.inputDirectory = Paths.get(inputDirectory).toAbsolutePath().normalize();
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.chunkSize = chunkSize;
+        this.checkpointIntervalNanos = TimeUnit.MILLISECONDS.toNanos(checkpointIntervalMs);
+        if (enabled) {
+            this.runner = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "email-job-runner");
+                thread.setDaemon(true);
+                return thread;
+            });
+            AtomicInteger threadCount = new AtomicInteger();
+            this.workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = new Thread(runnable, "email-job-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            recover();
+        } else {
+            this.runner = null;
+            this.workers = null;
+        }
+    }
+
+    /**
+     * Indica si los trabajos de envío masivo están activos
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Crea un trabajo y lo pone en cola
+     *
+     * @param request Archivo, formato y contenido del correo
+     * @return El trabajo creado
+     * @throws IllegalArgumentException si el archivo, el formato o el contenido no son válidos
+     * @throws IllegalStateException si los trabajos están desactivados
+     */
+    public MailMergeJob submit(MailMergeRequest request) {
+        if (!enabled) {
+            throw new IllegalStateException("Los trabajos de envío masivo están desactivados");
+        }
+        Path file = resolveInput(request.getFile());
+        JobFormat format = JobFormat.resolve(request.getFormat(), file);
+        Content.of(request);
+
+        String id = UUID.randomUUID().toString();
+        MailMergeJob job = new MailMergeJob(id, request, file, format, directory.resolve(id + ERRORS_SUFFIX));
+        try {
+            Files.createDirectories(directory);
+            save(job);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo registrar el trabajo", e);
+        }
+        jobs.put(id, job);
+        runner.execute(() -> run(job));
+        return job;
+    }
+
+    /**
+     * Busca un trabajo, incluidos los de ejecuciones anteriores de la aplicación
+     */
+    public Optional<MailMergeJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Resuelve el archivo dentro del directorio de entrada, sin permitir salir de él
+     */
+    private Path resolveInput(String name) {
+        if (EmailAddress.isBlank(name)) {
+            throw new IllegalArgumentException("El archivo es obligatorio");
+        }
+        Path file;
+        Path root;
+        try {
+            file = inputDirectory.resolve(name).toRealPath();
+            root = inputDirectory.toRealPath();
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("No existe el archivo: " + name);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("No se puede leer el archivo: " + name);
+        }
+        if (!file.startsWith(root)) {
+            throw new IllegalArgumentException("El archivo debe estar dentro de " + inputDirectory);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("No existe el archivo: " + name);
+        }
+        return file;
+    }
+
+    /**
+     * Carga los checkpoints y vuelve a poner en cola los trabajos no terminados
+     */
+    private void recover() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + CHECKPOINT_SUFFIX)) {
+            for (Path path : files) {
+                JobCheckpoint checkpoint;
+                try {
+                    checkpoint = objectMapper.readValue(path.toFile(), JobCheckpoint.class);
+                } catch (IOException e) {
+                    logger.warn("Se ignora el checkpoint ilegible {}: {}", path, e.getMessage());
+                    continue;
+                }
+                recover(checkpoint);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el directorio de trabajos " + directory, e);
+        }
+    }
+
+    private void recover(JobCheckpoint checkpoint) {
+        Path errorFile = directory.resolve(checkpoint.getId() + ERRORS_SUFFIX);
+        MailMergeJob job;
+        try {
+            Path file = resolveInput(checkpoint.getRequest().getFile());
+            job = MailMergeJob.restore(checkpoint, file, JobFormat.resolve(checkpoint.getRequest().getFormat(), file),
+                    errorFile);
+        } catch (IllegalArgumentException e) {
+            job = MailMergeJob.restore(checkpoint, null, null, errorFile);
+            if (!job.getStatus().isFinal()) {
+                job.stop(JobStatus.FAILED, e.getMessage());
+                saveQuietly(job);
+            }
+        }
+        jobs.put(job.getId(), job);
+        if (!job.getStatus().isFinal()) {
+            logger.info("Reanudando el trabajo {} desde el byte {}", job.getId(), job.getOffset());
+            MailMergeJob resumed = job;
+            runner.execute(() -> run(resumed));
+        }
+    }
+
+    private void run(MailMergeJob job) {
+        if (stopping) {
+            return;
+        }
+        try {
+            process(job, Content.of(job.getRequest()));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("El trabajo {} falló: {}", job.getId(), e.getMessage());
+            job.stop(JobStatus.FAILED, e.getMessage());
+        }
+        saveQuietly(job);
+    }
+
+    private void process(MailMergeJob job, Content content) throws IOException {
+        try (RecordReader reader = new RecordReader(job.getFile(), chunkSize);
+             ErrorLog errors = new ErrorLog(job.getErrorFile(), job.getErrorBytes(), objectMapper)) {
+            RowParser parser = parser(job.getFormat(), reader);
+            if (job.getOffset() > reader.getOffset()) {
+                reader.seek(job.getOffset());
+            }
+            job.start(reader.getSize(), reader.getOffset());
+            logger.info("Trabajo {}: procesando {} desde el byte {}", job.getId(), job.getFile(), job.getOffset());
+
+            Window window = new Window(maxInFlight);
+            CompletionService<Completed> completion = new ExecutorCompletionService<>(workers);
+            long row = job.getRows();
+            int inFlight = 0;
+            long lastCheckpoint = System.nanoTime();
+            boolean finished = false;
+            try {
+                while (!stopping) {
+                    while (window.isFull()) {
+                        complete(window, completion.take());
+                        inFlight--;
+                        confirm(job, window, errors);
+                    }
+                    String line = reader.nextLine();
+                    if (line == null) {
+                        finished = true;
+                        break;
+                    }
+                    long seq = window.add(++row, reader.getOffset());
+                    if (line.trim().isEmpty()) {
+                        row--;
+                        window.complete(seq, SKIPPED);
+                    } else {
+                        completion.submit(() -> new Completed(seq, sendRow(content, parser, line)));
+                        inFlight++;
+                    }
+
+                    Future<Completed> done;
+                    while ((done = completion.poll()) != null) {
+                        complete(window, done);
+                        inFlight--;
+                    }
+                    confirm(job, window, errors);
+                    if (System.nanoTime() - lastCheckpoint >= checkpointIntervalNanos) {
+                        checkpoint(job, errors);
+                        lastCheckpoint = System.nanoTime();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                // Se esperan las filas en curso para que el checkpoint las incluya
+                for (; inFlight > 0; inFlight--) {
+                    try {
+                        complete(window, completion.take());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+                confirm(job, window, errors);
+            }
+
+            // El archivo de errores queda completo antes de publicar el estado final
+            job.setErrorBytes(errors.sync());
+            if (finished) {
+                job.stop(JobStatus.COMPLETED, null);
+                logger.info("Trabajo {} terminado", job.getId());
+            } else {
+                // Sigue pendiente: se reanudará al reiniciar
+                job.stop(JobStatus.RUNNING, "Detenido al cerrar la aplicación");
+            }
+            save(job);
+        }
+    }
+
+    private RowParser parser(JobFormat format, RecordReader reader) throws IOException {
+        if (format == JobFormat.NDJSON) {
+            return RowParser.ndjson(objectMapper);
+        }
+        String header = reader.nextLine();
+        if (header == null || header.trim().isEmpty()) {
+            throw new IllegalArgumentException("El archivo CSV no tiene cabecera");
+        }
+        // Sin la marca de orden de bytes que añaden algunos editores
+        return RowParser.csv(header.startsWith("\uFEFF") ? header.substring(1) : header);
+    }
+
+    /**
+     * Convierte, valida y envía una fila; se ejecuta en los hilos del pool
+     */
+    private SendResult sendRow(Content content, RowParser parser, String line) {
+        Map<String, String> fields;
+        EmailRequest request;
+        try {
+            fields = parser.parse(line);
+            request = content.request(fields);
+        } catch (IllegalArgumentException e) {
+            return SendResult.failed(0, null, e.getMessage());
+        }
+        return sender.sendItem(0, request);
+    }
+
+    private static void complete(Window window, Future<Completed> future) throws InterruptedException {
+        Completed completed;
+        try {
+            completed = future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fallo inesperado al procesar una fila", e.getCause());
+        }
+        window.complete(completed.seq, completed.result);
+    }
+
+    /**
+     * Confirma, en el orden del archivo, las filas terminadas al principio de la ventana
+     */
+    private static void confirm(MailMergeJob job, Window window, ErrorLog errors) throws IOException {
+        while (window.isHeadDone()) {
+            SendResult result = window.headResult();
+            long row = window.headRow();
+            long offset = window.headOffset();
+            window.removeHead();
+            if (result == SKIPPED) {
+                job.skip(offset);
+                continue;
+            }
+            if (!result.isSuccess()) {
+                errors.write(row, result.getTo(), result.getMessage());
+            }
+            job.confirm(offset, result.isSuccess());
+        }
+    }
+
+    private void checkpoint(MailMergeJob job, ErrorLog errors) throws IOException {
+        job.setErrorBytes(errors.sync());
+        save(job);
+    }
+
+    /**
+     * Escribe el checkpoint en un archivo temporal y lo renombra, para no dejar nunca uno a medias
+     */
+    private void save(MailMergeJob job) throws IOException {
+        Path target = directory.resolve(job.getId() + CHECKPOINT_SUFFIX);
+        Path temp = directory.resolve(job.getId() + CHECKPOINT_SUFFIX + ".tmp");
+        byte[] content = objectMapper.writeValueAsBytes(job.checkpoint());
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void saveQuietly(MailMergeJob job) {
+        try {
+            save(job);
+        } catch (IOException e) {
+            logger.error("No se pudo guardar el checkpoint del trabajo {}", job.getId(), e);
+        }
+    }
+
+    /**
+     * Detiene los trabajos tras las filas en curso; los no terminados se reanudan al arrancar
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        stopping = true;
+        runner.shutdown();
+        try {
+            if (!runner.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Los trabajos de envío masivo no se detuvieron a tiempo");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdown();
+    }
+
+    /**
+     * Asunto y cuerpo de los correos de un trabajo
+     */
+    private static final class Content {
+        private final String templateId;
+        private final Template subject;
+        private final Template body;
+        private final String from;
+        private final String recipientField;
+
+        private Content(String templateId, Template subject, Template body, String from, String recipientField) {
+            this.templateId = templateId;
+            this.subject = subject;
+            this.body = body;
+            this.from = from;
+            this.recipientField = recipientField;
+        }
+
+        /**
+         * @throws IllegalArgumentException si no se indica una plantilla ni asunto y cuerpo, o no compilan
+         */
+        static Content of(MailMergeRequest request) {
+            String recipientField = EmailAddress.isBlank(request.getRecipientField()) ? "to"
+                    : request.getRecipientField();
+            if (!EmailAddress.isBlank(request.getTemplateId())) {
+                return new Content(request.getTemplateId(), null, null, request.getFrom(), recipientField);
+            }
+            if (EmailAddress.isBlank(request.getSubject()) || EmailAddress.isBlank(request.getBody())) {
+                throw new IllegalArgumentException("Indique templateId o subject y body");
+            }
+            return new Content(null, Template.compile(request.getSubject()), Template.compile(request.getBody()),
+                    request.getFrom(), recipientField);
+        }
+
+        /**
+         * Correo de una fila; las plantillas registradas las renderiza BatchEmailSender
+         *
+         * @throws IllegalArgumentException si falta alguna variable de la plantilla
+         */
+        EmailRequest request(Map<String, String> fields) {
+            String to = fields.get(recipientField);
+            if (templateId != null) {
+                EmailRequest request = new EmailRequest(to, null, null, from);
+                request.setTemplateId(templateId);
+                request.setVariables(fields);
+                return request;
+            }
+            return new EmailRequest(to, render(subject, fields), render(body, fields), from);
+        }
+
+        private static String render(Template template, Map<String, String> fields) {
+            StringBuilder out = new StringBuilder(template.getLiteralLength() + 16 * template.getVariableCount());
+            template.renderTo(fields, out);
+            return out.toString();
+        }
+    }
+
+    private static final class Completed {
+        private final long seq;
+        private final SendResult result;
+
+        private Completed(long seq, SendResult result) {
+            this.seq = seq;
+            this.result = result;
+        }
+    }
+
+    /**
+     * Filas leídas y aún no confirmadas, en el orden del archivo, en un búfer circular
+     */
+    private static final class Window {
+        private final long[] rows;
+        private final long[] offsets;
+        private final SendResult[] results;
+        private long head;
+        private long tail;
+
+        private Window(int capacity) {
+            rows = new long[capacity];
+            offsets = new long[capacity];
+            results = new SendResult[capacity];
+        }
+
+        boolean isFull() {
+            return tail - head == rows.length;
+        }
+
+        long add(long row, long offset) {
+            int slot = (int) (tail % rows.length);
+            rows[slot] = row;
+            offsets[slot] = offset;
+            results[slot] = null;
+            return tail++;
+        }
+
+        void complete(long seq, SendResult result) {
+            results[(int) (seq % rows.length)] = result;
+        }
+
+        boolean isHeadDone() {
+            return head < tail && results[(int) (head % rows.length)] != null;
+        }
+
+        long headRow() {
+            return rows[(int) (head % rows.length)];
+        }
+
+        long headOffset() {
+            return offsets[(int) (head % rows.length)];
+        }
+
+        SendResult headResult() {
+            return results[(int) (head % rows.length)];
+        }
+
+        void removeHead() {
+            results[(int) (head % rows.length)] = null;
+            head++;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.university.email.job;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lee un archivo línea a línea mapeándolo en memoria por ventanas.
+ *
+ * Solo se mapea una ventana de chunkSize bytes a la vez; al llegar a su final
+ * se mapea la siguiente a partir del inicio de la línea incompleta, así que el
+ * archivo puede ser mucho mayor que la memoria disponible. Una línea no puede
+ * ocupar más de una ventana. Acepta finales de línea \n y \r\n.
+ */
+final class RecordReader implements Closeable {
+
+    private final FileChannel channel;
+    private final long size;
+    private final int chunkSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private byte[] line = new byte[256];
+
+    RecordReader(Path file, int chunkSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.chunkSize = chunkSize;
+        map(0);
+    }
+
+    /**
+     * Tamaño del archivo en bytes
+     */
+    long getSize() {
+        return size;
+    }
+
+    /**
+     * Posición en bytes justo después de la última línea devuelta
+     */
+    long getOffset() {
+        return windowStart + window.position();
+    }
+
+    /**
+     * Continúa la lectura desde una posición que debe ser inicio de línea
+     */
+    void seek(long offset) throws IOException {
+        if (offset < 0 || offset > size) {
+            throw new IOException("Posición fuera del archivo: " + offset);
+        }
+        map(offset);
+    }
+
+    /**
+     * Devuelve la siguiente línea sin el salto de línea, o null al final del archivo
+     *
+     * @throws IOException si una línea no cabe en una ventana
+     */
+    String nextLine() throws IOException {
+        while (true) {
+            int start = window.position();
+            int limit = window.limit();
+            for (int i = start; i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    String value = decode(start, i);
+                    window.position(i + 1);
+                    return value;
+                }
+            }
+            long windowEnd = windowStart + limit;
+            if (windowEnd >= size) {
+                if (start == limit) {
+                    return null;
+                }
+                // Última línea sin salto de línea final
+                String value = decode(start, limit);
+                window.position(limit);
+                return value;
+            }
+            if (start == 0) {
+                throw new IOException("Hay una línea de más de " + chunkSize + " bytes en la posición "
+                        + windowStart);
+            }
+            map(windowStart + start);
+        }
+    }
+
+    private String decode(int start, int end) {
+        if (end > start && window.get(end - 1) == '\r') {
+            end--;
+        }
+        int length = end - start;
+        if (length > line.length) {
+            line = Arrays.copyOf(line, Math.max(length, line.length * 2));
+        }
+        window.position(start);
+        window.get(line, 0, length);
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(chunkSize, size - start));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
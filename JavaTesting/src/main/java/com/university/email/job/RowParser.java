@@ -0,0 +1,71 @@
+package com.university.email.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Convierte una línea del archivo en los campos de una fila.
+ *
+ * Se invoca desde los hilos de envío, así que las implementaciones no guardan
+ * estado entre llamadas.
+ */
+@FunctionalInterface
+interface RowParser {
+
+    /**
+     * @param line Línea sin el salto de línea
+     * @return Campos de la fila por nombre
+     * @throws IllegalArgumentException si la línea no es una fila válida
+     */
+    Map<String, String> parse(String line);
+
+    /**
+     * Filas CSV con los nombres de columna de la cabecera
+     */
+    static RowParser csv(String header) {
+        List<String> columns = CsvLine.split(header);
+        return line -> {
+            List<String> values = CsvLine.split(line);
+            if (values.size() != columns.size()) {
+                throw new IllegalArgumentException("La fila tiene " + values.size() + " columnas y la cabecera "
+                        + columns.size());
+            }
+            Map<String, String> fields = new HashMap<>(columns.size() * 2);
+            for (int i = 0; i < columns.size(); i++) {
+                fields.put(columns.get(i), values.get(i));
+            }
+            return fields;
+        };
+    }
+
+    /**
+     * Filas NDJSON; los valores que no son texto se convierten a texto
+     */
+    static RowParser ndjson(ObjectMapper objectMapper) {
+        return line -> {
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("La fila no es un JSON válido");
+            }
+            if (node == null || !node.isObject()) {
+                throw new IllegalArgumentException("La fila no es un objeto JSON");
+            }
+            Map<String, String> fields = new HashMap<>(node.size() * 2);
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                if (!field.getValue().isNull()) {
+                    fields.put(field.getKey(), field.getValue().asText());
+                }
+            }
+            return fields;
+        };
+    }
+}
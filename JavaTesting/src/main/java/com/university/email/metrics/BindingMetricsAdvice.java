@@ -0,0 +1,49 @@
+package com.university.email.metrics;
+
+import com.university.email.model.EmailRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Mide la lectura y conversión del cuerpo JSON de las solicitudes de correo.
+ * La lectura ocurre en el hilo de la petición, así que el inicio se guarda por hilo.
+ */
+@ControllerAdvice
+public class BindingMetricsAdvice extends RequestBodyAdviceAdapter {
+
+    private static final ThreadLocal<long[]> START = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final EmailMetrics metrics;
+
+    @Autowired
+    public BindingMetricsAdvice(EmailMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return metrics.isEnabled() && targetType == EmailRequest.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        START.get()[0] = System.nanoTime();
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        metrics.record(EmailMetrics.Stage.BINDING, "ok", ((EmailRequest) body).getTo(),
+                System.nanoTime() - START.get()[0]);
+        return body;
+    }
+}
@@ -0,0 +1,191 @@
+package com.university.email.metrics;
+
+import com.university.email.validation.EmailAddress;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de las etapas del envío de correos.
+ *
+ * Cada etapa registra su duración en un histograma HDR por resultado y cuenta
+ * las ejecuciones por resultado y dominio de destino. Los histogramas no se
+ * separan por dominio para que su memoria no dependa del tráfico; los contadores
+ * sí, con un máximo de dominios distintos (email.metrics.max-domains) a partir
+ * del cual se agrupan como "other". Registrar una medición no bloquea.
+ */
+@Component
+public class EmailMetrics {
+
+    /**
+     * Etapas instrumentadas de una petición de envío
+     */
+    public enum Stage {
+        BINDING, VALIDATION, RENDER, POLICY, TRANSPORT;
+
+        final String label = name().toLowerCase(Locale.ROOT);
+    }
+
+    static final String OTHER_DOMAIN = "other";
+    static final String UNKNOWN_DOMAIN = "unknown";
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private static final EmailMetrics DISABLED = new EmailMetrics(false, 0);
+
+    /**
+     * Último destinatario y su etiqueta por hilo: las etapas de una petición
+     * reciben la misma instancia, así que el dominio se calcula una sola vez
+     */
+    private final ThreadLocal<String[]> lastDomain = ThreadLocal.withInitial(() -> new String[2]);
+
+    private final boolean enabled;
+    private final int maxDomains;
+    private final Map<String, Boolean> domains = new ConcurrentHashMap<>();
+    private final Map<Stage, Map<String, Timer>> timers = new EnumMap<>(Stage.class);
+    private final Map<Stage, Map<String, Map<String, LongAdder>>> counters = new EnumMap<>(Stage.class);
+
+    @Autowired
+    public EmailMetrics(@Value("${email.metrics.enabled:true}") boolean enabled,
+                        @Value("${email.metrics.max-domains:100}") int maxDomains) {
+        this.enabled = enabled;
+        this.maxDomains = maxDomains;
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, new ConcurrentHashMap<>());
+            counters.put(stage, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Métricas desactivadas, para los componentes creados sin ellas
+     */
+    public static EmailMetrics disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registra la ejecución de una etapa
+     *
+     * @param stage Etapa
+     * @param outcome Resultado de la etapa
+     * @param recipient Destinatario del correo, del que se toma el dominio
+     * @param nanos Duración en nanosegundos
+     */
+    public void record(Stage stage, String outcome, String recipient, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        timers.get(stage).computeIfAbsent(outcome, key -> new Timer()).record(nanos);
+        counters.get(stage)
+                .computeIfAbsent(outcome, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(domainLabel(recipient), key -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * Dominio del destinatario como etiqueta, limitando el número de dominios distintos
+     */
+    String domainLabel(String recipient) {
+        String[] last = lastDomain.get();
+        if (recipient != null && recipient == last[0]) {
+            return last[1];
+        }
+        String label = computeDomainLabel(recipient);
+        last[0] = recipient;
+        last[1] = label;
+        return label;
+    }
+
+    private String computeDomainLabel(String recipient) {
+        if (recipient == null || !EmailAddress.isValid(recipient)) {
+            return UNKNOWN_DOMAIN;
+        }
+        String domain = EmailAddress.domainOf(recipient).toLowerCase(Locale.ROOT);
+        if (domains.containsKey(domain)) {
+            return domain;
+        }
+        if (domains.size() >= maxDomains) {
+            return OTHER_DOMAIN;
+        }
+        domains.putIfAbsent(domain, Boolean.TRUE);
+        return domain;
+    }
+
+    /**
+     * Número de ejecuciones registradas de una etapa con un resultado
+     */
+    public long getCount(Stage stage, String outcome) {
+        Timer timer = timers.get(stage).get(outcome);
+        return timer == null ? 0 : timer.count.sum();
+    }
+
+    /**
+     * Escribe todas las métricas en el formato de texto de Prometheus
+     */
+    public void writePrometheus(Writer out) throws IOException {
+        out.write("# HELP email_stage_duration_seconds Duración de cada etapa del envío de correos\n");
+        out.write("# TYPE email_stage_duration_seconds summary\n");
+        for (Stage stage : Stage.values()) {
+            for (Map.Entry<String, Timer> entry : new TreeMap<>(timers.get(stage)).entrySet()) {
+                String labels = "stage=\"" + stage.label + "\",outcome=\"" + escape(entry.getKey()) + "\"";
+                Timer timer = entry.getValue();
+                long count = timer.count.sum();
+                Histogram snapshot = timer.histogram.copy();
+                for (double quantile : QUANTILES) {
+                    out.write("email_stage_duration_seconds{" + labels + ",quantile=\"" + quantile + "\"} "
+                            + seconds(snapshot.getValueAtPercentile(quantile * 100)) + "\n");
+                }
+                out.write("email_stage_duration_seconds_sum{" + labels + "} " + seconds(timer.sum.sum()) + "\n");
+                out.write("email_stage_duration_seconds_count{" + labels + "} " + count + "\n");
+            }
+        }
+
+        out.write("# HELP email_stage_total Ejecuciones de cada etapa por resultado y dominio de destino\n");
+        out.write("# TYPE email_stage_total counter\n");
+        for (Stage stage : Stage.values()) {
+            for (Map.Entry<String, Map<String, LongAdder>> outcome : new TreeMap<>(counters.get(stage)).entrySet()) {
+                for (Map.Entry<String, LongAdder> domain : new TreeMap<>(outcome.getValue()).entrySet()) {
+                    out.write("email_stage_total{stage=\"" + stage.label + "\",outcome=\"" + escape(outcome.getKey())
+                            + "\",domain=\"" + escape(domain.getKey()) + "\"} " + domain.getValue().sum() + "\n");
+                }
+            }
+        }
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static final class Timer {
+        private final Histogram histogram = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_NANOS, 2);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+
+        private void record(long nanos) {
+            histogram.recordValue(Math.min(Math.max(nanos, 1), HIGHEST_TRACKABLE_NANOS));
+            count.increment();
+            sum.add(nanos);
+        }
+    }
+}
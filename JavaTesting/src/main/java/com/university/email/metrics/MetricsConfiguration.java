@@ -0,0 +1,37 @@
+package com.university.email.metrics;
+
+import com.university.email.validation.EmailRequestValidator;
+import com.university.email.validation.RequestValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Sustituye el validador de Spring MVC por {@link RequestValidator}, que valida
+ * las solicitudes de correo sin Bean Validation, y lo mide cuando las métricas
+ * están activas
+ */
+@Configuration
+public class MetricsConfiguration implements WebMvcConfigurer {
+
+    private final EmailMetrics metrics;
+    private final javax.validation.Validator validator;
+
+    @Autowired
+    public MetricsConfiguration(EmailMetrics metrics, javax.validation.Validator validator) {
+        this.metrics = metrics;
+        this.validator = validator;
+    }
+
+    @Override
+    public Validator getValidator() {
+        RequestValidator requestValidator =
+                new RequestValidator(new EmailRequestValidator(), new SpringValidatorAdapter(validator));
+        if (!metrics.isEnabled()) {
+            return requestValidator;
+        }
+        return new TimedValidator(requestValidator, metrics);
+    }
+}
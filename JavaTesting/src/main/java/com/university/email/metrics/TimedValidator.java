@@ -0,0 +1,43 @@
+package com.university.email.metrics;
+
+import com.university.email.model.EmailRequest;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * Validador de Spring MVC que mide la validación de las solicitudes de correo
+ * y delega el trabajo en otro validador
+ */
+public class TimedValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+    private final EmailMetrics metrics;
+
+    public TimedValidator(SmartValidator delegate, EmailMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, new Object[0]);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (!(target instanceof EmailRequest)) {
+            delegate.validate(target, errors, validationHints);
+            return;
+        }
+        long start = System.nanoTime();
+        int before = errors.getErrorCount();
+        delegate.validate(target, errors, validationHints);
+        metrics.record(EmailMetrics.Stage.VALIDATION, errors.getErrorCount() > before ? "invalid" : "valid",
+                ((EmailRequest) target).getTo(), System.nanoTime() - start);
+    }
+}
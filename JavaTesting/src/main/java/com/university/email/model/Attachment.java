@@ -0,0 +1,40 @@
+package com.university.email.model;
+
+import java.nio.file.Path;
+
+/**
+ * Adjunto de un correo, guardado en un archivo temporal hasta terminar el envío
+ */
+public final class Attachment {
+
+    private final String fileName;
+    private final String contentType;
+    private final Path path;
+    private final long size;
+
+    public Attachment(String fileName, String contentType, Path path, long size) {
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.path = path;
+        this.size = size;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Archivo con el contenido; se lee por bloques al codificar el mensaje
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
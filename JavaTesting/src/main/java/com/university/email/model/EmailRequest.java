@@ -1,25 +1,53 @@
 package com.university.email.model;
 
-import javax.validation.constraints.Email;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.university.email.validation.ContentOrTemplate;
+import com.university.email.validation.ValidatedFields;
+import com.university.email.validation.ValidEmailAddress;
+
 import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.NotNull;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Modelo para recibir los datos del correo electrónico
+ *
+ * En lugar de asunto y cuerpo puede indicar una plantilla registrada y los
+ * valores de sus variables. Los adjuntos solo llegan por multipart y nunca se
+ * leen del JSON, que no puede señalar archivos del servidor. Con sendAt
+ * (ISO-8601, p. ej. 2026-10-18T09:00:00+02:00) el envío asíncrono espera
+ * hasta esa fecha. priority elige el carril del envío asíncrono; por defecto
+ * es transaccional.
  */
+@ContentOrTemplate
 public class EmailRequest {
     
     @NotBlank(message = "El destinatario es obligatorio")
-    @Email(message = "El destinatario debe ser un correo electrónico válido")
+    @ValidEmailAddress(message = "El destinatario debe ser un correo electrónico válido")
     private String to;
     
-    @NotBlank(message = "El asunto es obligatorio")
     private String subject;
     
-    @NotBlank(message = "El cuerpo del mensaje es obligatorio")
     private String body;
     
     private String from;
+    
+    private String templateId;
+    
+    private Map<String, String> variables;
+    
+    private OffsetDateTime sendAt;
+    
+    private Priority priority;
+    
+    @JsonIgnore
+    private List<Attachment> attachments = Collections.emptyList();
+    
+    /** Campos que superaron la validación al recibir la solicitud, o null */
+    @JsonIgnore
+    private ValidatedFields validatedFields;
 
     public EmailRequest() {
     }
@@ -69,6 +97,59 @@ public class EmailRequest {
         this.from = from;
     }
 
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    public void setTemplateId(String templateId) {
+        this.templateId = templateId;
+    }
+
+    public Map<String, String> getVariables() {
+        return variables;
+    }
+
+    public void setVariables(Map<String, String> variables) {
+        this.variables = variables;
+    }
+
+    public OffsetDateTime getSendAt() {
+        return sendAt;
+    }
+
+    public void setSendAt(OffsetDateTime sendAt) {
+        this.sendAt = sendAt;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public List<Attachment> getAttachments() {
+        return attachments;
+    }
+
+    public void setAttachments(List<Attachment> attachments) {
+        this.attachments = attachments != null ? attachments : Collections.emptyList();
+    }
+
+    /**
+     * Constancia de la validación de la solicitud; solo la crea
+     * {@link com.university.email.validation.EmailRequestValidator} y deja de
+     * valer si cambia el destinatario, el asunto o el cuerpo
+     */
+    public ValidatedFields getValidatedFields() {
+        return validatedFields;
+    }
+
+    public void setValidatedFields(ValidatedFields validatedFields) {
+        this.validatedFields = validatedFields;
+    }
+
     @Override
     public String toString() {
         return "EmailRequest{" +
@@ -76,6 +157,9 @@ public class EmailRequest {
                 ", subject='" + subject + '\'' +
                 ", body='" + body + '\'' +
                 ", from='" + from + '\'' +
+                ", templateId='" + templateId + '\'' +
+                ", sendAt=" + sendAt +
+                ", priority=" + priority +
                 '}';
     }
 }
@@ -0,0 +1,95 @@
+package com.university.email.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.university.email.delivery.DeliveryStatus;
+
+/**
+ * Respuesta de /api/email/send.
+ *
+ * Inmutable; los campos nulos no se serializan. Las respuestas que no dependen
+ * de la petición son constantes, de modo que se pueden serializar una sola vez.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"success", "message", "to", "subject", "id", "status"})
+public final class EmailResponse {
+
+    public static final EmailResponse BLOCKED = failure("No se puede enviar correo a este destinatario");
+    public static final EmailResponse SEND_FAILED = failure("Error al enviar el correo");
+    public static final EmailResponse QUEUE_FULL = failure("La cola de envío está llena, intente más tarde");
+    public static final EmailResponse SATURATED = failure("Demasiados envíos en curso, intente más tarde");
+    public static final EmailResponse SCHEDULE_UNAVAILABLE = failure("sendAt requiere el envío asíncrono");
+
+    private final boolean success;
+    private final String message;
+    private final String to;
+    private final String subject;
+    private final String id;
+    private final DeliveryStatus status;
+
+    private EmailResponse(boolean success, String message, String to, String subject, String id,
+                          DeliveryStatus status) {
+        this.success = success;
+        this.message = message;
+        this.to = to;
+        this.subject = subject;
+        this.id = id;
+        this.status = status;
+    }
+
+    /**
+     * Correo enviado
+     */
+    public static EmailResponse sent(String to, String subject) {
+        return new EmailResponse(true, "Correo enviado exitosamente", to, subject, null, null);
+    }
+
+    /**
+     * Correo aceptado para envío asíncrono
+     */
+    public static EmailResponse accepted(String id) {
+        return accepted(id, DeliveryStatus.QUEUED);
+    }
+
+    /**
+     * Correo aceptado para envío asíncrono, encolado o programado para más tarde
+     */
+    public static EmailResponse accepted(String id, DeliveryStatus status) {
+        return new EmailResponse(true, "Correo aceptado para envío", null, null, id, status);
+    }
+
+    public static EmailResponse failure(String message) {
+        return new EmailResponse(false, message, null, null, null, null);
+    }
+
+    /**
+     * Respuestas constantes, para serializarlas por adelantado
+     */
+    public static EmailResponse[] constants() {
+        return new EmailResponse[]{BLOCKED, SEND_FAILED, QUEUE_FULL, SATURATED};
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public DeliveryStatus getStatus() {
+        return status;
+    }
+}
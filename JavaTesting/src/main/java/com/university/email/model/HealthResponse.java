@@ -0,0 +1,28 @@
+package com.university.email.model;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Respuesta de /api/email/health
+ */
+@JsonPropertyOrder({"status", "service"})
+public final class HealthResponse {
+
+    public static final HealthResponse OK = new HealthResponse("OK", "Email API");
+
+    private final String status;
+    private final String service;
+
+    private HealthResponse(String status, String service) {
+        this.status = status;
+        this.service = service;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getService() {
+        return service;
+    }
+}
@@ -0,0 +1,95 @@
+package com.university.email.model;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * Modelo para crear un trabajo de envío masivo desde un archivo local
+ *
+ * El asunto y el cuerpo se indican directamente, con variables {{nombre}}, o
+ * mediante una plantilla registrada. Las variables toman los valores de las
+ * columnas (CSV) o de los campos (NDJSON) de cada fila.
+ */
+public class MailMergeRequest {
+
+    @NotBlank(message = "El archivo es obligatorio")
+    private String file;
+
+    /** csv o ndjson; por defecto, según la extensión del archivo */
+    private String format;
+
+    private String templateId;
+
+    private String subject;
+
+    private String body;
+
+    private String from;
+
+    /** Columna o campo con el destinatario */
+    private String recipientField = "to";
+
+    public MailMergeRequest() {
+    }
+
+    public MailMergeRequest(String file, String subject, String body) {
+        this.file = file;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    public void setTemplateId(String templateId) {
+        this.templateId = templateId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getRecipientField() {
+        return recipientField;
+    }
+
+    public void setRecipientField(String recipientField) {
+        this.recipientField = recipientField;
+    }
+}
@@ -0,0 +1,26 @@
+package com.university.email.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Carril de envío de un correo asíncrono.
+ *
+ * Los correos transaccionales (restablecer contraseña, confirmaciones) no
+ * esperan detrás de los envíos masivos: cada carril tiene su propia cola y los
+ * hilos de envío los reparten por pesos.
+ */
+public enum Priority {
+    TRANSACTIONAL("transactional"),
+    BULK("bulk");
+
+    private final String code;
+
+    Priority(String code) {
+        this.code = code;
+    }
+
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,53 @@
+package com.university.email.model;
+
+/**
+ * Resultado del envío de un elemento dentro de un lote
+ */
+public class SendResult {
+
+    private final int index;
+    private final String to;
+    private final boolean success;
+    private final String message;
+
+    public SendResult(int index, String to, boolean success, String message) {
+        this.index = index;
+        this.to = to;
+        this.success = success;
+        this.message = message;
+    }
+
+    public static SendResult sent(int index, String to) {
+        return new SendResult(index, to, true, "Correo enviado exitosamente");
+    }
+
+    public static SendResult failed(int index, String to, String message) {
+        return new SendResult(index, to, false, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "SendResult{" +
+                "index=" + index +
+                ", to='" + to + '\'' +
+                ", success=" + success +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
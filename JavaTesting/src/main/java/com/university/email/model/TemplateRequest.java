@@ -0,0 +1,51 @@
+package com.university.email.model;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * Modelo para registrar una plantilla de correo con variables {{nombre}}
+ */
+public class TemplateRequest {
+
+    @NotBlank(message = "El identificador de la plantilla es obligatorio")
+    private String id;
+
+    @NotBlank(message = "El asunto es obligatorio")
+    private String subject;
+
+    @NotBlank(message = "El cuerpo del mensaje es obligatorio")
+    private String body;
+
+    public TemplateRequest() {
+    }
+
+    public TemplateRequest(String id, String subject, String body) {
+        this.id = id;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+}
@@ -0,0 +1,25 @@
+package com.university.email.outbox;
+
+import com.university.email.model.EmailRequest;
+
+/**
+ * Correo registrado en el outbox como aceptado y aún no completado
+ */
+public class OutboxEntry {
+
+    private final String id;
+    private final EmailRequest request;
+
+    public OutboxEntry(String id, EmailRequest request) {
+        this.id = id;
+        this.request = request;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public EmailRequest getRequest() {
+        return request;
+    }
+}
@@ -0,0 +1,586 @@
+package com.university.email.outbox;
+
+import com.university.email.body.BodyKey;
+import com.university.email.model.EmailRequest;
+import com.university.email.model.Priority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Outbox persistente de correos aceptados.
+ *
+ * Cada correo se registra como aceptado antes de confirmarlo al cliente y como
+ * completado al terminar su envío. Los registros se añaden a segmentos de un
+ * diario de solo escritura al final; un único hilo hace fsync de todo lo escrito
+ * desde la última sincronización (group commit), de modo que muchos correos
+ * concurrentes comparten el coste de cada fsync.
+ *
+ * Al arrancar se releen los segmentos y se devuelven los correos aceptados que
+ * nunca se completaron. Los segmentos más antiguos se eliminan cuando todos sus
+ * correos están completados.
+ *
+ * El estado se protege con un ReentrantLock en lugar de synchronized para que
+ * los hilos virtuales que esperan al fsync o escriben en disco no bloqueen su
+ * hilo portador.
+ *
+ * Los cuerpos se guardan por contenido: cada cuerpo se escribe una vez por
+ * segmento, con su clave, y los correos aceptados solo llevan la clave. Como
+ * cada segmento contiene los cuerpos de sus propios correos, se puede borrar
+ * en cuanto todos ellos estén completados.
+ *
+ * Formato de registro: longitud (int), CRC32 (int), tipo (byte) y contenido.
+ * Los correos aceptados con fecha de envío o carril masivo añaden al final la
+ * fecha en milisegundos desde epoch (Long.MIN_VALUE si no hay) y, si no es el
+ * transaccional, el carril; los registros anteriores, sin ellos, se siguen leyendo.
+ */
+@Component
+public class OutboxJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxJournal.class);
+
+    private static final byte ACCEPTED = 1;
+    private static final byte COMPLETED = 2;
+    private static final byte BODY = 3;
+    private static final byte ACCEPTED_BODY_REF = 4;
+    private static final int HEADER_SIZE = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Hay registros escritos pendientes de fsync */
+    private final Condition written = lock.newCondition();
+    /** Avanzó la secuencia sincronizada en disco */
+    private final Condition durable = lock.newCondition();
+    private final TreeMap<Long, int[]> pendingPerSegment = new TreeMap<>();
+    private final Map<String, Long> segmentOf = new HashMap<>();
+    /** Cuerpos ya escritos en el segmento actual */
+    private final Set<BodyKey> segmentBodies = new HashSet<>();
+    private List<OutboxEntry> recovered = new ArrayList<>();
+    private FileChannel channel;
+    private long currentSegment;
+    private long writtenSeq;
+    private long durableSeq;
+    private boolean open;
+    private Thread committer;
+
+    @Autowired
+    public OutboxJournal(@Value("${email.outbox.enabled:false}") boolean enabled,
+                         @Value("${email.outbox.directory:outbox}") String directory,
+                         @Value("${email.outbox.segment-size:67108864}") long segmentSize) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize;
+        if (enabled) {
+            open();
+        }
+    }
+
+    /**
+     * Indica si el outbox está activo
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Devuelve, una sola vez, los correos aceptados y no completados que se
+     * encontraron al abrir el diario
+     *
+     * @return Correos pendientes en el orden en que se aceptaron
+     */
+    public List<OutboxEntry> recover() {
+        lock.lock();
+        try {
+            List<OutboxEntry> entries = recovered;
+            recovered = new ArrayList<>();
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registra un correo como aceptado. Al volver, el registro está en disco.
+     *
+     * @param id Identificador del correo
+     * @param request Datos del correo
+     */
+    public void accepted(String id, EmailRequest request) {
+        accepted(id, request, null);
+    }
+
+    /**
+     * Como {@link #accepted(String, EmailRequest)}, con la clave del cuerpo ya calculada
+     *
+     * @param bodyKey Clave del cuerpo, o null para calcularla
+     */
+    public void accepted(String id, EmailRequest request, BodyKey bodyKey) {
+        if (!enabled) {
+            return;
+        }
+        if (request.getBody() == null) {
+            acceptedRecord(id, encode(ACCEPTED, id, request));
+            return;
+        }
+        BodyKey key = bodyKey != null ? bodyKey : BodyKey.of(request.getBody());
+        byte[] record = encodeReference(id, request, key);
+        lock.lock();
+        try {
+            rollIfFull(record.length);
+            if (!segmentBodies.contains(key)) {
+                byte[] body = encodeBody(key, request.getBody());
+                // El cuerpo y su referencia van siempre en el mismo segmento
+                rollIfFull(body.length + record.length);
+                write(body);
+                segmentBodies.add(key);
+            }
+            awaitDurable(id, write(record));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acceptedRecord(String id, byte[] record) {
+        lock.lock();
+        try {
+            awaitDurable(id, append(record));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitDurable(String id, long seq) {
+        segmentOf.put(id, currentSegment);
+        pendingPerSegment.get(currentSegment)[0]++;
+        awaitDurable(seq);
+    }
+
+    /**
+     * Espera, con el lock tomado, a que el group commit sincronice el registro
+     */
+    private void awaitDurable(long seq) {
+        while (durableSeq < seq && open) {
+            try {
+                durable.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrumpido esperando la escritura del outbox", e);
+            }
+        }
+    }
+
+    /**
+     * Registra un correo como completado. Al volver, el registro está en disco:
+     * el correo ya no se reenviará al arrancar. Comparte el fsync del
+     * siguiente group commit con el resto de registros.
+     *
+     * @param id Identificador del correo
+     */
+    public void completed(String id) {
+        if (!enabled) {
+            return;
+        }
+        byte[] record = encode(COMPLETED, id, null);
+        lock.lock();
+        try {
+            long seq = append(record);
+            Long segment = segmentOf.remove(id);
+            if (segment != null) {
+                pendingPerSegment.get(segment)[0]--;
+                compact();
+            }
+            awaitDurable(seq);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Número de segmentos presentes en disco
+     */
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return pendingPerSegment.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+            Map<String, OutboxEntry> pending = new LinkedHashMap<>();
+            // Los correos recuperados con el mismo cuerpo comparten la misma cadena
+            Map<BodyKey, String> bodies = new HashMap<>();
+            long lastSegment = 0;
+            for (Path segment : listSegments()) {
+                long number = segmentNumber(segment);
+                lastSegment = Math.max(lastSegment, number);
+                pendingPerSegment.put(number, new int[1]);
+                replay(segment, number, pending, bodies);
+            }
+            recovered = new ArrayList<>(pending.values());
+
+            currentSegment = lastSegment;
+            openSegment(currentSegment + 1);
+            compact();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el outbox en " + directory, e);
+        }
+
+        open = true;
+        committer = new Thread(this::commitLoop, "email-outbox-commit");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private void replay(Path segment, long number, Map<String, OutboxEntry> pending,
+                        Map<BodyKey, String> bodies) throws IOException {
+        try (FileChannel reader = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = reader.map(FileChannel.MapMode.READ_ONLY, 0, reader.size());
+            CRC32 crc = new CRC32();
+            while (buffer.remaining() >= HEADER_SIZE) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    break;
+                }
+                ByteBuffer body = buffer.slice();
+                body.limit(length);
+                crc.reset();
+                crc.update(body.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    // Registro incompleto por una caída durante la escritura: se descarta la cola
+                    break;
+                }
+                buffer.position(buffer.position() + length);
+
+                byte type = body.get();
+                if (type == BODY) {
+                    bodies.putIfAbsent(BodyKey.readFrom(body), readString(body));
+                    continue;
+                }
+                String id = readString(body);
+                EmailRequest request = null;
+                if (type == ACCEPTED) {
+                    request = new EmailRequest(readString(body), readString(body), readString(body), readString(body));
+                } else if (type == ACCEPTED_BODY_REF) {
+                    String to = readString(body);
+                    String subject = readString(body);
+                    BodyKey key = BodyKey.readFrom(body);
+                    String content = bodies.get(key);
+                    if (content == null) {
+                        logger.warn("El correo {} del outbox hace referencia a un cuerpo que no existe: {}", id, key);
+                        continue;
+                    }
+                    request = new EmailRequest(to, subject, content, readString(body));
+                }
+                if (request != null) {
+                    readTrailer(body, request);
+                    pending.put(id, new OutboxEntry(id, request));
+                    segmentOf.put(id, number);
+                    pendingPerSegment.get(number)[0]++;
+                } else if (type == COMPLETED && pending.remove(id) != null) {
+                    pendingPerSegment.get(segmentOf.remove(id))[0]--;
+                }
+            }
+        }
+    }
+
+    private long append(byte[] record) {
+        rollIfFull(record.length);
+        return write(record);
+    }
+
+    private void rollIfFull(int length) {
+        try {
+            if (channel.position() + length > segmentSize && channel.position() > 0) {
+                rollSegment();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir en el outbox", e);
+        }
+    }
+
+    private long write(byte[] record) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir en el outbox", e);
+        }
+        long seq = ++writtenSeq;
+        written.signal();
+        return seq;
+    }
+
+    private void rollSegment() throws IOException {
+        channel.force(false);
+        channel.close();
+        durableSeq = writtenSeq;
+        durable.signalAll();
+        openSegment(currentSegment + 1);
+        compact();
+    }
+
+    private void openSegment(long number) throws IOException {
+        currentSegment = number;
+        pendingPerSegment.put(number, new int[1]);
+        segmentBodies.clear();
+        channel = FileChannel.open(segmentPath(number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void compact() {
+        Iterator<Map.Entry<Long, int[]>> it = pendingPerSegment.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, int[]> segment = it.next();
+            if (segment.getKey() == currentSegment || segment.getValue()[0] > 0) {
+                // Solo se elimina el prefijo de segmentos terminados
+                return;
+            }
+            try {
+                Files.deleteIfExists(segmentPath(segment.getKey()));
+            } catch (IOException e) {
+                logger.warn("No se pudo eliminar el segmento {}", segment.getKey(), e);
+                return;
+            }
+            it.remove();
+        }
+    }
+
+    private void commitLoop() {
+        while (true) {
+            long target;
+            FileChannel toSync;
+            lock.lock();
+            try {
+                while (open && writtenSeq == durableSeq) {
+                    try {
+                        written.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (!open) {
+                    return;
+                }
+                target = writtenSeq;
+                toSync = channel;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                toSync.force(false);
+            } catch (ClosedChannelException e) {
+                // El segmento se cerró al rotar y ya quedó sincronizado
+            } catch (IOException e) {
+                logger.error("Error al sincronizar el outbox", e);
+                continue;
+            }
+            lock.lock();
+            try {
+                durableSeq = Math.max(durableSeq, target);
+                durable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static byte[] encode(byte type, String id, EmailRequest request) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = header(bytes, type);
+            writeString(out, id);
+            if (request != null) {
+                writeString(out, request.getTo());
+                writeString(out, request.getSubject());
+                writeString(out, request.getBody());
+                writeString(out, request.getFrom());
+                writeTrailer(out, request);
+            }
+            return seal(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] encodeReference(String id, EmailRequest request, BodyKey key) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = header(bytes, ACCEPTED_BODY_REF);
+            writeString(out, id);
+            writeString(out, request.getTo());
+            writeString(out, request.getSubject());
+            key.writeTo(out);
+            writeString(out, request.getFrom());
+            writeTrailer(out, request);
+            return seal(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] encodeBody(BodyKey key, String content) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + content.length());
+            DataOutputStream out = header(bytes, BODY);
+            key.writeTo(out);
+            writeString(out, content);
+            return seal(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static DataOutputStream header(ByteArrayOutputStream bytes, byte type) throws IOException {
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0);
+        out.writeInt(0);
+        out.writeByte(type);
+        return out;
+    }
+
+    /**
+     * Rellena la longitud y el CRC32 de la cabecera del registro
+     */
+    private static byte[] seal(ByteArrayOutputStream bytes) {
+        byte[] record = bytes.toByteArray();
+        int length = record.length - HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(record, HEADER_SIZE, length);
+        ByteBuffer.wrap(record).putInt(length).putInt((int) crc.getValue());
+        return record;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeTrailer(DataOutputStream out, EmailRequest request) throws IOException {
+        boolean bulk = request.getPriority() != null && request.getPriority() != Priority.TRANSACTIONAL;
+        if (request.getSendAt() == null && !bulk) {
+            return;
+        }
+        out.writeLong(request.getSendAt() != null ? request.getSendAt().toInstant().toEpochMilli() : Long.MIN_VALUE);
+        if (bulk) {
+            out.writeByte(request.getPriority().ordinal());
+        }
+    }
+
+    private static void readTrailer(ByteBuffer buffer, EmailRequest request) {
+        if (buffer.remaining() < Long.BYTES) {
+            return;
+        }
+        long sendAt = buffer.getLong();
+        if (sendAt != Long.MIN_VALUE) {
+            request.setSendAt(OffsetDateTime.ofInstant(Instant.ofEpochMilli(sendAt), ZoneOffset.UTC));
+        }
+        if (buffer.hasRemaining()) {
+            int priority = buffer.get();
+            if (priority >= 0 && priority < Priority.values().length) {
+                request.setPriority(Priority.values()[priority]);
+            }
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (!open) {
+                return;
+            }
+            open = false;
+            written.signal();
+            durable.signalAll();
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Error al cerrar el outbox", e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
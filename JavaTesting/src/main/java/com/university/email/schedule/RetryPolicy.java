@@ -0,0 +1,70 @@
+package com.university.email.schedule;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reintentos de los envíos asíncronos fallidos, con espera exponencial y jitter.
+ *
+ * La espera del reintento n es initialDelay * 2^(n-1), limitada a maxDelay; se
+ * usa un valor aleatorio entre la mitad y el total de esa espera para que los
+ * correos que fallaron a la vez no se reintenten todos en el mismo instante.
+ */
+@Component
+public class RetryPolicy {
+
+    private final int maxRetries;
+    private final long initialDelayNanos;
+    private final long maxDelayNanos;
+
+    /**
+     * @param maxRetries Reintentos tras el primer intento; 0 los desactiva
+     * @param initialDelayMs Espera antes del primer reintento
+     * @param maxDelayMs Espera máxima entre reintentos
+     */
+    @Autowired
+    public RetryPolicy(@Value("${email.retry.max-retries:3}") int maxRetries,
+                       @Value("${email.retry.initial-delay-ms:1000}") long initialDelayMs,
+                       @Value("${email.retry.max-delay-ms:300000}") long maxDelayMs) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(initialDelayMs);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+    }
+
+    /**
+     * Política sin reintentos
+     */
+    public static RetryPolicy none() {
+        return new RetryPolicy(0, 0, 0);
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Indica si un correo que ya se intentó enviar tantas veces puede reintentarse
+     *
+     * @param attempts Intentos realizados, incluido el primero
+     */
+    public boolean shouldRetry(int attempts) {
+        return attempts <= maxRetries;
+    }
+
+    /**
+     * Espera antes del siguiente reintento
+     *
+     * @param attempts Intentos realizados, incluido el primero
+     * @return Nanosegundos de espera, con jitter
+     */
+    public long delayNanos(int attempts) {
+        int shift = Math.min(attempts - 1, 62);
+        long delay = initialDelayNanos > maxDelayNanos >> shift ? maxDelayNanos : initialDelayNanos << shift;
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+}
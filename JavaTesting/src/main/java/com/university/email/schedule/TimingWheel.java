@@ -0,0 +1,168 @@
+package com.university.email.schedule;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rueda de temporización jerárquica con hash, de un solo hilo.
+ *
+ * El tiempo avanza en ticks. Hay cuatro niveles de 256 casillas: el nivel 0
+ * cubre los próximos 256 ticks, el nivel 1 los próximos 65.536, y así hasta
+ * unos 4.300 millones de ticks. Un temporizador se coloca en el nivel más bajo
+ * cuyo alcance cubre su plazo, en la casilla que indican los bits de ese nivel.
+ * Cuando los bits inferiores del tick actual vuelven a cero, la casilla
+ * correspondiente del nivel superior se reparte entre los niveles inferiores.
+ * Insertar y disparar cuesta O(1), y cada temporizador baja como mucho tres
+ * veces, sin el montículo O(log n) de un ScheduledThreadPoolExecutor.
+ *
+ * Cada casilla es una lista enlazada intrusiva, sin colecciones ni arrays por
+ * casilla: un temporizador pendiente ocupa un nodo de tres campos. Los
+ * temporizadores de un mismo tick se disparan en el orden en que se añadieron.
+ *
+ * No es segura entre hilos: {@link WheelTimer} la usa desde su único hilo.
+ */
+public final class TimingWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+
+    private static final int BITS = 8;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    /** Plazo máximo en ticks; los posteriores se recolocan al bajar del último nivel */
+    private static final long RANGE = 1L << (BITS * LEVELS);
+
+    private final Node[][] heads = new Node[LEVELS][SLOTS];
+    private final Node[][] tails = new Node[LEVELS][SLOTS];
+    private long tick;
+    private int size;
+
+    /**
+     * @param tick Tick inicial; se considera ya procesado
+     */
+    public TimingWheel(long tick) {
+        this.tick = tick;
+    }
+
+    /**
+     * Último tick procesado
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Temporizadores pendientes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Añade un temporizador
+     *
+     * @param deadline Tick en el que debe dispararse; si ya pasó, se dispara en el siguiente
+     * @param task Tarea a ejecutar; debe ser breve, se ejecuta en el hilo que avanza la rueda
+     */
+    public void add(long deadline, Runnable task) {
+        place(new Node(deadline, task), tick + 1);
+        size++;
+    }
+
+    /**
+     * Avanza hasta el tick indicado disparando los temporizadores vencidos
+     *
+     * @param target Tick hasta el que avanzar, incluido
+     * @return Temporizadores disparados
+     */
+    public int advance(long target) {
+        int fired = 0;
+        while (tick < target) {
+            if (size == 0) {
+                // Sin temporizadores no hay nada que bajar de nivel: se salta directamente
+                tick = target;
+                break;
+            }
+            tick++;
+            cascade();
+            fired += fire((int) (tick & MASK));
+        }
+        return fired;
+    }
+
+    /**
+     * Baja a los niveles inferiores las casillas que empiezan en este tick,
+     * empezando por el nivel más alto para que lo que baja de él aún se reparta
+     */
+    private void cascade() {
+        int top = 0;
+        while (top + 1 < LEVELS && (tick & ((1L << (BITS * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level >= 1; level--) {
+            int slot = (int) ((tick >>> (BITS * level)) & MASK);
+            Node node = heads[level][slot];
+            heads[level][slot] = null;
+            tails[level][slot] = null;
+            while (node != null) {
+                Node next = node.next;
+                node.next = null;
+                // La casilla del tick actual del nivel 0 aún no se ha disparado
+                place(node, tick);
+                node = next;
+            }
+        }
+    }
+
+    private int fire(int slot) {
+        Node node = heads[0][slot];
+        heads[0][slot] = null;
+        tails[0][slot] = null;
+        int fired = 0;
+        while (node != null) {
+            Node next = node.next;
+            node.next = null;
+            size--;
+            fired++;
+            try {
+                node.task.run();
+            } catch (RuntimeException e) {
+                logger.warn("Error en una tarea programada", e);
+            }
+            node = next;
+        }
+        return fired;
+    }
+
+    private void place(Node node, long earliest) {
+        long deadline = Math.max(node.deadline, earliest);
+        long delta = deadline - tick;
+        if (delta >= RANGE) {
+            deadline = tick + RANGE - 1;
+            delta = RANGE - 1;
+        }
+        int level = 0;
+        while (delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((deadline >>> (BITS * level)) & MASK);
+        Node tail = tails[level][slot];
+        if (tail == null) {
+            heads[level][slot] = node;
+        } else {
+            tail.next = node;
+        }
+        tails[level][slot] = node;
+    }
+
+    private static final class Node {
+        private final long deadline;
+        private final Runnable task;
+        private Node next;
+
+        private Node(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.university.email.schedule;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Temporizador de los envíos diferidos: reintentos, envíos programados y
+ * correos aplazados por el límite de su dominio.
+ *
+ * Un único hilo avanza una {@link TimingWheel} tick a tick. Los demás hilos no
+ * tocan la rueda: dejan los temporizadores en una cola sin bloqueos que el hilo
+ * vacía en cada tick. Sin temporizadores pendientes el hilo se detiene hasta
+ * que llega uno, y no se arranca hasta el primero.
+ *
+ * Las tareas se ejecutan en el hilo del temporizador y deben limitarse a
+ * devolver el trabajo a su cola.
+ */
+@Component
+public class WheelTimer {
+
+    private final long tickNanos;
+    private final long maxDelayNanos;
+    private final int maxPending;
+    private final ConcurrentLinkedQueue<Timer> inbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long origin = System.nanoTime();
+    private volatile Thread thread;
+    private volatile boolean idle;
+    private volatile boolean running = true;
+
+    /**
+     * @param tickMs Resolución del temporizador
+     * @param maxDelayMs Plazo máximo de un envío programado
+     * @param maxPending Máximo de envíos programados pendientes
+     */
+    @Autowired
+    public WheelTimer(@Value("${email.schedule.tick-ms:10}") long tickMs,
+                      @Value("${email.schedule.max-delay-ms:2592000000}") long maxDelayMs,
+                      @Value("${email.schedule.max-pending:1000000}") int maxPending) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMs));
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Temporizador con los valores por defecto
+     */
+    public static WheelTimer defaults() {
+        return new WheelTimer(10, 2_592_000_000L, 1_000_000);
+    }
+
+    /**
+     * Temporizadores pendientes
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * Programa una tarea interna, sin límite de pendientes
+     *
+     * @param delayNanos Espera antes de ejecutarla; se redondea al tick siguiente
+     * @param task Tarea breve
+     */
+    public void schedule(long delayNanos, Runnable task) {
+        pending.incrementAndGet();
+        enqueue(delayNanos, task);
+    }
+
+    /**
+     * Reserva un temporizador para un envío programado por un cliente, que se
+     * programa después con {@link #scheduleReserved(long, Runnable)} o se
+     * devuelve con {@link #cancelReservation()}
+     *
+     * @param delayNanos Espera pedida
+     * @return false si ya hay demasiados temporizadores pendientes
+     * @throws IllegalArgumentException Si la espera supera el plazo máximo
+     */
+    public boolean reserve(long delayNanos) {
+        if (delayNanos > maxDelayNanos) {
+            throw new IllegalArgumentException("La fecha de envío no puede superar "
+                    + TimeUnit.NANOSECONDS.toDays(maxDelayNanos) + " días");
+        }
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void scheduleReserved(long delayNanos, Runnable task) {
+        enqueue(delayNanos, task);
+    }
+
+    public void cancelReservation() {
+        pending.decrementAndGet();
+    }
+
+    private void enqueue(long delayNanos, Runnable task) {
+        long now = System.nanoTime() - origin;
+        // Redondeo hacia arriba: nunca se dispara antes de tiempo
+        long deadline = (now + Math.max(0, delayNanos) + tickNanos - 1) / tickNanos;
+        inbox.add(new Timer(deadline, task));
+        Thread current = thread;
+        if (current == null) {
+            current = start();
+        }
+        if (idle) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private synchronized Thread start() {
+        if (thread == null) {
+            Thread started = new Thread(this::run, "email-timer");
+            started.setDaemon(true);
+            thread = started;
+            started.start();
+        }
+        return thread;
+    }
+
+    private void run() {
+        TimingWheel wheel = new TimingWheel((System.nanoTime() - origin) / tickNanos);
+        while (running) {
+            Timer timer;
+            while ((timer = inbox.poll()) != null) {
+                wheel.add(timer.deadline, timer);
+            }
+            wheel.advance((System.nanoTime() - origin) / tickNanos);
+
+            if (wheel.size() == 0) {
+                idle = true;
+                // Se vuelve a mirar la cola tras marcarse inactivo para no perder un aviso
+                if (inbox.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+            } else {
+                long next = (wheel.getTick() + 1) * tickNanos - (System.nanoTime() - origin);
+                if (next > 0) {
+                    LockSupport.parkNanos(this, next);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread current = thread;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private final class Timer implements Runnable {
+        private final long deadline;
+        private final Runnable task;
+
+        private Timer(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            pending.decrementAndGet();
+            task.run();
+        }
+    }
+}
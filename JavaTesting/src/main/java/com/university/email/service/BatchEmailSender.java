@@ -0,0 +1,251 @@
+package com.university.email.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.model.EmailRequest;
+import com.university.email.model.SendResult;
+import com.university.email.template.TemplateService;
+import com.university.email.validation.EmailRequestValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Procesa lotes de correos leídos de forma incremental desde un arreglo JSON.
+ *
+ * Cada elemento se valida y se envía en un pool de hilos acotado; los resultados
+ * se entregan a medida que terminan, sin acumular el lote completo en memoria.
+ * Los elementos que indican una plantilla se renderizan antes de enviarse.
+ */
+@Component
+public class BatchEmailSender {
+
+    /**
+     * Destino de los resultados de un lote
+     */
+    @FunctionalInterface
+    public interface ResultSink {
+        void accept(SendResult result) throws IOException;
+    }
+
+    private final IEmailService emailService;
+    private final ObjectMapper objectMapper;
+    private final TemplateService templateService;
+    private final int maxBatchSize;
+    private final int maxInFlight;
+    private final ExecutorService executor;
+
+    public BatchEmailSender(IEmailService emailService, ObjectMapper objectMapper, int maxBatchSize, int concurrency) {
+        this(emailService, objectMapper, null, maxBatchSize, concurrency);
+    }
+
+    @Autowired
+    public BatchEmailSender(IEmailService emailService,
+                            ObjectMapper objectMapper,
+                            TemplateService templateService,
+                            @Value("${email.batch.max-size:1000}") int maxBatchSize,
+                            @Value("${email.batch.concurrency:8}") int concurrency) {
+        this.emailService = emailService;
+        this.objectMapper = objectMapper;
+        this.templateService = templateService;
+        this.maxBatchSize = maxBatchSize;
+        this.maxInFlight = concurrency * 2;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "email-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Lee un arreglo JSON de solicitudes y envía cada elemento de forma concurrente
+     *
+     * @param parser Parser posicionado antes del inicio del arreglo
+     * @param sink Destino de los resultados, invocado siempre desde el hilo que llama
+     * @throws IllegalArgumentException si el contenido no es un arreglo JSON
+     * @throws IOException si el JSON está mal formado o no se puede escribir un resultado
+     */
+    public void send(JsonParser parser, ResultSink sink) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("El cuerpo debe ser un arreglo JSON de solicitudes");
+        }
+
+        CompletionService<SendResult> completion = new ExecutorCompletionService<>(executor);
+        List<Future<SendResult>> inFlight = new ArrayList<>(maxInFlight);
+        Output output = new Output(sink);
+        int index = 0;
+        try {
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == null) {
+                    throw new IllegalArgumentException("El arreglo JSON está incompleto");
+                }
+                if (index >= maxBatchSize) {
+                    output.accept(SendResult.failed(index, null,
+                            "El lote supera el tamaño máximo de " + maxBatchSize + " elementos"));
+                    break;
+                }
+
+                JsonNode item = parser.readValueAsTree();
+                int itemIndex = index++;
+                inFlight.add(completion.submit(() -> sendItem(itemIndex, item)));
+
+                Future<SendResult> done;
+                while ((done = completion.poll()) != null) {
+                    deliver(done, inFlight, output);
+                }
+                if (inFlight.size() >= maxInFlight) {
+                    deliver(completion.take(), inFlight, output);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                deliver(completion.take(), inFlight, output);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            IOException failure = new IOException("Procesamiento del lote interrumpido", e);
+            settle(completion, inFlight, output, failure);
+            throw failure;
+        } catch (IOException | RuntimeException e) {
+            settle(completion, inFlight, output, e);
+            throw e;
+        }
+    }
+
+    private static void deliver(Future<SendResult> done, List<Future<SendResult>> inFlight, Output output)
+            throws IOException, InterruptedException {
+        inFlight.remove(done);
+        output.accept(resultOf(done));
+    }
+
+    /**
+     * Cierra los envíos en curso de un lote que terminó con error.
+     *
+     * Nunca se abandonan envíos en curso: si el destino sigue sano recibe sus
+     * resultados; si ya falló (por ejemplo, porque el cliente se desconectó) no
+     * se le vuelve a escribir, los envíos que aún no empezaron se cancelan y se
+     * espera a los que ya están en marcha. Cualquier error posterior queda como
+     * suprimido de {@code failure}, que es la excepción que se propaga.
+     */
+    private static void settle(CompletionService<SendResult> completion, List<Future<SendResult>> inFlight,
+                               Output output, Exception failure) {
+        if (!output.failed && !Thread.currentThread().isInterrupted()) {
+            try {
+                while (!inFlight.isEmpty()) {
+                    deliver(completion.take(), inFlight, output);
+                }
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException e) {
+                failure.addSuppressed(e);
+            }
+        }
+        for (Future<SendResult> future : inFlight) {
+            future.cancel(false);
+        }
+        for (Future<SendResult> future : inFlight) {
+            if (!future.isCancelled()) {
+                awaitQuietly(future);
+            }
+        }
+        inFlight.clear();
+    }
+
+    private SendResult sendItem(int index, JsonNode item) {
+        EmailRequest request;
+        try {
+            request = objectMapper.treeToValue(item, EmailRequest.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return SendResult.failed(index, null, "El elemento no es una solicitud de correo válida");
+        }
+        return sendItem(index, request);
+    }
+
+    /**
+     * Valida, renderiza y envía un elemento de un lote
+     *
+     * @param index Posición del elemento en el lote
+     * @param request Solicitud ya deserializada
+     * @return Resultado del envío; los errores de validación y de política se
+     *         devuelven como resultados fallidos
+     */
+    public SendResult sendItem(int index, EmailRequest request) {
+        int violations = EmailRequestValidator.violations(request);
+        if (violations != 0) {
+            return SendResult.failed(index, request.getTo(), EmailRequestValidator.describe(violations));
+        }
+        if (templateService != null) {
+            try {
+                request = templateService.render(request);
+            } catch (IllegalArgumentException e) {
+                return SendResult.failed(index, request.getTo(), e.getMessage());
+            }
+        }
+        return emailService.trySend(index, request);
+    }
+
+    private static SendResult resultOf(Future<SendResult> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fallo inesperado al procesar el lote", e.getCause());
+        }
+    }
+
+    private static void awaitQuietly(Future<SendResult> future) {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            // El resultado ya no tiene a quién entregarse
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Envuelve el destino de un lote y recuerda si alguna escritura falló
+     */
+    private static final class Output {
+
+        private final ResultSink sink;
+        private boolean failed;
+
+        Output(ResultSink sink) {
+            this.sink = sink;
+        }
+
+        void accept(SendResult result) throws IOException {
+            try {
+                sink.accept(result);
+            } catch (IOException | RuntimeException e) {
+                failed = true;
+                throw e;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
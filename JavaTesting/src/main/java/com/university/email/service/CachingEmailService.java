@@ -0,0 +1,142 @@
+package com.university.email.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.university.email.model.EmailRequest;
+import com.university.email.model.SendResult;
+import com.university.email.validation.EmailAddress;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorador de {@link IEmailService} que memoriza canSendTo por dirección.
+ *
+ * Las direcciones se normalizan (sin espacios y en minúsculas) y cada resultado
+ * caduca según sea positivo o negativo, con TTL independientes. La caché está
+ * limitada en número de entradas y usa la política W-TinyLFU de Caffeine, que
+ * conserva las direcciones frecuentes frente a ráfagas de direcciones nuevas.
+ *
+ * Las comprobaciones concurrentes de una misma dirección se agrupan: el primer
+ * hilo registra un resultado pendiente y lo calcula fuera de la caché, y el
+ * resto espera ese mismo resultado. Si la comprobación falla, el resultado
+ * pendiente se descarta y la siguiente llamada vuelve a calcularlo.
+ *
+ * El resto de operaciones se delegan tal cual; en particular sendToRecipients
+ * mantiene la transferencia con varios destinatarios de la implementación SMTP.
+ */
+public class CachingEmailService implements IEmailService {
+
+    private final IEmailService delegate;
+    private final AsyncCache<String, Boolean> allowed;
+
+    /**
+     * @param delegate Servicio cuyas comprobaciones se memorizan
+     * @param maxSize Máximo de direcciones en la caché
+     * @param positiveTtlMs Vigencia de un resultado positivo
+     * @param negativeTtlMs Vigencia de un resultado negativo
+     */
+    public CachingEmailService(IEmailService delegate, long maxSize, long positiveTtlMs, long negativeTtlMs) {
+        this(delegate, maxSize, positiveTtlMs, negativeTtlMs, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    CachingEmailService(IEmailService delegate, long maxSize, long positiveTtlMs, long negativeTtlMs,
+                        Ticker ticker, Executor executor) {
+        this.delegate = delegate;
+        long positiveTtlNanos = TimeUnit.MILLISECONDS.toNanos(positiveTtlMs);
+        long negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMs);
+        this.allowed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(String key, Boolean value, long currentTime) {
+                        return value ? positiveTtlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Boolean value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Boolean value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public boolean canSendTo(String email) {
+        if (EmailAddress.isBlank(email)) {
+            return delegate.canSendTo(email);
+        }
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+        // La función solo registra el resultado pendiente; el cálculo se hace
+        // fuera del lock de la caché para no bloquear otras direcciones
+        CompletableFuture<Boolean> result = allowed.get(key, (k, executor) -> pending);
+        if (result == pending) {
+            try {
+                pending.complete(delegate.canSendTo(email));
+            } catch (RuntimeException | Error e) {
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    @Override
+    public boolean sendEmail(EmailRequest request) {
+        return delegate.sendEmail(request);
+    }
+
+    @Override
+    public List<SendResult> sendToRecipients(EmailRequest content, List<String> recipients) {
+        return delegate.sendToRecipients(content, recipients);
+    }
+
+    /**
+     * Servicio decorado
+     */
+    public IEmailService getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Aciertos, fallos y desalojos (por tamaño o caducidad) de la caché
+     */
+    public CacheStats stats() {
+        return allowed.synchronous().stats();
+    }
+
+    /**
+     * Número aproximado de direcciones en la caché
+     */
+    public long size() {
+        return allowed.synchronous().estimatedSize();
+    }
+
+    /**
+     * Ejecuta el mantenimiento pendiente de la caché (desalojos y caducidades)
+     */
+    void cleanUp() {
+        allowed.synchronous().cleanUp();
+    }
+}
@@ -1,20 +1,55 @@
 package com.university.email.service;
 
 import com.university.email.model.EmailRequest;
+import com.university.email.suppression.SuppressionService;
+import com.university.email.validation.EmailAddress;
+import com.university.email.validation.EmailRequestValidator;
+import com.university.email.validation.EmailRequestValidator.Violation;
+import com.university.email.validation.ValidatedFields;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.util.logging.Logger;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Servicio para el envío de correos electrónicos
  * Implementación simulada para propósitos educativos
+ * (activa salvo que se configure email.transport=smtp)
  */
 @Service
+@ConditionalOnProperty(name = "email.transport", havingValue = "simulated", matchIfMissing = true)
 public class EmailService implements IEmailService {
     
-    private static final Logger logger = Logger.getLogger(EmailService.class.getName());
+    private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
     private static final String DEFAULT_FROM = "noreply@university.edu";
     
+    private final SuppressionService suppressionService;
+    private final double successLogRate;
+    
+    public EmailService() {
+        this(null);
+    }
+    
+    public EmailService(SuppressionService suppressionService) {
+        this(suppressionService, 1.0);
+    }
+    
+    /**
+     * @param suppressionService Lista de supresión, o null si no se usa
+     * @param successLogRate Fracción de los envíos correctos que se registran en el log;
+     *                       los fallos se registran siempre
+     */
+    @Autowired
+    public EmailService(SuppressionService suppressionService,
+                        @Value("${email.logging.success-sample-rate:0.01}") double successLogRate) {
+        this.suppressionService = suppressionService;
+        this.successLogRate = successLogRate;
+    }
+    
     /**
      * Envía un correo electrónico
      * 
@@ -23,60 +58,73 @@ public class EmailService implements IEmailService {
      * @throws IllegalArgumentException si los datos del correo son inválidos
      */
     public boolean sendEmail(EmailRequest request) {
-        if (request == null) {
-            throw new IllegalArgumentException("La solicitud de correo no puede ser nula");
-        }
-        
-        if (request.getTo() == null || request.getTo().trim().isEmpty()) {
-            throw new IllegalArgumentException("El destinatario es obligatorio");
-        }
-        
-        if (request.getSubject() == null || request.getSubject().trim().isEmpty()) {
-            throw new IllegalArgumentException("El asunto es obligatorio");
-        }
-        
-        if (request.getBody() == null || request.getBody().trim().isEmpty()) {
-            throw new IllegalArgumentException("El cuerpo del mensaje es obligatorio");
-        }
-        
-        // Validar formato de email
-        if (!isValidEmail(request.getTo())) {
-            throw new IllegalArgumentException("El formato del correo destinatario no es válido");
-        }
+        validate(request);
         
         // Simulación de envío de correo
-        String fromEmail = request.getFrom() != null && !request.getFrom().trim().isEmpty() 
-            ? request.getFrom() 
-            : DEFAULT_FROM;
+        String fromEmail = senderOf(request);
         
-        logger.info(String.format("Enviando correo de %s a %s con asunto: %s", 
-            fromEmail, request.getTo(), request.getSubject()));
+        // Los argumentos solo se formatean si el nivel está activo
+        logger.debug("Enviando correo de {} a {} con asunto: {}", fromEmail, request.getTo(), request.getSubject());
         
         // Simulación de posibles errores
         if (request.getTo().contains("error@")) {
-            logger.warning("Error simulado: No se pudo enviar el correo");
+            logger.warn("Error simulado: no se pudo enviar el correo de {} a {}", fromEmail, request.getTo());
             return false;
         }
         
-        // Simulación de éxito
-        logger.info("Correo enviado exitosamente");
+        // Simulación de éxito; los envíos correctos se registran por muestreo
+        if (logger.isInfoEnabled() && sampled()) {
+            logger.info("Correo enviado de {} a {} con asunto: {}", fromEmail, request.getTo(), request.getSubject());
+        }
         return true;
     }
     
+    private boolean sampled() {
+        return successLogRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < successLogRate;
+    }
+    
     /**
-     * Valida el formato de un correo electrónico
+     * Valida los datos obligatorios y el formato del destinatario, salvo que la
+     * solicitud ya se validara al recibirla y no haya cambiado desde entonces
      * 
-     * @param email Correo a validar
-     * @return true si el formato es válido, false en caso contrario
+     * @param request Datos del correo a validar
+     * @throws IllegalArgumentException si los datos del correo son inválidos
      */
-    private boolean isValidEmail(String email) {
-        if (email == null || email.trim().isEmpty()) {
-            return false;
+    protected void validate(EmailRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("La solicitud de correo no puede ser nula");
+        }
+        ValidatedFields validated = request.getValidatedFields();
+        if (validated != null && validated.covers(request)) {
+            return;
         }
         
-        // Validación simple de formato de email
-        String emailRegex = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
-        return email.matches(emailRegex);
+        int violations = EmailRequestValidator.check(request);
+        if (violations == 0) {
+            return;
+        }
+        if (Violation.TO_MISSING.in(violations)) {
+            throw new IllegalArgumentException("El destinatario es obligatorio");
+        }
+        if (Violation.SUBJECT_MISSING.in(violations)) {
+            throw new IllegalArgumentException("El asunto es obligatorio");
+        }
+        if (Violation.BODY_MISSING.in(violations)) {
+            throw new IllegalArgumentException("El cuerpo del mensaje es obligatorio");
+        }
+        throw new IllegalArgumentException("El formato del correo destinatario no es válido");
+    }
+    
+    /**
+     * Remitente del correo, o el remitente por defecto si no se indicó
+     * 
+     * @param request Datos del correo
+     * @return Dirección del remitente
+     */
+    protected String senderOf(EmailRequest request) {
+        return !EmailAddress.isBlank(request.getFrom())
+            ? request.getFrom() 
+            : DEFAULT_FROM;
     }
     
     /**
@@ -86,12 +134,16 @@ public class EmailService implements IEmailService {
      * @return true si el correo puede recibir mensajes, false en caso contrario
      */
     public boolean canSendTo(String email) {
-        if (email == null || email.trim().isEmpty()) {
+        if (EmailAddress.isBlank(email)) {
             return false;
         }
         
         // Simulación: correos que contienen "blocked" no pueden recibir mensajes
-        return !email.contains("blocked");
+        if (email.contains("blocked")) {
+            return false;
+        }
+        
+        return suppressionService == null || !suppressionService.isSuppressed(email);
     }
 }
 
@@ -1,6 +1,10 @@
 package com.university.email.service;
 
 import com.university.email.model.EmailRequest;
+import com.university.email.model.SendResult;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Interfaz para el servicio de envío de correos electrónicos
@@ -23,5 +27,62 @@ public interface IEmailService {
      * @return true si el correo puede recibir mensajes, false en caso contrario
      */
     boolean canSendTo(String email);
-}
 
+    /**
+     * Verifica el destinatario y envía un correo sin propagar errores, con las
+     * mismas reglas que el endpoint de envío individual
+     *
+     * @param index Posición del correo dentro del lote
+     * @param request Datos del correo a enviar
+     * @return Resultado del envío
+     */
+    default SendResult trySend(int index, EmailRequest request) {
+        String to = request != null ? request.getTo() : null;
+        try {
+            if (!canSendTo(to)) {
+                return SendResult.failed(index, to, "No se puede enviar correo a este destinatario");
+            }
+            return sendEmail(request)
+                    ? SendResult.sent(index, to)
+                    : SendResult.failed(index, to, "Error al enviar el correo");
+        } catch (IllegalArgumentException e) {
+            return SendResult.failed(index, to, e.getMessage());
+        } catch (Exception e) {
+            return SendResult.failed(index, to, "Error inesperado: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Envía un lote de correos. Un elemento inválido no impide el envío del resto.
+     *
+     * @param requests Correos a enviar
+     * @return Un resultado por cada correo, en el mismo orden
+     */
+    default List<SendResult> sendBatch(List<EmailRequest> requests) {
+        List<SendResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(trySend(i, requests.get(i)));
+        }
+        return results;
+    }
+
+    /**
+     * Envía el mismo contenido a varios destinatarios. Por defecto se envía un
+     * correo por destinatario; los transportes que lo permiten lo agrupan en una
+     * sola transferencia.
+     *
+     * @param content Datos del correo; se ignora su destinatario
+     * @param recipients Destinatarios
+     * @return Un resultado por cada destinatario, en el mismo orden
+     */
+    default List<SendResult> sendToRecipients(EmailRequest content, List<String> recipients) {
+        List<SendResult> results = new ArrayList<>(recipients.size());
+        for (int i = 0; i < recipients.size(); i++) {
+            EmailRequest request = new EmailRequest(recipients.get(i), content.getSubject(), content.getBody(),
+                    content.getFrom());
+            request.setAttachments(content.getAttachments());
+            results.add(trySend(i, request));
+        }
+        return results;
+    }
+}
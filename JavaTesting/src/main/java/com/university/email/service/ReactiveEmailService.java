@@ -0,0 +1,118 @@
+package com.university.email.service;
+
+import com.university.email.model.EmailRequest;
+import com.university.email.model.SendResult;
+import com.university.email.template.TemplateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Envío de correos con tipos reactivos (perfil reactive).
+ *
+ * Aplica las mismas reglas que el servicio bloqueante: el renderizado de
+ * plantillas, canSendTo y la validación de {@link IEmailService}, y para los
+ * lotes las mismas comprobaciones que {@link BatchEmailSender}. El transporte
+ * sigue siendo bloqueante, así que cada envío se ejecuta en un scheduler con
+ * hilos y cola acotados; si la cola se llena el envío se rechaza en lugar de
+ * acumularse.
+ *
+ * En los lotes solo se piden al origen tantos elementos como envíos en curso
+ * se permiten, de modo que la contrapresión llega hasta la lectura del cuerpo
+ * de la petición HTTP.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveEmailService {
+
+    static final String SATURATED = "Demasiados envíos en curso, intente más tarde";
+
+    private final IEmailService emailService;
+    private final BatchEmailSender batchSender;
+    private final TemplateService templateService;
+    private final int concurrency;
+    private final Scheduler scheduler;
+
+    /**
+     * @param concurrency Envíos simultáneos de un lote y hilos del scheduler de transporte
+     * @param queueCapacity Envíos que pueden esperar un hilo de transporte antes de rechazarse,
+     *                      repartidos por igual entre los hilos
+     */
+    @Autowired
+    public ReactiveEmailService(IEmailService emailService,
+                                BatchEmailSender batchSender,
+                                TemplateService templateService,
+                                @Value("${email.reactive.concurrency:64}") int concurrency,
+                                @Value("${email.reactive.queue-capacity:1024}") int queueCapacity) {
+        this.emailService = emailService;
+        this.batchSender = batchSender;
+        this.templateService = templateService;
+        this.concurrency = concurrency;
+        // El límite de Reactor es por hilo: se reparte la capacidad total entre los hilos
+        this.scheduler = Schedulers.newBoundedElastic(concurrency, Math.max(1, queueCapacity / concurrency),
+                "email-reactive");
+    }
+
+    /**
+     * Envía un correo
+     *
+     * @param request Datos del correo, ya validados
+     * @return El resultado del envío, o un error IllegalArgumentException si los
+     *         datos son inválidos o el destinatario no está permitido, y
+     *         RejectedExecutionException si no se admiten más envíos
+     */
+    public Mono<SendResult> send(EmailRequest request) {
+        return Mono.fromCallable(() -> sendBlocking(request)).subscribeOn(scheduler);
+    }
+
+    private SendResult sendBlocking(EmailRequest request) {
+        if (templateService != null) {
+            request = templateService.render(request);
+        }
+        if (!emailService.canSendTo(request.getTo())) {
+            throw new IllegalArgumentException("No se puede enviar correo a este destinatario");
+        }
+        return emailService.sendEmail(request)
+                ? SendResult.sent(0, request.getTo())
+                : SendResult.failed(0, request.getTo(), "Error al enviar el correo");
+    }
+
+    /**
+     * Envía un lote de correos con a lo sumo email.reactive.concurrency envíos en curso
+     *
+     * @param requests Solicitudes del lote, en orden
+     * @return Un resultado por elemento a medida que terminan; "index" indica la
+     *         posición en el lote. Si el lote supera el tamaño máximo se añade un
+     *         resultado fallido y se deja de leer.
+     */
+    public Flux<SendResult> sendAll(Flux<EmailRequest> requests) {
+        int maxBatchSize = batchSender.getMaxBatchSize();
+        return requests.index()
+                .takeUntil(item -> item.getT1() >= maxBatchSize)
+                .flatMap(item -> {
+                    int index = item.getT1().intValue();
+                    if (index >= maxBatchSize) {
+                        return Mono.just(SendResult.failed(index, null,
+                                "El lote supera el tamaño máximo de " + maxBatchSize + " elementos"));
+                    }
+                    EmailRequest request = item.getT2();
+                    return Mono.fromCallable(() -> batchSender.sendItem(index, request))
+                            .subscribeOn(scheduler)
+                            .onErrorResume(RejectedExecutionException.class,
+                                    e -> Mono.just(SendResult.failed(index, request.getTo(), SATURATED)));
+                }, concurrency, 1);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,32 @@
+package com.university.email.service;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Con email.recipient-cache.enabled=true, el transporte activo (simulado o SMTP)
+ * se envuelve en un {@link CachingEmailService}, de modo que todos los
+ * componentes que usan {@link IEmailService} comparten la caché de canSendTo
+ */
+@Configuration
+public class RecipientCacheConfiguration {
+
+    @Bean
+    public static BeanPostProcessor recipientCachePostProcessor(Environment environment) {
+        boolean enabled = environment.getProperty("email.recipient-cache.enabled", Boolean.class, false);
+        long maxSize = environment.getProperty("email.recipient-cache.max-size", Long.class, 100_000L);
+        long positiveTtlMs = environment.getProperty("email.recipient-cache.positive-ttl-ms", Long.class, 60_000L);
+        long negativeTtlMs = environment.getProperty("email.recipient-cache.negative-ttl-ms", Long.class, 600_000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof IEmailService && !(bean instanceof CachingEmailService)) {
+                    return new CachingEmailService((IEmailService) bean, maxSize, positiveTtlMs, negativeTtlMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.university.email.smtp;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Prepara el contenido de un mensaje para la orden DATA: duplica el punto
+ * inicial de cada línea y, al terminar, escribe la secuencia CRLF.CRLF.
+ * El contenido debe usar CRLF como fin de línea.
+ */
+public class DotStuffingOutputStream extends FilterOutputStream {
+
+    private boolean atLineStart = true;
+    private int previous = -1;
+
+    public DotStuffingOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (atLineStart && b == '.') {
+            out.write('.');
+        }
+        out.write(b);
+        atLineStart = previous == '\r' && b == '\n';
+        previous = b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        int start = offset;
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            byte b = bytes[i];
+            if (atLineStart && b == '.') {
+                out.write(bytes, start, i - start);
+                out.write('.');
+                start = i;
+            }
+            atLineStart = previous == '\r' && b == '\n';
+            previous = b;
+        }
+        out.write(bytes, start, end - start);
+    }
+
+    /**
+     * Escribe el terminador del mensaje sin cerrar el flujo subyacente
+     */
+    public void finish() throws IOException {
+        if (!atLineStart) {
+            out.write('\r');
+            out.write('\n');
+        }
+        out.write('.');
+        out.write('\r');
+        out.write('\n');
+        atLineStart = true;
+        previous = -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        flush();
+    }
+}
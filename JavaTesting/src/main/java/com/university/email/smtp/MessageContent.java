@@ -0,0 +1,14 @@
+package com.university.email.smtp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Contenido de un mensaje (cabeceras y cuerpo, con fin de línea CRLF) que se
+ * escribe directamente en la conexión SMTP durante la orden DATA
+ */
+@FunctionalInterface
+public interface MessageContent {
+
+    void writeTo(OutputStream out) throws IOException;
+}
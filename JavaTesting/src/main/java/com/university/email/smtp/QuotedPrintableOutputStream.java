@@ -0,0 +1,122 @@
+package com.university.email.smtp;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Codifica texto en quoted-printable (RFC 2045) a medida que se escribe.
+ *
+ * Los saltos de línea del texto (\n, \r o \r\n) se escriben como CRLF; las
+ * líneas más largas de 76 caracteres se parten con saltos suaves (=CRLF). Un
+ * espacio o tabulador al final de una línea se codifica para que no se pierda.
+ * Solo guarda el último espacio pendiente, así que no acumula el texto.
+ */
+public class QuotedPrintableOutputStream extends FilterOutputStream {
+
+    private static final int MAX_LINE_LENGTH = 76;
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes();
+
+    private int lineLength;
+    /** Espacio o tabulador aún no escrito, o -1 */
+    private int pendingWhitespace = -1;
+    private boolean previousCr;
+    private boolean atLineStart = true;
+
+    public QuotedPrintableOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        b &= 0xFF;
+        if (b == '\n' && previousCr) {
+            previousCr = false;
+            return;
+        }
+        previousCr = b == '\r';
+        if (b == '\r' || b == '\n') {
+            writePendingWhitespace(true);
+            lineBreak();
+            return;
+        }
+        writePendingWhitespace(false);
+        if (b == ' ' || b == '\t') {
+            pendingWhitespace = b;
+        } else if (b >= 33 && b <= 126 && b != '=') {
+            literal(b);
+        } else {
+            encoded(b);
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            write(bytes[i]);
+        }
+    }
+
+    /**
+     * Termina la última línea con CRLF sin cerrar el flujo subyacente
+     */
+    public void finish() throws IOException {
+        writePendingWhitespace(true);
+        if (!atLineStart) {
+            lineBreak();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        flush();
+    }
+
+    private void writePendingWhitespace(boolean atLineEnd) throws IOException {
+        if (pendingWhitespace < 0) {
+            return;
+        }
+        int b = pendingWhitespace;
+        pendingWhitespace = -1;
+        if (atLineEnd) {
+            encoded(b);
+        } else {
+            literal(b);
+        }
+    }
+
+    private void literal(int b) throws IOException {
+        reserve(1);
+        out.write(b);
+        lineLength++;
+    }
+
+    private void encoded(int b) throws IOException {
+        reserve(3);
+        out.write('=');
+        out.write(HEX[b >> 4]);
+        out.write(HEX[b & 0x0F]);
+        lineLength += 3;
+    }
+
+    /**
+     * Parte la línea si no caben length caracteres más el = del salto suave
+     */
+    private void reserve(int length) throws IOException {
+        if (lineLength + length > MAX_LINE_LENGTH - 1) {
+            out.write('=');
+            out.write('\r');
+            out.write('\n');
+            lineLength = 0;
+        }
+        atLineStart = false;
+    }
+
+    private void lineBreak() throws IOException {
+        out.write('\r');
+        out.write('\n');
+        lineLength = 0;
+        atLineStart = true;
+    }
+}
@@ -0,0 +1,293 @@
+package com.university.email.smtp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sesión SMTP persistente con un servidor de relay.
+ *
+ * Tras el saludo se negocia con EHLO y, si el servidor anuncia PIPELINING,
+ * las órdenes RSET, MAIL FROM, RCPT TO y DATA de cada transacción se envían
+ * juntas y sus respuestas se leen después, con un único viaje de ida y vuelta.
+ * Una conexión no es segura para uso concurrente; el pool garantiza que solo
+ * la use un hilo a la vez.
+ */
+public class SmtpConnection implements Closeable {
+
+    private final String host;
+    private final int port;
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+    private final long createdAt;
+    private final StringBuilder line = new StringBuilder(128);
+    private boolean pipelining;
+    private long lastUsedAt;
+    private int transactions;
+    private boolean dirty;
+
+    public SmtpConnection(String host, int port, String heloName, int connectTimeoutMs, int readTimeoutMs)
+            throws IOException {
+        this.host = host;
+        this.port = port;
+        this.socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), connectTimeoutMs);
+            socket.setSoTimeout(readTimeoutMs);
+            socket.setTcpNoDelay(true);
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = new BufferedOutputStream(socket.getOutputStream(), 16 * 1024);
+            expect("conexión", readReply(), 220);
+            greet(heloName);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        this.createdAt = System.nanoTime();
+        this.lastUsedAt = createdAt;
+    }
+
+    private void greet(String heloName) throws IOException {
+        command("EHLO " + heloName);
+        out.flush();
+        SmtpReply reply = readReply();
+        if (reply.getCode() == 250) {
+            for (String capability : reply.getText().split("\n")) {
+                if (capability.trim().toUpperCase(Locale.ROOT).equals("PIPELINING")) {
+                    pipelining = true;
+                }
+            }
+            return;
+        }
+        command("HELO " + heloName);
+        out.flush();
+        expect("HELO", readReply(), 250);
+    }
+
+    /**
+     * Envía un mensaje a uno o varios destinatarios en una sola transacción
+     *
+     * @param from Remitente del sobre (MAIL FROM)
+     * @param recipients Destinatarios del sobre (RCPT TO)
+     * @param content Contenido del mensaje
+     * @return Para cada destinatario, si el servidor aceptó el mensaje para él
+     * @throws SmtpException si el servidor rechazó la transacción; la conexión sigue siendo válida
+     * @throws IOException si falla la comunicación; la conexión debe descartarse
+     */
+    public boolean[] send(String from, List<String> recipients, MessageContent content) throws IOException {
+        boolean[] accepted = new boolean[recipients.size()];
+        boolean reset = dirty || (pipelining && transactions > 0);
+        dirty = true;
+        transactions++;
+        lastUsedAt = System.nanoTime();
+
+        int acceptedCount;
+        SmtpReply dataReply;
+        if (pipelining) {
+            if (reset) {
+                command("RSET");
+            }
+            command("MAIL FROM:<" + from + ">");
+            for (String recipient : recipients) {
+                command("RCPT TO:<" + recipient + ">");
+            }
+            command("DATA");
+            out.flush();
+
+            // Se leen todas las respuestas antes de evaluarlas para no desincronizar la sesión
+            SmtpReply resetReply = reset ? readReply() : null;
+            SmtpReply mailReply = readReply();
+            acceptedCount = readRecipientReplies(accepted);
+            dataReply = readReply();
+            if (resetReply != null && resetReply.getCode() != 250) {
+                abortData(dataReply);
+                throw new SmtpException("RSET", resetReply);
+            }
+            if (mailReply.getCode() != 250) {
+                abortData(dataReply);
+                throw new SmtpException("MAIL FROM", mailReply);
+            }
+        } else {
+            if (reset) {
+                command("RSET");
+                out.flush();
+                expect("RSET", readReply(), 250);
+            }
+            command("MAIL FROM:<" + from + ">");
+            out.flush();
+            expect("MAIL FROM", readReply(), 250);
+            acceptedCount = 0;
+            for (int i = 0; i < recipients.size(); i++) {
+                command("RCPT TO:<" + recipients.get(i) + ">");
+                out.flush();
+                accepted[i] = isRecipientAccepted(readReply());
+                acceptedCount += accepted[i] ? 1 : 0;
+            }
+            if (acceptedCount == 0) {
+                return accepted;
+            }
+            command("DATA");
+            out.flush();
+            dataReply = readReply();
+        }
+
+        if (acceptedCount == 0) {
+            abortData(dataReply);
+            return accepted;
+        }
+        expect("DATA", dataReply, 354);
+
+        DotStuffingOutputStream data = new DotStuffingOutputStream(out);
+        content.writeTo(data);
+        data.finish();
+        out.flush();
+        expect("fin de DATA", readReply(), 250);
+        dirty = false;
+        lastUsedAt = System.nanoTime();
+        return accepted;
+    }
+
+    private int readRecipientReplies(boolean[] accepted) throws IOException {
+        int count = 0;
+        for (int i = 0; i < accepted.length; i++) {
+            accepted[i] = isRecipientAccepted(readReply());
+            count += accepted[i] ? 1 : 0;
+        }
+        return count;
+    }
+
+    private static boolean isRecipientAccepted(SmtpReply reply) {
+        return reply.getCode() == 250 || reply.getCode() == 251;
+    }
+
+    /**
+     * Si el servidor aceptó DATA pese a no haber destinatarios válidos, se envía
+     * un mensaje vacío terminado para cerrar la transacción; queda marcada como sucia.
+     */
+    private void abortData(SmtpReply dataReply) throws IOException {
+        if (dataReply.getCode() == 354) {
+            out.write(".\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            readReply();
+        }
+    }
+
+    /**
+     * Comprueba que la sesión sigue viva con NOOP
+     */
+    public boolean isAlive() {
+        try {
+            command("NOOP");
+            out.flush();
+            return readReply().getCode() == 250;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public boolean supportsPipelining() {
+        return pipelining;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    public int getTransactions() {
+        return transactions;
+    }
+
+    private void command(String command) throws IOException {
+        out.write(command.getBytes(StandardCharsets.US_ASCII));
+        out.write('\r');
+        out.write('\n');
+    }
+
+    private static void expect(String command, SmtpReply reply, int code) throws SmtpException {
+        if (reply.getCode() != code) {
+            throw new SmtpException(command, reply);
+        }
+    }
+
+    /**
+     * Lee una respuesta, que puede ocupar varias líneas ("250-..." hasta "250 ...")
+     */
+    private SmtpReply readReply() throws IOException {
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            String current = readLine();
+            if (current.length() < 3) {
+                throw new IOException("Respuesta SMTP mal formada: " + current);
+            }
+            int code;
+            try {
+                code = Integer.parseInt(current.substring(0, 3));
+            } catch (NumberFormatException e) {
+                throw new IOException("Respuesta SMTP mal formada: " + current, e);
+            }
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(current.length() > 4 ? current.substring(4) : "");
+            if (current.length() == 3 || current.charAt(3) != '-') {
+                return new SmtpReply(code, text.toString());
+            }
+        }
+    }
+
+    private String readLine() throws IOException {
+        line.setLength(0);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == '\r') {
+                    line.setLength(length - 1);
+                }
+                return line.toString();
+            }
+            line.append((char) b);
+        }
+        throw new EOFException("El servidor SMTP cerró la conexión");
+    }
+
+    /**
+     * Cierra la sesión con QUIT, sin esperar la respuesta, y cierra el socket
+     */
+    @Override
+    public void close() {
+        try {
+            command("QUIT");
+            out.flush();
+        } catch (IOException e) {
+            // la conexión ya no es utilizable
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // nada más que hacer
+        }
+    }
+}
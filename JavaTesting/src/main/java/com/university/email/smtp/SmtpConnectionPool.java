@@ -0,0 +1,160 @@
+package com.university.email.smtp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de conexiones SMTP persistentes, con un límite de conexiones por servidor.
+ *
+ * Las conexiones libres se reutilizan en orden LIFO para mantener calientes las
+ * más recientes. Un hilo en segundo plano cierra las que llevan demasiado tiempo
+ * sin usarse, y ninguna conexión se reutiliza después de su tiempo de vida máximo.
+ */
+public class SmtpConnectionPool implements Closeable {
+
+    private final String heloName;
+    private final int maxPerHost;
+    private final long idleTimeoutNanos;
+    private final long maxLifetimeNanos;
+    private final long borrowTimeoutMs;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+    private final Map<String, HostPool> pools = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor;
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+
+    public SmtpConnectionPool(String heloName, int maxPerHost, long idleTimeoutMs, long maxLifetimeMs,
+                              long borrowTimeoutMs, int connectTimeoutMs, int readTimeoutMs) {
+        this.heloName = heloName;
+        this.maxPerHost = maxPerHost;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        this.maxLifetimeNanos = TimeUnit.MILLISECONDS.toNanos(maxLifetimeMs);
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.readTimeoutMs = readTimeoutMs;
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-smtp-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleTimeoutMs / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Obtiene una conexión libre con el servidor o abre una nueva
+     *
+     * @throws IOException si no se puede conectar o el pool está agotado durante el tiempo de espera
+     */
+    public SmtpConnection borrow(String host, int port) throws IOException {
+        HostPool pool = pools.computeIfAbsent(host + ':' + port, key -> new HostPool(maxPerHost));
+        try {
+            if (!pool.permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IOException("No hay conexiones SMTP disponibles con " + host + ':' + port);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrumpido esperando una conexión SMTP", e);
+        }
+
+        long now = System.nanoTime();
+        SmtpConnection connection;
+        while ((connection = pool.idle.pollFirst()) != null) {
+            if (!isExpired(connection, now)) {
+                reused.incrementAndGet();
+                return connection;
+            }
+            connection.close();
+        }
+        try {
+            connection = new SmtpConnection(host, port, heloName, connectTimeoutMs, readTimeoutMs);
+            created.incrementAndGet();
+            return connection;
+        } catch (IOException | RuntimeException e) {
+            pool.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Devuelve una conexión al pool
+     *
+     * @param connection Conexión obtenida con {@link #borrow}
+     * @param reusable false si hubo un error de comunicación y la conexión debe cerrarse
+     */
+    public void release(SmtpConnection connection, boolean reusable) {
+        HostPool pool = pools.get(connection.getHost() + ':' + connection.getPort());
+        if (reusable && !isExpired(connection, System.nanoTime())) {
+            pool.idle.offerFirst(connection);
+        } else {
+            connection.close();
+        }
+        pool.permits.release();
+    }
+
+    private boolean isExpired(SmtpConnection connection, long now) {
+        return now - connection.getCreatedAt() > maxLifetimeNanos
+                || now - connection.getLastUsedAt() > idleTimeoutNanos;
+    }
+
+    void evictIdle() {
+        long now = System.nanoTime();
+        for (HostPool pool : pools.values()) {
+            for (SmtpConnection connection : pool.idle) {
+                if (isExpired(connection, now) && pool.idle.remove(connection)) {
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Número de conexiones libres con todos los servidores
+     */
+    public int getIdleCount() {
+        return pools.values().stream().mapToInt(pool -> pool.idle.size()).sum();
+    }
+
+    /**
+     * Conexiones abiertas desde la creación del pool
+     */
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    /**
+     * Veces que se reutilizó una conexión existente
+     */
+    public long getReusedCount() {
+        return reused.get();
+    }
+
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        for (HostPool pool : pools.values()) {
+            SmtpConnection connection;
+            while ((connection = pool.idle.pollFirst()) != null) {
+                connection.close();
+            }
+        }
+    }
+
+    private static final class HostPool {
+        private final Semaphore permits;
+        private final ConcurrentLinkedDeque<SmtpConnection> idle = new ConcurrentLinkedDeque<>();
+
+        private HostPool(int maxConnections) {
+            this.permits = new Semaphore(maxConnections, true);
+        }
+    }
+}
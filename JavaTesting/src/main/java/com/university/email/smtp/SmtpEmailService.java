@@ -0,0 +1,189 @@
+package com.university.email.smtp;
+
+import com.university.email.model.EmailRequest;
+import com.university.email.model.SendResult;
+import com.university.email.service.EmailService;
+import com.university.email.suppression.SuppressionService;
+import com.university.email.validation.EmailAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Servicio de envío de correos a través de un servidor SMTP de relay.
+ *
+ * Aplica las mismas validaciones que {@link EmailService}; de sus reglas de
+ * destinatario solo conserva el formato y la lista de supresión, sin las de la
+ * simulación. Entrega cada mensaje usando una conexión persistente del pool. Los envíos
+ * del mismo contenido a varios destinatarios se agrupan en una sola transacción.
+ * Se activa con email.transport=smtp.
+ */
+@Service
+@ConditionalOnProperty(name = "email.transport", havingValue = "smtp")
+public class SmtpEmailService extends EmailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpEmailService.class);
+
+    private final SuppressionService suppressionService;
+    private final SmtpConnectionPool pool;
+    private final String host;
+    private final int port;
+
+    @Autowired
+    public SmtpEmailService(SuppressionService suppressionService,
+                            @Value("${email.smtp.host:localhost}") String host,
+                            @Value("${email.smtp.port:25}") int port,
+                            @Value("${email.smtp.helo-name:localhost}") String heloName,
+                            @Value("${email.smtp.pool.max-per-host:8}") int maxPerHost,
+                            @Value("${email.smtp.pool.idle-timeout-ms:30000}") long idleTimeoutMs,
+                            @Value("${email.smtp.pool.max-lifetime-ms:300000}") long maxLifetimeMs,
+                            @Value("${email.smtp.pool.borrow-timeout-ms:5000}") long borrowTimeoutMs,
+                            @Value("${email.smtp.connect-timeout-ms:5000}") int connectTimeoutMs,
+                            @Value("${email.smtp.read-timeout-ms:30000}") int readTimeoutMs) {
+        this(suppressionService, new SmtpConnectionPool(heloName, maxPerHost, idleTimeoutMs, maxLifetimeMs,
+                borrowTimeoutMs, connectTimeoutMs, readTimeoutMs), host, port);
+    }
+
+    public SmtpEmailService(SuppressionService suppressionService, SmtpConnectionPool pool, String host, int port) {
+        super(suppressionService);
+        this.suppressionService = suppressionService;
+        this.pool = pool;
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Envía un correo electrónico a través del servidor SMTP
+     *
+     * @param request Datos del correo a enviar
+     * @return true si el servidor aceptó el mensaje, false en caso contrario
+     * @throws IllegalArgumentException si los datos del correo son inválidos
+     */
+    @Override
+    public boolean sendEmail(EmailRequest request) {
+        validate(request);
+        String from = senderOf(request);
+        if (!EmailAddress.isValid(from)) {
+            throw new IllegalArgumentException("El formato del correo remitente no es válido");
+        }
+
+        boolean[] accepted = transfer(from, Collections.singletonList(request.getTo()), request.getTo(), request);
+        return accepted != null && accepted[0];
+    }
+
+    /**
+     * Envía el mismo contenido a varios destinatarios en una sola transacción SMTP,
+     * con una orden RCPT TO por destinatario y una única transferencia DATA.
+     * Los destinatarios que no superan las validaciones quedan fuera de la
+     * transacción con su propio resultado.
+     *
+     * @param content Datos del correo; se ignora su destinatario
+     * @param recipients Destinatarios
+     * @return Un resultado por cada destinatario, en el mismo orden
+     */
+    @Override
+    public List<SendResult> sendToRecipients(EmailRequest content, List<String> recipients) {
+        SendResult[] results = new SendResult[recipients.size()];
+        List<String> eligible = new ArrayList<>(recipients.size());
+        List<Integer> positions = new ArrayList<>(recipients.size());
+        String from = senderOf(content);
+        for (int i = 0; i < recipients.size(); i++) {
+            String to = recipients.get(i);
+            if (!canSendTo(to)) {
+                results[i] = SendResult.failed(i, to, "No se puede enviar correo a este destinatario");
+                continue;
+            }
+            try {
+                validate(new EmailRequest(to, content.getSubject(), content.getBody(), content.getFrom()));
+                if (!EmailAddress.isValid(from)) {
+                    throw new IllegalArgumentException("El formato del correo remitente no es válido");
+                }
+            } catch (IllegalArgumentException e) {
+                results[i] = SendResult.failed(i, to, e.getMessage());
+                continue;
+            }
+            eligible.add(to);
+            positions.add(i);
+        }
+
+        if (!eligible.isEmpty()) {
+            // Con varios destinatarios la cabecera To no revela las direcciones de los demás
+            String toHeader = eligible.size() == 1 ? eligible.get(0) : "undisclosed-recipients:;";
+            boolean[] accepted = transfer(from, eligible, toHeader, content);
+            for (int j = 0; j < eligible.size(); j++) {
+                int i = positions.get(j);
+                results[i] = accepted != null && accepted[j]
+                        ? SendResult.sent(i, eligible.get(j))
+                        : SendResult.failed(i, eligible.get(j), "Error al enviar el correo");
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Verifica si se puede enviar a una dirección: debe tener formato válido y
+     * no estar en la lista de supresión
+     *
+     * @param email Correo electrónico a verificar
+     * @return true si se puede enviar, false en caso contrario
+     */
+    @Override
+    public boolean canSendTo(String email) {
+        if (!EmailAddress.isValid(email)) {
+            return false;
+        }
+        return suppressionService == null || !suppressionService.isSuppressed(email);
+    }
+
+    /**
+     * Entrega un mensaje ya validado usando una conexión del pool
+     *
+     * @return Aceptación de cada destinatario, o null si la transacción falló
+     */
+    private boolean[] transfer(String from, List<String> recipients, String toHeader, EmailRequest content) {
+        SmtpConnection connection;
+        try {
+            connection = pool.borrow(host, port);
+        } catch (IOException e) {
+            logger.warn("No se pudo obtener una conexión SMTP", e);
+            return null;
+        }
+
+        boolean reusable = false;
+        try {
+            boolean[] accepted = connection.send(from, recipients,
+                    SmtpMessage.of(from, toHeader, content.getSubject(), content.getBody(),
+                            content.getAttachments(), EmailAddress.domainOf(from)));
+            reusable = true;
+            return accepted;
+        } catch (SmtpException e) {
+            reusable = true;
+            logger.warn("El servidor SMTP rechazó el correo: {}", e.getMessage());
+            return null;
+        } catch (IOException e) {
+            logger.warn("Error de comunicación con el servidor SMTP", e);
+            return null;
+        } finally {
+            pool.release(connection, reusable);
+        }
+    }
+
+    public SmtpConnectionPool getPool() {
+        return pool;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.close();
+    }
+}
@@ -0,0 +1,20 @@
+package com.university.email.smtp;
+
+import java.io.IOException;
+
+/**
+ * El servidor SMTP rechazó una orden. La conexión sigue siendo utilizable.
+ */
+public class SmtpException extends IOException {
+
+    private final SmtpReply reply;
+
+    public SmtpException(String command, SmtpReply reply) {
+        super(command + " rechazado: " + reply);
+        this.reply = reply;
+    }
+
+    public SmtpReply getReply() {
+        return reply;
+    }
+}
@@ -0,0 +1,301 @@
+package com.university.email.smtp;
+
+import com.university.email.model.Attachment;
+
+import java.io.FileInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Construye un mensaje en formato RFC 5322, de texto plano o multipart/mixed
+ * si lleva adjuntos.
+ *
+ * El cuerpo se envía en 7 bits si es ASCII y sus líneas no superan el límite
+ * del protocolo; si no, en quoted-printable cuando es mayoritariamente ASCII y
+ * en base64 en otro caso. Los adjuntos se leen por bloques y se codifican en
+ * base64 directamente sobre el flujo de la conexión: ni el mensaje ni ningún
+ * adjunto se cargan completos en memoria. El asunto y los nombres de archivo
+ * con caracteres no ASCII se codifican según RFC 2047.
+ */
+public final class SmtpMessage {
+
+    private static final int MAX_LINE_LENGTH = 998;
+    private static final int BASE64_LINE_LENGTH = 76;
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final int COPY_BUFFER_SIZE = 16 * 1024;
+    static final int ENCODE_CHUNK_SIZE = 8 * 1024;
+    private static final Pattern CONTENT_TYPE = Pattern.compile("[a-z0-9][a-z0-9!#$&^_.+-]*/[a-z0-9][a-z0-9!#$&^_.+-]*");
+
+    private SmtpMessage() {
+    }
+
+    /**
+     * Contenido de un mensaje de texto plano
+     *
+     * @param from Remitente
+     * @param to Destinatario que figura en la cabecera To
+     * @param subject Asunto
+     * @param body Cuerpo del mensaje
+     * @param domain Dominio usado en el Message-ID
+     * @return Contenido listo para la orden DATA
+     */
+    public static MessageContent of(String from, String to, String subject, String body, String domain) {
+        return of(from, to, subject, body, Collections.emptyList(), domain);
+    }
+
+    /**
+     * Contenido de un mensaje con adjuntos
+     *
+     * @param attachments Adjuntos; sus archivos deben existir hasta que termine la escritura
+     * @return Contenido listo para la orden DATA
+     */
+    public static MessageContent of(String from, String to, String subject, String body,
+                                    List<Attachment> attachments, String domain) {
+        return out -> {
+            StringBuilder headers = new StringBuilder(256)
+                    .append("From: ").append(from).append("\r\n")
+                    .append("To: ").append(to).append("\r\n")
+                    .append("Subject: ").append(encodeHeader(subject)).append("\r\n")
+                    .append("Date: ").append(DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now())).append("\r\n")
+                    .append("Message-ID: <").append(UUID.randomUUID()).append('@').append(domain).append(">\r\n")
+                    .append("MIME-Version: 1.0\r\n");
+            String encoding = encodingOf(body);
+            if (attachments.isEmpty()) {
+                appendTextHeaders(headers, encoding).append("\r\n");
+                write(out, headers);
+                writeText(out, body, encoding);
+                return;
+            }
+
+            String boundary = "=_part_" + UUID.randomUUID();
+            headers.append("Content-Type: multipart/mixed; boundary=\"").append(boundary).append("\"\r\n\r\n")
+                    .append("--").append(boundary).append("\r\n");
+            appendTextHeaders(headers, encoding).append("\r\n");
+            write(out, headers);
+            writeText(out, body, encoding);
+
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            for (Attachment attachment : attachments) {
+                String fileName = encodeHeader(sanitizeFileName(attachment.getFileName()));
+                StringBuilder part = new StringBuilder(256)
+                        .append("--").append(boundary).append("\r\n")
+                        .append("Content-Type: ").append(contentTypeOf(attachment))
+                        .append("; name=\"").append(fileName).append("\"\r\n")
+                        .append("Content-Disposition: attachment; filename=\"").append(fileName).append("\"\r\n")
+                        .append("Content-Transfer-Encoding: base64\r\n\r\n");
+                write(out, part);
+                try (InputStream in = new FileInputStream(attachment.getPath().toFile())) {
+                    writeBase64(out, in, buffer);
+                }
+            }
+            write(out, new StringBuilder("--").append(boundary).append("--\r\n"));
+        };
+    }
+
+    static String encodeHeader(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c > 126 || (c < 32 && c != '\t')) {
+                return "=?UTF-8?B?" + Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8)) + "?=";
+            }
+        }
+        return value;
+    }
+
+    static boolean isSevenBitSafe(String body) {
+        int lineLength = 0;
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (c > 127 || c == 0) {
+                return false;
+            }
+            if (c == '\n' || c == '\r') {
+                lineLength = 0;
+            } else if (++lineLength > MAX_LINE_LENGTH) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Codificación del cuerpo: 7bit, quoted-printable si al menos dos tercios
+     * de los caracteres son ASCII, o base64
+     */
+    static String encodingOf(String body) {
+        if (isSevenBitSafe(body)) {
+            return "7bit";
+        }
+        int ascii = 0;
+        for (int i = 0; i < body.length(); i++) {
+            if (body.charAt(i) < 128) {
+                ascii++;
+            }
+        }
+        return ascii * 3 >= body.length() * 2 ? "quoted-printable" : "base64";
+    }
+
+    private static StringBuilder appendTextHeaders(StringBuilder headers, String encoding) {
+        return headers.append("Content-Type: text/plain; charset=UTF-8\r\n")
+                .append("Content-Transfer-Encoding: ").append(encoding).append("\r\n");
+    }
+
+    private static void writeText(OutputStream out, String body, String encoding) throws IOException {
+        switch (encoding) {
+            case "7bit":
+                writeWithCrlf(out, body);
+                break;
+            case "quoted-printable":
+                QuotedPrintableOutputStream encoder = new QuotedPrintableOutputStream(unclosable(out));
+                writeUtf8(encoder, body);
+                encoder.finish();
+                break;
+            default:
+                OutputStream base64 = base64Encoder(out);
+                writeUtf8(base64, body);
+                base64.close();
+                out.write(CRLF);
+        }
+    }
+
+    /**
+     * Escribe el texto en UTF-8 por bloques, sin crear una copia completa en bytes
+     */
+    private static void writeUtf8(OutputStream out, String text) throws IOException {
+        Writer writer = new OutputStreamWriter(unclosable(out), StandardCharsets.UTF_8);
+        writer.write(text);
+        writer.flush();
+    }
+
+    /**
+     * Escribe un cuerpo de 7 bits por bloques de {@link #ENCODE_CHUNK_SIZE}
+     * caracteres, con los saltos de línea convertidos a CRLF, sin crear una
+     * copia completa en bytes
+     */
+    private static void writeWithCrlf(OutputStream out, String body) throws IOException {
+        CharsetEncoder encoder = StandardCharsets.US_ASCII.newEncoder();
+        CharBuffer chars = CharBuffer.wrap(body);
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODE_CHUNK_SIZE);
+        boolean afterCr = false;
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, buffer, true);
+            if (result.isError()) {
+                result.throwException();
+            }
+            afterCr = writeChunkWithCrlf(out, buffer.array(), buffer.position(), afterCr);
+            buffer.clear();
+        } while (result.isOverflow());
+        encoder.flush(buffer);
+        writeChunkWithCrlf(out, buffer.array(), buffer.position(), afterCr);
+        out.write(CRLF);
+    }
+
+    /**
+     * Escribe un bloque convirtiendo CR, LF y CRLF en CRLF
+     *
+     * @param afterCr Si el bloque anterior terminó en CR, cuyo LF ya no se escribe
+     * @return Si este bloque termina en CR
+     */
+    private static boolean writeChunkWithCrlf(OutputStream out, byte[] bytes, int length, boolean afterCr)
+            throws IOException {
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = bytes[i];
+            if (b == '\n' && afterCr) {
+                // Segunda mitad de un CRLF ya escrito
+                afterCr = false;
+                start = i + 1;
+                continue;
+            }
+            afterCr = b == '\r';
+            if (b == '\r' || b == '\n') {
+                out.write(bytes, start, i - start);
+                out.write(CRLF);
+                start = i + 1;
+            }
+        }
+        out.write(bytes, start, length - start);
+        return afterCr;
+    }
+
+    private static void writeBase64(OutputStream out, InputStream in, byte[] buffer) throws IOException {
+        OutputStream encoder = base64Encoder(out);
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            encoder.write(buffer, 0, read);
+        }
+        // Escribe el último grupo incompleto; no cierra la conexión
+        encoder.close();
+        out.write(CRLF);
+    }
+
+    private static OutputStream base64Encoder(OutputStream out) {
+        return Base64.getMimeEncoder(BASE64_LINE_LENGTH, CRLF).wrap(unclosable(out));
+    }
+
+    private static void write(OutputStream out, CharSequence headers) throws IOException {
+        out.write(headers.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String contentTypeOf(Attachment attachment) {
+        String type = attachment.getContentType();
+        if (type == null) {
+            return "application/octet-stream";
+        }
+        type = type.trim().toLowerCase(Locale.ROOT);
+        int parameters = type.indexOf(';');
+        if (parameters >= 0) {
+            type = type.substring(0, parameters).trim();
+        }
+        return CONTENT_TYPE.matcher(type).matches() ? type : "application/octet-stream";
+    }
+
+    /**
+     * Nombre de archivo sin caracteres que rompan la cabecera
+     */
+    private static String sanitizeFileName(String fileName) {
+        if (fileName == null || fileName.trim().isEmpty()) {
+            return "adjunto";
+        }
+        StringBuilder clean = new StringBuilder(fileName.length());
+        for (int i = 0; i < fileName.length(); i++) {
+            char c = fileName.charAt(i);
+            clean.append(c < 32 || c == 127 || c == '"' || c == '\\' ? '_' : c);
+        }
+        return clean.toString();
+    }
+
+    /**
+     * Evita que cerrar un codificador cierre la conexión
+     */
+    private static OutputStream unclosable(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
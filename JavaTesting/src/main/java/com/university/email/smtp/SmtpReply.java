@@ -0,0 +1,32 @@
+package com.university.email.smtp;
+
+/**
+ * Respuesta de un servidor SMTP: código de tres dígitos y texto
+ */
+public class SmtpReply {
+
+    private final int code;
+    private final String text;
+
+    public SmtpReply(int code, String text) {
+        this.code = code;
+        this.text = text;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isPositive() {
+        return code >= 200 && code < 400;
+    }
+
+    @Override
+    public String toString() {
+        return code + " " + text;
+    }
+}
@@ -0,0 +1,46 @@
+package com.university.email.suppression;
+
+/**
+ * Filtro de Bloom sobre hashes de 64 bits, con doble hashing para derivar
+ * las posiciones. Con 10 bits por elemento y 7 funciones la tasa de falsos
+ * positivos es de aproximadamente el 1%.
+ */
+final class BloomFilter {
+
+    static final int BITS_PER_ENTRY = 10;
+    static final int HASH_FUNCTIONS = 7;
+
+    private final long[] bits;
+    private final long bitCount;
+
+    BloomFilter(int expectedEntries) {
+        long requested = Math.max(64L, (long) expectedEntries * BITS_PER_ENTRY);
+        this.bits = new long[(int) ((requested + 63) >>> 6)];
+        this.bitCount = (long) bits.length << 6;
+    }
+
+    void add(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long memoryBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+}
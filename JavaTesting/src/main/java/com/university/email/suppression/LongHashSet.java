@@ -0,0 +1,62 @@
+package com.university.email.suppression;
+
+/**
+ * Conjunto inmutable de claves long con direccionamiento abierto y sondeo lineal.
+ * Ocupa 8 bytes por posición de la tabla, sin objetos por elemento.
+ */
+final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+
+    private final long[] table;
+    private final int mask;
+    private final int size;
+
+    LongHashSet(long[] keys, int count) {
+        int capacity = Integer.highestOneBit(Math.max(4, count * 2 - 1)) << 1;
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            long key = nonEmpty(keys[i]);
+            int slot = slot(key);
+            while (table[slot] != EMPTY && table[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (table[slot] == EMPTY) {
+                table[slot] = key;
+                distinct++;
+            }
+        }
+        this.size = distinct;
+    }
+
+    boolean contains(long key) {
+        key = nonEmpty(key);
+        int slot = slot(key);
+        long current;
+        while ((current = table[slot]) != EMPTY) {
+            if (current == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long memoryBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    private int slot(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    private static long nonEmpty(long key) {
+        return key == EMPTY ? 1L : key;
+    }
+}
@@ -0,0 +1,179 @@
+package com.university.email.suppression;
+
+import java.util.Arrays;
+
+/**
+ * Lista de supresión inmutable de direcciones y dominios.
+ *
+ * No guarda las cadenas: cada dirección se normaliza (sin espacios alrededor y
+ * en minúsculas) y se reduce a un hash de 64 bits. Un filtro de Bloom descarta
+ * la mayoría de las direcciones no suprimidas antes de consultar el conjunto de
+ * hashes; los dominios se consultan en un conjunto aparte. La probabilidad de
+ * que una dirección no suprimida colisione con una suprimida es despreciable
+ * (del orden de n / 2^64).
+ */
+public final class SuppressionList {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final BloomFilter addressFilter;
+    private final LongHashSet addresses;
+    private final LongHashSet domains;
+
+    private SuppressionList(BloomFilter addressFilter, LongHashSet addresses, LongHashSet domains) {
+        this.addressFilter = addressFilter;
+        this.addresses = addresses;
+        this.domains = domains;
+    }
+
+    /**
+     * Lista vacía que no suprime ninguna dirección
+     */
+    public static SuppressionList empty() {
+        return new Builder().build();
+    }
+
+    /**
+     * Indica si la dirección o su dominio están suprimidos
+     *
+     * @param email Dirección a verificar
+     * @return true si no se debe enviar correo a la dirección
+     */
+    public boolean isSuppressed(CharSequence email) {
+        if (email == null) {
+            return false;
+        }
+        int start = 0;
+        int end = email.length();
+        while (start < end && email.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && email.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int at = -1;
+        for (int i = end - 1; i >= start; i--) {
+            if (email.charAt(i) == '@') {
+                at = i;
+                break;
+            }
+        }
+        if (at >= 0 && domains.size() > 0 && domains.contains(hash(email, at + 1, end))) {
+            return true;
+        }
+        long hash = hash(email, start, end);
+        return addressFilter.mightContain(hash) && addresses.contains(hash);
+    }
+
+    /**
+     * Número de direcciones suprimidas
+     */
+    public int getAddressCount() {
+        return addresses.size();
+    }
+
+    /**
+     * Número de dominios suprimidos
+     */
+    public int getDomainCount() {
+        return domains.size();
+    }
+
+    /**
+     * Memoria ocupada por las estructuras de la lista, en bytes
+     */
+    public long getMemoryBytes() {
+        return addressFilter.memoryBytes() + addresses.memoryBytes() + domains.memoryBytes();
+    }
+
+    /**
+     * Memoria media por entrada (dirección o dominio), en bytes
+     */
+    public double getBytesPerEntry() {
+        int entries = getAddressCount() + getDomainCount();
+        return entries == 0 ? 0 : (double) getMemoryBytes() / entries;
+    }
+
+    /**
+     * Hash normalizado (minúsculas ASCII) de un rango de caracteres: FNV-1a
+     * seguido de la mezcla final de MurmurHash3 para repartir bien los bits.
+     */
+    static long hash(CharSequence value, int start, int end) {
+        long h = FNV_OFFSET;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            h ^= c;
+            h *= FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Construye una lista de supresión a partir de direcciones y dominios
+     */
+    public static final class Builder {
+
+        private long[] addressHashes = new long[1024];
+        private int addressCount;
+        private long[] domainHashes = new long[64];
+        private int domainCount;
+
+        /**
+         * Añade una entrada de un fichero de supresión: una dirección, o un
+         * dominio si no contiene '@' o empieza por '@'.
+         *
+         * @param entry Entrada a añadir; se ignoran las vacías y los comentarios (#)
+         * @return este builder
+         */
+        public Builder add(String entry) {
+            String value = entry.trim();
+            if (value.isEmpty() || value.charAt(0) == '#') {
+                return this;
+            }
+            int at = value.indexOf('@');
+            if (at < 0) {
+                return addDomain(value);
+            }
+            if (at == 0) {
+                return addDomain(value.substring(1));
+            }
+            return addAddress(value);
+        }
+
+        public Builder addAddress(String address) {
+            if (addressCount == addressHashes.length) {
+                addressHashes = Arrays.copyOf(addressHashes, addressCount * 2);
+            }
+            addressHashes[addressCount++] = hash(address, 0, address.length());
+            return this;
+        }
+
+        public Builder addDomain(String domain) {
+            if (domainCount == domainHashes.length) {
+                domainHashes = Arrays.copyOf(domainHashes, domainCount * 2);
+            }
+            domainHashes[domainCount++] = hash(domain, 0, domain.length());
+            return this;
+        }
+
+        public SuppressionList build() {
+            BloomFilter filter = new BloomFilter(addressCount);
+            for (int i = 0; i < addressCount; i++) {
+                filter.add(addressHashes[i]);
+            }
+            return new SuppressionList(filter,
+                    new LongHashSet(addressHashes, addressCount),
+                    new LongHashSet(domainHashes, domainCount));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.university.email.suppression;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga la lista de supresión desde un fichero local y la recarga cuando cambia.
+ *
+ * El fichero contiene una entrada por línea: direcciones, o dominios completos
+ * (sin '@' o empezando por '@'). Las líneas vacías y las que empiezan por '#'
+ * se ignoran. La recarga construye una lista nueva en segundo plano y la
+ * publica de forma atómica, sin bloquear las consultas en curso.
+ */
+@Component
+public class SuppressionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuppressionService.class);
+
+    private final Path file;
+    private final ScheduledExecutorService watcher;
+    private volatile SuppressionList current = SuppressionList.empty();
+    private volatile FileTime loadedVersion;
+
+    @Autowired
+    public SuppressionService(@Value("${email.suppression.file:}") String file,
+                              @Value("${email.suppression.reload-interval-ms:5000}") long reloadIntervalMs) {
+        this.file = file.isEmpty() ? null : Paths.get(file);
+        if (this.file == null) {
+            this.watcher = null;
+            return;
+        }
+        reloadIfChanged();
+        this.watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-suppression-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watcher.scheduleWithFixedDelay(this::reloadIfChanged, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Indica si la dirección o su dominio están en la lista de supresión
+     *
+     * @param email Dirección a verificar
+     * @return true si no se debe enviar correo a la dirección
+     */
+    public boolean isSuppressed(String email) {
+        return current.isSuppressed(email);
+    }
+
+    /**
+     * Lista de supresión activa
+     */
+    public SuppressionList getCurrent() {
+        return current;
+    }
+
+    /**
+     * Recarga la lista si el fichero cambió desde la última carga
+     *
+     * @return true si se cargó una lista nueva
+     */
+    public boolean reloadIfChanged() {
+        if (file == null) {
+            return false;
+        }
+        try {
+            FileTime version = Files.getLastModifiedTime(file);
+            if (version.equals(loadedVersion)) {
+                return false;
+            }
+            current = load(file);
+            loadedVersion = version;
+            logger.info("Lista de supresión cargada: {} direcciones, {} dominios, {} bytes por entrada",
+                    current.getAddressCount(), current.getDomainCount(), Math.round(current.getBytesPerEntry() * 10) / 10.0);
+            return true;
+        } catch (IOException e) {
+            logger.warn("No se pudo cargar la lista de supresión {}; se mantiene la lista anterior", file, e);
+            return false;
+        }
+    }
+
+    static SuppressionList load(Path file) throws IOException {
+        SuppressionList.Builder builder = new SuppressionList.Builder();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                builder.add(line);
+            }
+        }
+        return builder.build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.university.email.template;
+
+import com.university.email.model.TemplateRequest;
+
+/**
+ * Asunto y cuerpo compilados de una plantilla registrada
+ */
+final class CompiledTemplate {
+
+    private final TemplateRequest definition;
+    private final Template subject;
+    private final Template body;
+
+    CompiledTemplate(TemplateRequest definition) {
+        this.definition = definition;
+        this.subject = Template.compile(definition.getSubject());
+        this.body = Template.compile(definition.getBody());
+    }
+
+    /**
+     * Registro del que se compiló; si la plantilla se vuelve a registrar deja de coincidir
+     */
+    TemplateRequest getDefinition() {
+        return definition;
+    }
+
+    Template getSubject() {
+        return subject;
+    }
+
+    Template getBody() {
+        return body;
+    }
+
+    long getWeight() {
+        return (long) definition.getSubject().length() + definition.getBody().length();
+    }
+}
@@ -0,0 +1,110 @@
+package com.university.email.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Texto con variables de la forma {{nombre}}, precompilado en segmentos.
+ *
+ * Al compilar se recorre el texto una sola vez y se guardan los límites de cada
+ * fragmento literal como posiciones dentro del texto original, sin copiarlo. Al
+ * renderizar solo se añaden fragmentos y valores al búfer de destino.
+ */
+public final class Template {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String source;
+    /** Inicio y fin de cada literal; hay un literal más que variables */
+    private final int[] literals;
+    private final String[] variables;
+
+    private Template(String source, int[] literals, String[] variables) {
+        this.source = source;
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    /**
+     * Compila un texto de plantilla
+     *
+     * @param source Texto con variables {{nombre}}
+     * @return La plantilla compilada
+     * @throws IllegalArgumentException si una variable no está cerrada o no tiene nombre
+     */
+    public static Template compile(String source) {
+        if (source == null) {
+            throw new IllegalArgumentException("El texto de la plantilla es obligatorio");
+        }
+        List<String> names = new ArrayList<>();
+        int[] bounds = new int[8];
+        int count = 0;
+        int literalStart = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, literalStart)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("La plantilla tiene una variable sin cerrar");
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("La plantilla tiene una variable sin nombre");
+            }
+            if (count + 2 > bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            bounds[count++] = literalStart;
+            bounds[count++] = open;
+            names.add(name);
+            literalStart = close + CLOSE.length();
+        }
+        int[] literals = Arrays.copyOf(bounds, count + 2);
+        literals[count] = literalStart;
+        literals[count + 1] = source.length();
+        return new Template(source, literals, names.toArray(new String[0]));
+    }
+
+    /**
+     * Añade el texto renderizado al búfer
+     *
+     * @param values Valores de las variables
+     * @param out Búfer de destino
+     * @throws IllegalArgumentException si falta alguna variable
+     */
+    public void renderTo(Map<String, String> values, StringBuilder out) {
+        for (int i = 0; i < variables.length; i++) {
+            out.append(source, literals[2 * i], literals[2 * i + 1]);
+            String value = values != null ? values.get(variables[i]) : null;
+            if (value == null) {
+                throw new IllegalArgumentException("Falta la variable de plantilla: " + variables[i]);
+            }
+            out.append(value);
+        }
+        out.append(source, literals[2 * variables.length], literals[2 * variables.length + 1]);
+    }
+
+    /**
+     * Texto original de la plantilla
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Número de caracteres literales, útil para reservar el búfer
+     */
+    public int getLiteralLength() {
+        int length = 0;
+        for (int i = 0; i < literals.length; i += 2) {
+            length += literals[i + 1] - literals[i];
+        }
+        return length;
+    }
+
+    public int getVariableCount() {
+        return variables.length;
+    }
+}
@@ -0,0 +1,63 @@
+package com.university.email.template;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché LRU de plantillas compiladas limitada por tamaño.
+ *
+ * El peso de cada entrada es la longitud de sus textos originales; al superar el
+ * máximo se descartan las entradas usadas hace más tiempo. Las operaciones son
+ * cortas y se serializan con el monitor de la caché.
+ */
+class TemplateCache {
+
+    private final long maxChars;
+    private final LinkedHashMap<String, CompiledTemplate> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalChars;
+    private long evictions;
+
+    TemplateCache(long maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    synchronized CompiledTemplate get(String id) {
+        return entries.get(id);
+    }
+
+    synchronized void put(String id, CompiledTemplate template) {
+        CompiledTemplate previous = entries.put(id, template);
+        if (previous != null) {
+            totalChars -= previous.getWeight();
+        }
+        totalChars += template.getWeight();
+        Iterator<Map.Entry<String, CompiledTemplate>> eldest = entries.entrySet().iterator();
+        // La entrada recién añadida se conserva aunque por sí sola supere el máximo
+        while (totalChars > maxChars && entries.size() > 1) {
+            Map.Entry<String, CompiledTemplate> entry = eldest.next();
+            totalChars -= entry.getValue().getWeight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    synchronized void remove(String id) {
+        CompiledTemplate previous = entries.remove(id);
+        if (previous != null) {
+            totalChars -= previous.getWeight();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long getTotalChars() {
+        return totalChars;
+    }
+
+    synchronized long getEvictions() {
+        return evictions;
+    }
+}
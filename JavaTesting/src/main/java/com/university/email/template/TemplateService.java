@@ -0,0 +1,127 @@
+package com.university.email.template;
+
+import com.university.email.model.EmailRequest;
+import com.university.email.model.TemplateRequest;
+import com.university.email.validation.EmailAddress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registro y renderizado de plantillas de correo.
+ *
+ * Las plantillas se registran una vez y se guardan compiladas en una caché LRU
+ * limitada por tamaño (email.template.cache-max-chars); si una se descarta se
+ * vuelve a compilar desde su registro cuando se necesita. El renderizado añade
+ * los fragmentos a un búfer reutilizable por hilo.
+ */
+@Component
+public class TemplateService {
+
+    private static final int INITIAL_BUFFER = 1024;
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER));
+
+    private final Map<String, TemplateRequest> definitions = new ConcurrentHashMap<>();
+    private final TemplateCache cache;
+    private final AtomicLong compilations = new AtomicLong();
+
+    @Autowired
+    public TemplateService(@Value("${email.template.cache-max-chars:4194304}") long cacheMaxChars) {
+        this.cache = new TemplateCache(cacheMaxChars);
+    }
+
+    /**
+     * Registra o reemplaza una plantilla
+     *
+     * @param template Identificador, asunto y cuerpo con variables {{nombre}}
+     * @throws IllegalArgumentException si la plantilla no se puede compilar
+     */
+    public void register(TemplateRequest template) {
+        TemplateRequest definition = new TemplateRequest(template.getId(), template.getSubject(), template.getBody());
+        CompiledTemplate compiled = new CompiledTemplate(definition);
+        compilations.incrementAndGet();
+        definitions.put(definition.getId(), definition);
+        cache.put(definition.getId(), compiled);
+    }
+
+    /**
+     * Elimina una plantilla
+     *
+     * @return true si la plantilla existía
+     */
+    public boolean remove(String id) {
+        cache.remove(id);
+        return definitions.remove(id) != null;
+    }
+
+    /**
+     * Genera el asunto y el cuerpo de una solicitud que indica una plantilla
+     *
+     * @param request Solicitud de correo
+     * @return La misma solicitud si no usa plantilla, o una nueva con el asunto y el cuerpo renderizados
+     * @throws IllegalArgumentException si la plantilla no existe o falta alguna variable
+     */
+    public EmailRequest render(EmailRequest request) {
+        if (request == null || EmailAddress.isBlank(request.getTemplateId())) {
+            return request;
+        }
+        CompiledTemplate template = compiled(request.getTemplateId());
+        String subject = render(template.getSubject(), request.getVariables());
+        String body = render(template.getBody(), request.getVariables());
+        EmailRequest rendered = new EmailRequest(request.getTo(), subject, body, request.getFrom());
+        rendered.setAttachments(request.getAttachments());
+        rendered.setSendAt(request.getSendAt());
+        rendered.setPriority(request.getPriority());
+        return rendered;
+    }
+
+    private CompiledTemplate compiled(String id) {
+        TemplateRequest definition = definitions.get(id);
+        if (definition == null) {
+            throw new IllegalArgumentException("No existe la plantilla: " + id);
+        }
+        CompiledTemplate compiled = cache.get(id);
+        if (compiled == null || compiled.getDefinition() != definition) {
+            compiled = new CompiledTemplate(definition);
+            compilations.incrementAndGet();
+            cache.put(id, compiled);
+        }
+        return compiled;
+    }
+
+    private static String render(Template template, Map<String, String> variables) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.ensureCapacity(template.getLiteralLength() + 16 * template.getVariableCount());
+        try {
+            template.renderTo(variables, buffer);
+            return buffer.toString();
+        } finally {
+            // No se retienen búferes enormes de un cuerpo excepcional
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                BUFFER.set(new StringBuilder(INITIAL_BUFFER));
+            }
+        }
+    }
+
+    public int getTemplateCount() {
+        return definitions.size();
+    }
+
+    public int getCachedCount() {
+        return cache.size();
+    }
+
+    /**
+     * Número de compilaciones realizadas, incluidas las que siguen a un descarte de la caché
+     */
+    public long getCompilationCount() {
+        return compilations.get();
+    }
+}
@@ -0,0 +1,27 @@
+package com.university.email.validation;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Exige asunto y cuerpo salvo que la solicitud indique una plantilla, en cuyo
+ * caso se generan al renderizarla. Las violaciones se asocian a las propiedades
+ * subject y body con los mismos mensajes que {@code @NotBlank}.
+ */
+@Documented
+@Constraint(validatedBy = ContentOrTemplateValidator.class)
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ContentOrTemplate {
+
+    String message() default "El asunto y el cuerpo son obligatorios si no se indica una plantilla";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,32 @@
+package com.university.email.validation;
+
+import com.university.email.model.EmailRequest;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+/**
+ * Implementación de {@link ContentOrTemplate} para {@link EmailRequest}
+ */
+public class ContentOrTemplateValidator implements ConstraintValidator<ContentOrTemplate, EmailRequest> {
+
+    @Override
+    public boolean isValid(EmailRequest request, ConstraintValidatorContext context) {
+        if (request == null || !EmailAddress.isBlank(request.getTemplateId())) {
+            return true;
+        }
+        boolean valid = true;
+        context.disableDefaultConstraintViolation();
+        if (EmailAddress.isBlank(request.getSubject())) {
+            context.buildConstraintViolationWithTemplate("El asunto es obligatorio")
+                    .addPropertyNode("subject").addConstraintViolation();
+            valid = false;
+        }
+        if (EmailAddress.isBlank(request.getBody())) {
+            context.buildConstraintViolationWithTemplate("El cuerpo del mensaje es obligatorio")
+                    .addPropertyNode("body").addConstraintViolation();
+            valid = false;
+        }
+        return valid;
+    }
+}
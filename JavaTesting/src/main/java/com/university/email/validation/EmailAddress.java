@@ -0,0 +1,121 @@
+package com.university.email.validation;
+
+/**
+ * Validador y analizador de direcciones de correo electrónico.
+ *
+ * Implementa una máquina de estados de una sola pasada que acepta exactamente
+ * el mismo lenguaje que la expresión regular usada originalmente por el servicio:
+ * <pre>^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$</pre>
+ * No compila patrones ni crea objetos intermedios en cada validación.
+ */
+public final class EmailAddress {
+
+    private EmailAddress() {
+    }
+
+    /**
+     * Indica si la dirección tiene un formato válido
+     *
+     * @param email Dirección a validar
+     * @return true si el formato es válido, false en caso contrario
+     */
+    public static boolean isValid(CharSequence email) {
+        return indexOfAt(email) >= 0;
+    }
+
+    /**
+     * Valida la dirección y devuelve la posición de la arroba que separa la
+     * parte local del dominio, sin crear subcadenas.
+     *
+     * @param email Dirección a analizar
+     * @return posición de la '@' si la dirección es válida, -1 en caso contrario
+     */
+    public static int indexOfAt(CharSequence email) {
+        if (email == null) {
+            return -1;
+        }
+        int length = email.length();
+        int at = -1;
+        int i = 0;
+
+        // Parte local: uno o más caracteres de [A-Za-z0-9+_.-]
+        for (; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                at = i;
+                break;
+            }
+            if (!isLocalChar(c)) {
+                return -1;
+            }
+        }
+        if (at <= 0) {
+            return -1;
+        }
+
+        // Dominio: [A-Za-z0-9.-]+ seguido de '.' y al menos dos letras.
+        // El sufijo solo admite letras, por lo que el punto separador es siempre el último.
+        int domainStart = at + 1;
+        int lastDot = -1;
+        boolean lettersSinceDot = false;
+        for (i = domainStart; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+                lettersSinceDot = true;
+            } else if (isLetter(c)) {
+                // sigue siendo un sufijo de solo letras
+            } else if (isDigit(c) || c == '-') {
+                lettersSinceDot = false;
+            } else {
+                return -1;
+            }
+        }
+        if (lastDot <= domainStart || !lettersSinceDot || length - lastDot - 1 < 2) {
+            return -1;
+        }
+        return at;
+    }
+
+    /**
+     * Devuelve el dominio de una dirección válida
+     *
+     * @param email Dirección a analizar
+     * @return dominio de la dirección, o null si la dirección no es válida
+     */
+    public static String domainOf(String email) {
+        int at = indexOfAt(email);
+        return at < 0 ? null : email.substring(at + 1);
+    }
+
+    /**
+     * Indica si el texto es nulo o está formado solo por caracteres que
+     * {@link String#trim()} eliminaría, sin crear la cadena recortada.
+     *
+     * @param value Texto a verificar
+     * @return true si el texto está vacío tras recortarlo
+     */
+    public static boolean isBlank(CharSequence value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0, n = value.length(); i < n; i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
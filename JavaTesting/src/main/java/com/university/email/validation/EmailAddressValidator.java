@@ -0,0 +1,18 @@
+package com.university.email.validation;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+/**
+ * Implementación de {@link ValidEmailAddress} basada en {@link EmailAddress}
+ */
+public class EmailAddressValidator implements ConstraintValidator<ValidEmailAddress, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        if (value == null || value.length() == 0) {
+            return true;
+        }
+        return EmailAddress.isValid(value);
+    }
+}
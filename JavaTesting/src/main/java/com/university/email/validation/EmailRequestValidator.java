@@ -0,0 +1,143 @@
+package com.university.email.validation;
+
+import com.university.email.model.EmailRequest;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validador de {@link EmailRequest} escrito para esa clase: comprueba el
+ * destinatario, el asunto y el cuerpo en una sola pasada, sin reflexión ni
+ * metadatos de Bean Validation, y devuelve todas las violaciones a la vez como
+ * bits de un entero.
+ *
+ * Aplica las mismas reglas y mensajes que las anotaciones de la clase
+ * ({@code @NotBlank}, {@link ValidEmailAddress} y {@link ContentOrTemplate}),
+ * que siguen documentando el contrato. Las solicitudes sin ninguna violación
+ * reciben una constancia ({@link ValidatedFields}) y el servicio de envío no
+ * las vuelve a comprobar mientras no cambien.
+ */
+public class EmailRequestValidator implements Validator {
+
+    /**
+     * Violación de una regla de la solicitud, con la propiedad afectada, el
+     * código de la restricción equivalente y su mensaje
+     */
+    public enum Violation {
+        TO_MISSING("to", "NotBlank", "El destinatario es obligatorio"),
+        TO_INVALID("to", "ValidEmailAddress", "El destinatario debe ser un correo electrónico válido"),
+        SUBJECT_MISSING("subject", "ContentOrTemplate", "El asunto es obligatorio"),
+        BODY_MISSING("body", "ContentOrTemplate", "El cuerpo del mensaje es obligatorio");
+
+        private static final Violation[] VALUES = values();
+
+        private final String field;
+        private final String code;
+        private final String message;
+
+        Violation(String field, String code, String message) {
+            this.field = field;
+            this.code = code;
+            this.message = message;
+        }
+
+        public int bit() {
+            return 1 << ordinal();
+        }
+
+        public boolean in(int violations) {
+            return (violations & bit()) != 0;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private static final int CONTENT = Violation.SUBJECT_MISSING.bit() | Violation.BODY_MISSING.bit();
+
+    /**
+     * Comprueba los campos de un correo listo para enviar: destinatario con
+     * formato válido, asunto y cuerpo
+     *
+     * @param request Solicitud a comprobar, no nula
+     * @return Bits de las violaciones ({@link Violation#bit()}), 0 si no hay ninguna
+     */
+    public static int check(EmailRequest request) {
+        String to = request.getTo();
+        int violations = 0;
+        if (EmailAddress.isBlank(to)) {
+            violations |= Violation.TO_MISSING.bit();
+        }
+        if (to != null && !to.isEmpty() && !EmailAddress.isValid(to)) {
+            violations |= Violation.TO_INVALID.bit();
+        }
+        if (EmailAddress.isBlank(request.getSubject())) {
+            violations |= Violation.SUBJECT_MISSING.bit();
+        }
+        if (EmailAddress.isBlank(request.getBody())) {
+            violations |= Violation.BODY_MISSING.bit();
+        }
+        return violations;
+    }
+
+    /**
+     * Valida una solicitud recibida: con plantilla, el asunto y el cuerpo se
+     * generan al renderizarla y no se exigen. Da la constancia de validación
+     * a las que no tienen ninguna violación.
+     *
+     * @param request Solicitud a validar, no nula
+     * @return Bits de las violaciones, 0 si la solicitud es válida
+     */
+    public static int violations(EmailRequest request) {
+        int violations = check(request);
+        if (violations == 0) {
+            request.setValidatedFields(new ValidatedFields(request));
+        } else if (!EmailAddress.isBlank(request.getTemplateId())) {
+            violations &= ~CONTENT;
+        }
+        return violations;
+    }
+
+    /**
+     * Mensajes de las violaciones en orden alfabético, separados por "; "
+     */
+    public static String describe(int violations) {
+        List<String> messages = new ArrayList<>(Violation.VALUES.length);
+        for (Violation violation : Violation.VALUES) {
+            if (violation.in(violations)) {
+                messages.add(violation.getMessage());
+            }
+        }
+        messages.sort(null);
+        return String.join("; ", messages);
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return EmailRequest.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        int violations = violations((EmailRequest) target);
+        if (violations == 0) {
+            return;
+        }
+        for (Violation violation : Violation.VALUES) {
+            if (violation.in(violations)) {
+                errors.rejectValue(violation.getField(), violation.getCode(), violation.getMessage());
+            }
+        }
+    }
+}
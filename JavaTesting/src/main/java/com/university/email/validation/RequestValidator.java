@@ -0,0 +1,40 @@
+package com.university.email.validation;
+
+import com.university.email.model.EmailRequest;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * Validador de los controladores: las solicitudes de correo se validan con
+ * {@link EmailRequestValidator} y el resto de objetos (plantillas, trabajos de
+ * envío masivo) con el validador de Bean Validation
+ */
+public class RequestValidator implements SmartValidator {
+
+    private final EmailRequestValidator emailRequests;
+    private final SmartValidator delegate;
+
+    public RequestValidator(EmailRequestValidator emailRequests, SmartValidator delegate) {
+        this.emailRequests = emailRequests;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return emailRequests.supports(clazz) || delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, new Object[0]);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (target instanceof EmailRequest) {
+            emailRequests.validate(target, errors);
+        } else {
+            delegate.validate(target, errors, validationHints);
+        }
+    }
+}
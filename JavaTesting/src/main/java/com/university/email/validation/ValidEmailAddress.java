@@ -0,0 +1,27 @@
+package com.university.email.validation;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricción de formato de correo electrónico respaldada por {@link EmailAddress},
+ * de modo que la validación de la petición y la del servicio aceptan las mismas direcciones.
+ * Los valores nulos o vacíos se consideran válidos; para exigirlos se usa {@code @NotBlank}.
+ */
+@Documented
+@Constraint(validatedBy = EmailAddressValidator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidEmailAddress {
+
+    String message() default "El correo electrónico no es válido";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
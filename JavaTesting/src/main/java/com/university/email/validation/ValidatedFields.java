@@ -0,0 +1,30 @@
+package com.university.email.validation;
+
+import com.university.email.model.EmailRequest;
+
+/**
+ * Constancia de que el destinatario, el asunto y el cuerpo de una solicitud
+ * superaron la validación. Solo la crea {@link EmailRequestValidator}, y
+ * guarda las mismas cadenas que validó: deja de cubrir la solicitud en cuanto
+ * cambia alguno de esos campos, sin depender de que sus setters la borren, y
+ * no sirve para otra solicitud con contenido distinto.
+ */
+public final class ValidatedFields {
+
+    private final String to;
+    private final String subject;
+    private final String body;
+
+    ValidatedFields(EmailRequest request) {
+        this.to = request.getTo();
+        this.subject = request.getSubject();
+        this.body = request.getBody();
+    }
+
+    /**
+     * Indica si la solicitud conserva exactamente los campos validados
+     */
+    public boolean covers(EmailRequest request) {
+        return request.getTo() == to && request.getSubject() == subject && request.getBody() == body;
+    }
+}
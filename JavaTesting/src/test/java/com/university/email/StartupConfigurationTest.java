@@ -0,0 +1,80 @@
+package com.university.email;
+
+import com.university.email.controller.MetricsController;
+import com.university.email.delivery.AsyncEmailDispatcher;
+import com.university.email.job.MailMergeRunner;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del perfil fast-startup con la aplicación arrancada en un puerto libre
+ */
+@DisplayName("Perfil fast-startup Tests")
+class StartupConfigurationTest {
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void start() {
+        context = SpringApplication.run(EmailApiApplication.class, "--server.port=0",
+                "--spring.profiles.active=fast-startup", "--email.async.enabled=true");
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("Debería crear al arrancar solo los beans que trabajan al arrancar")
+    void shouldKeepStartupWorkEager() {
+        // Then
+        assertTrue(isCreated(AsyncEmailDispatcher.class));
+        assertTrue(isCreated(MailMergeRunner.class));
+        assertFalse(isCreated(MetricsController.class));
+        assertEquals(0, context.getBeanNamesForType(RestTemplateBuilder.class).length);
+    }
+
+    @Test
+    @DisplayName("Debería atender health y send con los beans creados en la primera petición")
+    void shouldServeRequests() throws Exception {
+        // Given
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        URI base = URI.create("http://localhost:" + port + "/api/email/");
+        HttpClient client = HttpClient.newHttpClient();
+        String json = "{\"to\":\"destinatario@example.com\",\"subject\":\"Prueba\",\"body\":\"Contenido\"}";
+
+        // When
+        HttpResponse<String> health = client.send(HttpRequest.newBuilder(base.resolve("health")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> send = client.send(HttpRequest.newBuilder(base.resolve("send"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertEquals(200, health.statusCode());
+        assertEquals(202, send.statusCode());
+        assertTrue(send.body().contains("\"status\":\"queued\""));
+    }
+
+    private static boolean isCreated(Class<?> type) {
+        String[] names = context.getBeanNamesForType(type, false, false);
+        assertEquals(1, names.length, type.getSimpleName());
+        return context.getBeanFactory().containsSingleton(names[0]);
+    }
+}
@@ -0,0 +1,23 @@
+package com.university.email.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ajustes de logs compartidos por los benchmarks
+ */
+final class BenchmarkLogging {
+
+    private BenchmarkLogging() {
+    }
+
+    /**
+     * Desactiva los logs de las clases indicadas para que no distorsionen la medición
+     */
+    static void silence(Class<?>... types) {
+        for (Class<?> type : types) {
+            ((Logger) LoggerFactory.getLogger(type)).setLevel(Level.OFF);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.university.email.benchmark;
+
+import com.university.email.delivery.DomainRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la contención del limitador por dominio con 64 hilos decidiendo a la vez,
+ * sobre un único dominio caliente o repartidos entre muchos dominios, frente a
+ * un bucket protegido con synchronized como referencia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(64)
+@Fork(1)
+public class DomainRateLimiterBenchmark {
+
+    @Param({"1", "1000"})
+    public int domains;
+
+    private DomainRateLimiter limiter;
+    private String[] recipients;
+    private final LockedBucket lockedBucket = new LockedBucket();
+
+    @Setup
+    public void setUp() {
+        limiter = new DomainRateLimiter(true, 1_000_000_000, 1_000_000, "");
+        recipients = new String[domains];
+        for (int i = 0; i < domains; i++) {
+            recipients[i] = "user@domain" + i + ".example.com";
+        }
+    }
+
+    @Benchmark
+    public long lockFree() {
+        return limiter.tryAcquire(recipients[ThreadLocalRandom.current().nextInt(domains)]);
+    }
+
+    @Benchmark
+    public long synchronizedBaseline() {
+        return lockedBucket.tryAcquire(System.nanoTime());
+    }
+
+    /**
+     * Bucket equivalente protegido con un monitor, como referencia de contención
+     */
+    static final class LockedBucket {
+        private static final long INTERVAL = 1;
+        private static final long TOLERANCE = 1_000_000;
+        private long theoreticalArrival = Long.MIN_VALUE;
+
+        synchronized long tryAcquire(long now) {
+            long next = Math.max(theoreticalArrival, now) + INTERVAL;
+            long excess = next - now - TOLERANCE;
+            if (excess > 0) {
+                return excess;
+            }
+            theoreticalArrival = next;
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.university.email.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.controller.EmailController;
+import com.university.email.controller.EmailControllerBuilder;
+import com.university.email.metrics.EmailMetrics;
+import com.university.email.metrics.TimedValidator;
+import com.university.email.model.EmailRequest;
+import com.university.email.service.EmailService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el controlador y el enlace JSON de {@link EmailRequest}: deserialización
+ * con Jackson, validación con Bean Validation y la construcción de la respuesta.
+ * Con {@code metrics=true} se registran las mismas etapas que en la aplicación,
+ * para medir el coste de la instrumentación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailControllerBenchmark {
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private EmailController controller;
+    private ObjectMapper objectMapper;
+    private Validator validator;
+    private EmailMetrics emailMetrics;
+    private TimedValidator timedValidator;
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.silence(EmailService.class);
+        emailMetrics = metrics ? new EmailMetrics(true, 100) : EmailMetrics.disabled();
+        controller = new EmailControllerBuilder(new EmailService())
+                .metrics(emailMetrics)
+                .build();
+        objectMapper = new ObjectMapper();
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        timedValidator = new TimedValidator(new SpringValidatorAdapter(validator), emailMetrics);
+    }
+
+    @Benchmark
+    public EmailRequest bindRequest(RequestState state) throws IOException {
+        return objectMapper.readValue(state.json, EmailRequest.class);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EmailRequest>> validateRequest(RequestState state) {
+        return validator.validate(state.request);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> controllerSend(RequestState state) {
+        return controller.sendEmail(state.request);
+    }
+
+    @Benchmark
+    public Object bindValidateAndSend(RequestState state) throws IOException {
+        long start = System.nanoTime();
+        EmailRequest request = objectMapper.readValue(state.json, EmailRequest.class);
+        emailMetrics.record(EmailMetrics.Stage.BINDING, "ok", request.getTo(), System.nanoTime() - start);
+        Errors errors = new BeanPropertyBindingResult(request, "request");
+        timedValidator.validate(request, errors);
+        if (errors.hasErrors()) {
+            return errors;
+        }
+        return controller.sendEmail(request);
+    }
+}
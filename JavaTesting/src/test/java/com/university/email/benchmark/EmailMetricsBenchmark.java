@@ -0,0 +1,49 @@
+package com.university.email.benchmark;
+
+import com.university.email.metrics.EmailMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el coste de registrar las etapas de una petición en {@link EmailMetrics}
+ * con varios hilos a la vez, como en el servidor
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class EmailMetricsBenchmark {
+
+    private EmailMetrics metrics;
+    private final String recipient = "user@example.com";
+
+    @Setup
+    public void setUp() {
+        metrics = new EmailMetrics(true, 100);
+    }
+
+    /**
+     * Las cuatro etapas de un envío correcto
+     */
+    @Benchmark
+    public void recordRequest() {
+        metrics.record(EmailMetrics.Stage.BINDING, "ok", recipient, 2_000);
+        metrics.record(EmailMetrics.Stage.VALIDATION, "valid", recipient, 1_500);
+        metrics.record(EmailMetrics.Stage.POLICY, "allowed", recipient, 100);
+        metrics.record(EmailMetrics.Stage.TRANSPORT, "sent", recipient, 900);
+    }
+}
@@ -0,0 +1,49 @@
+package com.university.email.benchmark;
+
+import com.university.email.service.EmailService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el coste de {@link EmailService#sendEmail} y {@link EmailService#canSendTo}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailServiceBenchmark {
+
+    private EmailService emailService;
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.silence(EmailService.class);
+        emailService = new EmailService();
+    }
+
+    @Benchmark
+    public boolean sendEmail(RequestState state) {
+        try {
+            return emailService.sendEmail(state.request);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean canSendTo(RequestState state) {
+        return emailService.canSendTo(state.request.getTo());
+    }
+}
@@ -0,0 +1,65 @@
+package com.university.email.benchmark;
+
+import com.university.email.model.EmailRequest;
+import com.university.email.outbox.OutboxJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Mide el coste de registrar un correo en el outbox con group commit cuando
+ * varios hilos aceptan correos a la vez.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class OutboxJournalBenchmark {
+
+    private final AtomicLong ids = new AtomicLong();
+    private Path directory;
+    private OutboxJournal journal;
+    private EmailRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("outbox-bench");
+        journal = new OutboxJournal(true, directory.toString(), 64L * 1024 * 1024);
+        request = new EmailRequest("user@example.com", "Asunto", RequestState.bodyOf(1024));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void acceptAndComplete() {
+        String id = Long.toString(ids.incrementAndGet());
+        journal.accepted(id, request);
+        journal.completed(id);
+    }
+}
@@ -0,0 +1,138 @@
+package com.university.email.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.controller.EmailController;
+import com.university.email.controller.EmailControllerBuilder;
+import com.university.email.controller.ReactiveEmailController;
+import com.university.email.model.EmailRequest;
+import com.university.email.model.SendResult;
+import com.university.email.service.BatchEmailSender;
+import com.university.email.service.EmailService;
+import com.university.email.service.ReactiveEmailService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compara el controlador bloqueante con el reactivo para {@value #REQUESTS}
+ * envíos simultáneos y para un lote del mismo tamaño, con un transporte que
+ * tarda {@code latencyMicros} por correo.
+ *
+ * Las peticiones bloqueantes se atienden en un pool de 200 hilos, el máximo por
+ * defecto de Tomcat. Las reactivas se suscriben todas a la vez y el transporte
+ * se ejecuta en el scheduler acotado de {@link ReactiveEmailService}, como en el
+ * perfil reactive.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReactiveEmailControllerBenchmark {
+
+    static final int REQUESTS = 100;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"blocking", "reactive"})
+    public String stack;
+
+    @Param({"0", "1000"})
+    public long latencyMicros;
+
+    private EmailController blockingController;
+    private ReactiveEmailController reactiveController;
+    private BatchEmailSender batchSender;
+    private ReactiveEmailService reactiveService;
+    private ExecutorService servletThreads;
+    private ObjectMapper objectMapper;
+    private List<EmailRequest> requests;
+    private byte[] batchJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkLogging.silence(EmailService.class);
+        EmailService emailService = new EmailService() {
+            @Override
+            public boolean sendEmail(EmailRequest request) {
+                if (latencyMicros > 0) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+                }
+                return super.sendEmail(request);
+            }
+        };
+        objectMapper = new ObjectMapper();
+        batchSender = new BatchEmailSender(emailService, objectMapper, REQUESTS, 64);
+        reactiveService = new ReactiveEmailService(emailService, batchSender, null, 64, 1024);
+        blockingController = new EmailControllerBuilder(emailService).build();
+        reactiveController = new ReactiveEmailController(reactiveService, null);
+        servletThreads = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+
+        requests = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(new EmailRequest("user" + i + "@example.com", "Asunto de prueba", "Cuerpo del correo"));
+        }
+        batchJson = objectMapper.writeValueAsBytes(requests);
+    }
+
+    @TearDown
+    public void tearDown() {
+        servletThreads.shutdownNow();
+        reactiveService.shutdown();
+        batchSender.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int concurrentSends() throws InterruptedException, ExecutionException {
+        if (stack.equals("reactive")) {
+            return Flux.fromIterable(requests)
+                    .flatMap(reactiveController::sendEmail, REQUESTS)
+                    .count()
+                    .block()
+                    .intValue();
+        }
+        List<Future<?>> responses = new ArrayList<>(REQUESTS);
+        for (EmailRequest request : requests) {
+            responses.add(servletThreads.submit(() -> blockingController.sendEmail(request)));
+        }
+        for (Future<?> response : responses) {
+            response.get();
+        }
+        return responses.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int batch() throws Exception {
+        if (stack.equals("reactive")) {
+            return reactiveService.sendAll(Flux.fromIterable(requests)).count().block().intValue();
+        }
+        List<SendResult> results = new ArrayList<>(REQUESTS);
+        try (JsonParser parser = objectMapper.createParser(batchJson)) {
+            batchSender.send(parser, results::add);
+        }
+        return results.size();
+    }
+}
@@ -0,0 +1,55 @@
+package com.university.email.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.model.EmailRequest;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+
+/**
+ * Estado compartido por los benchmarks: una petición del tipo indicado
+ * (válida, inválida, bloqueada o con error simulado) y su representación JSON.
+ */
+@State(Scope.Benchmark)
+public class RequestState {
+
+    @Param({"valid", "invalid", "blocked", "error"})
+    public String kind;
+
+    @Param({"64", "4096", "65536"})
+    public int bodySize;
+
+    public EmailRequest request;
+    public byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        request = new EmailRequest(recipientFor(kind), "Asunto de prueba", bodyOf(bodySize));
+        json = new ObjectMapper().writeValueAsBytes(request);
+    }
+
+    static String recipientFor(String kind) {
+        switch (kind) {
+            case "valid":
+                return "user@example.com";
+            case "invalid":
+                return "invalid-email";
+            case "blocked":
+                return "blocked@example.com";
+            case "error":
+                return "error@example.com";
+            default:
+                throw new IllegalArgumentException("Tipo de petición desconocido: " + kind);
+        }
+    }
+
+    static String bodyOf(int size) {
+        char[] chars = new char[size];
+        Arrays.fill(chars, 'x');
+        return new String(chars);
+    }
+}
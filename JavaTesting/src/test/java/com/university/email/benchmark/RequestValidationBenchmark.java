@@ -0,0 +1,125 @@
+package com.university.email.benchmark;
+
+import com.university.email.model.EmailRequest;
+import com.university.email.service.EmailService;
+import com.university.email.validation.EmailAddress;
+import com.university.email.validation.EmailRequestValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la validación de una solicitud de correo en el camino anterior
+ * (Bean Validation al enlazar la petición y de nuevo las comprobaciones del
+ * servicio) con la pasada única de {@link EmailRequestValidator}, tras la que
+ * el servicio no vuelve a validar. Cada operación parte de una solicitud
+ * recién deserializada, sin marcar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestValidationBenchmark {
+
+    @Param({"valid", "invalid", "blank"})
+    public String kind;
+
+    private SmartValidator beanValidator;
+    private EmailRequestValidator singlePassValidator;
+    private ServiceValidation service;
+    private EmailRequest template;
+
+    @Setup
+    public void setUp() {
+        beanValidator = new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator());
+        singlePassValidator = new EmailRequestValidator();
+        service = new ServiceValidation();
+        template = requestFor(kind);
+    }
+
+    @Benchmark
+    public Object beanValidationThenService() {
+        EmailRequest request = fresh();
+        Errors errors = new BeanPropertyBindingResult(request, "emailRequest");
+        beanValidator.validate(request, errors);
+        if (errors.hasErrors()) {
+            return errors;
+        }
+        legacyServiceValidation(request);
+        return request;
+    }
+
+    @Benchmark
+    public Object singlePass() {
+        EmailRequest request = fresh();
+        Errors errors = new BeanPropertyBindingResult(request, "emailRequest");
+        singlePassValidator.validate(request, errors);
+        if (errors.hasErrors()) {
+            return errors;
+        }
+        service.check(request);
+        return request;
+    }
+
+    private EmailRequest fresh() {
+        return new EmailRequest(template.getTo(), template.getSubject(), template.getBody());
+    }
+
+    private static EmailRequest requestFor(String kind) {
+        switch (kind) {
+            case "valid":
+                return new EmailRequest("user@example.com", "Asunto de prueba", RequestState.bodyOf(256));
+            case "invalid":
+                return new EmailRequest("invalid-email", "Asunto de prueba", RequestState.bodyOf(256));
+            case "blank":
+                return new EmailRequest("   ", " ", "");
+            default:
+                throw new IllegalArgumentException("Tipo de petición desconocido: " + kind);
+        }
+    }
+
+    /**
+     * Comprobaciones que hacía el servicio antes de enviar, sobre solicitudes
+     * que ya habían superado Bean Validation
+     */
+    private static void legacyServiceValidation(EmailRequest request) {
+        if (EmailAddress.isBlank(request.getTo())) {
+            throw new IllegalArgumentException("El destinatario es obligatorio");
+        }
+        if (EmailAddress.isBlank(request.getSubject())) {
+            throw new IllegalArgumentException("El asunto es obligatorio");
+        }
+        if (EmailAddress.isBlank(request.getBody())) {
+            throw new IllegalArgumentException("El cuerpo del mensaje es obligatorio");
+        }
+        if (!EmailAddress.isValid(request.getTo())) {
+            throw new IllegalArgumentException("El formato del correo destinatario no es válido");
+        }
+    }
+
+    /**
+     * Expone la validación del servicio sin el envío simulado
+     */
+    private static final class ServiceValidation extends EmailService {
+        void check(EmailRequest request) {
+            validate(request);
+        }
+    }
+}
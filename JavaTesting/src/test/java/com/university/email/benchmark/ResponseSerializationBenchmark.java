@@ -0,0 +1,115 @@
+package com.university.email.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.controller.EmailResponseConverter;
+import com.university.email.model.EmailResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la respuesta de /send construida con un HashMap y escrita por
+ * Jackson con el modelo tipado escrito por {@link EmailResponseConverter}.
+ *
+ * Para ver la memoria asignada por respuesta, ejecutar con -prof gc y mirar
+ * gc.alloc.rate.norm.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    /** sent: 200 con destinatario y asunto; blocked: 400 constante */
+    @Param({"sent", "blocked"})
+    private String outcome;
+
+    private final MappingJackson2HttpMessageConverter jackson =
+            new MappingJackson2HttpMessageConverter(new ObjectMapper());
+    private final EmailResponseConverter converter = new EmailResponseConverter();
+    private final Output output = new Output();
+    private final String to = "usuario@ejemplo.com";
+    private final String subject = "Confirmación de registro";
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.silence(MappingJackson2HttpMessageConverter.class);
+    }
+
+    @Benchmark
+    public int map() throws IOException {
+        Map<String, Object> response = new HashMap<>();
+        if (outcome.equals("sent")) {
+            response.put("success", true);
+            response.put("message", "Correo enviado exitosamente");
+            response.put("to", to);
+            response.put("subject", subject);
+        } else {
+            response.put("success", false);
+            response.put("message", "No se puede enviar correo a este destinatario");
+        }
+        jackson.write(response, MediaType.APPLICATION_JSON, output.reset());
+        return output.body.size();
+    }
+
+    @Benchmark
+    public int typedJackson() throws IOException {
+        jackson.write(response(), MediaType.APPLICATION_JSON, output.reset());
+        return output.body.size();
+    }
+
+    @Benchmark
+    public int typedConverter() throws IOException {
+        converter.write(response(), MediaType.APPLICATION_JSON, output.reset());
+        return output.body.size();
+    }
+
+    private EmailResponse response() {
+        return outcome.equals("sent") ? EmailResponse.sent(to, subject) : EmailResponse.BLOCKED;
+    }
+
+    /**
+     * Salida reutilizable, para que solo cuente lo que asigna la serialización
+     */
+    private static final class Output implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(512);
+
+        private Output reset() {
+            headers.clear();
+            body.reset();
+            return this;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
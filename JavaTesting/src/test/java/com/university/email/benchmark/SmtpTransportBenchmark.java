@@ -0,0 +1,86 @@
+package com.university.email.benchmark;
+
+import com.university.email.model.EmailRequest;
+import com.university.email.model.SendResult;
+import com.university.email.smtp.SmtpConnectionPool;
+import com.university.email.smtp.SmtpEmailService;
+import com.university.email.smtp.StubSmtpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el throughput y la latencia de {@link SmtpEmailService} contra el
+ * servidor SMTP en proceso, con y sin PIPELINING y con distintos tamaños de pool.
+ * {@code sendCoalesced} envía el mismo cuerpo a 50 destinatarios en una sola
+ * transferencia; sus resultados son por destinatario, comparables con {@code send}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class SmtpTransportBenchmark {
+
+    @Param({"true", "false"})
+    public boolean pipelining;
+
+    @Param({"1", "8"})
+    public int poolSize;
+
+    private StubSmtpServer server;
+    private SmtpEmailService service;
+    private static final int COALESCED_RECIPIENTS = 50;
+
+    private EmailRequest request;
+    private List<String> recipients;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkLogging.silence(SmtpEmailService.class);
+        server = new StubSmtpServer(pipelining);
+        SmtpConnectionPool pool = new SmtpConnectionPool("bench.local", poolSize, 60_000, 600_000, 60_000, 1000, 5000);
+        service = new SmtpEmailService(null, pool, "127.0.0.1", server.getPort());
+        request = new EmailRequest("user@example.com", "Asunto", RequestState.bodyOf(1024));
+        recipients = new ArrayList<>(COALESCED_RECIPIENTS);
+        for (int i = 0; i < COALESCED_RECIPIENTS; i++) {
+            recipients.add("user" + i + "@example.com");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        service.shutdown();
+        server.close();
+    }
+
+    @Benchmark
+    public boolean send() {
+        return service.sendEmail(request);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COALESCED_RECIPIENTS)
+    public List<SendResult> sendCoalesced() {
+        return service.sendToRecipients(request, recipients);
+    }
+}
@@ -0,0 +1,73 @@
+package com.university.email.benchmark;
+
+import com.university.email.suppression.SuppressionList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las consultas a una lista de supresión de varios millones de direcciones,
+ * para direcciones suprimidas, no suprimidas y dominios suprimidos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SuppressionListBenchmark {
+
+    @Param({"1000000", "5000000"})
+    public int entries;
+
+    private SuppressionList list;
+    private String[] probes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SuppressionList.Builder builder = new SuppressionList.Builder();
+        for (int i = 0; i < entries; i++) {
+            builder.addAddress("user" + i + "@example.com");
+        }
+        builder.addDomain("spam.example");
+        list = builder.build();
+        System.out.printf("%n%d entradas, %.1f bytes por entrada%n", entries, list.getBytesPerEntry());
+
+        probes = new String[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = "user" + (i * 7919 % entries) + "@example.com";
+        }
+    }
+
+    private String nextProbe() {
+        next = (next + 1) & (probes.length - 1);
+        return probes[next];
+    }
+
+    @Benchmark
+    public boolean suppressedAddress() {
+        return list.isSuppressed(nextProbe());
+    }
+
+    @Benchmark
+    public boolean allowedAddress() {
+        return list.isSuppressed("someone.else@example.org");
+    }
+
+    @Benchmark
+    public boolean suppressedDomain() {
+        return list.isSuppressed("anyone@spam.example");
+    }
+}
@@ -0,0 +1,89 @@
+package com.university.email.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.model.EmailRequest;
+import com.university.email.model.TemplateRequest;
+import com.university.email.service.EmailService;
+import com.university.email.template.TemplateService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el envío de un cuerpo ya renderizado por el cliente con el envío por
+ * plantilla. Ambos casos incluyen la lectura del JSON de la petición, que es
+ * donde el cuerpo completo cuesta más; {@code renderOnly} aísla el renderizado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark {
+
+    @Param({"1024", "16384", "65536"})
+    public int bodySize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private EmailService emailService;
+    private TemplateService templateService;
+    private byte[] preRenderedJson;
+    private byte[] templatedJson;
+    private EmailRequest templatedRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkLogging.silence(EmailService.class);
+        emailService = new EmailService();
+        templateService = new TemplateService(16 << 20);
+
+        String filler = RequestState.bodyOf(bodySize);
+        int middle = filler.length() / 2;
+        String body = "Hola {{nombre}},\n" + filler.substring(0, middle) + "\nCurso: {{curso}}\n" + filler.substring(middle);
+        templateService.register(new TemplateRequest("boletin", "Novedades de {{curso}}", body));
+
+        Map<String, String> variables = new HashMap<>();
+        variables.put("nombre", "Ana");
+        variables.put("curso", "Testing");
+        EmailRequest templated = new EmailRequest();
+        templated.setTo("user@example.com");
+        templated.setTemplateId("boletin");
+        templated.setVariables(variables);
+        templatedJson = objectMapper.writeValueAsBytes(templated);
+        templatedRequest = templated;
+
+        EmailRequest rendered = templateService.render(templated);
+        preRenderedJson = objectMapper.writeValueAsString(rendered).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public boolean preRendered() throws IOException {
+        return emailService.sendEmail(objectMapper.readValue(preRenderedJson, EmailRequest.class));
+    }
+
+    @Benchmark
+    public boolean templated() throws IOException {
+        EmailRequest request = objectMapper.readValue(templatedJson, EmailRequest.class);
+        return emailService.sendEmail(templateService.render(request));
+    }
+
+    @Benchmark
+    public EmailRequest renderOnly() {
+        return templateService.render(templatedRequest);
+    }
+}
@@ -0,0 +1,91 @@
+package com.university.email.benchmark;
+
+import com.university.email.schedule.TimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el coste de programar un temporizador y avanzar un tick con millones
+ * de temporizadores pendientes, en la rueda de temporización frente a un
+ * montículo (la estructura de ScheduledThreadPoolExecutor) como referencia.
+ *
+ * Cada operación añade un temporizador con un plazo aleatorio de media igual
+ * al número de pendientes y avanza un tick, de modo que se dispara de media
+ * uno por tick y el número de pendientes se mantiene estable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TimingWheelBenchmark {
+
+    private static final Runnable NOOP = () -> { };
+
+    @Param({"5000000"})
+    public int pending;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private TimingWheel wheel;
+    private PriorityQueue<HeapTimer> heap;
+    private long wheelTick;
+    private long heapTick;
+
+    @Setup
+    public void setUp() {
+        wheel = new TimingWheel(0);
+        heap = new PriorityQueue<>(pending * 2);
+        for (int i = 0; i < pending; i++) {
+            long deadline = 1 + random.nextLong(2L * pending);
+            wheel.add(deadline, NOOP);
+            heap.add(new HeapTimer(deadline, NOOP));
+        }
+    }
+
+    @Benchmark
+    public int timingWheel() {
+        wheel.add(wheelTick + 1 + random.nextLong(2L * pending), NOOP);
+        return wheel.advance(++wheelTick);
+    }
+
+    @Benchmark
+    public int heapBaseline() {
+        heap.add(new HeapTimer(heapTick + 1 + random.nextLong(2L * pending), NOOP));
+        heapTick++;
+        int fired = 0;
+        while (!heap.isEmpty() && heap.peek().deadline <= heapTick) {
+            heap.poll().task.run();
+            fired++;
+        }
+        return fired;
+    }
+
+    static final class HeapTimer implements Comparable<HeapTimer> {
+        final long deadline;
+        final Runnable task;
+
+        HeapTimer(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(HeapTimer other) {
+            return Long.compare(deadline, other.deadline);
+        }
+    }
+}
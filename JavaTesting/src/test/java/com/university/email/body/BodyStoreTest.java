@@ -0,0 +1,153 @@
+package com.university.email.body;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para BodyStore
+ */
+@DisplayName("BodyStore Tests")
+class BodyStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private BodyStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private static String body(char fill, int length) {
+        StringBuilder body = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            body.append(i % 80 == 79 ? '\n' : fill);
+        }
+        return body.toString();
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería compartir una sola copia de los cuerpos iguales")
+    void shouldShareIdenticalBodies() {
+        // Given
+        store = new BodyStore(true, 1 << 20, "", 1 << 20);
+        String content = body('a', 10_000);
+
+        // When
+        StoredBody first = store.acquire(content);
+        StoredBody second = store.acquire(new String(content.toCharArray()));
+        StoredBody other = store.acquire(body('b', 10_000));
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertSame(content, second.get());
+        assertEquals(2, store.getBodyCount());
+        assertEquals(3, store.getReferenceCount());
+    }
+
+    @Test
+    @DisplayName("Debería liberar un cuerpo al soltar su última referencia")
+    void shouldReleaseBodyWithLastReference() {
+        // Given
+        store = new BodyStore(true, 1 << 20, "", 1 << 20);
+        StoredBody first = store.acquire("Boletín de octubre");
+        StoredBody second = store.acquire("Boletín de octubre");
+
+        // When
+        first.release();
+        long residentAfterFirst = store.getResidentBytes();
+        second.release();
+
+        // Then
+        assertTrue(residentAfterFirst > 0);
+        assertEquals(0, store.getBodyCount());
+        assertEquals(0, store.getReferenceCount());
+        assertEquals(0, store.getResidentBytes());
+        assertThrows(IllegalStateException.class, second::get);
+    }
+
+    @Test
+    @DisplayName("Debería pasar a disco los cuerpos menos usados y leerlos de nuevo al pedirlos")
+    void shouldSpillColdBodiesToDisk() throws IOException {
+        // Given
+        store = new BodyStore(true, 50_000, directory.toString(), 1 << 20);
+        List<String> contents = new ArrayList<>();
+        List<StoredBody> stored = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String content = body((char) ('a' + i), 10_000) + " ñ";
+            contents.add(content);
+            stored.add(store.acquire(content));
+        }
+
+        // When
+        long resident = store.getResidentBytes();
+        String coldest = stored.get(0).get();
+
+        // Then
+        assertTrue(resident <= 50_000, "En memoria: " + resident);
+        assertEquals(1, store.getSegmentCount());
+        assertEquals(contents.get(0), coldest);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(contents.get(i), stored.get(i).get());
+        }
+        assertTrue(store.getResidentBytes() <= 50_000);
+        assertEquals(1, segmentFiles());
+    }
+
+    @Test
+    @DisplayName("Debería borrar los segmentos cuyos cuerpos se liberaron")
+    void shouldDeleteSegmentsWithoutLiveBodies() throws IOException {
+        // Given
+        store = new BodyStore(true, 10_000, directory.toString(), 30_000);
+        List<StoredBody> stored = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            stored.add(store.acquire(body((char) ('a' + i), 10_000)));
+        }
+        int segmentsBefore = store.getSegmentCount();
+
+        // When
+        stored.forEach(StoredBody::release);
+
+        // Then
+        assertTrue(segmentsBefore > 2);
+        assertEquals(1, store.getSegmentCount());
+        assertEquals(1, segmentFiles());
+        assertEquals(0, store.getBodyCount());
+    }
+
+    @Test
+    @DisplayName("Debería identificar los cuerpos por su contenido")
+    void shouldKeyBodiesByContent() {
+        // Given
+        String content = body('x', 1000);
+
+        // When
+        BodyKey key = BodyKey.of(content);
+
+        // Then
+        assertEquals(key, BodyKey.of(new String(content.toCharArray())));
+        assertNotEquals(key, BodyKey.of(content + " "));
+        assertEquals(32, key.toString().length());
+    }
+}
@@ -0,0 +1,96 @@
+package com.university.email.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para SendConcurrency
+ */
+@DisplayName("SendConcurrency Tests")
+class SendConcurrencyTest {
+
+    @Test
+    @DisplayName("Debería usar hilos virtuales solo si la JVM los soporta")
+    void shouldUseVirtualThreadsOnlyWhenSupported() throws InterruptedException {
+        // Given
+        SendConcurrency concurrency = new SendConcurrency(true, 10, 100);
+        AtomicReference<Thread> ran = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        // When
+        concurrency.threadPerTaskExecutor("prueba-").execute(() -> {
+            ran.set(Thread.currentThread());
+            done.countDown();
+        });
+
+        // Then
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(VirtualThreads.isSupported(), concurrency.isVirtual());
+        assertTrue(ran.get().getName().startsWith("prueba-"));
+        assertEquals(concurrency.isVirtual(), isVirtual(ran.get()));
+    }
+
+    @Test
+    @DisplayName("Debería usar hilos de plataforma daemon si el modo virtual está desactivado")
+    void shouldUsePlatformThreadsWhenVirtualIsDisabled() {
+        // Given
+        SendConcurrency concurrency = new SendConcurrency(false, 10, 100);
+
+        // When
+        Thread thread = concurrency.threadFactory("envio-").newThread(() -> { });
+
+        // Then
+        assertFalse(concurrency.isVirtual());
+        assertEquals("envio-0", thread.getName());
+        assertTrue(thread.isDaemon());
+        assertFalse(isVirtual(thread));
+    }
+
+    @Test
+    @DisplayName("Debería limitar los envíos simultáneos al número de permisos")
+    void shouldLimitConcurrentSends() {
+        // Given
+        SendConcurrency concurrency = new SendConcurrency(false, 2, 10);
+
+        // When
+        boolean first = concurrency.tryAcquire();
+        boolean second = concurrency.tryAcquire();
+        boolean third = concurrency.tryAcquire();
+        concurrency.release();
+        boolean afterRelease = concurrency.tryAcquire();
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(afterRelease);
+        assertEquals(0, concurrency.getAvailablePermits());
+    }
+
+    @Test
+    @DisplayName("Debería no limitar los envíos sin máximo configurado")
+    void shouldNotLimitWithoutMaximum() {
+        // Given
+        SendConcurrency concurrency = SendConcurrency.unbounded();
+
+        // When & Then
+        for (int i = 0; i < 100; i++) {
+            assertTrue(concurrency.tryAcquire());
+        }
+        assertEquals(-1, concurrency.getAvailablePermits());
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+}
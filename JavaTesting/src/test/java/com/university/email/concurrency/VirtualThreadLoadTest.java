@@ -0,0 +1,100 @@
+package com.university.email.concurrency;
+
+import com.university.email.delivery.AsyncEmailDispatcher;
+import com.university.email.delivery.AsyncEmailDispatcherBuilder;
+import com.university.email.delivery.DeliveryJob;
+import com.university.email.delivery.DeliveryStatus;
+import com.university.email.model.EmailRequest;
+import com.university.email.service.IEmailService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Prueba de carga del modo de hilos virtuales: 10.000 envíos lentos simultáneos.
+ * Solo se ejecuta en JVM con hilos virtuales (Java 21 o superior).
+ */
+@DisplayName("Virtual Thread Load Tests")
+class VirtualThreadLoadTest {
+
+    private static final int SENDS = 10_000;
+    private static final long SEND_MILLIS = 1_000;
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    @Test
+    @DisplayName("Debería completar 10.000 envíos lentos simultáneos con poca memoria")
+    void shouldCompleteTenThousandConcurrentSlowSends() throws InterruptedException {
+        assumeTrue(VirtualThreads.isSupported(), "La JVM no soporta hilos virtuales");
+
+        // Given
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        IEmailService slowService = new IEmailService() {
+            @Override
+            public boolean sendEmail(EmailRequest request) {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(SEND_MILLIS);
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+
+            @Override
+            public boolean canSendTo(String email) {
+                return true;
+            }
+        };
+        SendConcurrency concurrency = new SendConcurrency(true, SENDS, 30_000);
+        AsyncEmailDispatcher dispatcher = new AsyncEmailDispatcherBuilder(slowService)
+                .concurrency(concurrency)
+                .enabled(true)
+                .queueCapacity(SENDS)
+                .workers(1)
+                .retainedJobs(SENDS)
+                .build();
+        long baseline = usedHeap();
+        long peak = baseline;
+
+        // When
+        long start = System.nanoTime();
+        List<DeliveryJob> jobs = new ArrayList<>(SENDS);
+        for (int i = 0; i < SENDS; i++) {
+            jobs.add(dispatcher.submit(new EmailRequest("user" + i + "@example.com", "Asunto", "Cuerpo")).get());
+        }
+        long deadline = start + TimeUnit.SECONDS.toNanos(60);
+        for (DeliveryJob job : jobs) {
+            while (!job.getStatus().isFinal() && System.nanoTime() < deadline) {
+                peak = Math.max(peak, usedHeap());
+                Thread.sleep(10);
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        dispatcher.shutdown();
+
+        // Then
+        for (DeliveryJob job : jobs) {
+            assertEquals(DeliveryStatus.SENT, job.getStatus());
+        }
+        // Con un hilo por envío y sin pool, los envíos se solapan casi por completo
+        assertTrue(maxInFlight.get() > SENDS / 2, "Envíos simultáneos: " + maxInFlight.get());
+        assertTrue(elapsedMillis < 20 * SEND_MILLIS, "Duración: " + elapsedMillis + " ms");
+        assertTrue(peak - baseline < MAX_HEAP_GROWTH, "Crecimiento del heap: " + (peak - baseline) + " bytes");
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,68 @@
+package com.university.email.controller;
+
+import com.university.email.delivery.AsyncEmailDispatcher;
+import com.university.email.delivery.DeliveryJob;
+import com.university.email.model.EmailRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pruebas unitarias para DeliveryStatusController
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DeliveryStatusController Tests")
+class DeliveryStatusControllerTest {
+
+    @Mock
+    private AsyncEmailDispatcher dispatcher;
+
+    @InjectMocks
+    private DeliveryStatusController controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    @DisplayName("Debería retornar el estado de un correo encolado")
+    void shouldReturnStatusOfQueuedJob() throws Exception {
+        // Given
+        DeliveryJob job = new DeliveryJob("abc", new EmailRequest("test@example.com", "Asunto", "Cuerpo"));
+        when(dispatcher.find("abc")).thenReturn(Optional.of(job));
+
+        // When & Then
+        mockMvc.perform(get("/api/email/status/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("abc"))
+                .andExpect(jsonPath("$.to").value("test@example.com"))
+                .andExpect(jsonPath("$.status").value("queued"));
+    }
+
+    @Test
+    @DisplayName("Debería retornar 404 cuando el identificador no existe")
+    void shouldReturn404WhenJobDoesNotExist() throws Exception {
+        // Given
+        when(dispatcher.find("missing")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/email/status/missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+}
@@ -0,0 +1,77 @@
+package com.university.email.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.service.BatchEmailSender;
+import com.university.email.service.EmailService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pruebas unitarias para EmailBatchController
+ */
+@DisplayName("EmailBatchController Tests")
+class EmailBatchControllerTest {
+
+    private BatchEmailSender batchSender;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        batchSender = new BatchEmailSender(new EmailService(), objectMapper, 100, 4);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EmailBatchController(batchSender, objectMapper)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchSender.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debería devolver un resultado NDJSON por cada elemento del lote")
+    void shouldStreamOneLinePerItem() throws Exception {
+        // Given
+        String json = "["
+                + "{\"to\":\"ok@example.com\",\"subject\":\"S\",\"body\":\"B\"},"
+                + "{\"to\":\"blocked@example.com\",\"subject\":\"S\",\"body\":\"B\"}"
+                + "]";
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/email/send-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn();
+
+        // Then
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        assertEquals(2, lines.length);
+        String all = String.join("\n", lines);
+        assertTrue(all.contains("\"index\":0,\"to\":\"ok@example.com\",\"success\":true"));
+        assertTrue(all.contains("\"index\":1,\"to\":\"blocked@example.com\",\"success\":false"));
+    }
+
+    @Test
+    @DisplayName("Debería retornar 400 cuando el cuerpo no es un arreglo")
+    void shouldReturn400WhenBodyIsNotArray() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/email/send-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"to\":\"ok@example.com\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("El cuerpo debe ser un arreglo JSON de solicitudes"));
+    }
+}
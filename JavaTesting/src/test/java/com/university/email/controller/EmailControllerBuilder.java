@@ -0,0 +1,64 @@
+package com.university.email.controller;
+
+import com.university.email.attachment.AttachmentStore;
+import com.university.email.concurrency.SendConcurrency;
+import com.university.email.delivery.AsyncEmailDispatcher;
+import com.university.email.idempotency.IdempotencyCache;
+import com.university.email.metrics.EmailMetrics;
+import com.university.email.service.IEmailService;
+import com.university.email.template.TemplateService;
+
+/**
+ * Construye un {@link EmailController} para las pruebas indicando solo los
+ * colaboradores que interesan; el resto queda sin configurar, como cuando su
+ * componente no está activo.
+ */
+public final class EmailControllerBuilder {
+
+    private final IEmailService emailService;
+    private AsyncEmailDispatcher dispatcher;
+    private TemplateService templateService;
+    private EmailMetrics metrics;
+    private SendConcurrency concurrency;
+    private IdempotencyCache idempotency;
+    private AttachmentStore attachmentStore;
+
+    public EmailControllerBuilder(IEmailService emailService) {
+        this.emailService = emailService;
+    }
+
+    public EmailControllerBuilder dispatcher(AsyncEmailDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+        return this;
+    }
+
+    public EmailControllerBuilder templateService(TemplateService templateService) {
+        this.templateService = templateService;
+        return this;
+    }
+
+    public EmailControllerBuilder metrics(EmailMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    public EmailControllerBuilder concurrency(SendConcurrency concurrency) {
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    public EmailControllerBuilder idempotency(IdempotencyCache idempotency) {
+        this.idempotency = idempotency;
+        return this;
+    }
+
+    public EmailControllerBuilder attachmentStore(AttachmentStore attachmentStore) {
+        this.attachmentStore = attachmentStore;
+        return this;
+    }
+
+    public EmailController build() {
+        return new EmailController(emailService, dispatcher, templateService, metrics, concurrency, idempotency,
+                attachmentStore);
+    }
+}
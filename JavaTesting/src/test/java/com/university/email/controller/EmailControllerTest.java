@@ -1,8 +1,16 @@
 package com.university.email.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.concurrency.SendConcurrency;
+import com.university.email.delivery.AsyncEmailDispatcher;
+import com.university.email.delivery.DeliveryJob;
+import com.university.email.idempotency.IdempotencyCache;
+import com.university.email.model.Attachment;
 import com.university.email.model.EmailRequest;
+import com.university.email.model.Priority;
 import com.university.email.service.IEmailService;
+import com.university.email.validation.EmailRequestValidator;
+import com.university.email.validation.RequestValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,13 +19,26 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
 
+import javax.validation.Validation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -31,6 +52,9 @@ class EmailControllerTest {
     @Mock
     private IEmailService emailService;
 
+    @Mock
+    private AsyncEmailDispatcher dispatcher;
+
     @InjectMocks
     private EmailController emailController;
 
@@ -104,6 +128,36 @@ class EmailControllerTest {
         verify(emailService, times(1)).sendEmail(any(EmailRequest.class));
     }
 
+    @Test
+    @DisplayName("Debería validar la solicitud una sola vez con el validador especializado")
+    void shouldValidateOnceWithSpecializedValidator() throws Exception {
+        // Given
+        MockMvc validated = MockMvcBuilders.standaloneSetup(emailController)
+                .setValidator(new RequestValidator(new EmailRequestValidator(),
+                        new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator())))
+                .build();
+        List<EmailRequest> received = new ArrayList<>();
+        when(emailService.canSendTo(anyString())).thenReturn(true);
+        when(emailService.sendEmail(any(EmailRequest.class))).thenAnswer(invocation -> {
+            received.add(invocation.getArgument(0));
+            return true;
+        });
+
+        // When & Then
+        validated.perform(post("/api/email/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"to\":\"invalid-email\",\"subject\":\" \",\"body\":\"Cuerpo\"}"))
+                .andExpect(status().isBadRequest());
+        validated.perform(post("/api/email/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EmailRequest("test@example.com", "Asunto", "Cuerpo"))))
+                .andExpect(status().isOk());
+
+        assertEquals(1, received.size());
+        EmailRequest sent = received.get(0);
+        assertTrue(sent.getValidatedFields().covers(sent));
+    }
+
     @Test
     @DisplayName("Debería retornar 400 cuando se lanza IllegalArgumentException")
     void shouldReturn400WhenIllegalArgumentExceptionIsThrown() throws Exception {
@@ -180,5 +234,233 @@ class EmailControllerTest {
         verify(emailService, times(1)).canSendTo("test@example.com");
         verify(emailService, times(1)).sendEmail(any(EmailRequest.class));
     }
-}
 
+    @Test
+    @DisplayName("Debería retornar 202 con el identificador del trabajo en modo asíncrono")
+    void shouldReturn202WhenAsyncModeAcceptsEmail() throws Exception {
+        // Given
+        EmailRequest request = new EmailRequest("test@example.com", "Test Subject", "Test Body");
+        when(emailService.canSendTo(anyString())).thenReturn(true);
+        when(dispatcher.isEnabled()).thenReturn(true);
+        when(dispatcher.submit(any(EmailRequest.class))).thenReturn(Optional.of(new DeliveryJob("job-1", request)));
+
+        // When & Then
+        mockMvc.perform(post("/api/email/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/email/status/job-1"))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("queued"));
+
+        verify(emailService, never()).sendEmail(any(EmailRequest.class));
+    }
+
+    @Test
+    @DisplayName("Debería aceptar como programado un correo con fecha de envío futura")
+    void shouldReturnScheduledWhenSendAtIsInTheFuture() throws Exception {
+        // Given
+        String json = "{\"to\":\"test@example.com\",\"subject\":\"Test Subject\",\"body\":\"Test Body\","
+                + "\"sendAt\":\"2099-01-15T09:00:00+01:00\"}";
+        when(emailService.canSendTo(anyString())).thenReturn(true);
+        when(dispatcher.isEnabled()).thenReturn(true);
+        when(dispatcher.submit(any(EmailRequest.class))).thenAnswer(invocation ->
+                Optional.of(new DeliveryJob("job-1", invocation.getArgument(0))));
+
+        // When & Then
+        mockMvc.perform(post("/api/email/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("scheduled"));
+
+        verify(dispatcher).submit(argThat(request -> request.getSendAt() != null
+                && request.getSendAt().toInstant().equals(Instant.parse("2099-01-15T08:00:00Z"))));
+    }
+
+    @Test
+    @DisplayName("Debería retornar 400 con fecha de envío futura si el envío es síncrono")
+    void shouldReturn400WhenSendAtRequiresAsyncMode() throws Exception {
+        // Given
+        String json = "{\"to\":\"test@example.com\",\"subject\":\"Test Subject\",\"body\":\"Test Body\","
+                + "\"sendAt\":\"2099-01-15T09:00:00Z\"}";
+        when(emailService.canSendTo(anyString())).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(post("/api/email/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("sendAt requiere el envío asíncrono"));
+
+        verify(emailService, never()).sendEmail(any(EmailRequest.class));
+    }
+
+    @Test
+    @DisplayName("Debería retornar 429 cuando la cola de envío está llena")
+    void shouldReturn429WhenAsyncQueueIsFull() throws Exception {
+        // Given
+        EmailRequest request = new EmailRequest("test@example.com", "Test Subject", "Test Body");
+        when(emailService.canSendTo(anyString())).thenReturn(true);
+        when(dispatcher.isEnabled()).thenReturn(true);
+        when(dispatcher.submit(any(EmailRequest.class))).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(post("/api/email/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("La cola de envío está llena, intente más tarde"));
+
+        verify(emailService, never()).sendEmail(any(EmailRequest.class));
+    }
+
+    @Test
+    @DisplayName("Debería retornar 503 cuando no quedan permisos de envío")
+    void shouldReturn503WhenNoSendPermitIsAvailable() throws Exception {
+        // Given
+        SendConcurrency concurrency = new SendConcurrency(false, 1, 10);
+        assertTrue(concurrency.tryAcquire());
+        MockMvc saturated = MockMvcBuilders
+                .standaloneSetup(new EmailControllerBuilder(emailService).concurrency(concurrency).build()).build();
+        EmailRequest request = new EmailRequest("test@example.com", "Test Subject", "Test Body");
+        when(emailService.canSendTo(anyString())).thenReturn(true);
+
+        // When & Then
+        saturated.perform(post("/api/email/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Demasiados envíos en curso, intente más tarde"));
+
+        verify(emailService, never()).sendEmail(any(EmailRequest.class));
+    }
+
+    @Test
+    @DisplayName("Debería enviar una sola vez las peticiones repetidas con la misma Idempotency-Key")
+    void shouldSendOnceForRepeatedIdempotencyKey() throws Exception {
+        // Given
+        IdempotencyCache idempotency = new IdempotencyCache(true, 60_000, 100, 1 << 20, 1000);
+        MockMvc idempotent = MockMvcBuilders
+                .standaloneSetup(new EmailControllerBuilder(emailService).idempotency(idempotency).build()).build();
+        EmailRequest request = new EmailRequest("test@example.com", "Test Subject", "Test Body");
+        when(emailService.canSendTo(anyString())).thenReturn(true);
+        when(emailService.sendEmail(any(EmailRequest.class))).thenReturn(true);
+
+        // When & Then
+        for (int i = 0; i < 2; i++) {
+            idempotent.perform(post("/api/email/send")
+                    .header("Idempotency-Key", "pedido-42")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true));
+        }
+        idempotent.perform(post("/api/email/send")
+                .header("Idempotency-Key", "pedido-42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+
+        verify(emailService, times(1)).sendEmail(any(EmailRequest.class));
+    }
+
+    @Test
+    @DisplayName("Debería responder 422 si la Idempotency-Key se reutiliza con otra solicitud de igual hashCode")
+    void shouldRejectIdempotencyKeyReusedWithCollidingRequest() throws Exception {
+        // Given
+        IdempotencyCache idempotency = new IdempotencyCache(true, 60_000, 100, 1 << 20, 1000);
+        MockMvc idempotent = MockMvcBuilders
+                .standaloneSetup(new EmailControllerBuilder(emailService).idempotency(idempotency).build()).build();
+        // "Aa" y "BB" tienen el mismo String.hashCode
+        EmailRequest first = new EmailRequest("test@example.com", "Aa", "Test Body");
+        EmailRequest second = new EmailRequest("test@example.com", "BB", "Test Body");
+        when(emailService.canSendTo(anyString())).thenReturn(true);
+        when(emailService.sendEmail(any(EmailRequest.class))).thenReturn(true);
+        idempotent.perform(post("/api/email/send")
+                .header("Idempotency-Key", "pedido-43")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(first)))
+                .andExpect(status().isOk());
+
+        // When & Then
+        idempotent.perform(post("/api/email/send")
+                .header("Idempotency-Key", "pedido-43")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(second)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.success").value(false));
+
+        verify(emailService, times(1)).sendEmail(any(EmailRequest.class));
+    }
+
+    @Test
+    @DisplayName("Debería responder 422 si la Idempotency-Key se reutiliza con otra prioridad")
+    void shouldRejectIdempotencyKeyReusedWithDifferentPriority() throws Exception {
+        // Given
+        IdempotencyCache idempotency = new IdempotencyCache(true, 60_000, 100, 1 << 20, 1000);
+        MockMvc idempotent = MockMvcBuilders
+                .standaloneSetup(new EmailControllerBuilder(emailService).idempotency(idempotency).build()).build();
+        EmailRequest first = new EmailRequest("test@example.com", "Test Subject", "Test Body");
+        first.setPriority(Priority.TRANSACTIONAL);
+        EmailRequest second = new EmailRequest("test@example.com", "Test Subject", "Test Body");
+        second.setPriority(Priority.BULK);
+        when(emailService.canSendTo(anyString())).thenReturn(true);
+        when(emailService.sendEmail(any(EmailRequest.class))).thenReturn(true);
+        idempotent.perform(post("/api/email/send")
+                .header("Idempotency-Key", "pedido-44")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(first)))
+                .andExpect(status().isOk());
+
+        // When & Then
+        idempotent.perform(post("/api/email/send")
+                .header("Idempotency-Key", "pedido-44")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(second)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.success").value(false));
+
+        verify(emailService, times(1)).sendEmail(any(EmailRequest.class));
+    }
+
+    @Test
+    @DisplayName("Debería enviar los adjuntos de forma síncrona y borrar sus archivos temporales")
+    void shouldSendAttachmentsAndDeleteTemporaryFiles() throws Exception {
+        // Given
+        EmailRequest request = new EmailRequest("test@example.com", "Informe", "Adjunto el informe");
+        List<Path> duringSend = new ArrayList<>();
+        when(emailService.canSendTo(anyString())).thenReturn(true);
+        when(emailService.sendEmail(any(EmailRequest.class))).thenAnswer(invocation -> {
+            EmailRequest sent = invocation.getArgument(0);
+            for (Attachment attachment : sent.getAttachments()) {
+                assertTrue(Files.exists(attachment.getPath()));
+                duringSend.add(attachment.getPath());
+            }
+            assertEquals("informe.pdf", sent.getAttachments().get(0).getFileName());
+            assertEquals(5, sent.getAttachments().get(0).getSize());
+            return true;
+        });
+
+        // When & Then
+        mockMvc.perform(multipart("/api/email/send")
+                .file(new MockMultipartFile("request", "", MediaType.APPLICATION_JSON_VALUE,
+                        objectMapper.writeValueAsBytes(request)))
+                .file(new MockMultipartFile("attachments", "informe.pdf", "application/pdf",
+                        "%PDF-".getBytes(StandardCharsets.US_ASCII)))
+                .file(new MockMultipartFile("attachments", "notas.txt", "text/plain",
+                        "notas".getBytes(StandardCharsets.US_ASCII))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        assertEquals(2, duringSend.size());
+        for (Path path : duringSend) {
+            assertFalse(Files.exists(path));
+        }
+        verify(dispatcher, never()).submit(any());
+    }
+}
@@ -0,0 +1,138 @@
+package com.university.email.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.model.EmailResponse;
+import com.university.email.model.HealthResponse;
+import com.university.email.service.IEmailService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pruebas unitarias para EmailResponseConverter
+ */
+@DisplayName("EmailResponseConverter Tests")
+class EmailResponseConverterTest {
+
+    private final EmailResponseConverter converter = new EmailResponseConverter();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockHttpOutputMessage write(Object response) throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(response, MediaType.APPLICATION_JSON, output);
+        return output;
+    }
+
+    @Test
+    @DisplayName("Debería escribir los mismos bytes que Jackson para todas las respuestas")
+    void shouldWriteSameBytesAsJackson() throws Exception {
+        // Given
+        Object[] responses = {
+                EmailResponse.BLOCKED, EmailResponse.SEND_FAILED, EmailResponse.QUEUE_FULL, EmailResponse.SATURATED,
+                EmailResponse.sent("usuario@ejemplo.com", "Asunto con ñ, \"comillas\" y\nsalto"),
+                EmailResponse.accepted("0f8fad5b-d9cb-469f-a165-70867728950e"),
+                EmailResponse.failure("Error inesperado: null"),
+                HealthResponse.OK
+        };
+
+        for (Object response : responses) {
+            // When
+            byte[] written = write(response).getBodyAsBytes();
+
+            // Then
+            assertArrayEquals(objectMapper.writeValueAsBytes(response), written,
+                    () -> new String(written) + " difiere de Jackson");
+        }
+    }
+
+    @Test
+    @DisplayName("Debería mantener el formato JSON de las respuestas construidas con mapas")
+    void shouldKeepLegacyShape() throws Exception {
+        // Given
+        Map<String, Object> sent = new HashMap<>();
+        sent.put("success", true);
+        sent.put("message", "Correo enviado exitosamente");
+        sent.put("to", "usuario@ejemplo.com");
+        sent.put("subject", "Asunto");
+        Map<String, Object> accepted = new HashMap<>();
+        accepted.put("success", true);
+        accepted.put("message", "Correo aceptado para envío");
+        accepted.put("id", "abc");
+        accepted.put("status", "queued");
+        Map<String, Object> blocked = new HashMap<>();
+        blocked.put("success", false);
+        blocked.put("message", "No se puede enviar correo a este destinatario");
+
+        // When
+        JsonNode sentJson = objectMapper.readTree(write(EmailResponse.sent("usuario@ejemplo.com", "Asunto"))
+                .getBodyAsBytes());
+        JsonNode acceptedJson = objectMapper.readTree(write(EmailResponse.accepted("abc")).getBodyAsBytes());
+        JsonNode blockedJson = objectMapper.readTree(write(EmailResponse.BLOCKED).getBodyAsBytes());
+
+        // Then
+        assertEquals(objectMapper.valueToTree(sent), sentJson);
+        assertEquals(objectMapper.valueToTree(accepted), acceptedJson);
+        assertEquals(objectMapper.valueToTree(blocked), blockedJson);
+    }
+
+    @Test
+    @DisplayName("Debería indicar la longitud solo en las respuestas constantes")
+    void shouldSetContentLengthForConstants() throws Exception {
+        // When
+        MockHttpOutputMessage constant = write(EmailResponse.BLOCKED);
+        MockHttpOutputMessage dynamic = write(EmailResponse.sent("usuario@ejemplo.com", "Asunto"));
+
+        // Then
+        assertEquals(constant.getBodyAsBytes().length, constant.getHeaders().getContentLength());
+        assertEquals(-1, dynamic.getHeaders().getContentLength());
+    }
+
+    @Test
+    @DisplayName("Debería escribir solo los modelos de respuesta y no leer ninguno")
+    void shouldOnlyWriteResponseModels() {
+        // Then
+        assertTrue(converter.canWrite(EmailResponse.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canWrite(HealthResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(Map.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(EmailResponse.class, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Debería responder desde el controlador con el conversor registrado")
+    void shouldServeControllerResponses() throws Exception {
+        // Given
+        IEmailService emailService = mock(IEmailService.class);
+        when(emailService.canSendTo(anyString())).thenReturn(false);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new EmailControllerBuilder(emailService).build())
+                .setMessageConverters(converter, new MappingJackson2HttpMessageConverter())
+                .build();
+        String json = "{\"to\":\"bloqueado@ejemplo.com\",\"subject\":\"Asunto\",\"body\":\"Cuerpo\"}";
+
+        // When & Then
+        mockMvc.perform(post("/api/email/send").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("No se puede enviar correo a este destinatario"));
+        mockMvc.perform(get("/api/email/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("OK"))
+                .andExpect(jsonPath("$.service").value("Email API"));
+    }
+}
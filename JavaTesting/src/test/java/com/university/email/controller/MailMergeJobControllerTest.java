@@ -0,0 +1,103 @@
+package com.university.email.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.job.MailMergeRunner;
+import com.university.email.service.BatchEmailSender;
+import com.university.email.service.EmailService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pruebas unitarias para MailMergeJobController
+ */
+@DisplayName("MailMergeJobController Tests")
+class MailMergeJobControllerTest {
+
+    @TempDir
+    Path directory;
+
+    private BatchEmailSender sender;
+    private MailMergeRunner runner;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Path input = Files.createDirectories(directory.resolve("input"));
+        Files.write(input.resolve("clientes.csv"),
+                "to,nombre\nana@example.com,Ana\nblocked@example.com,Luis\n".getBytes(StandardCharsets.UTF_8));
+        sender = new BatchEmailSender(new EmailService(), objectMapper, 1000, 2);
+        runner = new MailMergeRunner(sender, objectMapper, true, directory.resolve("jobs").toString(),
+                input.toString(), 2, 8, 1 << 20, 100);
+        mockMvc = MockMvcBuilders.standaloneSetup(new MailMergeJobController(runner)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        runner.shutdown();
+        sender.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debería crear un trabajo y devolver su progreso")
+    void shouldCreateJobAndReportProgress() throws Exception {
+        // Given
+        String json = "{\"file\":\"clientes.csv\",\"subject\":\"Hola {{nombre}}\",\"body\":\"Cuerpo\"}";
+
+        // When
+        MvcResult created = mockMvc.perform(post("/api/email/jobs").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/api/email/jobs/")))
+                .andExpect(jsonPath("$.file").value("clientes.csv"))
+                .andReturn();
+        String location = created.getResponse().getHeader("Location");
+        String id = location.substring(location.lastIndexOf('/') + 1);
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!runner.find(id).orElseThrow().getStatus().isFinal() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Then
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.status").value("completed"))
+                .andExpect(jsonPath("$.rows").value(2))
+                .andExpect(jsonPath("$.sent").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.percent").value(100.0))
+                .andExpect(jsonPath("$.errorFile").exists());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar solicitudes inválidas y trabajos inexistentes")
+    void shouldRejectInvalidRequests() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/email/jobs").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"file\":\"../clientes.csv\",\"subject\":\"S\",\"body\":\"B\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+        mockMvc.perform(post("/api/email/jobs").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"subject\":\"S\",\"body\":\"B\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/email/jobs/desconocido"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("No existe un trabajo con ese identificador"));
+    }
+}
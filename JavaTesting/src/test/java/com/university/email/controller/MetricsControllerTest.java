@@ -0,0 +1,155 @@
+package com.university.email.controller;
+
+import com.university.email.delivery.AsyncEmailDispatcher;
+import com.university.email.delivery.AsyncEmailDispatcherBuilder;
+import com.university.email.delivery.PriorityLanes;
+import com.university.email.metrics.BindingMetricsAdvice;
+import com.university.email.metrics.EmailMetrics;
+import com.university.email.metrics.EmailMetrics.Stage;
+import com.university.email.metrics.TimedValidator;
+import com.university.email.model.EmailRequest;
+import com.university.email.model.Priority;
+import com.university.email.service.CachingEmailService;
+import com.university.email.service.IEmailService;
+import com.university.email.validation.EmailRequestValidator;
+import com.university.email.validation.RequestValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pruebas unitarias para MetricsController y la instrumentación del envío
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MetricsController Tests")
+class MetricsControllerTest {
+
+    @Mock
+    private IEmailService emailService;
+
+    private EmailMetrics metrics;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new EmailMetrics(true, 100);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new EmailControllerBuilder(emailService).metrics(metrics).build(),
+                        new MetricsController(metrics, null, null))
+                .setControllerAdvice(new BindingMetricsAdvice(metrics))
+                .setValidator(new TimedValidator(new RequestValidator(new EmailRequestValidator(),
+                        new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator())), metrics))
+                .build();
+    }
+
+    private void send(String json) throws Exception {
+        mockMvc.perform(post("/api/email/send").contentType(MediaType.APPLICATION_JSON).content(json));
+    }
+
+    @Test
+    @DisplayName("Debería medir cada etapa con su resultado")
+    void shouldRecordEveryStage() throws Exception {
+        // Given
+        when(emailService.canSendTo(anyString())).thenAnswer(invocation -> !invocation.<String>getArgument(0).contains("blocked"));
+        when(emailService.sendEmail(any(EmailRequest.class)))
+                .thenReturn(true)
+                .thenReturn(false)
+                .thenThrow(new IllegalArgumentException("El formato del correo destinatario no es válido"));
+
+        // When
+        send("{\"to\":\"a@example.com\",\"subject\":\"Asunto\",\"body\":\"Cuerpo\"}");
+        send("{\"to\":\"b@example.com\",\"subject\":\"Asunto\",\"body\":\"Cuerpo\"}");
+        send("{\"to\":\"c@example.com\",\"subject\":\"Asunto\",\"body\":\"Cuerpo\"}");
+        send("{\"to\":\"blocked@example.com\",\"subject\":\"Asunto\",\"body\":\"Cuerpo\"}");
+        send("{\"to\":\"a@example.com\",\"subject\":\"\",\"body\":\"Cuerpo\"}");
+
+        // Then
+        assertEquals(5, metrics.getCount(Stage.BINDING, "ok"));
+        assertEquals(4, metrics.getCount(Stage.VALIDATION, "valid"));
+        assertEquals(1, metrics.getCount(Stage.VALIDATION, "invalid"));
+        assertEquals(3, metrics.getCount(Stage.POLICY, "allowed"));
+        assertEquals(1, metrics.getCount(Stage.POLICY, "rejected"));
+        assertEquals(1, metrics.getCount(Stage.TRANSPORT, "sent"));
+        assertEquals(1, metrics.getCount(Stage.TRANSPORT, "failed"));
+        assertEquals(1, metrics.getCount(Stage.TRANSPORT, "invalid"));
+    }
+
+    @Test
+    @DisplayName("Debería exponer las métricas en formato de texto de Prometheus")
+    void shouldExposePrometheusText() throws Exception {
+        // Given
+        when(emailService.canSendTo(anyString())).thenReturn(true);
+        when(emailService.sendEmail(any(EmailRequest.class))).thenReturn(true);
+        send("{\"to\":\"a@example.com\",\"subject\":\"Asunto\",\"body\":\"Cuerpo\"}");
+
+        // When & Then
+        mockMvc.perform(get("/api/email/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andExpect(content().string(containsString(
+                        "email_stage_total{stage=\"transport\",outcome=\"sent\",domain=\"example.com\"} 1")))
+                .andExpect(content().string(containsString(
+                        "email_stage_duration_seconds_count{stage=\"binding\",outcome=\"ok\"} 1")));
+    }
+
+    @Test
+    @DisplayName("Debería exponer las estadísticas de la caché de destinatarios si está activa")
+    void shouldExposeRecipientCacheStats() throws Exception {
+        // Given
+        when(emailService.canSendTo(anyString())).thenReturn(true);
+        CachingEmailService cached = new CachingEmailService(emailService, 100, 60_000, 60_000);
+        cached.canSendTo("a@example.com");
+        cached.canSendTo("a@example.com");
+        MockMvc withCache = MockMvcBuilders.standaloneSetup(new MetricsController(metrics, cached, null)).build();
+
+        // When & Then
+        withCache.perform(get("/api/email/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("email_recipient_cache_requests_total{result=\"hit\"} 1")))
+                .andExpect(content().string(containsString("email_recipient_cache_requests_total{result=\"miss\"} 1")))
+                .andExpect(content().string(containsString("email_recipient_cache_evictions_total 0")));
+    }
+
+    @Test
+    @DisplayName("Debería exponer la profundidad y la latencia de cada carril")
+    void shouldExposeLaneMetrics() throws Exception {
+        // Given
+        PriorityLanes lanes = PriorityLanes.defaults();
+        AsyncEmailDispatcher dispatcher = new AsyncEmailDispatcherBuilder(emailService)
+                .lanes(lanes)
+                .queueCapacity(10)
+                .retainedJobs(100)
+                .build();
+        EmailRequest request = new EmailRequest("boletin@example.com", "Boletín", "Novedades");
+        request.setPriority(Priority.BULK);
+        dispatcher.submit(request);
+        MockMvc withLanes = MockMvcBuilders.standaloneSetup(new MetricsController(metrics, null, lanes)).build();
+
+        // When & Then
+        withLanes.perform(get("/api/email/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("email_lane_queue_depth{lane=\"bulk\"} 1")))
+                .andExpect(content().string(containsString("email_lane_queue_depth{lane=\"transactional\"} 0")))
+                .andExpect(content().string(containsString(
+                        "email_lane_latency_seconds_count{lane=\"transactional\"} 0")));
+        dispatcher.shutdown();
+    }
+}
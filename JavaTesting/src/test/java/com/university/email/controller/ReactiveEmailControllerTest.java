@@ -0,0 +1,115 @@
+package com.university.email.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.service.BatchEmailSender;
+import com.university.email.service.EmailService;
+import com.university.email.service.ReactiveEmailService;
+import com.university.email.template.TemplateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ReactiveEmailController
+ */
+@DisplayName("ReactiveEmailController Tests")
+class ReactiveEmailControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BatchEmailSender batchSender;
+    private ReactiveEmailService reactiveService;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        EmailService emailService = new EmailService();
+        batchSender = new BatchEmailSender(emailService, objectMapper, 10, 1);
+        reactiveService = new ReactiveEmailService(emailService, batchSender, null, 4, 16);
+        client = WebTestClient.bindToController(
+                new ReactiveEmailController(reactiveService, new TemplateService(1024))).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactiveService.shutdown();
+        batchSender.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debería enviar correo exitosamente con la misma respuesta que el controlador bloqueante")
+    void shouldSendEmailSuccessfully() {
+        // When & Then
+        client.post().uri("/api/email/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"to\":\"test@example.com\",\"subject\":\"Test Subject\",\"body\":\"Test Body\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.message").isEqualTo("Correo enviado exitosamente")
+                .jsonPath("$.to").isEqualTo("test@example.com")
+                .jsonPath("$.subject").isEqualTo("Test Subject");
+    }
+
+    @Test
+    @DisplayName("Debería retornar 400 cuando el destinatario no está permitido")
+    void shouldReturn400WhenRecipientIsNotAllowed() {
+        // When & Then
+        client.post().uri("/api/email/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"to\":\"blocked@example.com\",\"subject\":\"S\",\"body\":\"B\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(false)
+                .jsonPath("$.message").isEqualTo("No se puede enviar correo a este destinatario");
+    }
+
+    @Test
+    @DisplayName("Debería retornar 400 cuando la solicitud no es válida")
+    void shouldReturn400WhenRequestIsInvalid() {
+        // When & Then
+        client.post().uri("/api/email/send")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"to\":\"invalid-email\",\"subject\":\"S\",\"body\":\"B\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Debería devolver un resultado NDJSON por elemento del lote")
+    void shouldStreamBatchResults() throws Exception {
+        // When
+        String body = client.post().uri("/api/email/send-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.parseMediaType(EmailBatchController.NDJSON))
+                .bodyValue("[{\"to\":\"ok@example.com\",\"subject\":\"S\",\"body\":\"B\"},"
+                        + "{\"to\":\"error@example.com\",\"subject\":\"S\",\"body\":\"B\"}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType(EmailBatchController.NDJSON))
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        results.sort(Comparator.comparingInt(result -> result.get("index").asInt()));
+
+        // Then
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).get("success").asBoolean());
+        assertEquals("Error al enviar el correo", results.get(1).get("message").asText());
+    }
+}
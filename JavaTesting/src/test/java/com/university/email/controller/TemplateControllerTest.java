@@ -0,0 +1,105 @@
+package com.university.email.controller;
+
+import com.university.email.model.EmailRequest;
+import com.university.email.service.IEmailService;
+import com.university.email.template.TemplateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pruebas unitarias para TemplateController y el envío con plantillas
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TemplateController Tests")
+class TemplateControllerTest {
+
+    @Mock
+    private IEmailService emailService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        TemplateService templateService = new TemplateService(1 << 20);
+        mockMvc = MockMvcBuilders.standaloneSetup(new TemplateController(templateService),
+                new EmailControllerBuilder(emailService).templateService(templateService).build()).build();
+    }
+
+    @Test
+    @DisplayName("Debería registrar una plantilla y enviar correos renderizados con ella")
+    void shouldRegisterTemplateAndSendWithIt() throws Exception {
+        // Given
+        when(emailService.canSendTo(anyString())).thenReturn(true);
+        when(emailService.sendEmail(any(EmailRequest.class))).thenReturn(true);
+
+        // When
+        mockMvc.perform(post("/api/email/templates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":\"bienvenida\",\"subject\":\"Hola {{nombre}}\",\"body\":\"Bienvenida, {{nombre}}.\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/api/email/templates/bienvenida"))
+                .andExpect(jsonPath("$.success").value(true));
+
+        mockMvc.perform(post("/api/email/send")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"to\":\"test@example.com\",\"templateId\":\"bienvenida\",\"variables\":{\"nombre\":\"Ana\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subject").value("Hola Ana"));
+
+        // Then
+        ArgumentCaptor<EmailRequest> sent = ArgumentCaptor.forClass(EmailRequest.class);
+        verify(emailService).sendEmail(sent.capture());
+        assertEquals("Bienvenida, Ana.", sent.getValue().getBody());
+    }
+
+    @Test
+    @DisplayName("Debería retornar 400 cuando la plantilla no existe o falta una variable")
+    void shouldReturn400ForUnknownTemplateOrMissingVariable() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/email/templates")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":\"aviso\",\"subject\":\"Aviso\",\"body\":\"Hola {{nombre}}\"}"));
+
+        // When & Then
+        mockMvc.perform(post("/api/email/send")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"to\":\"test@example.com\",\"templateId\":\"otra\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("No existe la plantilla: otra"));
+        mockMvc.perform(post("/api/email/send")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"to\":\"test@example.com\",\"templateId\":\"aviso\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Falta la variable de plantilla: nombre"));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar plantillas mal formadas y eliminar las existentes")
+    void shouldRejectMalformedTemplateAndDelete() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/email/templates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":\"rota\",\"subject\":\"Hola {{nombre\",\"body\":\"Cuerpo\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("La plantilla tiene una variable sin cerrar"));
+        mockMvc.perform(delete("/api/email/templates/rota"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,103 @@
+package com.university.email.delivery;
+
+import com.university.email.body.BodyStore;
+import com.university.email.concurrency.SendConcurrency;
+import com.university.email.outbox.OutboxJournal;
+import com.university.email.schedule.RetryPolicy;
+import com.university.email.schedule.WheelTimer;
+import com.university.email.service.IEmailService;
+
+/**
+ * Construye un {@link AsyncEmailDispatcher} para las pruebas indicando solo
+ * los colaboradores que interesan; el resto queda sin configurar, como cuando
+ * su componente no está activo. Los valores por defecto son los de la
+ * configuración de la aplicación.
+ */
+public final class AsyncEmailDispatcherBuilder {
+
+    private final IEmailService emailService;
+    private OutboxJournal journal;
+    private DomainRateLimiter rateLimiter;
+    private RecipientCoalescer coalescer;
+    private SendConcurrency concurrency;
+    private BodyStore bodies;
+    private WheelTimer timer;
+    private RetryPolicy retryPolicy;
+    private PriorityLanes lanes;
+    private boolean enabled;
+    private int queueCapacity = 1000;
+    private int workers = 4;
+    private int retainedJobs = 10000;
+
+    public AsyncEmailDispatcherBuilder(IEmailService emailService) {
+        this.emailService = emailService;
+    }
+
+    public AsyncEmailDispatcherBuilder journal(OutboxJournal journal) {
+        this.journal = journal;
+        return this;
+    }
+
+    public AsyncEmailDispatcherBuilder rateLimiter(DomainRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
+
+    public AsyncEmailDispatcherBuilder coalescer(RecipientCoalescer coalescer) {
+        this.coalescer = coalescer;
+        return this;
+    }
+
+    public AsyncEmailDispatcherBuilder concurrency(SendConcurrency concurrency) {
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    public AsyncEmailDispatcherBuilder bodies(BodyStore bodies) {
+        this.bodies = bodies;
+        return this;
+    }
+
+    public AsyncEmailDispatcherBuilder timer(WheelTimer timer) {
+        this.timer = timer;
+        return this;
+    }
+
+    public AsyncEmailDispatcherBuilder retryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    public AsyncEmailDispatcherBuilder lanes(PriorityLanes lanes) {
+        this.lanes = lanes;
+        return this;
+    }
+
+    /**
+     * Activa el modo asíncrono, que arranca los hilos de envío al construirlo
+     */
+    public AsyncEmailDispatcherBuilder enabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public AsyncEmailDispatcherBuilder queueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    public AsyncEmailDispatcherBuilder workers(int workers) {
+        this.workers = workers;
+        return this;
+    }
+
+    public AsyncEmailDispatcherBuilder retainedJobs(int retainedJobs) {
+        this.retainedJobs = retainedJobs;
+        return this;
+    }
+
+    public AsyncEmailDispatcher build() {
+        return new AsyncEmailDispatcher(emailService, journal, rateLimiter, coalescer, concurrency, bodies, timer,
+                retryPolicy, lanes, enabled, queueCapacity, workers, retainedJobs);
+    }
+}
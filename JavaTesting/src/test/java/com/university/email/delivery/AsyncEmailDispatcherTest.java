@@ -0,0 +1,522 @@
+package com.university.email.delivery;
+
+import com.university.email.body.BodyStore;
+import com.university.email.model.EmailRequest;
+import com.university.email.model.Priority;
+import com.university.email.outbox.OutboxJournal;
+import com.university.email.schedule.RetryPolicy;
+import com.university.email.service.EmailService;
+import com.university.email.service.IEmailService;
+import com.university.email.smtp.SmtpConnectionPool;
+import com.university.email.smtp.SmtpEmailService;
+import com.university.email.smtp.StubSmtpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para AsyncEmailDispatcher
+ */
+@DisplayName("AsyncEmailDispatcher Tests")
+class AsyncEmailDispatcherTest {
+
+    private AsyncEmailDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    private static DeliveryStatus awaitFinal(DeliveryJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!job.getStatus().isFinal() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return job.getStatus();
+    }
+
+    @Test
+    @DisplayName("Debería enviar el correo encolado y marcarlo como enviado")
+    void shouldSendQueuedEmail() throws InterruptedException {
+        // Given
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .enabled(true)
+                .queueCapacity(10)
+                .workers(2)
+                .retainedJobs(100)
+                .build();
+
+        // When
+        Optional<DeliveryJob> job = dispatcher.submit(new EmailRequest("test@example.com", "Asunto", "Cuerpo"));
+
+        // Then
+        assertTrue(job.isPresent());
+        assertEquals(DeliveryStatus.SENT, awaitFinal(job.get()));
+        assertSame(job.get(), dispatcher.find(job.get().getId()).orElse(null));
+    }
+
+    @Test
+    @DisplayName("Debería marcar como fallido el correo que el servicio no pudo enviar")
+    void shouldMarkFailedWhenServiceFails() throws InterruptedException {
+        // Given
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .enabled(true)
+                .queueCapacity(10)
+                .workers(1)
+                .retainedJobs(100)
+                .build();
+
+        // When
+        DeliveryJob error = dispatcher.submit(new EmailRequest("error@example.com", "Asunto", "Cuerpo")).get();
+        DeliveryJob invalid = dispatcher.submit(new EmailRequest("test@example.com", " ", "Cuerpo")).get();
+
+        // Then
+        assertEquals(DeliveryStatus.FAILED, awaitFinal(error));
+        assertEquals("Error al enviar el correo", error.getMessage());
+        assertEquals(DeliveryStatus.FAILED, awaitFinal(invalid));
+        assertEquals("El asunto es obligatorio", invalid.getMessage());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar el correo cuando la cola está llena")
+    void shouldRejectWhenQueueIsFull() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        IEmailService slowService = mock(IEmailService.class);
+        when(slowService.sendEmail(any(EmailRequest.class))).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+        dispatcher = new AsyncEmailDispatcherBuilder(slowService)
+                .enabled(true)
+                .queueCapacity(1)
+                .workers(1)
+                .retainedJobs(100)
+                .build();
+        EmailRequest request = new EmailRequest("test@example.com", "Asunto", "Cuerpo");
+
+        // When
+        DeliveryJob first = dispatcher.submit(request).get();
+        while (first.getStatus() == DeliveryStatus.QUEUED) {
+            Thread.sleep(1);
+        }
+        Optional<DeliveryJob> second = dispatcher.submit(request);
+        Optional<DeliveryJob> third = dispatcher.submit(request);
+        release.countDown();
+
+        // Then
+        assertTrue(second.isPresent());
+        assertFalse(third.isPresent());
+        assertEquals(DeliveryStatus.SENT, awaitFinal(second.get()));
+    }
+
+    @Test
+    @DisplayName("Debería descartar los trabajos terminados más antiguos")
+    void shouldForgetOldestFinishedJobs() {
+        // Given
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .queueCapacity(10)
+                .retainedJobs(2)
+                .build();
+        EmailRequest request = new EmailRequest("test@example.com", "Asunto", "Cuerpo");
+        DeliveryJob first = dispatcher.submit(request).get();
+        DeliveryJob second = dispatcher.submit(request).get();
+        DeliveryJob third = dispatcher.submit(request).get();
+
+        // When
+        dispatcher.deliver(first);
+        dispatcher.deliver(second);
+        dispatcher.deliver(third);
+
+        // Then
+        assertFalse(dispatcher.find(first.getId()).isPresent());
+        assertTrue(dispatcher.find(second.getId()).isPresent());
+        assertTrue(dispatcher.find(third.getId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Debería reenviar al arrancar los correos pendientes del outbox")
+    void shouldResendPendingOutboxEntriesOnStartup(@TempDir Path directory) throws InterruptedException {
+        // Given
+        OutboxJournal previousRun = new OutboxJournal(true, directory.toString(), 1 << 20);
+        previousRun.accepted("pendiente", new EmailRequest("test@example.com", "Asunto", "Cuerpo"));
+        previousRun.close();
+        OutboxJournal journal = new OutboxJournal(true, directory.toString(), 1 << 20);
+
+        // When
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .journal(journal)
+                .enabled(true)
+                .queueCapacity(10)
+                .workers(1)
+                .retainedJobs(100)
+                .build();
+
+        // Then
+        DeliveryJob job = dispatcher.find("pendiente").orElseThrow(AssertionError::new);
+        assertEquals(DeliveryStatus.SENT, awaitFinal(job));
+        journal.close();
+        assertTrue(new OutboxJournal(true, directory.toString(), 1 << 20).recover().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería registrar el correo como completado en el outbox antes de darlo por enviado")
+    void shouldJournalCompletionBeforePublishingFinalStatus() throws InterruptedException {
+        // Given
+        OutboxJournal journal = mock(OutboxJournal.class);
+        when(journal.isEnabled()).thenReturn(true);
+        AtomicReference<DeliveryStatus> statusWhenCompleted = new AtomicReference<>();
+        doAnswer(invocation -> {
+            String id = invocation.getArgument(0);
+            statusWhenCompleted.set(dispatcher.find(id).map(DeliveryJob::getStatus).orElse(null));
+            return null;
+        }).when(journal).completed(anyString());
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .journal(journal)
+                .enabled(true)
+                .queueCapacity(10)
+                .workers(1)
+                .retainedJobs(100)
+                .build();
+
+        // When
+        DeliveryJob job = dispatcher.submit(new EmailRequest("test@example.com", "Asunto", "Cuerpo")).get();
+
+        // Then
+        assertEquals(DeliveryStatus.SENT, awaitFinal(job));
+        assertEquals(DeliveryStatus.SENDING, statusWhenCompleted.get());
+    }
+
+    @Test
+    @DisplayName("Debería aplazar en lugar de rechazar los correos que superan el límite del dominio")
+    void shouldDeferEmailsOverDomainLimit() throws InterruptedException {
+        // Given
+        DomainRateLimiter limiter = new DomainRateLimiter(true, 10, 1, "");
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .rateLimiter(limiter)
+                .enabled(true)
+                .queueCapacity(10)
+                .workers(2)
+                .retainedJobs(100)
+                .build();
+        EmailRequest request = new EmailRequest("test@example.com", "Asunto", "Cuerpo");
+
+        // When
+        long start = System.nanoTime();
+        DeliveryJob first = dispatcher.submit(request).get();
+        DeliveryJob second = dispatcher.submit(request).get();
+        DeliveryJob otherDomain = dispatcher.submit(new EmailRequest("test@other.org", "Asunto", "Cuerpo")).get();
+
+        // Then
+        assertEquals(DeliveryStatus.SENT, awaitFinal(first));
+        assertEquals(DeliveryStatus.SENT, awaitFinal(otherDomain));
+        assertEquals(DeliveryStatus.SENT, awaitFinal(second));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(80),
+                "el segundo correo al mismo dominio debería esperar ~100 ms");
+    }
+
+    @Test
+    @DisplayName("Debería agrupar en una transacción los correos iguales al mismo dominio")
+    void shouldCoalesceIdenticalEmailsToSameDomain() throws Exception {
+        // Given
+        try (StubSmtpServer server = new StubSmtpServer(true)) {
+            SmtpConnectionPool pool = new SmtpConnectionPool("test.local", 2, 30_000, 300_000, 2000, 1000, 5000);
+            SmtpEmailService smtp = new SmtpEmailService(null, pool, "127.0.0.1", server.getPort());
+            RecipientCoalescer coalescer = new RecipientCoalescer(true, 200, 3);
+            dispatcher = new AsyncEmailDispatcherBuilder(smtp)
+                    .coalescer(coalescer)
+                    .enabled(true)
+                    .queueCapacity(10)
+                    .workers(2)
+                    .retainedJobs(100)
+                    .build();
+
+            // When
+            List<DeliveryJob> jobs = new ArrayList<>();
+            for (String to : Arrays.asList("a@example.com", "reject@example.com", "b@example.com", "c@example.com")) {
+                jobs.add(dispatcher.submit(new EmailRequest(to, "Boletín", "Cuerpo")).get());
+            }
+            for (DeliveryJob job : jobs) {
+                awaitFinal(job);
+            }
+
+            // Then
+            assertEquals(DeliveryStatus.SENT, jobs.get(0).getStatus());
+            assertEquals(DeliveryStatus.FAILED, jobs.get(1).getStatus());
+            assertEquals(DeliveryStatus.SENT, jobs.get(2).getStatus());
+            assertEquals(DeliveryStatus.SENT, jobs.get(3).getStatus());
+            // Los tres primeros llenan un grupo; el cuarto sale al cumplirse la ventana
+            assertEquals(2, server.getMessages().size());
+            assertEquals(Arrays.asList("a@example.com", "b@example.com"), server.getMessages().get(0).getRecipients());
+            coalescer.shutdown();
+            smtp.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería compartir el cuerpo de los correos encolados y liberarlo al enviarlos")
+    void shouldShareQueuedBodiesAndReleaseThem(@TempDir Path directory) {
+        // Given
+        BodyStore bodies = new BodyStore(true, 1 << 20, "", 1 << 20);
+        OutboxJournal journal = new OutboxJournal(true, directory.toString(), 1 << 20);
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .journal(journal)
+                .bodies(bodies)
+                .queueCapacity(10)
+                .retainedJobs(100)
+                .build();
+        DeliveryJob first = dispatcher.submit(new EmailRequest("uno@example.com", "Boletín", "Novedades")).get();
+        DeliveryJob second = dispatcher.submit(new EmailRequest("dos@example.com", "Boletín", "Novedades")).get();
+
+        // When
+        int sharedBodies = bodies.getBodyCount();
+        dispatcher.deliver(first);
+        dispatcher.deliver(second);
+
+        // Then
+        assertEquals(1, sharedBodies);
+        assertNull(first.getBody());
+        assertEquals(DeliveryStatus.SENT, second.getStatus());
+        assertEquals("dos@example.com", second.getTo());
+        assertEquals(0, bodies.getBodyCount());
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Debería reintentar los envíos fallidos y marcarlos como fallidos al agotar los reintentos")
+    void shouldRetryFailedSendsUntilExhausted() throws InterruptedException {
+        // Given
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .retryPolicy(new RetryPolicy(2, 10, 20))
+                .enabled(true)
+                .queueCapacity(10)
+                .workers(1)
+                .retainedJobs(100)
+                .build();
+
+        // When
+        DeliveryJob job = dispatcher.submit(new EmailRequest("error@example.com", "Asunto", "Cuerpo")).get();
+        DeliveryStatus status = awaitFinal(job);
+
+        // Then
+        assertEquals(DeliveryStatus.FAILED, status);
+        assertEquals(3, job.getAttempts());
+        assertEquals("Error al enviar el correo", job.getMessage());
+    }
+
+    @Test
+    @DisplayName("Debería marcar como reintentando un envío fallido con reintentos pendientes")
+    void shouldMarkFailedSendAsRetrying() {
+        // Given
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .retryPolicy(new RetryPolicy(3, 60_000, 60_000))
+                .queueCapacity(10)
+                .retainedJobs(100)
+                .build();
+        DeliveryJob job = dispatcher.submit(new EmailRequest("error@example.com", "Asunto", "Cuerpo")).get();
+
+        // When
+        dispatcher.deliver(job);
+
+        // Then
+        assertEquals(DeliveryStatus.RETRYING, job.getStatus());
+        assertEquals(1, job.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Debería esperar a la fecha de envío antes de enviar un correo programado")
+    void shouldSendScheduledEmailAtSendAt() throws InterruptedException {
+        // Given
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .enabled(true)
+                .queueCapacity(10)
+                .workers(1)
+                .retainedJobs(100)
+                .build();
+        EmailRequest request = new EmailRequest("test@example.com", "Asunto", "Cuerpo");
+        request.setSendAt(OffsetDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(300)));
+
+        // When
+        long start = System.nanoTime();
+        DeliveryJob job = dispatcher.submit(request).get();
+        DeliveryStatus initial = job.getStatus();
+        DeliveryStatus status = awaitFinal(job);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertEquals(DeliveryStatus.SCHEDULED, initial);
+        assertEquals(DeliveryStatus.SENT, status);
+        assertTrue(elapsedMs >= 250, "Enviado a los " + elapsedMs + " ms");
+    }
+
+    @Test
+    @DisplayName("Debería recuperar del outbox los correos programados con su fecha de envío")
+    void shouldRecoverScheduledEmailFromJournal(@TempDir Path directory) {
+        // Given
+        OutboxJournal journal = new OutboxJournal(true, directory.toString(), 1 << 20);
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .journal(journal)
+                .queueCapacity(10)
+                .retainedJobs(100)
+                .build();
+        EmailRequest request = new EmailRequest("test@example.com", "Asunto", "Cuerpo");
+        request.setSendAt(OffsetDateTime.now().plusHours(1));
+        String id = dispatcher.submit(request).get().getId();
+        dispatcher.shutdown();
+        journal.close();
+
+        // When
+        OutboxJournal reopened = new OutboxJournal(true, directory.toString(), 1 << 20);
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .journal(reopened)
+                .enabled(true)
+                .queueCapacity(10)
+                .workers(1)
+                .retainedJobs(100)
+                .build();
+
+        // Then
+        assertEquals(0, dispatcher.getQueueDepth());
+        DeliveryJob recovered = dispatcher.find(id).get();
+        assertEquals(DeliveryStatus.SCHEDULED, recovered.getStatus());
+        assertEquals(request.getSendAt().toInstant().toEpochMilli(),
+                recovered.getRequest().getSendAt().toInstant().toEpochMilli());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Debería enviar los correos transaccionales sin esperar a los masivos encolados antes")
+    void shouldSendTransactionalAheadOfBulkBacklog() throws InterruptedException {
+        // Given
+        IEmailService slowService = mock(IEmailService.class);
+        when(slowService.sendEmail(any(EmailRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return true;
+        });
+        dispatcher = new AsyncEmailDispatcherBuilder(slowService)
+                .lanes(new PriorityLanes(10, 1, 100, 1))
+                .enabled(true)
+                .queueCapacity(100)
+                .workers(2)
+                .retainedJobs(200)
+                .build();
+        List<DeliveryJob> bulk = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            EmailRequest request = new EmailRequest("boletin" + i + "@example.com", "Boletín", "Novedades");
+            request.setPriority(Priority.BULK);
+            bulk.add(dispatcher.submit(request).get());
+        }
+
+        // When
+        long start = System.nanoTime();
+        DeliveryJob reset = dispatcher.submit(new EmailRequest("alumno@example.com", "Restablecer contraseña",
+                "Código: 1234")).get();
+        DeliveryStatus status = awaitFinal(reset);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertEquals(DeliveryStatus.SENT, status);
+        assertTrue(elapsedMs < 200, "Transaccional enviado a los " + elapsedMs + " ms");
+        assertTrue(dispatcher.getQueueDepth(Priority.BULK) > 30);
+        assertEquals(0, dispatcher.getQueueDepth(Priority.TRANSACTIONAL));
+        assertFalse(bulk.get(49).getStatus().isFinal());
+    }
+
+    @Test
+    @DisplayName("Debería limitar la capacidad de cada carril por separado")
+    void shouldLimitCapacityPerLane() {
+        // Given
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .queueCapacity(2)
+                .retainedJobs(100)
+                .build();
+        EmailRequest bulk = new EmailRequest("boletin@example.com", "Boletín", "Novedades");
+        bulk.setPriority(Priority.BULK);
+
+        // When
+        dispatcher.submit(bulk);
+        dispatcher.submit(bulk);
+        Optional<DeliveryJob> rejected = dispatcher.submit(bulk);
+        Optional<DeliveryJob> transactional = dispatcher.submit(new EmailRequest("alumno@example.com", "Aviso", "Hola"));
+
+        // Then
+        assertFalse(rejected.isPresent());
+        assertTrue(transactional.isPresent());
+        assertEquals(Priority.TRANSACTIONAL, transactional.get().getPriority());
+        assertEquals(3, dispatcher.getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("Debería soltar el cuerpo compartido si falla la escritura del outbox")
+    void shouldReleaseBodyWhenJournalFails() {
+        // Given
+        BodyStore bodies = new BodyStore(true, 1 << 20, "", 1 << 20);
+        OutboxJournal journal = mock(OutboxJournal.class);
+        when(journal.isEnabled()).thenReturn(true);
+        doThrow(new UncheckedIOException("No se pudo escribir en el outbox", new IOException("disco lleno")))
+                .when(journal).accepted(anyString(), any(EmailRequest.class), any());
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .journal(journal)
+                .bodies(bodies)
+                .queueCapacity(10)
+                .retainedJobs(100)
+                .build();
+
+        // When
+        assertThrows(UncheckedIOException.class,
+                () -> dispatcher.submit(new EmailRequest("uno@example.com", "Boletín", "Novedades")));
+
+        // Then
+        assertEquals(0, bodies.getBodyCount());
+        assertEquals(0, bodies.getReferenceCount());
+    }
+
+    @Test
+    @DisplayName("Debería devolver el hueco de la cola y olvidar el trabajo si falla la escritura del outbox")
+    void shouldRollBackSubmitWhenJournalFails() {
+        // Given
+        OutboxJournal journal = mock(OutboxJournal.class);
+        when(journal.isEnabled()).thenReturn(true);
+        AtomicReference<String> journaledId = new AtomicReference<>();
+        doAnswer(invocation -> {
+            journaledId.set(invocation.getArgument(0));
+            throw new UncheckedIOException("No se pudo escribir en el outbox", new IOException("disco lleno"));
+        }).when(journal).accepted(anyString(), any(EmailRequest.class), any());
+        dispatcher = new AsyncEmailDispatcherBuilder(new EmailService())
+                .journal(journal)
+                .queueCapacity(1)
+                .retainedJobs(100)
+                .build();
+        EmailRequest request = new EmailRequest("alumno@example.com", "Aviso", "Hola");
+
+        // When
+        assertThrows(UncheckedIOException.class, () -> dispatcher.submit(request));
+
+        // Then
+        assertEquals(0, dispatcher.getQueueDepth(Priority.TRANSACTIONAL));
+        assertFalse(dispatcher.find(journaledId.get()).isPresent());
+        doNothing().when(journal).accepted(anyString(), any(EmailRequest.class), any());
+        assertTrue(dispatcher.submit(request).isPresent());
+    }
+}
@@ -0,0 +1,153 @@
+package com.university.email.delivery;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para DomainRateLimiter
+ */
+@DisplayName("DomainRateLimiter Tests")
+class DomainRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    private DomainRateLimiter limiter(double perSecond, int burst, String overrides) {
+        return new DomainRateLimiter(true, perSecond, burst, overrides, now::get);
+    }
+
+    @Test
+    @DisplayName("Debería permitir la ráfaga configurada y luego indicar la espera")
+    void shouldAllowBurstThenAskToWait() {
+        // Given
+        DomainRateLimiter limiter = limiter(10, 3, "");
+
+        // When & Then
+        assertEquals(0, limiter.tryAcquire("a@example.com"));
+        assertEquals(0, limiter.tryAcquire("b@example.com"));
+        assertEquals(0, limiter.tryAcquire("c@EXAMPLE.com"));
+        long wait = limiter.tryAcquire("d@example.com");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+
+        now.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("d@example.com"));
+    }
+
+    @Test
+    @DisplayName("Debería llevar un límite independiente por dominio")
+    void shouldLimitEachDomainIndependently() {
+        // Given
+        DomainRateLimiter limiter = limiter(1, 1, "");
+
+        // When & Then
+        assertEquals(0, limiter.tryAcquire("a@example.com"));
+        assertTrue(limiter.tryAcquire("b@example.com") > 0);
+        assertEquals(0, limiter.tryAcquire("a@other.org"));
+        assertEquals(2, limiter.getTrackedDomains());
+    }
+
+    @Test
+    @DisplayName("Debería descartar los buckets llenos de pocos en pocos al superar el máximo de dominios")
+    void shouldEvictFullBucketsIncrementally() {
+        // Given
+        DomainRateLimiter limiter = limiter(1, 1, "");
+        for (int i = 0; i < DomainRateLimiter.MAX_IDLE_BUCKETS; i++) {
+            limiter.tryAcquire("user@d" + i + ".com");
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        // When
+        limiter.tryAcquire("user@nuevo-0.com");
+        int afterOne = limiter.getTrackedDomains();
+        for (int i = 1; i < DomainRateLimiter.MAX_IDLE_BUCKETS; i++) {
+            limiter.tryAcquire("user@nuevo-" + i + ".com");
+        }
+
+        // Then
+        assertTrue(afterOne >= DomainRateLimiter.MAX_IDLE_BUCKETS + 1 - DomainRateLimiter.EVICTION_BATCH,
+                "Dominios tras el primer dominio nuevo: " + afterOne);
+        assertTrue(limiter.getTrackedDomains() <= DomainRateLimiter.MAX_IDLE_BUCKETS + 1,
+                "Dominios: " + limiter.getTrackedDomains());
+        assertTrue(limiter.tryAcquire("user@nuevo-1.com") > 0);
+    }
+
+    @Test
+    @DisplayName("Debería aplicar los límites propios de cada dominio")
+    void shouldApplyDomainOverrides() {
+        // Given
+        DomainRateLimiter limiter = limiter(1, 1, "gmail.com:100:5, Yahoo.com:2");
+
+        // When
+        int gmailGranted = 0;
+        for (int i = 0; i < 10; i++) {
+            gmailGranted += limiter.tryAcquire("user@gmail.com") == 0 ? 1 : 0;
+        }
+
+        // Then
+        assertEquals(5, gmailGranted);
+        assertEquals(0, limiter.tryAcquire("user@yahoo.com"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), limiter.tryAcquire("user@yahoo.com"));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar límites por dominio mal formados")
+    void shouldRejectMalformedOverrides() {
+        assertThrows(IllegalArgumentException.class, () -> limiter(1, 1, "gmail.com"));
+        assertThrows(IllegalArgumentException.class, () -> limiter(1, 1, "gmail.com:0"));
+    }
+
+    @Test
+    @DisplayName("No debería limitar cuando está desactivado")
+    void shouldNotLimitWhenDisabled() {
+        // Given
+        DomainRateLimiter limiter = new DomainRateLimiter(false, 1, 1, "", now::get);
+
+        // When & Then
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("a@example.com"));
+        }
+    }
+
+    @Test
+    @DisplayName("No debería conceder más tokens que la ráfaga con muchos hilos a la vez")
+    void shouldNeverOvergrantUnderContention() throws InterruptedException {
+        // Given
+        DomainRateLimiter limiter = limiter(1, 500, "");
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < 64; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.tryAcquire("user@example.com") == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertEquals(500, granted.get());
+    }
+}
@@ -0,0 +1,123 @@
+package com.university.email.delivery;
+
+import com.university.email.model.EmailRequest;
+import com.university.email.model.Priority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para PriorityLanes
+ */
+@DisplayName("PriorityLanes Tests")
+class PriorityLanesTest {
+
+    private static List<DeliveryJob> group(String id, Priority priority) {
+        EmailRequest request = new EmailRequest(id + "@example.com", "Asunto", "Cuerpo");
+        request.setPriority(priority);
+        return Collections.singletonList(new DeliveryJob(id, request));
+    }
+
+    private static void fill(PriorityLanes lanes, int count) {
+        for (int i = 0; i < count; i++) {
+            lanes.add(group("masivo" + i, Priority.BULK));
+        }
+        for (int i = 0; i < count; i++) {
+            lanes.add(group("transaccional" + i, Priority.TRANSACTIONAL));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería repartir los envíos entre carriles según sus pesos, intercalados")
+    void shouldInterleaveLanesByWeight() throws InterruptedException {
+        // Given
+        PriorityLanes lanes = new PriorityLanes(3, 1, 60_000, 0);
+        fill(lanes, 20);
+
+        // When
+        List<Priority> order = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            PriorityLanes.Entry entry = lanes.take();
+            order.add(entry.priority);
+            lanes.done(entry, true);
+        }
+
+        // Then
+        assertEquals(6, Collections.frequency(order, Priority.TRANSACTIONAL));
+        assertEquals(2, Collections.frequency(order, Priority.BULK));
+        // Un masivo en cada ronda de cuatro, no dos seguidos al final
+        assertEquals(order.subList(0, 4), order.subList(4, 8));
+    }
+
+    @Test
+    @DisplayName("Debería servir solo el carril transaccional cuando su espera supera el presupuesto")
+    void shouldPreferTransactionalOverBudget() throws InterruptedException {
+        // Given
+        PriorityLanes lanes = new PriorityLanes(1, 1, 0, 0);
+        fill(lanes, 5);
+
+        // When
+        List<Priority> order = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            order.add(lanes.take().priority);
+        }
+
+        // Then
+        assertEquals(Collections.nCopies(5, Priority.TRANSACTIONAL), order.subList(0, 5));
+        assertEquals(Priority.BULK, order.get(5));
+    }
+
+    @Test
+    @DisplayName("Debería dejar libres los hilos reservados aunque solo haya correos masivos")
+    void shouldKeepReservedWorkersFromBulk() throws Exception {
+        // Given
+        PriorityLanes lanes = new PriorityLanes(10, 1, 60_000, 1);
+        lanes.reserveWorkers(2);
+        lanes.add(group("masivo1", Priority.BULK));
+        lanes.add(group("masivo2", Priority.BULK));
+        PriorityLanes.Entry first = lanes.take();
+
+        // When
+        CompletableFuture<PriorityLanes.Entry> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return lanes.take();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Then
+        assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+        lanes.done(first, true);
+        assertEquals("masivo2", second.get(5, TimeUnit.SECONDS).group.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Debería informar la profundidad y la latencia de cada carril")
+    void shouldReportDepthAndLatencyPerLane() throws InterruptedException {
+        // Given
+        PriorityLanes lanes = PriorityLanes.defaults();
+        fill(lanes, 3);
+
+        // When
+        PriorityLanes.Entry entry = lanes.take();
+        Thread.sleep(20);
+        lanes.done(entry, true);
+
+        // Then
+        assertEquals(Priority.TRANSACTIONAL, entry.priority);
+        assertEquals(2, lanes.getDepth(Priority.TRANSACTIONAL));
+        assertEquals(3, lanes.getDepth(Priority.BULK));
+        assertEquals(1, lanes.getSent(Priority.TRANSACTIONAL));
+        assertEquals(0, lanes.getSent(Priority.BULK));
+        assertTrue(lanes.getLatencyNanos(Priority.TRANSACTIONAL, 99) >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+}
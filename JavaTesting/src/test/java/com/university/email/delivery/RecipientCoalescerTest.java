@@ -0,0 +1,113 @@
+package com.university.email.delivery;
+
+import com.university.email.model.Attachment;
+import com.university.email.model.EmailRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para RecipientCoalescer
+ */
+@DisplayName("RecipientCoalescer Tests")
+class RecipientCoalescerTest {
+
+    private final BlockingQueue<List<DeliveryJob>> flushed = new LinkedBlockingQueue<>();
+    private RecipientCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+    }
+
+    private static DeliveryJob job(String to, String body) {
+        return new DeliveryJob(to + body, new EmailRequest(to, "Asunto", body));
+    }
+
+    private static DeliveryJob job(String to, String body, Attachment attachment) {
+        EmailRequest request = new EmailRequest(to, "Asunto", body);
+        request.setAttachments(List.of(attachment));
+        return new DeliveryJob(to + body, request);
+    }
+
+    @Test
+    @DisplayName("Debería cerrar el grupo al alcanzar el máximo de destinatarios")
+    void shouldFlushWhenGroupIsFull() {
+        // Given
+        coalescer = new RecipientCoalescer(true, 60_000, 2);
+
+        // When
+        coalescer.add(job("a@example.com", "Cuerpo"), flushed::add);
+        coalescer.add(job("b@EXAMPLE.com", "Cuerpo"), flushed::add);
+
+        // Then
+        assertEquals(1, flushed.size());
+        assertEquals(2, flushed.peek().size());
+        assertEquals(0, coalescer.getOpenGroups());
+    }
+
+    @Test
+    @DisplayName("Debería separar los correos con distinto contenido, dominio o destinatario repetido")
+    void shouldNotMergeDifferentContentOrDomain() throws InterruptedException {
+        // Given
+        coalescer = new RecipientCoalescer(true, 50, 10);
+
+        // When
+        coalescer.add(job("a@example.com", "Cuerpo"), flushed::add);
+        coalescer.add(job("a@example.com", "Cuerpo"), flushed::add);
+        coalescer.add(job("b@example.com", "Otro cuerpo"), flushed::add);
+        coalescer.add(job("c@other.org", "Cuerpo"), flushed::add);
+
+        // Then
+        assertEquals(1, flushed.size(), "el destinatario repetido cierra el grupo anterior");
+        for (int i = 0; i < 4; i++) {
+            List<DeliveryJob> group = flushed.poll(5, TimeUnit.SECONDS);
+            assertNotNull(group, "cada grupo debería cerrarse al cumplirse la ventana");
+            assertEquals(1, group.size());
+        }
+        assertEquals(0, coalescer.getOpenGroups());
+    }
+
+    @Test
+    @DisplayName("Debería separar los correos con el mismo contenido y distintos adjuntos")
+    void shouldNotMergeDifferentAttachments() {
+        // Given
+        coalescer = new RecipientCoalescer(true, 60_000, 2);
+        Attachment informe = new Attachment("informe.pdf", "application/pdf", Paths.get("/tmp/informe.pdf"), 10);
+        Attachment factura = new Attachment("factura.pdf", "application/pdf", Paths.get("/tmp/factura.pdf"), 10);
+        DeliveryJob first = job("a@example.com", "Cuerpo", informe);
+        DeliveryJob third = job("c@example.com", "Cuerpo", informe);
+
+        // When
+        coalescer.add(first, flushed::add);
+        coalescer.add(job("b@example.com", "Cuerpo", factura), flushed::add);
+        coalescer.add(third, flushed::add);
+
+        // Then
+        assertEquals(1, flushed.size());
+        assertEquals(List.of(first, third), flushed.peek());
+        assertEquals(1, coalescer.getOpenGroups(), "el correo con otro adjunto sigue en su propio grupo");
+    }
+
+    @Test
+    @DisplayName("Debería entregar cada correo por separado cuando está desactivado")
+    void shouldPassThroughWhenDisabled() {
+        // Given
+        coalescer = new RecipientCoalescer(false, 50, 10);
+
+        // When
+        coalescer.add(job("a@example.com", "Cuerpo"), flushed::add);
+
+        // Then
+        assertEquals(1, flushed.size());
+        assertFalse(coalescer.isEnabled());
+    }
+}
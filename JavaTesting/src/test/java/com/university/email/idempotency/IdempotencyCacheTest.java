@@ -0,0 +1,199 @@
+package com.university.email.idempotency;
+
+import com.university.email.model.EmailResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para IdempotencyCache
+ */
+@DisplayName("IdempotencyCache Tests")
+class IdempotencyCacheTest {
+
+    private static final long HOUR_MS = 3_600_000;
+    private static final byte[] REQUEST = {1, 2, 3};
+    private static final byte[] OTHER_REQUEST = {1, 2, 4};
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private Supplier<ResponseEntity<EmailResponse>> action(HttpStatus status) {
+        return () -> {
+            String execution = "ejecución " + executions.incrementAndGet();
+            EmailResponse body = status.is2xxSuccessful()
+                    ? EmailResponse.sent("usuario@ejemplo.com", execution)
+                    : EmailResponse.failure(execution);
+            return ResponseEntity.status(status).body(body);
+        };
+    }
+
+    @Test
+    @DisplayName("Debería devolver la respuesta guardada sin volver a ejecutar la petición")
+    void shouldReplayStoredResponse() {
+        // Given
+        IdempotencyCache cache = new IdempotencyCache(true, HOUR_MS, 100, 1 << 20, 1000);
+
+        // When
+        ResponseEntity<EmailResponse> first = cache.execute("clave", REQUEST, action(HttpStatus.OK));
+        ResponseEntity<EmailResponse> second = cache.execute("clave", REQUEST, action(HttpStatus.OK));
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertEquals(first.getBody(), second.getBody());
+        assertNull(first.getHeaders().getFirst(IdempotencyCache.REPLAYED_HEADER));
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyCache.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Debería responder 422 si la clave se reutiliza con otra solicitud")
+    void shouldRejectKeyReusedWithDifferentRequest() {
+        // Given
+        IdempotencyCache cache = new IdempotencyCache(true, HOUR_MS, 100, 1 << 20, 1000);
+        cache.execute("clave", REQUEST, action(HttpStatus.OK));
+
+        // When
+        ResponseEntity<EmailResponse> response = cache.execute("clave", OTHER_REQUEST, action(HttpStatus.OK));
+
+        // Then
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Debería esperar a la petición original en curso en lugar de ejecutar otra vez")
+    void shouldWaitForInFlightRequest() throws Exception {
+        // Given
+        IdempotencyCache cache = new IdempotencyCache(true, HOUR_MS, 100, 1 << 20, 5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<ResponseEntity<EmailResponse>> slow = () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return action(HttpStatus.OK).get();
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<ResponseEntity<EmailResponse>> original = executor.submit(() -> cache.execute("clave", REQUEST, slow));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<ResponseEntity<EmailResponse>> duplicate =
+                executor.submit(() -> cache.execute("clave", REQUEST, action(HttpStatus.OK)));
+        Thread.sleep(50);
+        release.countDown();
+
+        // Then
+        assertEquals(original.get(5, TimeUnit.SECONDS).getBody(), duplicate.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, executions.get());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debería responder 409 si la petición original no termina a tiempo")
+    void shouldReturnConflictWhenOriginalTakesTooLong() throws Exception {
+        // Given
+        IdempotencyCache cache = new IdempotencyCache(true, HOUR_MS, 100, 1 << 20, 20);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> cache.execute("clave", REQUEST, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return action(HttpStatus.OK).get();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        ResponseEntity<EmailResponse> response = cache.execute("clave", REQUEST, action(HttpStatus.OK));
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debería no guardar las respuestas 5xx para permitir reintentos")
+    void shouldNotStoreServerErrors() {
+        // Given
+        IdempotencyCache cache = new IdempotencyCache(true, HOUR_MS, 100, 1 << 20, 1000);
+        cache.execute("clave", REQUEST, action(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        // When
+        ResponseEntity<EmailResponse> retry = cache.execute("clave", REQUEST, action(HttpStatus.OK));
+
+        // Then
+        assertEquals(2, executions.get());
+        assertEquals(HttpStatus.OK, retry.getStatusCode());
+        assertNull(retry.getHeaders().getFirst(IdempotencyCache.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Debería descartar las entradas más antiguas al superar el máximo de entradas")
+    void shouldEvictOldestWhenEntryLimitIsReached() {
+        // Given
+        IdempotencyCache cache = new IdempotencyCache(true, HOUR_MS, 2, 1 << 20, 1000);
+
+        // When
+        cache.execute("a", REQUEST, action(HttpStatus.OK));
+        cache.execute("b", REQUEST, action(HttpStatus.OK));
+        cache.execute("c", REQUEST, action(HttpStatus.OK));
+        cache.execute("a", REQUEST, action(HttpStatus.OK));
+
+        // Then
+        assertEquals(4, executions.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("Debería limitar la memoria de las respuestas guardadas")
+    void shouldBoundStoredBytes() {
+        // Given
+        long maxBytes = 2_000;
+        IdempotencyCache cache = new IdempotencyCache(true, HOUR_MS, 1000, maxBytes, 1000);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            cache.execute("clave-" + i, REQUEST, action(HttpStatus.OK));
+        }
+
+        // Then
+        assertTrue(cache.getBytes() <= maxBytes, "Bytes: " + cache.getBytes());
+        assertTrue(cache.size() > 0 && cache.size() < 100, "Entradas: " + cache.size());
+    }
+
+    @Test
+    @DisplayName("Debería volver a ejecutar la petición cuando la entrada caduca")
+    void shouldExecuteAgainAfterTtl() throws InterruptedException {
+        // Given
+        IdempotencyCache cache = new IdempotencyCache(true, 10, 100, 1 << 20, 1000);
+        cache.execute("clave", REQUEST, action(HttpStatus.OK));
+
+        // When
+        Thread.sleep(30);
+        cache.execute("clave", REQUEST, action(HttpStatus.OK));
+
+        // Then
+        assertEquals(2, executions.get());
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,254 @@
+package com.university.email.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.model.EmailRequest;
+import com.university.email.model.MailMergeRequest;
+import com.university.email.model.TemplateRequest;
+import com.university.email.service.BatchEmailSender;
+import com.university.email.service.IEmailService;
+import com.university.email.template.TemplateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para MailMergeRunner
+ */
+@DisplayName("MailMergeRunner Tests")
+class MailMergeRunnerTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Queue<EmailRequest> sent = new ConcurrentLinkedQueue<>();
+    private final List<MailMergeRunner> runners = new ArrayList<>();
+    private Path input;
+    private Path jobs;
+    private TemplateService templateService;
+    private BatchEmailSender sender;
+    private volatile long sendDelayMs;
+    private volatile CountDownLatch sending = new CountDownLatch(0);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        input = Files.createDirectories(directory.resolve("input"));
+        jobs = directory.resolve("jobs");
+        templateService = new TemplateService(1 << 20);
+        IEmailService emailService = new IEmailService() {
+            @Override
+            public boolean sendEmail(EmailRequest request) {
+                sending.countDown();
+                try {
+                    Thread.sleep(sendDelayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sent.add(request);
+                return true;
+            }
+
+            @Override
+            public boolean canSendTo(String email) {
+                return !email.contains("blocked");
+            }
+        };
+        sender = new BatchEmailSender(emailService, objectMapper, templateService, 1000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        runners.forEach(MailMergeRunner::shutdown);
+        sender.shutdown();
+    }
+
+    private MailMergeRunner runner(int maxInFlight) {
+        MailMergeRunner runner = new MailMergeRunner(sender, objectMapper, true, jobs.toString(), input.toString(),
+                4, maxInFlight, 64, 10);
+        runners.add(runner);
+        return runner;
+    }
+
+    private void writeInput(String name, String content) throws IOException {
+        Files.write(input.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static JobProgress await(MailMergeJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!job.getStatus().isFinal() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(job.getStatus().isFinal(), "El trabajo no terminó a tiempo");
+        return job.progress();
+    }
+
+    private List<JsonNode> errors(MailMergeJob job) throws IOException {
+        List<JsonNode> errors = new ArrayList<>();
+        for (String line : Files.readAllLines(Path.of(job.progress().getErrorFile()))) {
+            errors.add(objectMapper.readTree(line));
+        }
+        return errors;
+    }
+
+    @Test
+    @DisplayName("Debería enviar cada fila del CSV y registrar las fallidas en orden")
+    void shouldSendCsvRows() throws Exception {
+        // Given
+        StringBuilder csv = new StringBuilder("to,nombre\n");
+        for (int i = 1; i <= 200; i++) {
+            String to = i % 50 == 0 ? "blocked" + i + "@example.com" : "user" + i + "@example.com";
+            csv.append(to).append(",Usuario ").append(i).append('\n');
+        }
+        csv.append("no-es-un-correo,Nadie\n\n");
+        writeInput("clientes.csv", csv.toString());
+        MailMergeRequest request = new MailMergeRequest("clientes.csv", "Hola {{nombre}}", "Cuerpo para {{nombre}}");
+
+        // When
+        MailMergeJob job = runner(8).submit(request);
+        JobProgress progress = await(job);
+
+        // Then
+        assertEquals(JobStatus.COMPLETED, progress.getStatus());
+        assertEquals(201, progress.getRows());
+        assertEquals(196, progress.getSent());
+        assertEquals(5, progress.getFailed());
+        assertEquals(100.0, progress.getPercent());
+        assertEquals(196, sent.size());
+        assertTrue(sent.stream().anyMatch(r -> r.getTo().equals("user7@example.com")
+                && r.getSubject().equals("Hola Usuario 7") && r.getBody().equals("Cuerpo para Usuario 7")));
+        List<JsonNode> errors = errors(job);
+        assertEquals(5, errors.size());
+        assertEquals(50, errors.get(0).get("row").asLong());
+        assertEquals("No se puede enviar correo a este destinatario", errors.get(0).get("message").asText());
+        assertEquals(201, errors.get(4).get("row").asLong());
+    }
+
+    @Test
+    @DisplayName("Debería enviar filas NDJSON con una plantilla registrada")
+    void shouldSendNdjsonRowsWithTemplate() throws Exception {
+        // Given
+        templateService.register(new TemplateRequest("bienvenida", "Bienvenido {{nombre}}", "Tu código: {{codigo}}"));
+        writeInput("altas.ndjson", "{\"email\":\"ana@example.com\",\"nombre\":\"Ana\",\"codigo\":7}\n"
+                + "{\"email\":\"luis@example.com\",\"nombre\":\"Luis\"}\n");
+        MailMergeRequest request = new MailMergeRequest();
+        request.setFile("altas.ndjson");
+        request.setTemplateId("bienvenida");
+        request.setRecipientField("email");
+
+        // When
+        JobProgress progress = await(runner(8).submit(request));
+
+        // Then
+        assertEquals(1, progress.getSent());
+        assertEquals(1, progress.getFailed());
+        EmailRequest email = sent.peek();
+        assertEquals("ana@example.com", email.getTo());
+        assertEquals("Bienvenido Ana", email.getSubject());
+        assertEquals("Tu código: 7", email.getBody());
+    }
+
+    @Test
+    @DisplayName("Debería reanudar un trabajo detenido sin repetir las filas confirmadas")
+    void shouldResumeAfterRestart() throws Exception {
+        // Given
+        StringBuilder csv = new StringBuilder("to\n");
+        for (int i = 1; i <= 100; i++) {
+            csv.append(i % 10 == 0 ? "blocked" : "user").append(i).append("@example.com\n");
+        }
+        writeInput("lote.csv", csv.toString());
+        sendDelayMs = 5;
+        sending = new CountDownLatch(20);
+        MailMergeRunner first = runner(4);
+        MailMergeJob job = first.submit(new MailMergeRequest("lote.csv", "Asunto", "Cuerpo"));
+        assertTrue(sending.await(10, TimeUnit.SECONDS));
+
+        // When
+        first.shutdown();
+        JobProgress stopped = job.progress();
+        sendDelayMs = 0;
+        MailMergeJob resumed = runner(4).find(job.getId()).orElseThrow();
+        JobProgress progress = await(resumed);
+
+        // Then
+        assertEquals(JobStatus.RUNNING, stopped.getStatus());
+        assertTrue(stopped.getRows() > 0 && stopped.getRows() < 100);
+        assertEquals(JobStatus.COMPLETED, progress.getStatus());
+        assertEquals(90, progress.getSent());
+        assertEquals(10, progress.getFailed());
+        assertEquals(90, sent.size());
+        assertEquals(90, sent.stream().map(EmailRequest::getTo).distinct().count());
+        assertEquals(10, errors(resumed).size());
+    }
+
+    @Test
+    @DisplayName("Debería descartar los errores escritos después del último checkpoint")
+    void shouldTruncateErrorsAfterCheckpoint() throws Exception {
+        // Given
+        writeInput("lote.csv", "to\nuser1@example.com\nblocked2@example.com\nuser3@example.com\n");
+        Files.createDirectories(jobs);
+        MailMergeRequest request = new MailMergeRequest("lote.csv", "Asunto", "Cuerpo");
+        JobCheckpoint checkpoint = new JobCheckpoint();
+        checkpoint.setId("reanudado");
+        checkpoint.setRequest(request);
+        checkpoint.setStatus(JobStatus.RUNNING);
+        checkpoint.setOffset("to\nuser1@example.com\n".length());
+        checkpoint.setRows(1);
+        checkpoint.setSent(1);
+        objectMapper.writeValue(jobs.resolve("reanudado.json").toFile(), checkpoint);
+        Files.write(jobs.resolve("reanudado.errors.ndjson"),
+                "{\"row\":2,\"message\":\"escrito antes de la caída\"}\n".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        MailMergeJob job = runner(4).find("reanudado").orElseThrow();
+        JobProgress progress = await(job);
+
+        // Then
+        assertEquals(3, progress.getRows());
+        assertEquals(2, progress.getSent());
+        assertEquals(1, progress.getFailed());
+        assertEquals(1, sent.size());
+        List<JsonNode> errors = errors(job);
+        assertEquals(1, errors.size());
+        assertEquals("blocked2@example.com", errors.get(0).get("to").asText());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar archivos fuera del directorio de entrada y solicitudes sin contenido")
+    void shouldRejectInvalidRequests() throws Exception {
+        // Given
+        MailMergeRunner runner = runner(4);
+        writeInput("lote.csv", "to\n");
+        Files.write(directory.resolve("secreto.csv"), "to\n".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> runner.submit(new MailMergeRequest("../secreto.csv", "Asunto", "Cuerpo")));
+        assertThrows(IllegalArgumentException.class,
+                () -> runner.submit(new MailMergeRequest("no-existe.csv", "Asunto", "Cuerpo")));
+        assertThrows(IllegalArgumentException.class,
+                () -> runner.submit(new MailMergeRequest("lote.csv", null, null)));
+        MailMergeRequest xml = new MailMergeRequest("lote.csv", "Asunto", "Cuerpo");
+        xml.setFormat("xml");
+        assertThrows(IllegalArgumentException.class, () -> runner.submit(xml));
+        MailMergeRunner disabled = new MailMergeRunner(sender, objectMapper, false, jobs.toString(),
+                input.toString(), 1, 1, 64, 10);
+        assertThrows(IllegalStateException.class,
+                () -> disabled.submit(new MailMergeRequest("lote.csv", "Asunto", "Cuerpo")));
+    }
+}
@@ -0,0 +1,105 @@
+package com.university.email.job;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para RecordReader
+ */
+@DisplayName("RecordReader Tests")
+class RecordReaderTest {
+
+    @TempDir
+    Path directory;
+
+    private Path write(String content) throws IOException {
+        Path file = directory.resolve("rows.txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<String> readAll(RecordReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String line = reader.nextLine(); line != null; line = reader.nextLine()) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    @Test
+    @DisplayName("Debería leer líneas que cruzan el límite entre ventanas")
+    void shouldReadLinesAcrossWindows() throws IOException {
+        // Given
+        Path file = write("uno\r\ndos\nacentuación\ncuatro");
+
+        // When
+        List<String> lines;
+        try (RecordReader reader = new RecordReader(file, 16)) {
+            lines = readAll(reader);
+            assertEquals(Files.size(file), reader.getOffset());
+        }
+
+        // Then
+        assertEquals(List.of("uno", "dos", "acentuación", "cuatro"), lines);
+    }
+
+    @Test
+    @DisplayName("Debería continuar desde una posición guardada")
+    void shouldSeekToOffset() throws IOException {
+        // Given
+        Path file = write("a\nbb\nccc\n");
+        long offset;
+        try (RecordReader reader = new RecordReader(file, 4)) {
+            reader.nextLine();
+            reader.nextLine();
+            offset = reader.getOffset();
+        }
+
+        // When
+        List<String> lines;
+        try (RecordReader reader = new RecordReader(file, 4)) {
+            reader.seek(offset);
+            lines = readAll(reader);
+        }
+
+        // Then
+        assertEquals(5, offset);
+        assertEquals(List.of("ccc"), lines);
+    }
+
+    @Test
+    @DisplayName("Debería rechazar una línea más larga que la ventana")
+    void shouldRejectLineLongerThanWindow() throws IOException {
+        // Given
+        Path file = write("corta\nesta línea no cabe\n");
+
+        // When & Then
+        try (RecordReader reader = new RecordReader(file, 8)) {
+            assertEquals("corta", reader.nextLine());
+            IOException exception = assertThrows(IOException.class, reader::nextLine);
+            assertTrue(exception.getMessage().contains("más de 8 bytes"));
+        }
+    }
+
+    @Test
+    @DisplayName("Debería leer un archivo vacío sin líneas")
+    void shouldReadEmptyFile() throws IOException {
+        // Given
+        Path file = write("");
+
+        // When & Then
+        try (RecordReader reader = new RecordReader(file, 8)) {
+            assertNull(reader.nextLine());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.university.email.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para RowParser y CsvLine
+ */
+@DisplayName("RowParser Tests")
+class RowParserTest {
+
+    @Test
+    @DisplayName("Debería asociar los valores CSV a las columnas de la cabecera")
+    void shouldParseCsvRow() {
+        // Given
+        RowParser parser = RowParser.csv("to,nombre,nota");
+
+        // When
+        Map<String, String> fields = parser.parse("ana@example.com,\"Pérez, Ana\",\"dijo \"\"hola\"\"\"");
+
+        // Then
+        assertEquals("ana@example.com", fields.get("to"));
+        assertEquals("Pérez, Ana", fields.get("nombre"));
+        assertEquals("dijo \"hola\"", fields.get("nota"));
+    }
+
+    @Test
+    @DisplayName("Debería aceptar valores vacíos al final de la fila")
+    void shouldParseTrailingEmptyValue() {
+        // When
+        Map<String, String> fields = RowParser.csv("to,nombre").parse("ana@example.com,");
+
+        // Then
+        assertEquals("", fields.get("nombre"));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar filas CSV mal formadas")
+    void shouldRejectMalformedCsv() {
+        // Given
+        RowParser parser = RowParser.csv("to,nombre");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("ana@example.com"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("ana@example.com,\"sin cerrar"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("ana@example.com,\"Ana\"x"));
+    }
+
+    @Test
+    @DisplayName("Debería convertir los campos NDJSON a texto")
+    void shouldParseNdjsonRow() {
+        // Given
+        RowParser parser = RowParser.ndjson(new ObjectMapper());
+
+        // When
+        Map<String, String> fields = parser.parse("{\"to\":\"ana@example.com\",\"puntos\":42,\"extra\":null}");
+
+        // Then
+        assertEquals("ana@example.com", fields.get("to"));
+        assertEquals("42", fields.get("puntos"));
+        assertFalse(fields.containsKey("extra"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("[1,2]"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("{\"to\":"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.university.email.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga HTTP de bucle abierto y ritmo constante.
+ *
+ * La petición i debe salir en inicio + i / ritmo, haya terminado o no la
+ * anterior: el generador no espera a las respuestas (las recibe de forma
+ * asíncrona), así que un servidor lento no reduce la carga que recibe. Su
+ * latencia se cuenta desde ese instante previsto, de modo que un retraso del
+ * propio generador tampoco oculta la espera.
+ */
+final class LoadGenerator implements AutoCloseable {
+
+    private final URI base;
+    private final LoadMix mix;
+    private final Duration timeout;
+    private final ExecutorService executor;
+    private final HttpClient client;
+
+    LoadGenerator(URI base, LoadMix mix, Duration timeout) {
+        this.base = base;
+        this.mix = mix;
+        this.timeout = timeout;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "load-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Envía peticiones a ritmo constante durante el tiempo indicado y espera
+     * las respuestas pendientes
+     *
+     * @param rate Peticiones por segundo
+     * @param duration Duración del envío
+     * @param seed Semilla de la mezcla de peticiones
+     */
+    LoadResult run(double rate, Duration duration, long seed) throws InterruptedException {
+        LoadResult result = new LoadResult(rate);
+        SplittableRandom random = new SplittableRandom(seed);
+        AtomicInteger inFlight = new AtomicInteger();
+        long periodNanos = (long) (1e9 / rate);
+        long count = (long) (rate * duration.toNanos() / 1e9);
+        long start = System.nanoTime();
+        long[] last = {start};
+
+        for (long i = 0; i < count; i++) {
+            long intended = start + i * periodNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            RequestKind kind = mix.next(random);
+            inFlight.incrementAndGet();
+            client.sendAsync(kind.request(base, i, timeout), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long now = System.nanoTime();
+                        if (error != null) {
+                            result.recordFailure(kind, now - intended);
+                        } else {
+                            result.record(kind, now - intended, kind.isExpected(response.statusCode()));
+                        }
+                        synchronized (last) {
+                            last[0] = Math.max(last[0], now);
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        synchronized (last) {
+            result.finish(last[0] - start);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
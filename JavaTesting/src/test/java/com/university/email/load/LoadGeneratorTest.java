@@ -0,0 +1,84 @@
+package com.university.email.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del generador de carga contra la aplicación arrancada en un puerto libre
+ */
+@DisplayName("LoadGenerator Tests")
+class LoadGeneratorTest {
+
+    @Test
+    @DisplayName("Debería repartir las peticiones según los pesos de la mezcla")
+    void shouldPickKindsByWeight() {
+        // Given
+        LoadMix mix = LoadMix.parse("valid=3, error=1, health=0");
+        SplittableRandom random = new SplittableRandom(7);
+
+        // When
+        int valid = 0;
+        int error = 0;
+        for (int i = 0; i < 10_000; i++) {
+            RequestKind kind = mix.next(random);
+            if (kind == RequestKind.VALID) {
+                valid++;
+            } else if (kind == RequestKind.ERROR) {
+                error++;
+            }
+        }
+
+        // Then
+        assertEquals(10_000, valid + error);
+        assertEquals(7500, valid, 300);
+        assertEquals(0, mix.weight(RequestKind.HEALTH));
+        assertEquals("valid=3,error=1", mix.toString());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar una mezcla con tipos desconocidos o sin pesos")
+    void shouldRejectInvalidMix() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> LoadMix.parse("valid=1,spam=2"));
+        assertThrows(IllegalArgumentException.class, () -> LoadMix.parse("valid=-1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadMix.parse("valid=0"));
+    }
+
+    @Test
+    @DisplayName("Debería enviar a ritmo constante, recibir los códigos esperados y escribir el informe")
+    void shouldDriveRunningApplication(@TempDir Path output) throws Exception {
+        // Given
+        LoadMix mix = LoadMix.parse("valid=1,invalid=1,blocked=1,error=1,health=1");
+        LoadResult result;
+        try (ConfigurableApplicationContext context = LoadTest.start("--email.metrics.enabled=false");
+             LoadGenerator generator = new LoadGenerator(LoadTest.baseUri(context), mix, Duration.ofSeconds(10))) {
+
+            // When
+            result = generator.run(50, Duration.ofSeconds(2), 42);
+        }
+        LoadReport report = new LoadReport(output);
+        report.add(result);
+        List<String> curve = Files.readAllLines(report.writeCurve());
+
+        // Then
+        assertEquals(100, result.getCount());
+        assertEquals(0, result.getUnexpected());
+        assertEquals(0, result.getFailures());
+        for (RequestKind kind : RequestKind.values()) {
+            assertTrue(result.getCount(kind) > 0, "Sin peticiones de tipo " + kind);
+        }
+        assertEquals(LoadReport.CURVE_HEADER, curve.get(0));
+        assertTrue(curve.get(1).startsWith("50,"));
+        assertTrue(Files.exists(output.resolve("rate-50.hgrm")));
+    }
+}
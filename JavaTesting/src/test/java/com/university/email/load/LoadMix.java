@@ -0,0 +1,93 @@
+package com.university.email.load;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Proporción de cada tipo de petición en la carga, p. ej.
+ * "valid=80,invalid=5,blocked=5,error=5,health=5"
+ */
+final class LoadMix {
+
+    static final String DEFAULT = "valid=80,invalid=5,blocked=5,error=5,health=5";
+
+    private final Map<RequestKind, Integer> weights;
+    private final RequestKind[] kinds;
+    private final int[] cumulative;
+    private final int total;
+
+    private LoadMix(Map<RequestKind, Integer> weights) {
+        this.weights = weights;
+        this.kinds = weights.keySet().toArray(new RequestKind[0]);
+        this.cumulative = new int[kinds.length];
+        int sum = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            sum += weights.get(kinds[i]);
+            cumulative[i] = sum;
+        }
+        this.total = sum;
+    }
+
+    /**
+     * @throws IllegalArgumentException Si un tipo no existe, un peso no es un entero
+     *                                  positivo o no queda ningún tipo
+     */
+    static LoadMix parse(String spec) {
+        Map<RequestKind, Integer> weights = new EnumMap<>(RequestKind.class);
+        for (String part : spec.split(",")) {
+            if (part.trim().isEmpty()) {
+                continue;
+            }
+            String[] pair = part.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Se esperaba tipo=peso: " + part);
+            }
+            RequestKind kind;
+            int weight;
+            try {
+                kind = RequestKind.valueOf(pair[0].trim().toUpperCase(Locale.ROOT));
+                weight = Integer.parseInt(pair[1].trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Tipo o peso no válido: " + part, e);
+            }
+            if (weight < 0) {
+                throw new IllegalArgumentException("El peso no puede ser negativo: " + part);
+            }
+            if (weight > 0) {
+                weights.put(kind, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla no tiene ningún tipo de petición: " + spec);
+        }
+        return new LoadMix(weights);
+    }
+
+    RequestKind next(SplittableRandom random) {
+        int pick = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (pick < cumulative[i]) {
+                return kinds[i];
+            }
+        }
+        return kinds[kinds.length - 1];
+    }
+
+    int weight(RequestKind kind) {
+        return weights.getOrDefault(kind, 0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder spec = new StringBuilder();
+        for (Map.Entry<RequestKind, Integer> entry : weights.entrySet()) {
+            if (spec.length() > 0) {
+                spec.append(',');
+            }
+            spec.append(entry.getKey().label()).append('=').append(entry.getValue());
+        }
+        return spec.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.university.email.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Informe de una prueba de carga: la distribución de percentiles de cada paso
+ * (formato .hgrm de HdrHistogram, en milisegundos) y la curva de throughput
+ * frente a latencia de todos los pasos (curve.csv)
+ */
+final class LoadReport {
+
+    static final String CURVE_HEADER = "target_rps,achieved_rps,requests,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,"
+            + "unexpected,failures";
+
+    private final Path directory;
+    private final List<LoadResult> steps = new ArrayList<>();
+
+    LoadReport(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Añade un paso al informe y escribe su distribución de percentiles
+     */
+    void add(LoadResult result) throws IOException {
+        steps.add(result);
+        Files.createDirectories(directory);
+        Path file = directory.resolve(String.format(Locale.ROOT, "rate-%d.hgrm", Math.round(result.getTargetRate())));
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8.name())) {
+            result.getLatency().outputPercentileDistribution(out, 1e6);
+        }
+    }
+
+    /**
+     * Escribe la curva de throughput frente a latencia con los pasos añadidos
+     *
+     * @return Ruta del CSV
+     */
+    Path writeCurve() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(CURVE_HEADER);
+        for (LoadResult step : steps) {
+            lines.add(curveLine(step));
+        }
+        Files.createDirectories(directory);
+        return Files.write(directory.resolve("curve.csv"), lines, StandardCharsets.UTF_8);
+    }
+
+    static String curveLine(LoadResult step) {
+        return String.format(Locale.ROOT, "%.0f,%.1f,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%d",
+                step.getTargetRate(), step.getAchievedRate(), step.getCount(),
+                step.percentileMs(50), step.percentileMs(90), step.percentileMs(99), step.percentileMs(99.9),
+                step.getLatency().getMaxValue() / 1e6, step.getUnexpected(), step.getFailures());
+    }
+
+    /**
+     * Resumen legible de un paso, con la latencia de cada tipo de petición
+     */
+    static void summarize(LoadResult step, PrintStream out) {
+        out.printf(Locale.ROOT, "%n=== %.0f req/s objetivo: %.1f req/s logradas, %d peticiones, %d inesperadas, %d sin respuesta%n",
+                step.getTargetRate(), step.getAchievedRate(), step.getCount(), step.getUnexpected(), step.getFailures());
+        out.printf(Locale.ROOT, "%-8s %9s %9s %9s %9s %9s %9s%n", "tipo", "n", "p50 ms", "p90 ms", "p99 ms",
+                "p99.9 ms", "max ms");
+        for (RequestKind kind : RequestKind.values()) {
+            if (step.getCount(kind) > 0) {
+                out.printf(Locale.ROOT, "%-8s %9d %9.3f %9.3f %9.3f %9.3f %9.3f%n", kind.label(), step.getCount(kind),
+                        step.getLatency(kind).getValueAtPercentile(50) / 1e6,
+                        step.getLatency(kind).getValueAtPercentile(90) / 1e6,
+                        step.getLatency(kind).getValueAtPercentile(99) / 1e6,
+                        step.getLatency(kind).getValueAtPercentile(99.9) / 1e6,
+                        step.getLatency(kind).getMaxValue() / 1e6);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.university.email.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resultado de un paso de carga a ritmo constante.
+ *
+ * Las latencias se miden desde el instante en que la petición debía salir según
+ * el ritmo, no desde que salió: si el generador o el servidor se retrasan, el
+ * retraso cuenta en la latencia de las peticiones que esperaban (sin omisión
+ * coordinada).
+ */
+final class LoadResult {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final double targetRate;
+    private final Histogram total = newHistogram();
+    private final Map<RequestKind, Histogram> byKind = new EnumMap<>(RequestKind.class);
+    private final LongAdder unexpected = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile long elapsedNanos;
+
+    LoadResult(double targetRate) {
+        this.targetRate = targetRate;
+        for (RequestKind kind : RequestKind.values()) {
+            byKind.put(kind, newHistogram());
+        }
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(1, HIGHEST_TRACKABLE_NANOS, 3);
+    }
+
+    void record(RequestKind kind, long latencyNanos, boolean expected) {
+        long value = Math.min(Math.max(latencyNanos, 1), HIGHEST_TRACKABLE_NANOS);
+        total.recordValue(value);
+        byKind.get(kind).recordValue(value);
+        if (!expected) {
+            unexpected.increment();
+        }
+    }
+
+    void recordFailure(RequestKind kind, long latencyNanos) {
+        failures.increment();
+        record(kind, latencyNanos, true);
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    double getTargetRate() {
+        return targetRate;
+    }
+
+    /**
+     * Peticiones completadas por segundo, hasta la última respuesta
+     */
+    double getAchievedRate() {
+        return elapsedNanos == 0 ? 0 : total.getTotalCount() * 1e9 / elapsedNanos;
+    }
+
+    long getCount() {
+        return total.getTotalCount();
+    }
+
+    long getCount(RequestKind kind) {
+        return byKind.get(kind).getTotalCount();
+    }
+
+    /**
+     * Respuestas con un código distinto del esperado para su tipo
+     */
+    long getUnexpected() {
+        return unexpected.sum();
+    }
+
+    /**
+     * Peticiones sin respuesta: error de conexión o tiempo agotado
+     */
+    long getFailures() {
+        return failures.sum();
+    }
+
+    Histogram getLatency() {
+        return total;
+    }
+
+    Histogram getLatency(RequestKind kind) {
+        return byKind.get(kind);
+    }
+
+    /**
+     * Latencia total en un percentil, en milisegundos
+     */
+    double percentileMs(double percentile) {
+        return total.getValueAtPercentile(percentile) / 1e6;
+    }
+}
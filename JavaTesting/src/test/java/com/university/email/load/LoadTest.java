@@ -0,0 +1,79 @@
+package com.university.email.load;
+
+import com.university.email.EmailApiApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Prueba de carga de la aplicación completa: la arranca en un puerto libre y
+ * recorre una serie de ritmos de peticiones a /api/email/send y
+ * /api/email/health, con un calentamiento previo.
+ *
+ * mvn -Pload-test test-compile exec:exec
+ * Opciones (propiedades del sistema, con -Dload.args="..." en Maven):
+ * load.rates (500,1000,2000,4000), load.duration-s (10), load.warmup-s (5),
+ * load.mix ({@value LoadMix#DEFAULT}), load.timeout-ms (10000),
+ * load.output (target/load). Los argumentos del programa se pasan a la
+ * aplicación, p. ej. --email.async.enabled=true.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    /**
+     * Arranca la aplicación en un puerto libre
+     *
+     * @param args Propiedades adicionales, p. ej. --email.async.enabled=true
+     */
+    static ConfigurableApplicationContext start(String... args) {
+        List<String> all = new ArrayList<>(Arrays.asList(args));
+        all.add(0, "--server.port=0");
+        return SpringApplication.run(EmailApiApplication.class, all.toArray(new String[0]));
+    }
+
+    static URI baseUri(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return URI.create("http://localhost:" + port);
+    }
+
+    public static void main(String[] args) throws Exception {
+        double[] rates = Arrays.stream(System.getProperty("load.rates", "500,1000,2000,4000").split(","))
+                .mapToDouble(rate -> Double.parseDouble(rate.trim()))
+                .toArray();
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration-s", 10));
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup-s", 5));
+        Duration timeout = Duration.ofMillis(Long.getLong("load.timeout-ms", 10_000));
+        LoadMix mix = LoadMix.parse(System.getProperty("load.mix", LoadMix.DEFAULT));
+        Path output = Paths.get(System.getProperty("load.output", "target/load"));
+
+        try (ConfigurableApplicationContext context = start(args);
+             LoadGenerator generator = new LoadGenerator(baseUri(context), mix, timeout)) {
+            System.out.println("Mezcla: " + mix + "; calentamiento de " + warmup.getSeconds() + " s");
+            generator.run(rates[0], warmup, 0);
+
+            LoadReport report = new LoadReport(output);
+            for (int i = 0; i < rates.length; i++) {
+                LoadResult step = generator.run(rates[i], duration, i + 1);
+                report.add(step);
+                LoadReport.summarize(step, System.out);
+            }
+            Path curve = report.writeCurve();
+            System.out.println();
+            System.out.println("Curva de throughput frente a latencia (" + curve + "):");
+            for (String line : Files.readAllLines(curve)) {
+                System.out.println(line);
+            }
+        }
+    }
+}
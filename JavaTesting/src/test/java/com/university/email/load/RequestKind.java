@@ -0,0 +1,70 @@
+package com.university.email.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * Tipos de petición que mezcla el generador de carga, con la respuesta que
+ * debe dar la aplicación en modo síncrono
+ */
+enum RequestKind {
+    /** Correo válido: 200 */
+    VALID(200),
+    /** Destinatario con formato inválido: 400 */
+    INVALID(400),
+    /** Destinatario bloqueado por canSendTo: 400 */
+    BLOCKED(400),
+    /** Error simulado del transporte: 500 */
+    ERROR(500),
+    /** GET /api/email/health: 200 */
+    HEALTH(200);
+
+    private final int expectedStatus;
+
+    RequestKind(int expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    /**
+     * Código esperado; en modo asíncrono los correos aceptados responden 202
+     */
+    boolean isExpected(int status) {
+        return status == expectedStatus || (status == 202 && (this == VALID || this == ERROR));
+    }
+
+    String label() {
+        return name().toLowerCase();
+    }
+
+    HttpRequest request(URI base, long sequence, Duration timeout) {
+        if (this == HEALTH) {
+            return HttpRequest.newBuilder(base.resolve("/api/email/health")).timeout(timeout).GET().build();
+        }
+        return HttpRequest.newBuilder(base.resolve("/api/email/send"))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body(sequence)))
+                .build();
+    }
+
+    private String body(long sequence) {
+        String to;
+        switch (this) {
+            case INVALID:
+                to = "usuario" + sequence + "-sin-arroba.example.com";
+                break;
+            case BLOCKED:
+                to = "blocked" + sequence + "@example.com";
+                break;
+            case ERROR:
+                to = "error@example" + sequence % 100 + ".com";
+                break;
+            default:
+                to = "alumno" + sequence % 1000 + "@example.com";
+                break;
+        }
+        return "{\"to\":\"" + to + "\",\"subject\":\"Prueba de carga " + sequence
+                + "\",\"body\":\"Mensaje generado por el generador de carga\"}";
+    }
+}
@@ -0,0 +1,93 @@
+package com.university.email.metrics;
+
+import com.university.email.metrics.EmailMetrics.Stage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para EmailMetrics
+ */
+@DisplayName("EmailMetrics Tests")
+class EmailMetricsTest {
+
+    private static String prometheus(EmailMetrics metrics) throws IOException {
+        StringWriter out = new StringWriter();
+        metrics.writePrometheus(out);
+        return out.toString();
+    }
+
+    @Test
+    @DisplayName("Debería contar las ejecuciones por etapa, resultado y dominio")
+    void shouldCountByStageOutcomeAndDomain() throws IOException {
+        // Given
+        EmailMetrics metrics = new EmailMetrics(true, 100);
+
+        // When
+        metrics.record(Stage.POLICY, "allowed", "a@Example.com", 1_000);
+        metrics.record(Stage.POLICY, "allowed", "b@example.com", 3_000);
+        metrics.record(Stage.POLICY, "rejected", "blocked@example.com", 2_000);
+
+        // Then
+        assertEquals(2, metrics.getCount(Stage.POLICY, "allowed"));
+        assertEquals(1, metrics.getCount(Stage.POLICY, "rejected"));
+        String text = prometheus(metrics);
+        assertTrue(text.contains("email_stage_total{stage=\"policy\",outcome=\"allowed\",domain=\"example.com\"} 2\n"));
+        assertTrue(text.contains("email_stage_duration_seconds_count{stage=\"policy\",outcome=\"allowed\"} 2\n"));
+        assertTrue(text.contains("email_stage_duration_seconds_sum{stage=\"policy\",outcome=\"allowed\"} 4.0E-6\n"));
+        assertTrue(text.contains("# TYPE email_stage_duration_seconds summary\n"));
+    }
+
+    @Test
+    @DisplayName("Debería calcular los cuantiles con el histograma HDR")
+    void shouldReportQuantiles() throws IOException {
+        // Given
+        EmailMetrics metrics = new EmailMetrics(true, 100);
+
+        // When
+        for (int i = 1; i <= 1000; i++) {
+            metrics.record(Stage.TRANSPORT, "sent", "a@example.com", i * 1_000L);
+        }
+
+        // Then
+        String text = prometheus(metrics);
+        String median = text.lines()
+                .filter(line -> line.startsWith("email_stage_duration_seconds{stage=\"transport\",outcome=\"sent\",quantile=\"0.5\"}"))
+                .findFirst().orElseThrow(AssertionError::new);
+        double seconds = Double.parseDouble(median.substring(median.lastIndexOf(' ') + 1));
+        assertEquals(500e-6, seconds, 5e-6);
+    }
+
+    @Test
+    @DisplayName("Debería agrupar como 'other' los dominios que superan el máximo")
+    void shouldCapDomainCardinality() {
+        // Given
+        EmailMetrics metrics = new EmailMetrics(true, 2);
+
+        // When & Then
+        assertEquals("a.com", metrics.domainLabel("x@a.com"));
+        assertEquals("b.com", metrics.domainLabel("x@B.com"));
+        assertEquals(EmailMetrics.OTHER_DOMAIN, metrics.domainLabel("x@c.com"));
+        assertEquals("a.com", metrics.domainLabel("y@a.com"));
+        assertEquals(EmailMetrics.UNKNOWN_DOMAIN, metrics.domainLabel("no-es-un-correo"));
+        assertEquals(EmailMetrics.UNKNOWN_DOMAIN, metrics.domainLabel(null));
+    }
+
+    @Test
+    @DisplayName("No debería registrar nada cuando está desactivado")
+    void shouldIgnoreWhenDisabled() throws IOException {
+        // Given
+        EmailMetrics metrics = EmailMetrics.disabled();
+
+        // When
+        metrics.record(Stage.POLICY, "allowed", "a@example.com", 1_000);
+
+        // Then
+        assertEquals(0, metrics.getCount(Stage.POLICY, "allowed"));
+        assertFalse(prometheus(metrics).contains("stage=\"policy\""));
+    }
+}
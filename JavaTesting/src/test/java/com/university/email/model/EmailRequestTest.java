@@ -1,5 +1,6 @@
 package com.university.email.model;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -7,6 +8,7 @@ import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import java.util.Collections;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -395,5 +397,38 @@ class EmailRequestTest {
         // Then
         assertTrue(violations.isEmpty());
     }
-}
 
+    @Test
+    @DisplayName("Debería pasar validación sin asunto ni cuerpo cuando indica una plantilla")
+    void shouldPassValidationWithTemplateInsteadOfContent() {
+        // Given
+        EmailRequest request = new EmailRequest();
+        request.setTo("test@example.com");
+        request.setTemplateId("bienvenida");
+        request.setVariables(Collections.singletonMap("nombre", "Ana"));
+
+        // When
+        Set<ConstraintViolation<EmailRequest>> violations = validator.validate(request);
+
+        // Then
+        assertTrue(violations.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería leer el carril del JSON por su código")
+    void shouldReadPriorityFromJson() throws Exception {
+        // Given
+        ObjectMapper mapper = new ObjectMapper();
+
+        // When
+        EmailRequest bulk = mapper.readValue(
+                "{\"to\":\"test@example.com\",\"subject\":\"Asunto\",\"body\":\"Cuerpo\",\"priority\":\"bulk\"}",
+                EmailRequest.class);
+        EmailRequest unspecified = mapper.readValue(
+                "{\"to\":\"test@example.com\",\"subject\":\"Asunto\",\"body\":\"Cuerpo\"}", EmailRequest.class);
+
+        // Then
+        assertEquals(Priority.BULK, bulk.getPriority());
+        assertNull(unspecified.getPriority());
+    }
+}
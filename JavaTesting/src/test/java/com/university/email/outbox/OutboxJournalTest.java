@@ -0,0 +1,236 @@
+package com.university.email.outbox;
+
+import com.university.email.model.EmailRequest;
+import com.university.email.model.Priority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para OutboxJournal
+ */
+@DisplayName("OutboxJournal Tests")
+class OutboxJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private OutboxJournal open(long segmentSize) {
+        return new OutboxJournal(true, directory.toString(), segmentSize);
+    }
+
+    private static EmailRequest request(String to) {
+        return new EmailRequest(to, "Asunto", "Cuerpo con acentos: ñáé", null);
+    }
+
+    @Test
+    @DisplayName("Debería recuperar los correos aceptados que no se completaron")
+    void shouldRecoverAcceptedButNotCompleted() {
+        // Given
+        OutboxJournal journal = open(1 << 20);
+        journal.accepted("1", request("uno@example.com"));
+        journal.accepted("2", request("dos@example.com"));
+        journal.accepted("3", request("tres@example.com"));
+        journal.completed("2");
+        journal.close();
+
+        // When
+        OutboxJournal reopened = open(1 << 20);
+        List<OutboxEntry> pending = reopened.recover();
+
+        // Then
+        assertEquals(2, pending.size());
+        assertEquals("1", pending.get(0).getId());
+        assertEquals("uno@example.com", pending.get(0).getRequest().getTo());
+        assertEquals("Cuerpo con acentos: ñáé", pending.get(0).getRequest().getBody());
+        assertNull(pending.get(0).getRequest().getFrom());
+        assertEquals("3", pending.get(1).getId());
+        assertTrue(reopened.recover().isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Debería eliminar los segmentos cuyos correos están todos completados")
+    void shouldCompactFinishedSegments() throws IOException {
+        // Given
+        OutboxJournal journal = open(256);
+        for (int i = 0; i < 20; i++) {
+            journal.accepted("id-" + i, request("user" + i + "@example.com"));
+        }
+        int segmentsBefore = journal.getSegmentCount();
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            journal.completed("id-" + i);
+        }
+
+        // Then
+        assertTrue(segmentsBefore > 2);
+        assertEquals(1, journal.getSegmentCount());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+        journal.close();
+        assertTrue(open(256).recover().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería ignorar un registro incompleto al final del segmento")
+    void shouldIgnoreTornTail() throws IOException {
+        // Given
+        OutboxJournal journal = open(1 << 20);
+        journal.accepted("1", request("uno@example.com"));
+        journal.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.sorted().collect(Collectors.toList()).get(0);
+        }
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3, 4, 1, 0}, StandardOpenOption.APPEND);
+
+        // When
+        List<OutboxEntry> pending = open(1 << 20).recover();
+
+        // Then
+        assertEquals(1, pending.size());
+        assertEquals("1", pending.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Debería registrar correos aceptados desde varios hilos a la vez")
+    void shouldAcceptConcurrently() throws Exception {
+        // Given
+        OutboxJournal journal = open(64 * 1024);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    journal.accepted(thread + "-" + i, request("user@example.com"));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        journal.close();
+
+        // Then
+        assertEquals(1600, open(64 * 1024).recover().size());
+    }
+
+    @Test
+    @DisplayName("No debería hacer nada cuando está desactivado")
+    void shouldDoNothingWhenDisabled() throws IOException {
+        // Given
+        OutboxJournal journal = new OutboxJournal(false, directory.resolve("off").toString(), 1024);
+
+        // When
+        journal.accepted("1", request("uno@example.com"));
+        journal.completed("1");
+
+        // Then
+        assertFalse(journal.isEnabled());
+        assertTrue(journal.recover().isEmpty());
+        assertFalse(Files.exists(directory.resolve("off")));
+    }
+
+    @Test
+    @DisplayName("Debería escribir cada cuerpo una sola vez por segmento")
+    void shouldWriteEachBodyOncePerSegment() throws IOException {
+        // Given
+        StringBuilder newsletter = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            newsletter.append("Noticias del campus, línea ").append(i).append('\n');
+        }
+        String body = newsletter.toString();
+        OutboxJournal journal = open(1 << 20);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            journal.accepted("id-" + i, new EmailRequest("user" + i + "@example.com", "Boletín", body, null));
+        }
+        journal.close();
+        long size;
+        try (Stream<Path> files = Files.list(directory)) {
+            size = files.mapToLong(file -> file.toFile().length()).sum();
+        }
+        List<OutboxEntry> pending = open(1 << 20).recover();
+
+        // Then
+        assertTrue(size < 2L * body.length(), "Tamaño del outbox: " + size);
+        assertEquals(100, pending.size());
+        assertEquals(body, pending.get(99).getRequest().getBody());
+        assertSame(pending.get(0).getRequest().getBody(), pending.get(99).getRequest().getBody());
+        assertEquals("user99@example.com", pending.get(99).getRequest().getTo());
+    }
+
+    @Test
+    @DisplayName("Debería repetir el cuerpo en cada segmento que lo usa")
+    void shouldRepeatBodyInEachSegment() {
+        // Given
+        OutboxJournal journal = open(300);
+        for (int i = 0; i < 20; i++) {
+            journal.accepted("id-" + i, request("user" + i + "@example.com"));
+        }
+        for (int i = 0; i < 10; i++) {
+            journal.completed("id-" + i);
+        }
+        journal.close();
+
+        // When
+        List<OutboxEntry> pending = open(300).recover();
+
+        // Then
+        assertEquals(10, pending.size());
+        for (OutboxEntry entry : pending) {
+            assertEquals("Cuerpo con acentos: ñáé", entry.getRequest().getBody());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería recuperar el carril y la fecha de envío de los correos aceptados")
+    void shouldRecoverPriorityAndSendAt() {
+        // Given
+        OutboxJournal journal = open(1 << 20);
+        EmailRequest bulk = request("boletin@example.com");
+        bulk.setPriority(Priority.BULK);
+        EmailRequest scheduled = request("aviso@example.com");
+        scheduled.setSendAt(OffsetDateTime.parse("2030-05-01T08:00:00Z"));
+        journal.accepted("1", bulk);
+        journal.accepted("2", scheduled);
+        journal.accepted("3", request("uno@example.com"));
+        journal.close();
+
+        // When
+        OutboxJournal reopened = open(1 << 20);
+        List<OutboxEntry> pending = reopened.recover();
+
+        // Then
+        assertEquals(Priority.BULK, pending.get(0).getRequest().getPriority());
+        assertNull(pending.get(0).getRequest().getSendAt());
+        assertNull(pending.get(1).getRequest().getPriority());
+        assertEquals(OffsetDateTime.parse("2030-05-01T08:00:00Z"), pending.get(1).getRequest().getSendAt());
+        assertNull(pending.get(2).getRequest().getPriority());
+        assertNull(pending.get(2).getRequest().getSendAt());
+        reopened.close();
+    }
+}
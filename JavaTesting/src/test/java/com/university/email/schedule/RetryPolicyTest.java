@@ -0,0 +1,46 @@
+package com.university.email.schedule;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para RetryPolicy
+ */
+@DisplayName("RetryPolicy Tests")
+class RetryPolicyTest {
+
+    @Test
+    @DisplayName("Debería permitir tantos reintentos como el máximo configurado")
+    void shouldRetryUpToMaximum() {
+        // Given
+        RetryPolicy policy = new RetryPolicy(2, 1000, 10_000);
+
+        // When / Then
+        assertTrue(policy.shouldRetry(1));
+        assertTrue(policy.shouldRetry(2));
+        assertFalse(policy.shouldRetry(3));
+        assertFalse(RetryPolicy.none().shouldRetry(1));
+    }
+
+    @Test
+    @DisplayName("Debería duplicar la espera en cada reintento con jitter y sin superar el máximo")
+    void shouldBackOffExponentiallyWithJitter() {
+        // Given
+        RetryPolicy policy = new RetryPolicy(10, 1000, 5000);
+        long second = TimeUnit.SECONDS.toNanos(1);
+
+        // When / Then
+        for (int i = 0; i < 100; i++) {
+            long first = policy.delayNanos(1);
+            long third = policy.delayNanos(3);
+            long capped = policy.delayNanos(100);
+            assertTrue(first >= second / 2 && first <= second, "Primer reintento: " + first);
+            assertTrue(third >= 2 * second && third <= 4 * second, "Tercer reintento: " + third);
+            assertTrue(capped >= 5 * second / 2 && capped <= 5 * second, "Con el máximo: " + capped);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.university.email.schedule;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para TimingWheel
+ */
+@DisplayName("TimingWheel Tests")
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Debería disparar los temporizadores en su tick y en orden de inserción")
+    void shouldFireTimersInOrder() {
+        // Given
+        TimingWheel wheel = new TimingWheel(0);
+        List<String> fired = new ArrayList<>();
+        wheel.add(3, () -> fired.add("c"));
+        wheel.add(1, () -> fired.add("a"));
+        wheel.add(3, () -> fired.add("d"));
+        wheel.add(2, () -> fired.add("b"));
+
+        // When
+        int firstTwo = wheel.advance(2);
+        int rest = wheel.advance(10);
+
+        // Then
+        assertEquals(2, firstTwo);
+        assertEquals(2, rest);
+        assertEquals(Arrays.asList("a", "b", "c", "d"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Debería bajar de nivel los temporizadores lejanos y dispararlos en su tick exacto")
+    void shouldCascadeFarTimers() {
+        // Given
+        long start = 1000;
+        TimingWheel wheel = new TimingWheel(start);
+        long[] deadlines = {start + 255, start + 256, start + 300, start + 65_536, start + 70_000, start + 17_000_000};
+        long[] firedAt = new long[deadlines.length];
+        for (int i = 0; i < deadlines.length; i++) {
+            int index = i;
+            wheel.add(deadlines[i], () -> firedAt[index] = wheel.getTick());
+        }
+
+        // When
+        for (long tick = start + 1; tick <= start + 17_000_000; tick += 997) {
+            wheel.advance(tick);
+        }
+        wheel.advance(start + 17_000_000);
+
+        // Then
+        assertArrayEquals(deadlines, firedAt);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Debería disparar en el tick siguiente los temporizadores ya vencidos")
+    void shouldFirePastDeadlinesOnNextTick() {
+        // Given
+        TimingWheel wheel = new TimingWheel(500);
+        List<Long> firedAt = new ArrayList<>();
+        wheel.add(10, () -> firedAt.add(wheel.getTick()));
+
+        // When
+        wheel.advance(501);
+
+        // Then
+        assertEquals(Arrays.asList(501L), firedAt);
+    }
+
+    @Test
+    @DisplayName("Debería seguir disparando si una tarea lanza una excepción")
+    void shouldSurviveFailingTask() {
+        // Given
+        TimingWheel wheel = new TimingWheel(0);
+        List<String> fired = new ArrayList<>();
+        wheel.add(1, () -> {
+            throw new IllegalStateException("fallo");
+        });
+        wheel.add(1, () -> fired.add("ok"));
+
+        // When
+        int count = wheel.advance(1);
+
+        // Then
+        assertEquals(2, count);
+        assertEquals(Arrays.asList("ok"), fired);
+    }
+}
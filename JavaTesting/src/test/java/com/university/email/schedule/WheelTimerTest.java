@@ -0,0 +1,103 @@
+package com.university.email.schedule;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para WheelTimer
+ */
+@DisplayName("WheelTimer Tests")
+class WheelTimerTest {
+
+    private WheelTimer timer;
+
+    @AfterEach
+    void tearDown() {
+        if (timer != null) {
+            timer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería ejecutar la tarea pasada la espera, nunca antes")
+    void shouldRunTaskAfterDelay() throws InterruptedException {
+        // Given
+        timer = new WheelTimer(5, 60_000, 100);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicLong firedAt = new AtomicLong();
+
+        // When
+        long start = System.nanoTime();
+        timer.schedule(TimeUnit.MILLISECONDS.toNanos(100), () -> {
+            firedAt.set(System.nanoTime());
+            done.countDown();
+        });
+
+        // Then
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(firedAt.get() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, timer.getPending());
+    }
+
+    @Test
+    @DisplayName("Debería despertar al recibir un temporizador tras quedarse sin pendientes")
+    void shouldWakeUpAfterIdle() throws InterruptedException {
+        // Given
+        timer = new WheelTimer(1, 60_000, 100);
+        CountDownLatch first = new CountDownLatch(1);
+        timer.schedule(0, first::countDown);
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        // When
+        CountDownLatch second = new CountDownLatch(1);
+        timer.schedule(TimeUnit.MILLISECONDS.toNanos(10), second::countDown);
+
+        // Then
+        assertTrue(second.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Debería limitar los envíos programados pendientes")
+    void shouldLimitReservations() {
+        // Given
+        timer = new WheelTimer(10, 60_000, 2);
+        long delay = TimeUnit.SECONDS.toNanos(30);
+
+        // When
+        boolean first = timer.reserve(delay);
+        boolean second = timer.reserve(delay);
+        boolean third = timer.reserve(delay);
+        timer.cancelReservation();
+        boolean afterCancel = timer.reserve(delay);
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(afterCancel);
+        assertEquals(2, timer.getPending());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar una fecha de envío posterior al plazo máximo")
+    void shouldRejectDelayBeyondMaximum() {
+        // Given
+        timer = new WheelTimer(10, TimeUnit.DAYS.toMillis(2), 10);
+
+        // When
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> timer.reserve(TimeUnit.DAYS.toNanos(3)));
+
+        // Then
+        assertEquals("La fecha de envío no puede superar 2 días", error.getMessage());
+        assertEquals(0, timer.getPending());
+    }
+}
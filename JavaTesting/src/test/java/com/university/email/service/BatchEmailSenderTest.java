@@ -0,0 +1,172 @@
+package com.university.email.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.model.EmailRequest;
+import com.university.email.model.SendResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para BatchEmailSender
+ */
+@DisplayName("BatchEmailSender Tests")
+class BatchEmailSenderTest {
+
+    private ObjectMapper objectMapper;
+    private BatchEmailSender batchSender;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        batchSender = new BatchEmailSender(new EmailService(), objectMapper, 5, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchSender.shutdown();
+    }
+
+    private List<SendResult> send(String json) throws IOException {
+        List<SendResult> results = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            batchSender.send(parser, results::add);
+        }
+        results.sort(Comparator.comparingInt(SendResult::getIndex));
+        return results;
+    }
+
+    @Test
+    @DisplayName("Debería devolver un resultado por elemento sin que un error detenga el lote")
+    void shouldReturnOneResultPerItem() throws IOException {
+        // Given
+        String json = "["
+                + "{\"to\":\"ok@example.com\",\"subject\":\"S\",\"body\":\"B\"},"
+                + "{\"to\":\"blocked@example.com\",\"subject\":\"S\",\"body\":\"B\"},"
+                + "{\"to\":\"error@example.com\",\"subject\":\"S\",\"body\":\"B\"},"
+                + "{\"to\":\"invalid-email\",\"subject\":\"S\",\"body\":\"B\"},"
+                + "{\"to\":[1,2]}"
+                + "]";
+
+        // When
+        List<SendResult> results = send(json);
+
+        // Then
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("No se puede enviar correo a este destinatario", results.get(1).getMessage());
+        assertEquals("Error al enviar el correo", results.get(2).getMessage());
+        assertEquals("El destinatario debe ser un correo electrónico válido", results.get(3).getMessage());
+        assertEquals("El elemento no es una solicitud de correo válida", results.get(4).getMessage());
+    }
+
+    @Test
+    @DisplayName("Debería cortar el lote al superar el tamaño máximo")
+    void shouldStopWhenBatchExceedsMaxSize() throws IOException {
+        // Given
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 7; i++) {
+            json.append(i > 0 ? "," : "").append("{\"to\":\"u").append(i)
+                    .append("@example.com\",\"subject\":\"S\",\"body\":\"B\"}");
+        }
+        json.append("]");
+
+        // When
+        List<SendResult> results = send(json.toString());
+
+        // Then
+        assertEquals(6, results.size());
+        assertTrue(results.subList(0, 5).stream().allMatch(SendResult::isSuccess));
+        assertFalse(results.get(5).isSuccess());
+        assertTrue(results.get(5).getMessage().contains("tamaño máximo de 5"));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un cuerpo que no es un arreglo JSON")
+    void shouldRejectNonArrayBody() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> send("{\"to\":\"ok@example.com\"}")
+        );
+
+        assertEquals("El cuerpo debe ser un arreglo JSON de solicitudes", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Debería dejar de escribir en un destino que falló y cancelar los envíos que no empezaron")
+    void shouldStopWritingToFailedSinkAndCancelPendingSends() throws InterruptedException {
+        // Given
+        AtomicInteger sent = new AtomicInteger();
+        CountDownLatch sending = new CountDownLatch(2);
+        IEmailService slowService = new IEmailService() {
+            @Override
+            public boolean sendEmail(EmailRequest request) {
+                sent.incrementAndGet();
+                sending.countDown();
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+
+            @Override
+            public boolean canSendTo(String email) {
+                return true;
+            }
+        };
+        // Dos hilos ocupados con los dos primeros envíos: el tercero queda en cola
+        BatchEmailSender sender = new BatchEmailSender(slowService, objectMapper, 3, 2);
+        AtomicInteger writes = new AtomicInteger();
+        IOException disconnected = new IOException("Cliente desconectado");
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 4; i++) {
+            json.append(i > 0 ? "," : "").append("{\"to\":\"u").append(i)
+                    .append("@example.com\",\"subject\":\"S\",\"body\":\"B\"}");
+        }
+        json.append("]");
+
+        try {
+            // When
+            IOException exception = assertThrows(IOException.class, () -> {
+                try (JsonParser parser = objectMapper.createParser(json.toString())) {
+                    sender.send(parser, result -> {
+                        writes.incrementAndGet();
+                        awaitQuietly(sending);
+                        throw disconnected;
+                    });
+                }
+            });
+
+            // Then
+            assertSame(disconnected, exception);
+            assertEquals(1, writes.get());
+            Thread.sleep(500);
+            assertEquals(2, sent.get());
+        } finally {
+            sender.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
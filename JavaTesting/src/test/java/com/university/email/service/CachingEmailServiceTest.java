@@ -0,0 +1,183 @@
+package com.university.email.service;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.university.email.model.EmailRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para CachingEmailService
+ */
+@DisplayName("CachingEmailService Tests")
+class CachingEmailServiceTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final Ticker ticker = now::get;
+    private final AtomicInteger checks = new AtomicInteger();
+
+    /**
+     * Servicio simulado que cuenta las comprobaciones de destinatario
+     */
+    private final EmailService countingService = new EmailService() {
+        @Override
+        public boolean canSendTo(String email) {
+            checks.incrementAndGet();
+            return super.canSendTo(email);
+        }
+    };
+
+    private CachingEmailService cached(IEmailService delegate, long maxSize) {
+        return new CachingEmailService(delegate, maxSize, 10_000, 1_000, ticker, Runnable::run);
+    }
+
+    private void advance(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    @DisplayName("Debería memorizar el resultado por dirección normalizada")
+    void shouldMemoizeByNormalizedAddress() {
+        // Given
+        CachingEmailService service = cached(countingService, 100);
+
+        // When
+        boolean first = service.canSendTo("user@example.com");
+        boolean second = service.canSendTo(" User@Example.COM ");
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals(1, checks.get());
+        assertEquals(1, service.stats().hitCount());
+        assertEquals(1, service.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Debería aplicar TTL distintos a los resultados positivos y negativos")
+    void shouldUseSeparateTtlsForPositiveAndNegativeResults() {
+        // Given
+        CachingEmailService service = cached(countingService, 100);
+        service.canSendTo("user@example.com");
+        service.canSendTo("blocked@example.com");
+
+        // When
+        advance(2_000);
+        service.canSendTo("user@example.com");
+        service.canSendTo("blocked@example.com");
+        int afterNegativeTtl = checks.get();
+        advance(9_000);
+        service.canSendTo("user@example.com");
+
+        // Then
+        assertEquals(3, afterNegativeTtl);
+        assertEquals(4, checks.get());
+    }
+
+    @Test
+    @DisplayName("Debería agrupar las comprobaciones concurrentes de una misma dirección")
+    void shouldCollapseConcurrentLookups() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        IEmailService slowService = new EmailService() {
+            @Override
+            public boolean canSendTo(String email) {
+                checks.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        CachingEmailService service = cached(slowService, 100);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> service.canSendTo("user@example.com")));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, checks.get());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debería volver a comprobar la dirección si la comprobación anterior falló")
+    void shouldRetryAfterFailedLookup() {
+        // Given
+        IEmailService failingOnce = new EmailService() {
+            @Override
+            public boolean canSendTo(String email) {
+                if (checks.incrementAndGet() == 1) {
+                    throw new IllegalStateException("Servicio de verificación no disponible");
+                }
+                return true;
+            }
+        };
+        CachingEmailService service = cached(failingOnce, 100);
+
+        // When
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> service.canSendTo("user@example.com"));
+        boolean retried = service.canSendTo("user@example.com");
+
+        // Then
+        assertEquals("Servicio de verificación no disponible", error.getMessage());
+        assertTrue(retried);
+        assertEquals(2, checks.get());
+    }
+
+    @Test
+    @DisplayName("Debería limitar el número de direcciones y contar los desalojos")
+    void shouldBoundSizeAndCountEvictions() {
+        // Given
+        CachingEmailService service = cached(countingService, 10);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            service.canSendTo("user" + i + "@example.com");
+        }
+        service.cleanUp();
+
+        // Then
+        assertTrue(service.size() <= 10, "Tamaño: " + service.size());
+        assertEquals(100 - service.size(), service.stats().evictionCount());
+    }
+
+    @Test
+    @DisplayName("Debería delegar el envío y no memorizar direcciones vacías")
+    void shouldDelegateSendAndSkipBlankAddresses() {
+        // Given
+        CachingEmailService service = cached(countingService, 100);
+
+        // When
+        boolean sent = service.sendEmail(new EmailRequest("user@example.com", "Asunto", "Cuerpo"));
+        service.canSendTo(" ");
+        service.canSendTo(" ");
+
+        // Then
+        assertTrue(sent);
+        assertEquals(2, checks.get());
+        assertEquals(0, service.size());
+    }
+}
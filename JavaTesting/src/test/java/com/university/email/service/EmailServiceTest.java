@@ -1,11 +1,19 @@
 package com.university.email.service;
 
 import com.university.email.model.EmailRequest;
+import com.university.email.model.SendResult;
+import com.university.email.suppression.SuppressionService;
+import com.university.email.validation.EmailRequestValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Pruebas unitarias para EmailService
@@ -34,6 +42,32 @@ class EmailServiceTest {
         assertEquals("La solicitud de correo no puede ser nula", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Debería volver a validar una solicitud validada que cambió o que toma la constancia de otra")
+    void shouldRevalidateChangedOrForeignStampedRequest() {
+        // Given
+        EmailRequest request = new EmailRequest("test@example.com", "Asunto", "Cuerpo");
+        EmailRequestValidator.violations(request);
+        request.setSubject("");
+        EmailRequest valid = new EmailRequest("test@example.com", "Asunto", "Cuerpo");
+        EmailRequestValidator.violations(valid);
+        EmailRequest forged = new EmailRequest("test@example.com", "", "Cuerpo");
+        forged.setValidatedFields(valid.getValidatedFields());
+
+        // When & Then
+        IllegalArgumentException changed = assertThrows(
+            IllegalArgumentException.class,
+            () -> emailService.sendEmail(request)
+        );
+        assertEquals("El asunto es obligatorio", changed.getMessage());
+        IllegalArgumentException foreign = assertThrows(
+            IllegalArgumentException.class,
+            () -> emailService.sendEmail(forged)
+        );
+        assertEquals("El asunto es obligatorio", foreign.getMessage());
+        assertTrue(emailService.sendEmail(valid));
+    }
+
     @Test
     @DisplayName("Debería lanzar excepción cuando el destinatario es nulo")
     void shouldThrowExceptionWhenToIsNull() {
@@ -347,5 +381,44 @@ class EmailServiceTest {
         assertTrue(emailService.canSendTo("user.name@domain.co.uk"));
         assertTrue(emailService.canSendTo("user+tag@example.org"));
     }
-}
 
+    @Test
+    @DisplayName("Debería retornar false cuando el correo está en la lista de supresión")
+    void shouldReturnFalseWhenEmailIsSuppressed() {
+        // Given
+        SuppressionService suppressionService = mock(SuppressionService.class);
+        when(suppressionService.isSuppressed("baja@example.com")).thenReturn(true);
+        EmailService service = new EmailService(suppressionService);
+
+        // When & Then
+        assertFalse(service.canSendTo("baja@example.com"));
+        assertTrue(service.canSendTo("alta@example.com"));
+    }
+
+    // ========== Tests para sendBatch() ==========
+
+    @Test
+    @DisplayName("Debería devolver un resultado por correo en el mismo orden del lote")
+    void shouldReturnResultsInOrderForBatch() {
+        // Given
+        List<EmailRequest> requests = Arrays.asList(
+            new EmailRequest("test@example.com", "Asunto", "Cuerpo"),
+            new EmailRequest("blocked@example.com", "Asunto", "Cuerpo"),
+            new EmailRequest("error@example.com", "Asunto", "Cuerpo"),
+            new EmailRequest("test@example.com", "", "Cuerpo")
+        );
+
+        // When
+        List<SendResult> results = emailService.sendBatch(requests);
+
+        // Then
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("No se puede enviar correo a este destinatario", results.get(1).getMessage());
+        assertEquals("Error al enviar el correo", results.get(2).getMessage());
+        assertEquals("El asunto es obligatorio", results.get(3).getMessage());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.university.email.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.email.model.EmailRequest;
+import com.university.email.model.SendResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ReactiveEmailService
+ */
+@DisplayName("ReactiveEmailService Tests")
+class ReactiveEmailServiceTest {
+
+    private BatchEmailSender batchSender;
+    private ReactiveEmailService reactiveService;
+
+    @AfterEach
+    void tearDown() {
+        reactiveService.shutdown();
+        batchSender.shutdown();
+    }
+
+    private void create(IEmailService emailService, int maxBatchSize, int concurrency, int queueCapacity) {
+        batchSender = new BatchEmailSender(emailService, new ObjectMapper(), maxBatchSize, 1);
+        reactiveService = new ReactiveEmailService(emailService, batchSender, null, concurrency, queueCapacity);
+    }
+
+    private static EmailRequest request(String to) {
+        return new EmailRequest(to, "Asunto", "Cuerpo");
+    }
+
+    /**
+     * Servicio cuyos envíos esperan a que se abra el cerrojo
+     */
+    private static IEmailService blockingService(CountDownLatch release) {
+        return new EmailService() {
+            @Override
+            public boolean sendEmail(EmailRequest request) {
+                try {
+                    return release.await(5, TimeUnit.SECONDS) && super.sendEmail(request);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Debería enviar un correo y devolver su resultado")
+    void shouldSendEmail() {
+        // Given
+        create(new EmailService(), 10, 2, 10);
+
+        // When & Then
+        StepVerifier.create(reactiveService.send(request("user@example.com")))
+                .assertNext(result -> {
+                    assertTrue(result.isSuccess());
+                    assertEquals("user@example.com", result.getTo());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debería fallar con IllegalArgumentException si el destinatario no está permitido")
+    void shouldFailWhenRecipientIsNotAllowed() {
+        // Given
+        create(new EmailService(), 10, 2, 10);
+
+        // When & Then
+        StepVerifier.create(reactiveService.send(request("blocked@example.com")))
+                .expectErrorSatisfies(error -> {
+                    assertTrue(error instanceof IllegalArgumentException);
+                    assertEquals("No se puede enviar correo a este destinatario", error.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Debería aplicar las reglas del lote a cada elemento")
+    void shouldApplyBatchRulesToEachItem() {
+        // Given
+        create(new EmailService(), 10, 2, 10);
+        Flux<EmailRequest> requests = Flux.just(request("ok@example.com"), request("blocked@example.com"),
+                request("error@example.com"), request("invalid-email"));
+
+        // When
+        List<SendResult> results = reactiveService.sendAll(requests).collectList().block(Duration.ofSeconds(5));
+
+        // Then
+        results.sort(Comparator.comparingInt(SendResult::getIndex));
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("No se puede enviar correo a este destinatario", results.get(1).getMessage());
+        assertEquals("Error al enviar el correo", results.get(2).getMessage());
+        assertEquals("El destinatario debe ser un correo electrónico válido", results.get(3).getMessage());
+    }
+
+    @Test
+    @DisplayName("Debería pedir al origen solo tantos elementos como envíos en curso")
+    void shouldPropagateBackpressureToSource() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        create(blockingService(release), 1000, 2, 10);
+        AtomicLong requested = new AtomicLong();
+        Flux<EmailRequest> requests = Flux.range(0, 100)
+                .map(i -> request("user" + i + "@example.com"))
+                .doOnRequest(requested::addAndGet);
+
+        // When
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<List<SendResult>> results = new AtomicReference<>();
+        reactiveService.sendAll(requests).collectList().subscribe(list -> {
+            results.set(list);
+            done.countDown();
+        });
+        Thread.sleep(200);
+        long requestedWhileBlocked = requested.get();
+        release.countDown();
+
+        // Then
+        assertEquals(2, requestedWhileBlocked);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(100, results.get().size());
+        assertTrue(results.get().stream().allMatch(SendResult::isSuccess));
+    }
+
+    @Test
+    @DisplayName("Debería dejar de leer el lote al superar el tamaño máximo")
+    void shouldStopReadingWhenBatchIsTooLarge() {
+        // Given
+        create(new EmailService(), 2, 2, 10);
+        AtomicLong emitted = new AtomicLong();
+        Flux<EmailRequest> requests = Flux.range(0, 10)
+                .map(i -> request("user" + i + "@example.com"))
+                .doOnNext(request -> emitted.incrementAndGet());
+
+        // When
+        List<SendResult> results = reactiveService.sendAll(requests).collectList().block(Duration.ofSeconds(5));
+
+        // Then
+        results.sort(Comparator.comparingInt(SendResult::getIndex));
+        assertEquals(3, results.size());
+        assertEquals("El lote supera el tamaño máximo de 2 elementos", results.get(2).getMessage());
+        assertEquals(3, emitted.get());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar envíos cuando el scheduler y su cola están llenos")
+    void shouldRejectWhenSchedulerIsSaturated() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        create(blockingService(release), 10, 1, 1);
+        reactiveService.send(request("first@example.com")).subscribe();
+        Thread.sleep(100);
+        reactiveService.send(request("second@example.com")).subscribe();
+        Thread.sleep(100);
+
+        // When & Then
+        StepVerifier.create(reactiveService.send(request("third@example.com")))
+                .expectError(RejectedExecutionException.class)
+                .verify(Duration.ofSeconds(5));
+        release.countDown();
+    }
+}
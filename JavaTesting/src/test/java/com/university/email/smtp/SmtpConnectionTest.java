@@ -0,0 +1,128 @@
+package com.university.email.smtp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para SmtpConnection
+ */
+@DisplayName("SmtpConnection Tests")
+class SmtpConnectionTest {
+
+    private StubSmtpServer server;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    private SmtpConnection connect() throws IOException {
+        return new SmtpConnection("127.0.0.1", server.getPort(), "test.local", 1000, 5000);
+    }
+
+    private static MessageContent text(String content) {
+        return out -> out.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Debería detectar PIPELINING y agrupar las respuestas de la transacción")
+    void shouldPipelineWhenAdvertised() throws IOException {
+        // Given
+        server = new StubSmtpServer(true);
+        SmtpConnection connection = connect();
+        int flushesAfterGreeting = server.getReplyFlushCount();
+
+        // When
+        boolean[] accepted = connection.send("from@example.com", Collections.singletonList("to@example.com"),
+                text("Subject: hola\r\n\r\ncuerpo\r\n"));
+
+        // Then
+        assertTrue(connection.supportsPipelining());
+        assertArrayEquals(new boolean[]{true}, accepted);
+        // Una respuesta agrupada para MAIL/RCPT/DATA y otra para el fin del mensaje
+        assertEquals(2, server.getReplyFlushCount() - flushesAfterGreeting);
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Debería funcionar orden a orden cuando el servidor no anuncia PIPELINING")
+    void shouldWorkWithoutPipelining() throws IOException {
+        // Given
+        server = new StubSmtpServer(false);
+        SmtpConnection connection = connect();
+
+        // When
+        boolean[] accepted = connection.send("from@example.com", Collections.singletonList("to@example.com"),
+                text("Subject: hola\r\n\r\ncuerpo\r\n"));
+
+        // Then
+        assertFalse(connection.supportsPipelining());
+        assertArrayEquals(new boolean[]{true}, accepted);
+        assertEquals(1, server.getMessages().size());
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Debería informar qué destinatarios fueron aceptados")
+    void shouldReportAcceptedRecipients() throws IOException {
+        // Given
+        server = new StubSmtpServer(true);
+        SmtpConnection connection = connect();
+
+        // When
+        boolean[] accepted = connection.send("from@example.com",
+                Arrays.asList("uno@example.com", "reject@example.com", "dos@example.com"),
+                text("Subject: hola\r\n\r\ncuerpo\r\n"));
+
+        // Then
+        assertArrayEquals(new boolean[]{true, false, true}, accepted);
+        assertEquals(Arrays.asList("uno@example.com", "dos@example.com"), server.getMessages().get(0).getRecipients());
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Debería reutilizar la sesión con RSET sin enviar a destinatarios rechazados")
+    void shouldReuseSessionAfterRejection() throws IOException {
+        // Given
+        server = new StubSmtpServer(true);
+        SmtpConnection connection = connect();
+
+        // When
+        boolean[] rejected = connection.send("from@example.com", Collections.singletonList("reject@example.com"),
+                text("Subject: x\r\n\r\nx\r\n"));
+        boolean[] accepted = connection.send("from@example.com", Collections.singletonList("ok@example.com"),
+                text("Subject: y\r\n\r\ny\r\n"));
+
+        // Then
+        assertArrayEquals(new boolean[]{false}, rejected);
+        assertArrayEquals(new boolean[]{true}, accepted);
+        assertEquals(1, server.getResetCount());
+        assertEquals(1, server.getMessages().size());
+        assertEquals(1, server.getConnectionCount());
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Debería duplicar los puntos al inicio de línea")
+    void shouldDotStuffContent() throws IOException {
+        // Given
+        server = new StubSmtpServer(true);
+        SmtpConnection connection = connect();
+
+        // When
+        connection.send("from@example.com", Collections.singletonList("to@example.com"),
+                text("Subject: x\r\n\r\n.linea con punto\r\n.\r\nfin"));
+
+        // Then
+        assertEquals("Subject: x\r\n\r\n.linea con punto\r\n.\r\nfin\r\n", server.getMessages().get(0).getData());
+        connection.close();
+    }
+}
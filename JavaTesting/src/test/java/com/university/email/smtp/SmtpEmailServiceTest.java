@@ -0,0 +1,227 @@
+package com.university.email.smtp;
+
+import com.university.email.model.EmailRequest;
+import com.university.email.model.SendResult;
+import com.university.email.suppression.SuppressionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para SmtpEmailService con un servidor SMTP en proceso
+ */
+@DisplayName("SmtpEmailService Tests")
+class SmtpEmailServiceTest {
+
+    private StubSmtpServer server;
+    private SmtpEmailService service;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (service != null) {
+            service.shutdown();
+        }
+        server.close();
+    }
+
+    private SmtpEmailService serviceFor(int port, int maxPerHost, long idleTimeoutMs, long maxLifetimeMs) {
+        SmtpConnectionPool pool = new SmtpConnectionPool("test.local", maxPerHost, idleTimeoutMs, maxLifetimeMs,
+                2000, 1000, 5000);
+        return new SmtpEmailService(null, pool, "127.0.0.1", port);
+    }
+
+    @Test
+    @DisplayName("Debería entregar el correo al servidor SMTP")
+    void shouldDeliverEmail() throws IOException {
+        // Given
+        server = new StubSmtpServer(true);
+        service = serviceFor(server.getPort(), 2, 30_000, 300_000);
+
+        // When
+        boolean sent = service.sendEmail(new EmailRequest("to@example.com", "Asunto ñ", "Hola\n.punto", "from@example.com"));
+
+        // Then
+        assertTrue(sent);
+        StubSmtpServer.Received received = server.getMessages().get(0);
+        assertEquals("from@example.com", received.getFrom());
+        assertEquals("to@example.com", received.getRecipients().get(0));
+        assertTrue(received.getData().contains("Subject: =?UTF-8?B?"));
+        assertTrue(received.getData().contains("Content-Transfer-Encoding: 7bit"));
+        assertTrue(received.getData().endsWith("\r\n\r\nHola\r\n.punto\r\n"));
+    }
+
+    @Test
+    @DisplayName("Debería reutilizar la conexión entre correos consecutivos")
+    void shouldReuseConnection() throws IOException {
+        // Given
+        server = new StubSmtpServer(true);
+        service = serviceFor(server.getPort(), 2, 30_000, 300_000);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertTrue(service.sendEmail(new EmailRequest("to" + i + "@example.com", "Asunto", "Cuerpo")));
+        }
+
+        // Then
+        assertEquals(10, server.getMessages().size());
+        assertEquals(1, server.getConnectionCount());
+        assertEquals(9, server.getResetCount());
+        assertEquals(1, service.getPool().getCreatedCount());
+        assertEquals(9, service.getPool().getReusedCount());
+    }
+
+    @Test
+    @DisplayName("No debería abrir más conexiones que el máximo por servidor")
+    void shouldLimitConnectionsPerHost() throws Exception {
+        // Given
+        server = new StubSmtpServer(true, 5);
+        service = serviceFor(server.getPort(), 3, 30_000, 300_000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 40; i++) {
+            EmailRequest request = new EmailRequest("to" + i + "@example.com", "Asunto", "Cuerpo");
+            results.add(executor.submit(() -> service.sendEmail(request)));
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(40, server.getMessages().size());
+        assertTrue(server.getConnectionCount() <= 3);
+    }
+
+    @Test
+    @DisplayName("Debería abrir una conexión nueva cuando la anterior superó su tiempo de vida")
+    void shouldReplaceExpiredConnections() throws Exception {
+        // Given
+        server = new StubSmtpServer(true);
+        service = serviceFor(server.getPort(), 2, 30_000, 1);
+
+        // When
+        service.sendEmail(new EmailRequest("uno@example.com", "Asunto", "Cuerpo"));
+        Thread.sleep(5);
+        service.sendEmail(new EmailRequest("dos@example.com", "Asunto", "Cuerpo"));
+
+        // Then
+        assertEquals(2, server.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Debería cerrar las conexiones inactivas")
+    void shouldEvictIdleConnections() throws Exception {
+        // Given
+        server = new StubSmtpServer(true);
+        service = serviceFor(server.getPort(), 2, 20, 300_000);
+        service.sendEmail(new EmailRequest("uno@example.com", "Asunto", "Cuerpo"));
+
+        // When
+        Thread.sleep(100);
+
+        // Then
+        assertEquals(0, service.getPool().getIdleCount());
+    }
+
+    @Test
+    @DisplayName("Debería retornar false cuando el servidor rechaza al destinatario")
+    void shouldReturnFalseWhenRecipientIsRejected() throws IOException {
+        // Given
+        server = new StubSmtpServer(true);
+        service = serviceFor(server.getPort(), 2, 30_000, 300_000);
+
+        // When
+        boolean sent = service.sendEmail(new EmailRequest("reject@example.com", "Asunto", "Cuerpo"));
+
+        // Then
+        assertFalse(sent);
+        assertTrue(server.getMessages().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debería retornar false cuando el servidor no está disponible")
+    void shouldReturnFalseWhenServerIsDown() throws IOException {
+        // Given
+        server = new StubSmtpServer(true);
+        int port = server.getPort();
+        server.close();
+        service = serviceFor(port, 2, 30_000, 300_000);
+
+        // When & Then
+        assertFalse(service.sendEmail(new EmailRequest("to@example.com", "Asunto", "Cuerpo")));
+    }
+
+    @Test
+    @DisplayName("Debería validar la solicitud igual que EmailService")
+    void shouldValidateLikeEmailService() throws IOException {
+        // Given
+        server = new StubSmtpServer(true);
+        service = serviceFor(server.getPort(), 2, 30_000, 300_000);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> service.sendEmail(new EmailRequest("invalid-email", "Asunto", "Cuerpo"))
+        );
+        assertEquals("El formato del correo destinatario no es válido", exception.getMessage());
+        assertThrows(IllegalArgumentException.class,
+            () -> service.sendEmail(new EmailRequest("to@example.com", "Asunto", "Cuerpo", "x@y.com\r\nRCPT TO:<a@b.com>")));
+        assertFalse(service.canSendTo("invalid-email"));
+        assertFalse(service.canSendTo(null));
+    }
+
+    @Test
+    @DisplayName("Debería aceptar destinatarios válidos sin aplicar la regla simulada de \"blocked\"")
+    void shouldOnlyCheckFormatAndSuppressionList() throws IOException {
+        // Given
+        server = new StubSmtpServer(true);
+        SuppressionService suppression = mock(SuppressionService.class);
+        when(suppression.isSuppressed("baja@example.com")).thenReturn(true);
+        SmtpConnectionPool pool = new SmtpConnectionPool("test.local", 2, 30_000, 300_000, 2000, 1000, 5000);
+        service = new SmtpEmailService(suppression, pool, "127.0.0.1", server.getPort());
+
+        // When & Then
+        assertTrue(service.canSendTo("unblocked@corp.com"));
+        assertTrue(service.canSendTo("blocked@example.com"));
+        assertFalse(service.canSendTo("baja@example.com"));
+    }
+
+    @Test
+    @DisplayName("Debería enviar a varios destinatarios en una sola transferencia con un resultado por destinatario")
+    void shouldSendToManyRecipientsInOneTransfer() throws IOException {
+        // Given
+        server = new StubSmtpServer(true);
+        service = serviceFor(server.getPort(), 2, 30_000, 300_000);
+        EmailRequest content = new EmailRequest(null, "Boletín", "Cuerpo", "news@university.edu");
+        List<String> recipients = Arrays.asList("a@example.com", "reject@example.com", "invalid-email",
+                "b@example.com");
+
+        // When
+        List<SendResult> results = service.sendToRecipients(content, recipients);
+
+        // Then
+        assertEquals(1, server.getMessages().size());
+        StubSmtpServer.Received received = server.getMessages().get(0);
+        assertEquals(Arrays.asList("a@example.com", "b@example.com"), received.getRecipients());
+        assertTrue(received.getData().contains("To: undisclosed-recipients:;"));
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("Error al enviar el correo", results.get(1).getMessage());
+        assertEquals("No se puede enviar correo a este destinatario", results.get(2).getMessage());
+        assertTrue(results.get(3).isSuccess());
+        assertEquals(3, results.get(3).getIndex());
+    }
+}
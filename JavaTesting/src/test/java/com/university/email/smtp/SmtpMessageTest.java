@@ -0,0 +1,231 @@
+package com.university.email.smtp;
+
+import com.university.email.model.Attachment;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Pruebas unitarias para SmtpMessage
+ */
+@DisplayName("SmtpMessage Tests")
+class SmtpMessageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static String write(MessageContent content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        content.writeTo(out);
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static String bodyOf(String message) {
+        return message.substring(message.indexOf("\r\n\r\n") + 4);
+    }
+
+    @Test
+    @DisplayName("Debería codificar en quoted-printable un cuerpo mayoritariamente ASCII")
+    void shouldEncodeQuotedPrintable() throws IOException {
+        // Given
+        String body = "Información del envío\nsegunda línea \nfin";
+
+        // When
+        String message = write(SmtpMessage.of("from@example.com", "to@example.com", "Asunto", body, "example.com"));
+
+        // Then
+        assertTrue(message.contains("Content-Transfer-Encoding: quoted-printable\r\n"));
+        assertEquals("Informaci=C3=B3n del env=C3=ADo\r\nsegunda l=C3=ADnea=20\r\nfin\r\n", bodyOf(message));
+    }
+
+    @Test
+    @DisplayName("Debería partir las líneas quoted-printable largas sin superar 76 caracteres")
+    void shouldWrapLongQuotedPrintableLines() throws IOException {
+        // Given
+        StringBuilder body = new StringBuilder("ñ");
+        for (int i = 0; i < 500; i++) {
+            body.append(i % 7 == 0 ? "=" : "a");
+        }
+
+        // When
+        String encoded = bodyOf(write(SmtpMessage.of("from@example.com", "to@example.com", "Asunto",
+                body.toString(), "example.com")));
+
+        // Then
+        for (String line : encoded.split("\r\n")) {
+            assertTrue(line.length() <= 76, line);
+        }
+        String decoded = encoded.replace("=\r\n", "").replace("\r\n", "")
+                .replace("=3D", "=").replace("=C3=B1", "ñ");
+        assertEquals(body.toString(), decoded);
+    }
+
+    @Test
+    @DisplayName("Debería convertir a CRLF los saltos de un cuerpo de 7 bits aunque crucen el límite de bloque")
+    void shouldNormalizeLineBreaksAcrossChunks() throws IOException {
+        // Given
+        int chunk = SmtpMessage.ENCODE_CHUNK_SIZE;
+        StringBuilder body = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        // CRLF partido entre el primer y el segundo bloque
+        padTo(body, expected, chunk - 1);
+        body.append("\r\n");
+        expected.append("\r\n");
+        // CR suelto al final del segundo bloque y CRLF al principio del tercero
+        padTo(body, expected, 2 * chunk - 1);
+        body.append("\r\r\n");
+        expected.append("\r\n\r\n");
+        // LF justo al principio del cuarto bloque
+        padTo(body, expected, 3 * chunk);
+        body.append("\n\nfin");
+        expected.append("\r\n\r\nfin\r\n");
+
+        // When
+        String message = write(SmtpMessage.of("from@example.com", "to@example.com", "Asunto", body.toString(),
+                "example.com"));
+
+        // Then
+        assertTrue(message.contains("Content-Transfer-Encoding: 7bit\r\n"));
+        assertEquals(expected.toString(), bodyOf(message));
+    }
+
+    /**
+     * Añade líneas cortas hasta que el cuerpo alcanza la longitud indicada
+     */
+    private static void padTo(StringBuilder body, StringBuilder expected, int length) {
+        while (length - body.length() > 81) {
+            body.append("x".repeat(80)).append('\n');
+            expected.append("x".repeat(80)).append("\r\n");
+        }
+        String last = "y".repeat(length - body.length());
+        body.append(last);
+        expected.append(last);
+    }
+
+    @Test
+    @DisplayName("Debería usar base64 para un cuerpo mayoritariamente no ASCII")
+    void shouldEncodeBase64WhenMostlyNonAscii() throws IOException {
+        // Given
+        String body = "日本語のメール本文です";
+
+        // When
+        String message = write(SmtpMessage.of("from@example.com", "to@example.com", "Asunto", body, "example.com"));
+
+        // Then
+        assertTrue(message.contains("Content-Transfer-Encoding: base64\r\n"));
+        byte[] decoded = Base64.getMimeDecoder().decode(bodyOf(message));
+        assertEquals(body, new String(decoded, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Debería construir un mensaje multipart con los adjuntos en base64")
+    void shouldBuildMultipartWithAttachments() throws IOException {
+        // Given
+        byte[] data = new byte[100_000];
+        new Random(7).nextBytes(data);
+        Path file = Files.write(tempDir.resolve("datos.bin"), data);
+        List<Attachment> attachments = Collections.singletonList(
+                new Attachment("informe \"final\".pdf", "application/pdf; q=1", file, data.length));
+
+        // When
+        String message = write(SmtpMessage.of("from@example.com", "to@example.com", "Asunto", "Hola",
+                attachments, "example.com"));
+
+        // Then
+        String boundary = message.substring(message.indexOf("boundary=\"") + 10);
+        boundary = boundary.substring(0, boundary.indexOf('"'));
+        assertTrue(message.contains("Content-Type: multipart/mixed; boundary=\"" + boundary + "\""));
+        assertTrue(message.endsWith("--" + boundary + "--\r\n"));
+
+        String[] parts = message.split("--" + boundary + "(--)?\r\n");
+        assertEquals(3, parts.length);
+        assertTrue(parts[1].contains("Content-Type: text/plain; charset=UTF-8"));
+        assertTrue(parts[1].endsWith("\r\n\r\nHola\r\n"));
+        assertTrue(parts[2].contains("Content-Type: application/pdf; name=\"informe _final_.pdf\""));
+        assertTrue(parts[2].contains("Content-Disposition: attachment; filename=\"informe _final_.pdf\""));
+
+        String encoded = bodyOf(parts[2]);
+        for (String line : encoded.split("\r\n")) {
+            assertTrue(line.length() <= 76);
+        }
+        assertArrayEquals(data, Base64.getMimeDecoder().decode(encoded));
+    }
+
+    @Test
+    @DisplayName("Debería codificar los nombres de archivo no ASCII y descartar tipos de contenido inválidos")
+    void shouldEncodeFileNameAndSanitizeContentType() throws IOException {
+        // Given
+        Path file = Files.write(tempDir.resolve("a.txt"), new byte[]{1, 2, 3});
+        List<Attachment> attachments = Collections.singletonList(
+                new Attachment("año.txt", "text/plain\r\nBcc: x@example.com", file, 3));
+
+        // When
+        String message = write(SmtpMessage.of("from@example.com", "to@example.com", "Asunto", "Hola",
+                attachments, "example.com"));
+
+        // Then
+        assertTrue(message.contains("Content-Type: application/octet-stream; name=\"=?UTF-8?B?"));
+        assertFalse(message.contains("Bcc:"));
+    }
+
+    @Test
+    @DisplayName("Debería usar una memoria que no depende del tamaño de los adjuntos")
+    void shouldUseConstantHeapForAttachments() throws IOException {
+        // Given
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Path small = sparseFile("small.bin", 1 << 20);
+        Path large = sparseFile("large.bin", 32 << 20);
+
+        // When
+        allocatedWriting(threads, small);
+        long smallBytes = allocatedWriting(threads, small);
+        long largeBytes = allocatedWriting(threads, large);
+
+        // Then
+        assertTrue(largeBytes - smallBytes < 1 << 20,
+                "1 MB: " + smallBytes + " bytes asignados, 32 MB: " + largeBytes);
+    }
+
+    private Path sparseFile(String name, int size) throws IOException {
+        Path path = tempDir.resolve(name);
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(size);
+        }
+        return path;
+    }
+
+    private static long allocatedWriting(com.sun.management.ThreadMXBean threads, Path file) throws IOException {
+        List<Attachment> attachments = Arrays.asList(new Attachment("a.bin", "application/octet-stream", file,
+                Files.size(file)));
+        MessageContent content = SmtpMessage.of("from@example.com", "to@example.com", "Asunto", "Hola",
+                attachments, "example.com");
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        DotStuffingOutputStream out = new DotStuffingOutputStream(OutputStream.nullOutputStream());
+        content.writeTo(out);
+        out.finish();
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+}
@@ -0,0 +1,257 @@
+package com.university.email.smtp;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor SMTP mínimo en proceso para pruebas y benchmarks, sin red externa.
+ *
+ * Acepta EHLO/HELO, MAIL, RCPT, DATA, RSET, NOOP y QUIT, y guarda los mensajes
+ * recibidos. Rechaza con 550 los destinatarios que contienen "reject" y puede
+ * simular un retardo antes de cada respuesta a DATA. Si anuncia PIPELINING,
+ * retiene las respuestas a RSET, MAIL y RCPT hasta recibir DATA, por lo que solo
+ * admite clientes que realmente agrupen las órdenes.
+ */
+public class StubSmtpServer implements Closeable {
+
+    /**
+     * Mensaje recibido por el servidor
+     */
+    public static class Received {
+        private final String from;
+        private final List<String> recipients;
+        private final String data;
+
+        Received(String from, List<String> recipients, String data) {
+            this.from = from;
+            this.recipients = recipients;
+            this.data = data;
+        }
+
+        public String getFrom() {
+            return from;
+        }
+
+        public List<String> getRecipients() {
+            return recipients;
+        }
+
+        public String getData() {
+            return data;
+        }
+    }
+
+    private final boolean pipelining;
+    private final long dataDelayMs;
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "stub-smtp");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Queue<Received> messages = new ConcurrentLinkedQueue<>();
+    private final Queue<Socket> sockets = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger commands = new AtomicInteger();
+    private final AtomicInteger resets = new AtomicInteger();
+    private final AtomicInteger flushes = new AtomicInteger();
+
+    public StubSmtpServer(boolean pipelining) throws IOException {
+        this(pipelining, 0);
+    }
+
+    public StubSmtpServer(boolean pipelining, long dataDelayMs) throws IOException {
+        this.pipelining = pipelining;
+        this.dataDelayMs = dataDelayMs;
+        this.serverSocket = new ServerSocket(0, 512, InetAddress.getLoopbackAddress());
+        executor.execute(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public List<Received> getMessages() {
+        return new ArrayList<>(messages);
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    public int getResetCount() {
+        return resets.get();
+    }
+
+    /**
+     * Número de veces que el servidor vació su búfer de respuestas; con
+     * PIPELINING las respuestas de una transacción se envían juntas
+     */
+    public int getReplyFlushCount() {
+        return flushes.get();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                sockets.add(socket);
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+             InputStream in = new BufferedInputStream(s.getInputStream());
+             OutputStream out = s.getOutputStream()) {
+            StringBuilder replies = new StringBuilder();
+            reply(out, replies.append("220 stub ESMTP\r\n"));
+
+            String from = null;
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = readLine(in)) != null) {
+                commands.incrementAndGet();
+                String upper = line.toUpperCase();
+                if (upper.startsWith("EHLO")) {
+                    replies.append("250-stub\r\n");
+                    if (pipelining) {
+                        replies.append("250-PIPELINING\r\n");
+                    }
+                    replies.append("250 8BITMIME\r\n");
+                } else if (upper.startsWith("HELO") || upper.startsWith("NOOP")) {
+                    replies.append("250 OK\r\n");
+                } else if (upper.startsWith("RSET")) {
+                    resets.incrementAndGet();
+                    from = null;
+                    recipients = new ArrayList<>();
+                    replies.append("250 OK\r\n");
+                } else if (upper.startsWith("MAIL FROM:")) {
+                    from = stripBrackets(line.substring(10));
+                    replies.append("250 OK\r\n");
+                } else if (upper.startsWith("RCPT TO:")) {
+                    String recipient = stripBrackets(line.substring(8));
+                    if (from == null) {
+                        replies.append("503 Falta MAIL\r\n");
+                    } else if (recipient.contains("reject")) {
+                        replies.append("550 Buzón no disponible\r\n");
+                    } else {
+                        recipients.add(recipient);
+                        replies.append("250 OK\r\n");
+                    }
+                } else if (upper.equals("DATA")) {
+                    if (recipients.isEmpty()) {
+                        replies.append("554 Sin destinatarios válidos\r\n");
+                    } else {
+                        reply(out, replies.append("354 Fin con <CRLF>.<CRLF>\r\n"));
+                        String data = readData(in);
+                        sleep(dataDelayMs);
+                        messages.add(new Received(from, Collections.unmodifiableList(recipients), data));
+                        from = null;
+                        recipients = new ArrayList<>();
+                        replies.append("250 OK en cola\r\n");
+                    }
+                } else if (upper.startsWith("QUIT")) {
+                    reply(out, replies.append("221 Adiós\r\n"));
+                    return;
+                } else {
+                    replies.append("500 Orden desconocida\r\n");
+                }
+                // Con PIPELINING las respuestas a RSET, MAIL y RCPT se retienen hasta DATA
+                boolean batchable = upper.startsWith("RSET") || upper.startsWith("MAIL") || upper.startsWith("RCPT");
+                if (!pipelining || !batchable) {
+                    reply(out, replies);
+                }
+            }
+        } catch (SocketException e) {
+            // el cliente cerró la conexión
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void reply(OutputStream out, StringBuilder replies) throws IOException {
+        if (replies.length() == 0) {
+            return;
+        }
+        // Se cuenta antes de escribir para que el cliente nunca vea la respuesta sin contar
+        flushes.incrementAndGet();
+        out.write(replies.toString().getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        replies.setLength(0);
+    }
+
+    private static String readData(InputStream in) throws IOException {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        String line;
+        while ((line = readLine(in)) != null && !line.equals(".")) {
+            data.write((line.startsWith("..") ? line.substring(1) : line).getBytes(StandardCharsets.UTF_8));
+            data.write('\r');
+            data.write('\n');
+        }
+        return new String(data.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                byte[] bytes = line.toByteArray();
+                int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                return new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+            line.write(b);
+        }
+        return null;
+    }
+
+    private static String stripBrackets(String value) {
+        String trimmed = value.trim();
+        if (trimmed.startsWith("<") && trimmed.endsWith(">")) {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        executor.shutdownNow();
+    }
+}
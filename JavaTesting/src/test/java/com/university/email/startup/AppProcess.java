@@ -0,0 +1,204 @@
+package com.university.email.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * La aplicación arrancada en una JVM nueva, como en un despliegue, para medir
+ * su arranque desde el lanzamiento del proceso
+ */
+final class AppProcess implements AutoCloseable {
+
+    static final String MAIN_CLASS = "com.university.email.EmailApiApplication";
+    static final String HEALTH_PATH = "/api/email/health";
+
+    private static final long POLL_MILLIS = 10;
+
+    private final Process process;
+    private final int port;
+    private final long launchedNanos;
+
+    private AppProcess(Process process, int port, long launchedNanos) {
+        this.process = process;
+        this.port = port;
+        this.launchedNanos = launchedNanos;
+    }
+
+    /**
+     * Lanza la aplicación en un puerto libre
+     *
+     * @param classpath Classpath de la aplicación
+     * @param jvmArgs Opciones de la JVM
+     * @param appArgs Argumentos de la aplicación
+     * @param log Archivo donde se escribe su salida
+     */
+    static AppProcess launch(String classpath, List<String> jvmArgs, List<String> appArgs, Path log)
+            throws IOException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(MAIN_CLASS);
+        command.add("--server.port=" + port);
+        command.addAll(appArgs);
+        Files.createDirectories(log.toAbsolutePath().getParent());
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        long launched = System.nanoTime();
+        return new AppProcess(builder.start(), port, launched);
+    }
+
+    /**
+     * Classpath de la aplicación: sus clases empaquetadas en un jar
+     * ({@code startup.app-jar}) seguidas del classpath de runtime de
+     * {@code startup.classpath-file} (una línea generada por
+     * dependency:build-classpath), o el de esta JVM sin las clases de prueba.
+     * Los archivos CDS solo admiten jars en el classpath.
+     */
+    static String applicationClasspath() throws IOException {
+        String file = System.getProperty("startup.classpath-file");
+        if (file == null || !Files.exists(Paths.get(file))) {
+            return Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                    .filter(entry -> !entry.endsWith("test-classes"))
+                    .collect(Collectors.joining(File.pathSeparator));
+        }
+        Path jar = Paths.get(System.getProperty("startup.app-jar", "target/app-classes.jar")).toAbsolutePath();
+        packClasses(Paths.get("target", "classes"), jar);
+        String dependencies = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8).trim();
+        return jar + File.pathSeparator + dependencies;
+    }
+
+    /**
+     * Empaqueta un directorio de clases en un jar
+     */
+    static void packClasses(Path classes, Path jar) throws IOException {
+        Files.createDirectories(jar.getParent());
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(classes)) {
+            files = walk.filter(path -> !path.equals(classes)).sorted().collect(Collectors.toList());
+        }
+        // Con las entradas de los directorios, que el escaneo de componentes de Spring necesita
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Path path : files) {
+                String name = classes.relativize(path).toString().replace(File.separatorChar, '/');
+                boolean directory = Files.isDirectory(path);
+                out.putNextEntry(new JarEntry(directory ? name + "/" : name));
+                if (!directory) {
+                    Files.copy(path, out);
+                }
+                out.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Espera a la primera respuesta 200 de /api/email/health
+     *
+     * @param timeoutMillis Espera máxima
+     * @return Nanosegundos desde el lanzamiento del proceso
+     */
+    long awaitHealthy(long timeoutMillis) throws InterruptedException {
+        long deadline = launchedNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("La aplicación terminó con código " + process.exitValue());
+            }
+            if (get(HEALTH_PATH) == 200) {
+                return System.nanoTime() - launchedNanos;
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+        throw new IllegalStateException("La aplicación no respondió en " + timeoutMillis + " ms");
+    }
+
+    /**
+     * Código de respuesta de un GET, o -1 si aún no acepta conexiones
+     */
+    int get(String path) {
+        return request("GET", path, null);
+    }
+
+    /**
+     * Código de respuesta de un POST con cuerpo JSON
+     */
+    int post(String path, String json) {
+        return request("POST", path, json);
+    }
+
+    private int request(String method, String path, String json) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL("http://localhost:" + port + path).openConnection();
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(1000);
+            connection.setReadTimeout(10_000);
+            if (json != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                connection.getOutputStream().write(json.getBytes(StandardCharsets.UTF_8));
+            }
+            return connection.getResponseCode();
+        } catch (IOException e) {
+            return -1;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Memoria residente del proceso (VmRSS de /proc), o -1 fuera de Linux
+     */
+    long rssBytes() throws IOException {
+        Path status = Paths.get("/proc", Long.toString(process.pid()), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Para la aplicación como lo haría el orquestador (SIGTERM) y espera a que
+     * termine; la JVM escribe entonces el archivo CDS si se pidió
+     */
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
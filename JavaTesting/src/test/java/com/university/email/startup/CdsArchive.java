@@ -0,0 +1,78 @@
+package com.university.email.startup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Crea el archivo CDS (class data sharing) de la aplicación con una ejecución
+ * de entrenamiento: la arranca con el perfil fast-startup y
+ * -XX:ArchiveClassesAtExit, recorre los endpoints principales para que se
+ * carguen sus clases y la para; al salir, la JVM guarda en el archivo las
+ * clases cargadas ya verificadas y analizadas.
+ *
+ * mvn -Pstartup test-compile exec:exec@cds-archive
+ *
+ * El archivo solo sirve con la misma JVM y el mismo classpath del
+ * entrenamiento; con otros la JVM lo ignora y arranca sin él.
+ */
+public final class CdsArchive {
+
+    static final Path DEFAULT_ARCHIVE = Paths.get("target", "app-cds.jsa");
+
+    private static final long TIMEOUT_MILLIS = 120_000;
+
+    private static final String VALID = "{\"to\":\"destinatario@example.com\",\"subject\":\"Entrenamiento\","
+            + "\"body\":\"Correo de la ejecución de entrenamiento\"}";
+    private static final String INVALID = "{\"to\":\"no-es-un-correo\",\"subject\":\"\",\"body\":\"\"}";
+
+    private CdsArchive() {
+    }
+
+    /**
+     * Ejecuta el entrenamiento y escribe el archivo
+     *
+     * @param classpath Classpath de la aplicación, el mismo con el que se usará el archivo
+     * @param archive Archivo a crear
+     * @param jvmArgs Opciones de la JVM adicionales
+     */
+    static void train(String classpath, Path archive, List<String> jvmArgs) throws IOException, InterruptedException {
+        if (!StartupMode.cdsSupported()) {
+            throw new IllegalStateException("El archivo CDS dinámico requiere Java 13 o superior");
+        }
+        Files.deleteIfExists(archive);
+        Files.createDirectories(archive.toAbsolutePath().getParent());
+        List<String> args = new ArrayList<>(jvmArgs);
+        args.add("-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath());
+        Path log = archive.resolveSibling(archive.getFileName() + ".log");
+        try (AppProcess app = AppProcess.launch(classpath, args, StartupMode.FAST_STARTUP.appArgs(), log)) {
+            app.awaitHealthy(TIMEOUT_MILLIS);
+            app.get(AppProcess.HEALTH_PATH);
+            app.post("/api/email/send", VALID);
+            app.post("/api/email/send", INVALID);
+            app.post("/api/email/send-batch", "[" + VALID + "," + INVALID + "]");
+            app.get("/api/email/metrics");
+            app.get("/api/email/status/desconocido");
+        }
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("La JVM no escribió " + archive + "; revisa " + log);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path archive = Paths.get(System.getProperty("startup.archive", DEFAULT_ARCHIVE.toString()));
+        List<String> jvmArgs = jvmArgs(System.getProperty("startup.jvm-args", ""));
+        train(AppProcess.applicationClasspath(), archive, jvmArgs);
+        System.out.printf("Archivo CDS: %s (%d KB)%n", archive, Files.size(archive) / 1024);
+    }
+
+    static List<String> jvmArgs(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? Collections.emptyList() : Arrays.asList(trimmed.split("\\s+"));
+    }
+}
@@ -0,0 +1,142 @@
+package com.university.email.startup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark de arranque: lanza la aplicación en una JVM nueva varias veces por
+ * modo y mide el tiempo desde el lanzamiento del proceso hasta la primera
+ * respuesta 200 de /api/email/health, y la memoria residente (RSS) tras un
+ * rato en reposo. Las ejecuciones alternan los modos para que las variaciones
+ * de la máquina afecten a todos por igual. Si se mide el modo con CDS, antes
+ * se crea el archivo con {@link CdsArchive}.
+ *
+ * mvn -Pstartup test-compile exec:exec
+ * Opciones (propiedades del sistema, con -Dstartup.args="..." en Maven):
+ * startup.modes (baseline,fast-startup,fast-startup+cds), startup.runs (5),
+ * startup.idle-ms (2000), startup.jvm-args (opciones de la JVM para todos los
+ * modos, p. ej. -Xmx256m), startup.archive (target/app-cds.jsa),
+ * startup.output (target/startup).
+ */
+public final class StartupBenchmark {
+
+    static final String RUNS_HEADER = "mode,run,first_health_ms,idle_rss_mb";
+
+    private static final long TIMEOUT_MILLIS = 120_000;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<StartupMode> modes = Arrays.stream(System.getProperty("startup.modes",
+                        "baseline,fast-startup,fast-startup+cds").split(","))
+                .map(StartupMode::fromLabel)
+                .collect(Collectors.toCollection(ArrayList::new));
+        int runs = Integer.getInteger("startup.runs", 5);
+        long idleMillis = Long.getLong("startup.idle-ms", 2000);
+        List<String> jvmArgs = CdsArchive.jvmArgs(System.getProperty("startup.jvm-args", ""));
+        Path archive = Paths.get(System.getProperty("startup.archive", CdsArchive.DEFAULT_ARCHIVE.toString()));
+        Path output = Paths.get(System.getProperty("startup.output", "target/startup"));
+        String classpath = AppProcess.applicationClasspath();
+
+        if (modes.contains(StartupMode.FAST_STARTUP_CDS)) {
+            if (StartupMode.cdsSupported()) {
+                System.out.println("Entrenando el archivo CDS " + archive + "...");
+                CdsArchive.train(classpath, archive, jvmArgs);
+            } else {
+                System.out.println("Java " + Runtime.version().feature() + " no crea archivos CDS dinámicos; "
+                        + "se omite " + StartupMode.FAST_STARTUP_CDS.label());
+                modes.remove(StartupMode.FAST_STARTUP_CDS);
+            }
+        }
+
+        Map<StartupMode, List<Sample>> samples = new EnumMap<>(StartupMode.class);
+        for (int run = 1; run <= runs; run++) {
+            for (StartupMode mode : modes) {
+                Sample sample = measure(classpath, mode, jvmArgs, archive, idleMillis,
+                        output.resolve(String.format(Locale.ROOT, "%s-%d.log", mode.label(), run)));
+                samples.computeIfAbsent(mode, key -> new ArrayList<>()).add(sample);
+                System.out.printf(Locale.ROOT, "%-17s #%d: primera respuesta en %7.1f ms, RSS en reposo %6.1f MB%n",
+                        mode.label(), run, sample.firstHealthMillis, sample.idleRssMb);
+            }
+        }
+
+        Path csv = write(samples, output);
+        System.out.println();
+        summarize(samples, System.out);
+        System.out.println("Ejecuciones en " + csv);
+    }
+
+    private static Sample measure(String classpath, StartupMode mode, List<String> jvmArgs, Path archive,
+                                  long idleMillis, Path log) throws IOException, InterruptedException {
+        List<String> args = new ArrayList<>(jvmArgs);
+        args.addAll(mode.jvmArgs(archive.toAbsolutePath()));
+        try (AppProcess app = AppProcess.launch(classpath, args, mode.appArgs(), log)) {
+            long firstHealth = app.awaitHealthy(TIMEOUT_MILLIS);
+            Thread.sleep(idleMillis);
+            long rss = app.rssBytes();
+            return new Sample(firstHealth / 1e6, rss < 0 ? Double.NaN : rss / (1024.0 * 1024.0));
+        }
+    }
+
+    private static Path write(Map<StartupMode, List<Sample>> samples, Path output) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(RUNS_HEADER);
+        samples.forEach((mode, list) -> {
+            for (int i = 0; i < list.size(); i++) {
+                lines.add(String.format(Locale.ROOT, "%s,%d,%.1f,%.1f", mode.label(), i + 1,
+                        list.get(i).firstHealthMillis, list.get(i).idleRssMb));
+            }
+        });
+        Files.createDirectories(output);
+        return Files.write(output.resolve("startup.csv"), lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Mediana, mínimo y máximo de cada modo, y la mediana relativa al primero
+     */
+    static void summarize(Map<StartupMode, List<Sample>> samples, PrintStream out) {
+        out.printf(Locale.ROOT, "%-17s %12s %12s %12s %10s %12s%n", "modo", "mediana ms", "mín ms", "máx ms",
+                "vs base", "RSS MB");
+        Double base = null;
+        for (Map.Entry<StartupMode, List<Sample>> entry : samples.entrySet()) {
+            double[] times = entry.getValue().stream().mapToDouble(sample -> sample.firstHealthMillis).sorted().toArray();
+            double[] rss = entry.getValue().stream().mapToDouble(sample -> sample.idleRssMb).sorted().toArray();
+            double median = median(times);
+            if (base == null) {
+                base = median;
+            }
+            out.printf(Locale.ROOT, "%-17s %12.1f %12.1f %12.1f %9.0f%% %12.1f%n", entry.getKey().label(), median,
+                    times[0], times[times.length - 1], 100.0 * (median - base) / base, median(rss));
+        }
+    }
+
+    static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    /**
+     * Resultado de un arranque
+     */
+    static final class Sample {
+        final double firstHealthMillis;
+        final double idleRssMb;
+
+        Sample(double firstHealthMillis, double idleRssMb) {
+            this.firstHealthMillis = firstHealthMillis;
+            this.idleRssMb = idleRssMb;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.university.email.startup;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuraciones de arranque que compara {@link StartupBenchmark}
+ */
+enum StartupMode {
+
+    /** Configuración por defecto */
+    BASELINE("baseline", false, false),
+    /** Perfil fast-startup: inicialización perezosa y autoconfiguración recortada */
+    FAST_STARTUP("fast-startup", true, false),
+    /** Perfil fast-startup con el archivo CDS del entrenamiento */
+    FAST_STARTUP_CDS("fast-startup+cds", true, true);
+
+    private final String label;
+    private final boolean fastStartupProfile;
+    private final boolean cds;
+
+    StartupMode(String label, boolean fastStartupProfile, boolean cds) {
+        this.label = label;
+        this.fastStartupProfile = fastStartupProfile;
+        this.cds = cds;
+    }
+
+    String label() {
+        return label;
+    }
+
+    boolean usesCds() {
+        return cds;
+    }
+
+    /**
+     * Opciones de la JVM del modo
+     *
+     * @param archive Archivo CDS, usado solo por los modos con CDS
+     */
+    List<String> jvmArgs(Path archive) {
+        List<String> args = new ArrayList<>();
+        if (cds) {
+            args.add("-XX:SharedArchiveFile=" + archive);
+        }
+        return args;
+    }
+
+    /**
+     * Argumentos de la aplicación del modo
+     */
+    List<String> appArgs() {
+        List<String> args = new ArrayList<>();
+        if (fastStartupProfile) {
+            args.add("--spring.profiles.active=fast-startup");
+        }
+        return args;
+    }
+
+    static StartupMode fromLabel(String label) {
+        for (StartupMode mode : values()) {
+            if (mode.label.equals(label.trim())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Modo de arranque desconocido: " + label);
+    }
+
+    /**
+     * Si la JVM puede crear un archivo CDS dinámico (-XX:ArchiveClassesAtExit, Java 13)
+     */
+    static boolean cdsSupported() {
+        return Runtime.version().feature() >= 13;
+    }
+}
@@ -0,0 +1,84 @@
+package com.university.email.suppression;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para SuppressionList
+ */
+@DisplayName("SuppressionList Tests")
+class SuppressionListTest {
+
+    @Test
+    @DisplayName("Debería suprimir direcciones sin distinguir mayúsculas ni espacios")
+    void shouldSuppressNormalizedAddresses() {
+        // Given
+        SuppressionList list = new SuppressionList.Builder()
+                .add("Baja@Example.com")
+                .add("  otro@example.org ")
+                .build();
+
+        // Then
+        assertTrue(list.isSuppressed("baja@example.com"));
+        assertTrue(list.isSuppressed(" BAJA@EXAMPLE.COM "));
+        assertTrue(list.isSuppressed("otro@example.org"));
+        assertFalse(list.isSuppressed("alta@example.com"));
+        assertFalse(list.isSuppressed(null));
+        assertEquals(2, list.getAddressCount());
+    }
+
+    @Test
+    @DisplayName("Debería suprimir todas las direcciones de un dominio")
+    void shouldSuppressWholeDomains() {
+        // Given
+        SuppressionList list = new SuppressionList.Builder()
+                .add("spam.example")
+                .add("@Trap.Example.net")
+                .add("# comentario")
+                .add("")
+                .build();
+
+        // Then
+        assertTrue(list.isSuppressed("cualquiera@spam.example"));
+        assertTrue(list.isSuppressed("otro@trap.example.net"));
+        assertFalse(list.isSuppressed("user@sub.spam.example"));
+        assertFalse(list.isSuppressed("spam.example@example.com"));
+        assertEquals(2, list.getDomainCount());
+        assertEquals(0, list.getAddressCount());
+    }
+
+    @Test
+    @DisplayName("Debería manejar listas grandes sin falsos negativos")
+    void shouldHandleLargeLists() {
+        // Given
+        SuppressionList.Builder builder = new SuppressionList.Builder();
+        for (int i = 0; i < 200_000; i++) {
+            builder.addAddress("user" + i + "@example.com");
+        }
+
+        // When
+        SuppressionList list = builder.build();
+
+        // Then
+        for (int i = 0; i < 200_000; i++) {
+            assertTrue(list.isSuppressed("user" + i + "@example.com"));
+        }
+        for (int i = 200_000; i < 210_000; i++) {
+            assertFalse(list.isSuppressed("user" + i + "@example.com"));
+        }
+        assertTrue(list.getBytesPerEntry() < 40, "bytes por entrada: " + list.getBytesPerEntry());
+    }
+
+    @Test
+    @DisplayName("La lista vacía no debería suprimir ninguna dirección")
+    void emptyListShouldSuppressNothing() {
+        // Given
+        SuppressionList list = SuppressionList.empty();
+
+        // Then
+        assertFalse(list.isSuppressed("test@example.com"));
+        assertEquals(0, list.getBytesPerEntry());
+    }
+}
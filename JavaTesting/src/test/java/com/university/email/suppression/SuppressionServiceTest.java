@@ -0,0 +1,97 @@
+package com.university.email.suppression;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para SuppressionService
+ */
+@DisplayName("SuppressionService Tests")
+class SuppressionServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private SuppressionService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería cargar la lista desde el fichero al arrancar")
+    void shouldLoadListOnStartup() throws IOException {
+        // Given
+        Path file = directory.resolve("suppression.txt");
+        Files.write(file, Arrays.asList("# bajas", "baja@example.com", "spam.example"));
+
+        // When
+        service = new SuppressionService(file.toString(), 60_000);
+
+        // Then
+        assertTrue(service.isSuppressed("baja@example.com"));
+        assertTrue(service.isSuppressed("x@spam.example"));
+        assertFalse(service.isSuppressed("alta@example.com"));
+    }
+
+    @Test
+    @DisplayName("Debería recargar la lista cuando el fichero cambia")
+    void shouldReloadWhenFileChanges() throws IOException {
+        // Given
+        Path file = directory.resolve("suppression.txt");
+        Files.write(file, Arrays.asList("baja@example.com"));
+        service = new SuppressionService(file.toString(), 60_000);
+
+        // When
+        Files.write(file, Arrays.asList("nueva@example.com"));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        boolean reloaded = service.reloadIfChanged();
+
+        // Then
+        assertTrue(reloaded);
+        assertFalse(service.isSuppressed("baja@example.com"));
+        assertTrue(service.isSuppressed("nueva@example.com"));
+        assertFalse(service.reloadIfChanged());
+    }
+
+    @Test
+    @DisplayName("Debería conservar la lista anterior si el fichero desaparece")
+    void shouldKeepPreviousListWhenFileIsMissing() throws IOException {
+        // Given
+        Path file = directory.resolve("suppression.txt");
+        Files.write(file, Arrays.asList("baja@example.com"));
+        service = new SuppressionService(file.toString(), 60_000);
+
+        // When
+        Files.delete(file);
+        boolean reloaded = service.reloadIfChanged();
+
+        // Then
+        assertFalse(reloaded);
+        assertTrue(service.isSuppressed("baja@example.com"));
+    }
+
+    @Test
+    @DisplayName("No debería suprimir nada cuando no hay fichero configurado")
+    void shouldSuppressNothingWithoutFile() {
+        // When
+        service = new SuppressionService("", 1000);
+
+        // Then
+        assertFalse(service.isSuppressed("baja@example.com"));
+        assertFalse(service.reloadIfChanged());
+    }
+}
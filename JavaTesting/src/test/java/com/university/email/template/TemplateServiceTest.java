@@ -0,0 +1,106 @@
+package com.university.email.template;
+
+import com.university.email.model.EmailRequest;
+import com.university.email.model.TemplateRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para TemplateService
+ */
+@DisplayName("TemplateService Tests")
+class TemplateServiceTest {
+
+    private static EmailRequest templated(String templateId, String nombre) {
+        EmailRequest request = new EmailRequest();
+        request.setTo("test@example.com");
+        request.setFrom("news@university.edu");
+        request.setTemplateId(templateId);
+        request.setVariables(Collections.singletonMap("nombre", nombre));
+        return request;
+    }
+
+    @Test
+    @DisplayName("Debería renderizar el asunto y el cuerpo de una plantilla registrada")
+    void shouldRenderRegisteredTemplate() {
+        // Given
+        TemplateService service = new TemplateService(1 << 20);
+        service.register(new TemplateRequest("bienvenida", "Hola {{nombre}}", "Bienvenida, {{nombre}}."));
+
+        // When
+        EmailRequest rendered = service.render(templated("bienvenida", "Ana"));
+
+        // Then
+        assertEquals("test@example.com", rendered.getTo());
+        assertEquals("news@university.edu", rendered.getFrom());
+        assertEquals("Hola Ana", rendered.getSubject());
+        assertEquals("Bienvenida, Ana.", rendered.getBody());
+        assertNull(rendered.getTemplateId());
+    }
+
+    @Test
+    @DisplayName("Debería devolver la misma solicitud cuando no usa plantilla")
+    void shouldPassThroughRequestsWithoutTemplate() {
+        // Given
+        TemplateService service = new TemplateService(1 << 20);
+        EmailRequest request = new EmailRequest("test@example.com", "Asunto", "Cuerpo");
+
+        // When & Then
+        assertSame(request, service.render(request));
+    }
+
+    @Test
+    @DisplayName("Debería lanzar excepción cuando la plantilla no existe")
+    void shouldRejectUnknownTemplate() {
+        // Given
+        TemplateService service = new TemplateService(1 << 20);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> service.render(templated("inexistente", "Ana")));
+        assertEquals("No existe la plantilla: inexistente", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Debería descartar las plantillas menos usadas y recompilarlas al volver a usarlas")
+    void shouldEvictLeastRecentlyUsedAndRecompile() {
+        // Given: cada plantilla pesa 20 caracteres y la caché admite 50
+        TemplateService service = new TemplateService(50);
+        for (String id : new String[]{"a", "b", "c"}) {
+            service.register(new TemplateRequest(id, "Asunto {{nombre}}", id + "--"));
+        }
+        long compilations = service.getCompilationCount();
+
+        // When
+        EmailRequest rendered = service.render(templated("a", "Ana"));
+
+        // Then
+        assertEquals(3, service.getTemplateCount());
+        assertEquals(2, service.getCachedCount());
+        assertEquals("Asunto Ana", rendered.getSubject());
+        assertEquals(compilations + 1, service.getCompilationCount());
+        service.render(templated("a", "Ana"));
+        assertEquals(compilations + 1, service.getCompilationCount());
+    }
+
+    @Test
+    @DisplayName("Debería usar la nueva versión al volver a registrar una plantilla")
+    void shouldReplaceTemplate() {
+        // Given
+        TemplateService service = new TemplateService(1 << 20);
+        service.register(new TemplateRequest("aviso", "v1", "Cuerpo {{nombre}}"));
+        service.render(templated("aviso", "Ana"));
+
+        // When
+        service.register(new TemplateRequest("aviso", "v2", "Cuerpo {{nombre}}"));
+
+        // Then
+        assertEquals("v2", service.render(templated("aviso", "Ana")).getSubject());
+        assertTrue(service.remove("aviso"));
+        assertFalse(service.remove("aviso"));
+    }
+}
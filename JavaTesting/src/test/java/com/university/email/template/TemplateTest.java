@@ -0,0 +1,68 @@
+package com.university.email.template;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para Template
+ */
+@DisplayName("Template Tests")
+class TemplateTest {
+
+    private static String render(Template template, Map<String, String> values) {
+        StringBuilder out = new StringBuilder();
+        template.renderTo(values, out);
+        return out.toString();
+    }
+
+    @Test
+    @DisplayName("Debería sustituir las variables y conservar el texto literal")
+    void shouldReplaceVariables() {
+        // Given
+        Template template = Template.compile("Hola {{ nombre }}, tu curso {{curso}} empieza el {{fecha}}.");
+        Map<String, String> values = new HashMap<>();
+        values.put("nombre", "Ana");
+        values.put("curso", "Testing");
+        values.put("fecha", "lunes");
+
+        // When
+        String rendered = render(template, values);
+
+        // Then
+        assertEquals("Hola Ana, tu curso Testing empieza el lunes.", rendered);
+        assertEquals(3, template.getVariableCount());
+        assertEquals("Hola , tu curso  empieza el .".length(), template.getLiteralLength());
+    }
+
+    @Test
+    @DisplayName("Debería renderizar textos sin variables y variables en los extremos")
+    void shouldHandleEdgeSegments() {
+        // Given
+        Map<String, String> values = new HashMap<>();
+        values.put("a", "1");
+        values.put("b", "2");
+
+        // When & Then
+        assertEquals("sin variables", render(Template.compile("sin variables"), values));
+        assertEquals("12", render(Template.compile("{{a}}{{b}}"), values));
+        assertEquals("", render(Template.compile(""), values));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar variables sin cerrar, sin nombre o sin valor")
+    void shouldRejectInvalidTemplates() {
+        // When & Then
+        assertEquals("La plantilla tiene una variable sin cerrar",
+                assertThrows(IllegalArgumentException.class, () -> Template.compile("Hola {{nombre")).getMessage());
+        assertEquals("La plantilla tiene una variable sin nombre",
+                assertThrows(IllegalArgumentException.class, () -> Template.compile("Hola {{ }}")).getMessage());
+        Template template = Template.compile("Hola {{nombre}}");
+        assertEquals("Falta la variable de plantilla: nombre",
+                assertThrows(IllegalArgumentException.class, () -> render(template, new HashMap<>())).getMessage());
+    }
+}
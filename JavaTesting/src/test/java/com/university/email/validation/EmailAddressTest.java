@@ -0,0 +1,92 @@
+package com.university.email.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para EmailAddress
+ */
+@DisplayName("EmailAddress Tests")
+class EmailAddressTest {
+
+    private static final Pattern LEGACY_REGEX =
+            Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "test@example.com", "a@b.co", "first.last+tag@sub.domain.org",
+            "user_name-1@my-host.example.io", "x@1.2.3.abc", "a@..co", "-@-.-.ab"
+    })
+    @DisplayName("Debería aceptar direcciones con formato válido")
+    void shouldAcceptValidAddresses(String email) {
+        assertTrue(EmailAddress.isValid(email));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "", "invalid-email", "@example.com", "test@", "test@example", "test@.com",
+            "test@example.c", "test@example.c0m", "a@b@c.com", "test @example.com",
+            "test@example.com ", "test@example.com\n", "tést@example.com", "test@exa_mple.com"
+    })
+    @DisplayName("Debería rechazar direcciones con formato inválido")
+    void shouldRejectInvalidAddresses(String email) {
+        assertFalse(EmailAddress.isValid(email));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar direcciones nulas")
+    void shouldRejectNull() {
+        assertFalse(EmailAddress.isValid(null));
+        assertEquals(-1, EmailAddress.indexOfAt(null));
+        assertNull(EmailAddress.domainOf(null));
+    }
+
+    @Test
+    @DisplayName("Debería separar la parte local y el dominio")
+    void shouldSplitLocalPartAndDomain() {
+        // When
+        int at = EmailAddress.indexOfAt("user@example.com");
+
+        // Then
+        assertEquals(4, at);
+        assertEquals("example.com", EmailAddress.domainOf("user@example.com"));
+    }
+
+    @Test
+    @DisplayName("Debería aceptar exactamente las mismas entradas que la expresión regular original")
+    void shouldMatchLegacyRegexOnRandomInputs() {
+        // Given
+        Random random = new Random(42);
+        char[] alphabet = "aZ09+_.-@ .é\t".toCharArray();
+
+        for (int n = 0; n < 200_000; n++) {
+            char[] chars = new char[1 + random.nextInt(12)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String candidate = new String(chars);
+
+            // When & Then
+            assertEquals(LEGACY_REGEX.matcher(candidate).matches(), EmailAddress.isValid(candidate),
+                    () -> "Diferencia con la expresión regular para: '" + candidate + "'");
+        }
+    }
+
+    @Test
+    @DisplayName("Debería considerar en blanco lo mismo que String.trim().isEmpty()")
+    void shouldTreatBlankLikeTrim() {
+        assertTrue(EmailAddress.isBlank(null));
+        assertTrue(EmailAddress.isBlank(""));
+        assertTrue(EmailAddress.isBlank(" \t\n\u0000"));
+        assertFalse(EmailAddress.isBlank(" a "));
+        assertFalse(EmailAddress.isBlank(" "));
+        assertEquals(" ".trim().isEmpty(), EmailAddress.isBlank(" "));
+    }
+}
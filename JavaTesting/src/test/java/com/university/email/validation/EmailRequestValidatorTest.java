@@ -0,0 +1,115 @@
+package com.university.email.validation;
+
+import com.university.email.model.EmailRequest;
+import com.university.email.validation.EmailRequestValidator.Violation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para EmailRequestValidator
+ */
+@DisplayName("EmailRequestValidator Tests")
+class EmailRequestValidatorTest {
+
+    private static final String[] RECIPIENTS = {null, "", "   ", "invalid-email", " test@example.com", "test@example.com"};
+    private static final String[] TEXTS = {null, "", "  \t", "Contenido"};
+    private static final String[] TEMPLATES = {null, " ", "bienvenida"};
+
+    private final EmailRequestValidator validator = new EmailRequestValidator();
+
+    @Test
+    @DisplayName("Debería devolver todas las violaciones de la solicitud a la vez")
+    void shouldCollectAllViolations() {
+        // Given
+        EmailRequest request = new EmailRequest("invalid-email", " ", null);
+
+        // When
+        int violations = EmailRequestValidator.violations(request);
+
+        // Then
+        assertTrue(Violation.TO_INVALID.in(violations));
+        assertTrue(Violation.SUBJECT_MISSING.in(violations));
+        assertTrue(Violation.BODY_MISSING.in(violations));
+        assertFalse(Violation.TO_MISSING.in(violations));
+        assertEquals("El asunto es obligatorio; El cuerpo del mensaje es obligatorio; "
+                + "El destinatario debe ser un correo electrónico válido", EmailRequestValidator.describe(violations));
+        assertNull(request.getValidatedFields());
+    }
+
+    @Test
+    @DisplayName("Debería aplicar las mismas reglas y mensajes que Bean Validation")
+    void shouldMatchBeanValidation() {
+        // Given
+        Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        for (String to : RECIPIENTS) {
+            for (String subject : TEXTS) {
+                for (String body : TEXTS) {
+                    for (String templateId : TEMPLATES) {
+                        EmailRequest request = new EmailRequest(to, subject, body);
+                        request.setTemplateId(templateId);
+
+                        // When
+                        Set<String> expected = beanValidator.validate(request).stream()
+                                .map(EmailRequestValidatorTest::describe)
+                                .collect(Collectors.toCollection(TreeSet::new));
+                        Errors errors = new BeanPropertyBindingResult(request, "emailRequest");
+                        validator.validate(request, errors);
+                        Set<String> actual = errors.getFieldErrors().stream()
+                                .map(EmailRequestValidatorTest::describe)
+                                .collect(Collectors.toCollection(TreeSet::new));
+
+                        // Then
+                        assertEquals(expected, actual, request.toString());
+                        assertEquals(expected.isEmpty(), errors.getErrorCount() == 0, request.toString());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debería dar constancia solo a las solicitudes completas y dejar de cubrirlas al cambiarlas")
+    void shouldStampValidatedRequests() {
+        // Given
+        EmailRequest complete = new EmailRequest("test@example.com", "Asunto", "Cuerpo");
+        EmailRequest template = new EmailRequest("test@example.com", null, null);
+        template.setTemplateId("bienvenida");
+
+        // When
+        int completeViolations = EmailRequestValidator.violations(complete);
+        int templateViolations = EmailRequestValidator.violations(template);
+
+        // Then
+        assertEquals(0, completeViolations);
+        ValidatedFields validated = complete.getValidatedFields();
+        assertTrue(validated.covers(complete));
+        assertEquals(0, templateViolations);
+        assertNull(template.getValidatedFields());
+
+        complete.setBody(" ");
+        assertFalse(validated.covers(complete));
+        EmailRequest other = new EmailRequest("test@example.com", " ", "Cuerpo");
+        assertFalse(validated.covers(other));
+    }
+
+    private static String describe(ConstraintViolation<EmailRequest> violation) {
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    private static String describe(FieldError error) {
+        return error.getField() + ": " + error.getDefaultMessage();
+    }
+}